@@ -2,9 +2,11 @@ package org.stellar.anchor.api.callback;
 
 import com.google.gson.Gson;
 import com.google.gson.annotations.SerializedName;
+import java.util.Map;
 import lombok.Builder;
 import lombok.Data;
 import org.stellar.anchor.api.sep.sep12.Sep12PutCustomerRequest;
+import org.stellar.anchor.api.shared.BinaryContent;
 
 /**
  * The request body of PUT /customer endpoint.
@@ -174,7 +176,16 @@ public class PutCustomerRequest {
   @SerializedName("email_address_verification")
   String emailAddressVerification;
 
+  /**
+   * The binary fields that are streamed from the uploaded files instead of being read into the
+   * byte[] fields, keyed by the field name.
+   */
+  private transient Map<String, BinaryContent> binaryContents;
+
   public static PutCustomerRequest from(Sep12PutCustomerRequest request) {
-    return gson.fromJson(gson.toJson(request), PutCustomerRequest.class);
+    PutCustomerRequest putCustomerRequest =
+        gson.fromJson(gson.toJson(request), PutCustomerRequest.class);
+    putCustomerRequest.setBinaryContents(request.getBinaryContents());
+    return putCustomerRequest;
   }
 }
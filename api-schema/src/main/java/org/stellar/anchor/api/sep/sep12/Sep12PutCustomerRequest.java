@@ -1,8 +1,10 @@
 package org.stellar.anchor.api.sep.sep12;
 
 import com.google.gson.annotations.SerializedName;
+import java.util.Map;
 import lombok.Builder;
 import lombok.Data;
+import org.stellar.anchor.api.shared.BinaryContent;
 
 /**
  * The request body of the PUT /customer endpoint of SEP-12.
@@ -169,4 +171,10 @@ public class Sep12PutCustomerRequest implements Sep12CustomerRequestBase {
 
   @SerializedName("email_address_verification")
   String emailAddressVerification;
+
+  /**
+   * The binary fields that are streamed from the uploaded files instead of being read into the
+   * byte[] fields, keyed by the field name.
+   */
+  private transient Map<String, BinaryContent> binaryContents;
 }
@@ -52,6 +52,9 @@ public class TransactionResponse {
   @SerializedName("completed_at")
   Instant completedAt;
 
+  @SerializedName("updated_at")
+  Instant updatedAt;
+
   @SerializedName("user_action_required_by")
   Instant userActionRequiredBy;
 
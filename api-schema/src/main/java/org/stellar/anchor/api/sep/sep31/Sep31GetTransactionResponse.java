@@ -72,6 +72,9 @@ public class Sep31GetTransactionResponse {
     @SerializedName("completed_at")
     Instant completedAt;
 
+    @SerializedName("updated_at")
+    Instant updatedAt;
+
     @SerializedName("user_action_required_by")
     Instant userActionRequiredBy;
 
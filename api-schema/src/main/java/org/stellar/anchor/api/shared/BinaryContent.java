@@ -0,0 +1,25 @@
+package org.stellar.anchor.api.shared;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * The content of a binary field, such as a SEP-12 photo, that is read from its source when it is
+ * forwarded instead of being held in memory.
+ */
+public interface BinaryContent {
+  /**
+   * The size of the content in bytes.
+   *
+   * @return the size or -1 if it is unknown.
+   */
+  long getSize();
+
+  /**
+   * Opens a new stream of the content. The caller must close the stream.
+   *
+   * @return the stream.
+   * @throws IOException if the content cannot be read.
+   */
+  InputStream getInputStream() throws IOException;
+}
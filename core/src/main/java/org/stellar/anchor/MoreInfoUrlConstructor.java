@@ -2,4 +2,15 @@ package org.stellar.anchor;
 
 public interface MoreInfoUrlConstructor {
   String construct(SepTransaction txn, String lang);
+
+  /**
+   * The generation of the constructed URLs. The URL of a version of a transaction stays the same
+   * until the generation changes, so a client may keep using a URL it received in the same
+   * generation.
+   *
+   * @return the generation.
+   */
+  default long generation() {
+    return 0;
+  }
 }
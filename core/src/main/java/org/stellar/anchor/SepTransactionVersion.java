@@ -0,0 +1,30 @@
+package org.stellar.anchor;
+
+import java.time.Instant;
+
+/**
+ * The fields of a SEP transaction that tell if it changed. They are queried without loading the
+ * whole transaction so that a client polling a transaction that did not change is answered cheaply.
+ */
+public interface SepTransactionVersion {
+  /**
+   * The account that requested the transaction.
+   *
+   * @return the SEP-10 account. null for the SEP-31 transactions.
+   */
+  String getSep10Account();
+
+  /**
+   * The memo of the account that requested the transaction.
+   *
+   * @return the SEP-10 account memo. null for the SEP-31 transactions.
+   */
+  String getSep10AccountMemo();
+
+  /**
+   * The date and time of transaction last updated.
+   *
+   * @return the <code>updated_at</code> field of the transaction.
+   */
+  Instant getUpdatedAt();
+}
@@ -10,5 +10,34 @@ public interface AppConfig {
 
   String getHorizonUrl();
 
+  /**
+   * The URLs of the Horizon servers used when the Horizon server of getHorizonUrl() is slow or
+   * fails.
+   *
+   * @return the fallback URLs. Empty if there is no fallback server.
+   */
+  List<String> getHorizonFallbackUrls();
+
   List<String> getLanguages();
+
+  /**
+   * The maximum number of Stellar payment operations cached by the Horizon client.
+   *
+   * @return the maximum number of cached operations. Zero disables the cache.
+   */
+  int getTransactionOperationsCacheSize();
+
+  /**
+   * The format of the generated SEP transaction ids.
+   *
+   * @return the transaction id format.
+   */
+  TransactionIdFormat getTransactionIdFormat();
+
+  enum TransactionIdFormat {
+    /** Random UUIDs. */
+    UUID_V4,
+    /** Time-ordered UUIDs. They are inserted at the end of the indexes of the transaction ids. */
+    UUID_V7
+  }
 }
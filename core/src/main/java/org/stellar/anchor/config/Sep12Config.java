@@ -4,4 +4,12 @@ public interface Sep12Config {
   Boolean getEnabled();
 
   String getCustomerIntegrationEndPoint();
+
+  /**
+   * Whether the binary fields of a multipart PUT /customer request are streamed to the customer
+   * callback instead of being read into memory.
+   *
+   * @return true if the binary fields are streamed.
+   */
+  boolean isStreamingEnabled();
 }
@@ -11,6 +11,14 @@ public interface Sep1Config {
 
   String getValue();
 
+  /**
+   * The interval in seconds at which a `file` or `url` stellar.toml is re-read. A non-positive value
+   * disables the refresh and the toml is read only once.
+   *
+   * @return the refresh interval in seconds.
+   */
+  int getRefreshInterval();
+
   enum TomlType {
     STRING,
     FILE,
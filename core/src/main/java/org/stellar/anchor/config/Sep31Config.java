@@ -7,6 +7,15 @@ public interface Sep31Config {
 
   DepositInfoGeneratorType getDepositInfoGeneratorType();
 
+  /**
+   * The number of threads used to call the Anchor business server concurrently while processing a
+   * `POST /transactions` request. The sender and receiver customers, the quote and the fee are
+   * fetched concurrently. If less than 1, the calls are made one by one on the request thread.
+   *
+   * @return the callback concurrency.
+   */
+  int getCallbackConcurrency();
+
   enum PaymentType {
     STRICT_SEND,
     STRICT_RECEIVE
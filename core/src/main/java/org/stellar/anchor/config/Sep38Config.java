@@ -1,8 +1,34 @@
 package org.stellar.anchor.config;
 
+import com.google.gson.annotations.SerializedName;
+import lombok.Getter;
+import lombok.Setter;
+
 @SuppressWarnings("SameReturnValue")
 public interface Sep38Config {
   boolean isEnabled();
 
   boolean isSep10Enforced();
+
+  Prices getPrices();
+
+  @Getter
+  @Setter
+  class Prices {
+    /**
+     * The maximum number of `GET /rate` requests sent concurrently to the business server while
+     * serving a single `GET /prices` request. Values less than 2 disable the concurrency.
+     */
+    int concurrency;
+
+    /** The overall deadline, in seconds, of the `GET /rate` requests of a `GET /prices` call. */
+    int timeout;
+
+    /**
+     * The time-to-live, in seconds, of the cached indicative rates. 0 disables the cache. Firm
+     * rates are never cached.
+     */
+    @SerializedName("cache_ttl")
+    int cacheTtl;
+  }
 }
@@ -55,6 +55,19 @@ public interface EventService {
      */
     void publish(AnchorEvent event) throws AnchorException;
 
+    /**
+     * Publishes the events to the event queue in order. The implementations that support it send
+     * the events as one batch.
+     *
+     * @param events the events to publish
+     * @throws AnchorException if the events could not be published.
+     */
+    default void publishAll(List<AnchorEvent> events) throws AnchorException {
+      for (AnchorEvent event : events) {
+        publish(event);
+      }
+    }
+
     /**
      * Reads events from the event queue.
      *
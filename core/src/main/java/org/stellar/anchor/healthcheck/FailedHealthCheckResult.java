@@ -0,0 +1,31 @@
+package org.stellar.anchor.healthcheck;
+
+import static org.stellar.anchor.api.platform.HealthCheckStatus.RED;
+
+import java.util.List;
+import lombok.Getter;
+import org.stellar.anchor.api.platform.HealthCheckResult;
+import org.stellar.anchor.api.platform.HealthCheckStatus;
+
+/** The result of a check that failed or did not complete in time. */
+@Getter
+public class FailedHealthCheckResult implements HealthCheckResult {
+  transient String name;
+  final HealthCheckStatus status = RED;
+  final String error;
+
+  public FailedHealthCheckResult(String name, String error) {
+    this.name = name;
+    this.error = error;
+  }
+
+  @Override
+  public String name() {
+    return name;
+  }
+
+  @Override
+  public List<HealthCheckStatus> getStatuses() {
+    return List.of(RED);
+  }
+}
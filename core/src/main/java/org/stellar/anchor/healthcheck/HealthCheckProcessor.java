@@ -17,13 +17,24 @@ public class HealthCheckProcessor {
     }
   }
 
-  public HealthCheckResponse check(List<String> checkTags) {
-    HealthCheckResponse healthCheckResponse = new HealthCheckResponse();
+  /**
+   * Finds the checkables of any of the tags.
+   *
+   * @param checkTags the tags.
+   * @return the checkables sorted by their names.
+   */
+  public List<HealthCheckable> getCheckables(List<String> checkTags) {
     SortedSet<HealthCheckable> checkSet = new TreeSet<>();
     for (String checkTag : checkTags) {
       List<HealthCheckable> checkables = mapCheckable.get(checkTag.toLowerCase());
       if (checkables != null) checkSet.addAll(checkables);
     }
+    return new ArrayList<>(checkSet);
+  }
+
+  public HealthCheckResponse check(List<String> checkTags) {
+    HealthCheckResponse healthCheckResponse = new HealthCheckResponse();
+    List<HealthCheckable> checkSet = getCheckables(checkTags);
 
     List<HealthCheckResult> results = new ArrayList<>(checkSet.size());
     for (HealthCheckable checkable : checkSet) {
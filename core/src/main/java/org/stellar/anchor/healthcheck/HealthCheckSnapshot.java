@@ -0,0 +1,68 @@
+package org.stellar.anchor.healthcheck;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonSerializationContext;
+import com.google.gson.JsonSerializer;
+import com.google.gson.annotations.JsonAdapter;
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import lombok.Getter;
+import org.stellar.anchor.api.platform.HealthCheckResult;
+import org.stellar.anchor.api.platform.HealthCheckStatus;
+
+/**
+ * The result of a check and the time it was taken. It is serialized as the result with the
+ * `checked_at` and `age_ms` fields added.
+ */
+@Getter
+@JsonAdapter(HealthCheckSnapshot.Serializer.class)
+public class HealthCheckSnapshot implements HealthCheckResult {
+  final HealthCheckResult result;
+  final Instant checkedAt;
+
+  public HealthCheckSnapshot(HealthCheckResult result, Instant checkedAt) {
+    this.result = result;
+    this.checkedAt = checkedAt;
+  }
+
+  /**
+   * The time since the check was taken.
+   *
+   * @return the age of the result.
+   */
+  public Duration getAge() {
+    return Duration.between(checkedAt, Instant.now());
+  }
+
+  @Override
+  public String name() {
+    return result.name();
+  }
+
+  @Override
+  public List<HealthCheckStatus> getStatuses() {
+    return result.getStatuses();
+  }
+
+  @Override
+  public HealthCheckStatus getStatus() {
+    return result.getStatus();
+  }
+
+  static class Serializer implements JsonSerializer<HealthCheckSnapshot> {
+    @Override
+    public JsonElement serialize(
+        HealthCheckSnapshot src, Type typeOfSrc, JsonSerializationContext context) {
+      JsonElement json = context.serialize(src.result);
+      if (json.isJsonObject()) {
+        JsonObject obj = json.getAsJsonObject();
+        obj.add("checked_at", context.serialize(src.checkedAt));
+        obj.addProperty("age_ms", src.getAge().toMillis());
+      }
+      return json;
+    }
+  }
+}
@@ -1,5 +1,6 @@
 package org.stellar.anchor.healthcheck;
 
+import java.time.Duration;
 import java.util.List;
 import org.stellar.anchor.api.platform.HealthCheckResult;
 
@@ -8,6 +9,9 @@ import org.stellar.anchor.api.platform.HealthCheckResult;
  * this interface.
  */
 public interface HealthCheckable extends Comparable<HealthCheckable> {
+  Duration DEFAULT_CHECK_INTERVAL = Duration.ofSeconds(10);
+  Duration DEFAULT_CHECK_TIMEOUT = Duration.ofSeconds(5);
+
   /**
    * The name of the service.
    *
@@ -31,6 +35,25 @@ public interface HealthCheckable extends Comparable<HealthCheckable> {
    */
   HealthCheckResult check();
 
+  /**
+   * The interval between two checks run in the background. The health check requests are answered
+   * with the result of the last check.
+   *
+   * @return the interval.
+   */
+  default Duration getCheckInterval() {
+    return DEFAULT_CHECK_INTERVAL;
+  }
+
+  /**
+   * The time a check may take. The check is reported as RED if it does not complete in time.
+   *
+   * @return the timeout.
+   */
+  default Duration getCheckTimeout() {
+    return DEFAULT_CHECK_TIMEOUT;
+  }
+
   enum Tags {
     ALL("all"),
     KAFKA("kafka"),
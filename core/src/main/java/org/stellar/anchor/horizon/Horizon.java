@@ -3,9 +3,11 @@ package org.stellar.anchor.horizon;
 import static org.stellar.anchor.api.sep.AssetInfo.NATIVE_ASSET_CODE;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import lombok.Getter;
+import lombok.Setter;
 import org.stellar.anchor.config.AppConfig;
 import org.stellar.anchor.util.AssetHelper;
 import org.stellar.sdk.AssetTypeCreditAlphaNum;
@@ -14,20 +16,58 @@ import org.stellar.sdk.responses.AccountResponse;
 import org.stellar.sdk.responses.operations.OperationResponse;
 
 /** The horizon-server. */
-public class Horizon {
+public class Horizon implements AutoCloseable {
 
   @Getter private final String horizonUrl;
   @Getter private final String stellarNetworkPassphrase;
-  private final Server horizonServer;
+  @Getter private final HorizonPool pool;
+  // The operations are fetched from Horizon on every call when there is no cache
+  @Setter private TransactionOperationsCache operationsCache;
 
   public Horizon(AppConfig appConfig) {
+    this(appConfig, List.of());
+  }
+
+  /**
+   * Creates the Horizon of the configured server and its fallback servers.
+   *
+   * @param appConfig the app config.
+   * @param fallbackUrls the URLs of the servers used when the configured server is slow or fails.
+   */
+  public Horizon(AppConfig appConfig, List<String> fallbackUrls) {
     this.horizonUrl = appConfig.getHorizonUrl();
     this.stellarNetworkPassphrase = appConfig.getStellarNetworkPassphrase();
-    this.horizonServer = new Server(appConfig.getHorizonUrl());
+    List<String> urls = new ArrayList<>();
+    urls.add(appConfig.getHorizonUrl());
+    urls.addAll(fallbackUrls);
+    this.pool = new HorizonPool(urls);
+    this.pool.startProbing();
   }
 
+  /** Stops the threads of the servers. */
+  @Override
+  public void close() {
+    pool.close();
+  }
+
+  /**
+   * Gets the server with the best health. The requests sent to the server directly are not hedged.
+   *
+   * @return the server.
+   */
   public Server getServer() {
-    return this.horizonServer;
+    return pool.best().getServer();
+  }
+
+  /**
+   * Loads the account. The read is hedged across the servers.
+   *
+   * @param account the account id.
+   * @return the account.
+   * @throws IOException if the account cannot be loaded from any server.
+   */
+  public AccountResponse getAccount(String account) throws IOException {
+    return pool.read(server -> server.accounts().account(account));
   }
 
   public boolean isTrustlineConfigured(String account, String asset) throws IOException {
@@ -37,7 +77,7 @@ public class Horizon {
     }
     String assetIssuer = AssetHelper.getAssetIssuer(asset);
 
-    AccountResponse accountResponse = getServer().accounts().account(account);
+    AccountResponse accountResponse = getAccount(account);
     return Arrays.stream(accountResponse.getBalances())
         .anyMatch(
             balance -> {
@@ -52,12 +92,31 @@ public class Horizon {
             });
   }
 
+  /**
+   * Gets the payment operations of the Stellar transaction. The operations are cached because a
+   * Stellar transaction never changes once it is in a ledger. The reads are hedged across the
+   * servers.
+   *
+   * @param stellarTxnId the hash of the Stellar transaction.
+   * @return the payment operations of the transaction.
+   * @throws IOException if the operations cannot be fetched from Horizon.
+   */
   public List<OperationResponse> getStellarTxnOperations(String stellarTxnId) throws IOException {
-    return getServer()
-        .payments()
-        .includeTransactions(true)
-        .forTransaction(stellarTxnId)
-        .execute()
-        .getRecords();
+    if (operationsCache == null) {
+      return fetchStellarTxnOperations(stellarTxnId);
+    }
+    return operationsCache.get(stellarTxnId, this::fetchStellarTxnOperations);
+  }
+
+  private List<OperationResponse> fetchStellarTxnOperations(String stellarTxnId)
+      throws IOException {
+    return pool.read(
+        server ->
+            server
+                .payments()
+                .includeTransactions(true)
+                .forTransaction(stellarTxnId)
+                .execute()
+                .getRecords());
   }
 }
@@ -0,0 +1,302 @@
+package org.stellar.anchor.horizon;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.stellar.anchor.util.Log.debugF;
+import static org.stellar.anchor.util.Log.warnF;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.*;
+import lombok.Getter;
+import org.stellar.sdk.Server;
+import org.stellar.sdk.requests.ErrorResponse;
+import org.stellar.sdk.responses.RootResponse;
+
+/**
+ * The Horizon servers of the Stellar network, ranked by their health. The score of a server grows
+ * with its read latency, with its recent failures and with the number of ledgers it is behind the
+ * other servers. The reads are sent to the best server and hedged: if the best server does not
+ * answer in time, the read is also sent to the next one and the first answer is used.
+ *
+ * <p>When there are several servers, their latest ledgers are probed periodically so that the
+ * servers behind the others are ranked down. The pool must be closed to stop its threads.
+ */
+public class HorizonPool implements AutoCloseable {
+  static final double INITIAL_LATENCY_MILLIS = 250;
+  // The weight of a new latency sample in the moving average
+  static final double LATENCY_WEIGHT = 0.2;
+  static final double FAILURE_PENALTY_MILLIS = 10_000;
+  static final double LAG_PENALTY_MILLIS_PER_LEDGER = 6_000;
+  static final Duration FAILURE_COOLDOWN = Duration.ofSeconds(30);
+  static final Duration MIN_HEDGE_DELAY = Duration.ofMillis(100);
+  static final Duration MAX_HEDGE_DELAY = Duration.ofSeconds(2);
+  static final Duration PROBE_INTERVAL = Duration.ofSeconds(30);
+  // The maximum number of concurrent hedged reads per server. The other reads wait in the queue.
+  static final int READ_THREADS_PER_SERVER = 8;
+
+  @Getter private final List<Node> nodes;
+  private final ThreadPoolExecutor readExecutor;
+  private ScheduledExecutorService prober;
+
+  public HorizonPool(List<String> urls) {
+    if (urls.isEmpty()) {
+      throw new IllegalArgumentException("At least one Horizon URL is required.");
+    }
+    nodes = new ArrayList<>(urls.size());
+    for (int i = 0; i < urls.size(); i++) {
+      nodes.add(new Node(i, urls.get(i), new Server(urls.get(i))));
+    }
+
+    int readThreads = READ_THREADS_PER_SERVER * urls.size();
+    readExecutor =
+        new ThreadPoolExecutor(
+            readThreads,
+            readThreads,
+            60,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            runnable -> newThread(runnable, "horizon-read"));
+    readExecutor.allowCoreThreadTimeOut(true);
+  }
+
+  /** Starts probing the servers every probe interval. There is nothing to probe with one server. */
+  public synchronized void startProbing() {
+    if (nodes.size() < 2 || prober != null) {
+      return;
+    }
+    prober =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> newThread(runnable, "horizon-probe"));
+    prober.scheduleWithFixedDelay(this::probe, 0, PROBE_INTERVAL.toMillis(), MILLISECONDS);
+  }
+
+  /** Stops the reads in progress and the probes. */
+  @Override
+  public synchronized void close() {
+    if (prober != null) {
+      prober.shutdownNow();
+    }
+    readExecutor.shutdownNow();
+  }
+
+  /**
+   * Gets the server with the best score.
+   *
+   * @return the best server.
+   */
+  public Node best() {
+    return ranked().get(0);
+  }
+
+  /**
+   * Gets the servers from the best to the worst. The servers of the same score are in the
+   * configured order.
+   *
+   * @return the ranked servers.
+   */
+  public List<Node> ranked() {
+    Instant now = Instant.now();
+    long latestLedger = nodes.stream().mapToLong(Node::getLatestLedger).max().orElse(0);
+    List<Node> ranked = new ArrayList<>(nodes);
+    ranked.sort(
+        Comparator.comparingDouble((Node node) -> node.score(now, latestLedger))
+            .thenComparingInt(Node::getIndex));
+    return ranked;
+  }
+
+  /**
+   * Reads from the servers. The read is sent to the best server. If it does not answer within the
+   * hedge delay, the read is also sent to the next server, and so on. If a server fails, the read
+   * is sent to the next server immediately. The first answer is returned and the other reads are
+   * cancelled. An error response of a client error is an answer and is not retried.
+   *
+   * @param read the read.
+   * @param <T> the type of the result.
+   * @return the result of the first server that answered.
+   * @throws IOException if all the servers failed.
+   */
+  public <T> T read(Read<T> read) throws IOException {
+    List<Node> ranked = ranked();
+    if (ranked.size() == 1) {
+      return call(ranked.get(0), read);
+    }
+
+    CompletionService<T> completionService = new ExecutorCompletionService<>(readExecutor);
+    List<Future<T>> futures = new ArrayList<>(ranked.size());
+    int started = 0;
+    int failed = 0;
+    Exception lastFailure = null;
+    try {
+      futures.add(completionService.submit(() -> call(ranked.get(0), read)));
+      started++;
+      while (true) {
+        Future<T> done;
+        if (started < ranked.size()) {
+          long hedgeMillis = hedgeDelay(ranked.get(started - 1)).toMillis();
+          done = completionService.poll(hedgeMillis, MILLISECONDS);
+        } else {
+          done = completionService.take();
+        }
+        if (done == null) {
+          // The started reads are slow. Hedge on the next server.
+          Node next = ranked.get(started);
+          debugF("Hedging the Horizon read on {}", next.getUrl());
+          futures.add(completionService.submit(() -> call(next, read)));
+          started++;
+          continue;
+        }
+
+        try {
+          return done.get();
+        } catch (ExecutionException eex) {
+          Throwable cause = eex.getCause();
+          if (cause instanceof Error) {
+            throw (Error) cause;
+          }
+          if (!isServerFailure(cause)) {
+            throw (ErrorResponse) cause;
+          }
+          lastFailure = (Exception) cause;
+          if (++failed == ranked.size()) {
+            break;
+          }
+          if (started < ranked.size()) {
+            Node next = ranked.get(started);
+            futures.add(completionService.submit(() -> call(next, read)));
+            started++;
+          }
+        }
+      }
+    } catch (InterruptedException iex) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while reading from Horizon");
+    } finally {
+      futures.forEach(future -> future.cancel(true));
+    }
+
+    if (lastFailure instanceof IOException) {
+      throw (IOException) lastFailure;
+    } else if (lastFailure instanceof RuntimeException) {
+      throw (RuntimeException) lastFailure;
+    }
+    throw new IOException("All the Horizon servers failed", lastFailure);
+  }
+
+  /**
+   * Probes the latest ledger and the latency of each server. The servers behind the others are
+   * ranked down.
+   */
+  public void probe() {
+    for (Node node : nodes) {
+      try {
+        RootResponse root = call(node, Server::root);
+        node.setLatestLedger(root.getHistoryLatestLedger());
+      } catch (Exception ex) {
+        warnF("Failed to probe the Horizon server {}. error={}", node.getUrl(), ex.getMessage());
+      }
+    }
+  }
+
+  /**
+   * Reports that the server failed outside a read, for example when a stream from the server
+   * failed or stalled.
+   *
+   * @param node the server.
+   */
+  public void reportFailure(Node node) {
+    node.recordFailure();
+  }
+
+  <T> T call(Node node, Read<T> read) throws IOException {
+    long start = System.nanoTime();
+    try {
+      T result = read.read(node.getServer());
+      node.recordLatency(Duration.ofNanos(System.nanoTime() - start));
+      return result;
+    } catch (IOException | RuntimeException ex) {
+      if (isServerFailure(ex)) {
+        node.recordFailure();
+      }
+      throw ex;
+    }
+  }
+
+  static boolean isServerFailure(Throwable ex) {
+    // The client errors such as 404 are the answers of a healthy server
+    return !(ex instanceof ErrorResponse) || ((ErrorResponse) ex).getCode() >= 500;
+  }
+
+  static Duration hedgeDelay(Node node) {
+    long millis = (long) (2 * node.getLatencyMillis());
+    return Duration.ofMillis(
+        Math.max(MIN_HEDGE_DELAY.toMillis(), Math.min(MAX_HEDGE_DELAY.toMillis(), millis)));
+  }
+
+  static Thread newThread(Runnable runnable, String name) {
+    Thread thread = new Thread(runnable, name);
+    thread.setDaemon(true);
+    return thread;
+  }
+
+  /** A read from a Horizon server. */
+  public interface Read<T> {
+    T read(Server server) throws IOException;
+  }
+
+  /** A Horizon server and its health. */
+  @Getter
+  public static class Node {
+    final int index;
+    final String url;
+    final Server server;
+    double latencyMillis = INITIAL_LATENCY_MILLIS;
+    int failures = 0;
+    Instant lastFailureAt;
+    long latestLedger = 0;
+
+    Node(int index, String url, Server server) {
+      this.index = index;
+      this.url = url;
+      this.server = server;
+    }
+
+    synchronized void recordLatency(Duration latency) {
+      latencyMillis = (1 - LATENCY_WEIGHT) * latencyMillis + LATENCY_WEIGHT * latency.toMillis();
+      failures = 0;
+    }
+
+    synchronized void recordFailure() {
+      failures++;
+      lastFailureAt = Instant.now();
+    }
+
+    synchronized void setLatestLedger(long latestLedger) {
+      this.latestLedger = latestLedger;
+    }
+
+    synchronized double score(Instant now, long networkLatestLedger) {
+      double score = latencyMillis;
+      // The failed server is tried again after the cooldown
+      if (failures > 0 && lastFailureAt.plus(FAILURE_COOLDOWN).isAfter(now)) {
+        score += failures * FAILURE_PENALTY_MILLIS;
+      }
+      if (latestLedger > 0) {
+        score += (networkLatestLedger - latestLedger) * LAG_PENALTY_MILLIS_PER_LEDGER;
+      }
+      return score;
+    }
+
+    synchronized double getLatencyMillis() {
+      return latencyMillis;
+    }
+
+    synchronized long getLatestLedger() {
+      return latestLedger;
+    }
+  }
+}
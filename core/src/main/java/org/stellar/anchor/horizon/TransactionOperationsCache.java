@@ -0,0 +1,186 @@
+package org.stellar.anchor.horizon;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import org.stellar.sdk.responses.TransactionResponse;
+import org.stellar.sdk.responses.operations.OperationResponse;
+
+/**
+ * Caches the payment operations of Stellar transactions. A transaction never changes once it is in
+ * a ledger, so the entries never expire. The cache is bounded by the total number of operations it
+ * holds and evicts the least recently used transactions first. Concurrent lookups of the same
+ * transaction share one Horizon request.
+ *
+ * <p>The shared instance is used by all the servers running in the same process, such as the
+ * servers started by the service runner, so the operations seen by the Stellar payment observer are
+ * found by the platform server without querying Horizon.
+ */
+public class TransactionOperationsCache {
+  static final int MAX_PENDING_TRANSACTIONS = 1000;
+
+  private static TransactionOperationsCache shared;
+
+  private final int maxOperations;
+  private int operationCount = 0;
+  private final LinkedHashMap<String, List<OperationResponse>> entries =
+      new LinkedHashMap<>(256, 0.75f, true);
+
+  // The operations of the transactions that have only been partially observed
+  private final Map<String, Map<Long, OperationResponse>> pending =
+      new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(
+            Map.Entry<String, Map<Long, OperationResponse>> eldest) {
+          return size() > MAX_PENDING_TRANSACTIONS;
+        }
+      };
+
+  private final Map<String, CompletableFuture<List<OperationResponse>>> loading =
+      new ConcurrentHashMap<>();
+
+  /**
+   * Creates the cache.
+   *
+   * @param maxOperations the maximum number of operations held by the cache. Zero disables the
+   *     cache.
+   */
+  public TransactionOperationsCache(int maxOperations) {
+    this.maxOperations = maxOperations;
+  }
+
+  /**
+   * Gets the cache shared by the process. It is created by the first call.
+   *
+   * @param maxOperations the maximum number of operations held by the cache if it is created.
+   * @return the shared cache.
+   */
+  public static synchronized TransactionOperationsCache shared(int maxOperations) {
+    if (shared == null) {
+      shared = new TransactionOperationsCache(maxOperations);
+    }
+    return shared;
+  }
+
+  /**
+   * Gets the operations of the transaction. If they are not cached, they are loaded and cached. If
+   * the operations of the transaction are being loaded by another thread, waits for them instead of
+   * loading them again.
+   *
+   * @param txnHash the hash of the Stellar transaction.
+   * @param loader loads the operations of the transaction from Horizon.
+   * @return the operations of the transaction.
+   * @throws IOException if the operations cannot be loaded.
+   */
+  public List<OperationResponse> get(String txnHash, Loader loader) throws IOException {
+    List<OperationResponse> operations = getIfPresent(txnHash);
+    if (operations != null) {
+      return operations;
+    }
+
+    CompletableFuture<List<OperationResponse>> future = new CompletableFuture<>();
+    CompletableFuture<List<OperationResponse>> inFlight = loading.putIfAbsent(txnHash, future);
+    if (inFlight != null) {
+      return await(inFlight);
+    }
+
+    try {
+      // The operations may have been cached after the first lookup
+      operations = getIfPresent(txnHash);
+      if (operations == null) {
+        operations = loader.load(txnHash);
+        // An empty result may only mean that Horizon has not ingested the transaction yet
+        if (operations != null && !operations.isEmpty()) {
+          put(txnHash, operations);
+        }
+      }
+      future.complete(operations);
+      return operations;
+    } catch (IOException | RuntimeException ex) {
+      future.completeExceptionally(ex);
+      throw ex;
+    } finally {
+      loading.remove(txnHash, future);
+    }
+  }
+
+  public synchronized List<OperationResponse> getIfPresent(String txnHash) {
+    return entries.get(txnHash);
+  }
+
+  /**
+   * Records an operation of a successful transaction seen by the payment observer. When all the
+   * operations of the transaction have been seen, they are cached.
+   *
+   * @param operation the operation. It must include its transaction.
+   */
+  public synchronized void observe(OperationResponse operation) {
+    if (maxOperations == 0
+        || operation.getTransaction() == null
+        || operation.getTransaction().isEmpty()) {
+      return;
+    }
+    TransactionResponse txn = operation.getTransaction().get();
+    if (txn.getHash() == null
+        || txn.getOperationCount() == null
+        || entries.containsKey(txn.getHash())) {
+      return;
+    }
+
+    Map<Long, OperationResponse> operations =
+        pending.computeIfAbsent(txn.getHash(), hash -> new LinkedHashMap<>());
+    operations.put(operation.getId(), operation);
+    // A transaction with operations other than payments is never complete and is evicted
+    if (operations.size() >= txn.getOperationCount()) {
+      pending.remove(txn.getHash());
+      put(txn.getHash(), List.copyOf(operations.values()));
+    }
+  }
+
+  synchronized void put(String txnHash, List<OperationResponse> operations) {
+    if (operations.size() > maxOperations) {
+      return;
+    }
+    List<OperationResponse> previous = entries.put(txnHash, List.copyOf(operations));
+    operationCount += operations.size() - (previous != null ? previous.size() : 0);
+
+    Iterator<List<OperationResponse>> eldest = entries.values().iterator();
+    while (operationCount > maxOperations && eldest.hasNext()) {
+      operationCount -= eldest.next().size();
+      eldest.remove();
+    }
+  }
+
+  synchronized int size() {
+    return entries.size();
+  }
+
+  private static List<OperationResponse> await(CompletableFuture<List<OperationResponse>> future)
+      throws IOException {
+    try {
+      return future.get();
+    } catch (ExecutionException ex) {
+      if (ex.getCause() instanceof IOException) {
+        throw (IOException) ex.getCause();
+      }
+      if (ex.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) ex.getCause();
+      }
+      throw new IOException(ex.getCause());
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while loading the transaction operations");
+    }
+  }
+
+  @FunctionalInterface
+  public interface Loader {
+    List<OperationResponse> load(String txnHash) throws IOException;
+  }
+}
@@ -1,12 +1,19 @@
 package org.stellar.anchor.sep1;
 
+import static org.stellar.anchor.config.Sep1Config.TomlType.FILE;
+import static org.stellar.anchor.config.Sep1Config.TomlType.URL;
 import static org.stellar.anchor.util.Log.debugF;
 import static org.stellar.anchor.util.MetricConstants.SEP1_TOML_ACCESSED;
 
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Metrics;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import org.stellar.anchor.api.exception.InvalidConfigException;
 import org.stellar.anchor.api.exception.SepException;
 import org.stellar.anchor.config.Sep1Config;
@@ -16,7 +23,9 @@ import org.stellar.anchor.util.NetUtil;
 
 public class Sep1Service implements ISep1Service {
   private final Sep1Config sep1Config;
-  private String tomlValue = null;
+  private final AtomicReference<TomlSnapshot> snapshot = new AtomicReference<>();
+  private long fileLastModified = -1;
+  final ScheduledExecutorService refresher;
   Counter sep1TomlAccessedCounter = Metrics.counter(SEP1_TOML_ACCESSED);
 
   /**
@@ -26,6 +35,7 @@ public class Sep1Service implements ISep1Service {
    */
   public Sep1Service(Sep1Config sep1Config) {
     this.sep1Config = sep1Config;
+    this.refresher = scheduleRefresh(sep1Config);
     Log.info("Sep1Service initialized.");
   }
 
@@ -52,10 +62,55 @@ public class Sep1Service implements ISep1Service {
   }
 
   public String getToml() throws SepException {
+    return getTomlSnapshot().getToml();
+  }
+
+  /**
+   * Returns the current pre-encoded stellar.toml. The content is read on the first access and is
+   * replaced atomically whenever a refresh finds new content.
+   *
+   * @return the current snapshot of the stellar.toml.
+   * @throws SepException if the toml cannot be read.
+   */
+  public TomlSnapshot getTomlSnapshot() throws SepException {
+    TomlSnapshot current = snapshot.get();
+    if (current == null) {
+      current = load();
+    }
+    sep1TomlAccessedCounter.increment();
+    return current;
+  }
+
+  /**
+   * Re-reads the stellar.toml from its source and swaps the snapshot if the content has changed.
+   * If the source cannot be read, the previous snapshot is kept.
+   */
+  public void refresh() {
+    try {
+      if (sep1Config.getType() == FILE && !fileModified(sep1Config.getValue())) {
+        return;
+      }
+      TomlSnapshot fresh = new TomlSnapshot(readSep1Toml(sep1Config), System.currentTimeMillis());
+      TomlSnapshot previous = snapshot.get();
+      if (previous == null || !previous.getEtag().equals(fresh.getEtag())) {
+        snapshot.set(fresh);
+        debugF("stellar.toml refreshed. etag={}", fresh.getEtag());
+      }
+    } catch (Exception e) {
+      Log.errorEx("Failed to refresh stellar.toml. Keep serving the previous value.", e);
+    }
+  }
+
+  synchronized TomlSnapshot load() throws SepException {
+    TomlSnapshot current = snapshot.get();
+    if (current != null) return current;
     try {
-      if (tomlValue == null) tomlValue = readSep1Toml(sep1Config);
-      sep1TomlAccessedCounter.increment();
-      return tomlValue;
+      if (sep1Config.isEnabled() && sep1Config.getType() == FILE) {
+        fileModified(sep1Config.getValue());
+      }
+      current = new TomlSnapshot(readSep1Toml(sep1Config), System.currentTimeMillis());
+      snapshot.set(current);
+      return current;
     } catch (SepException sepEx) {
       throw sepEx;
     } catch (Exception e) {
@@ -64,6 +119,45 @@ public class Sep1Service implements ISep1Service {
     }
   }
 
+  /** Records the last modified time of the file and returns true if it has changed. */
+  synchronized boolean fileModified(String path) {
+    try {
+      long lastModified = Files.getLastModifiedTime(Path.of(path)).toMillis();
+      boolean modified = lastModified != fileLastModified;
+      fileLastModified = lastModified;
+      return modified;
+    } catch (IOException | RuntimeException ex) {
+      // let the read itself report the error
+      return true;
+    }
+  }
+
+  ScheduledExecutorService scheduleRefresh(Sep1Config sep1Config) {
+    int interval = sep1Config.getRefreshInterval();
+    if (!sep1Config.isEnabled()
+        || interval <= 0
+        || (sep1Config.getType() != FILE && sep1Config.getType() != URL)) {
+      return null;
+    }
+    ScheduledExecutorService scheduler =
+        Executors.newSingleThreadScheduledExecutor(Sep1Service::newRefreshThread);
+    scheduler.scheduleWithFixedDelay(this::refresh, interval, interval, TimeUnit.SECONDS);
+    return scheduler;
+  }
+
+  /** Stops the refresh of the stellar.toml. Called when the service is destroyed. */
+  public void shutdown() {
+    if (refresher != null) {
+      refresher.shutdownNow();
+    }
+  }
+
+  static Thread newRefreshThread(Runnable runnable) {
+    Thread thread = new Thread(runnable, "sep1-toml-refresh");
+    thread.setDaemon(true);
+    return thread;
+  }
+
   String readTomlFromFile(String path) throws IOException {
     return FileUtil.read(Path.of(path));
   }
@@ -0,0 +1,71 @@
+package org.stellar.anchor.sep1;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+import lombok.Getter;
+import org.stellar.anchor.util.ETagHelper;
+
+/**
+ * An immutable, pre-encoded copy of the stellar.toml content. The UTF-8 body, its gzip encoding and
+ * their strong ETags are computed once when the content is loaded so that serving the toml does
+ * not need to re-encode it on every request. The two encodings are different representations, so
+ * they have different ETags.
+ */
+@Getter
+public class TomlSnapshot {
+  final String toml;
+  final byte[] body;
+  final byte[] gzipBody;
+  final String etag;
+  final String gzipEtag;
+  final long loadedAt;
+
+  TomlSnapshot(String toml, long loadedAt) {
+    this.toml = toml;
+    this.body = toml.getBytes(UTF_8);
+    this.gzipBody = gzip(body);
+    this.etag = etag(body);
+    this.gzipEtag = etag.substring(0, etag.length() - 1) + "-gz\"";
+    this.loadedAt = loadedAt;
+  }
+
+  /**
+   * Returns the ETag of the body in the given encoding.
+   *
+   * @param gzip true for the gzip encoding, false for the identity encoding.
+   * @return the quoted ETag.
+   */
+  public String getEtag(boolean gzip) {
+    return gzip ? gzipEtag : etag;
+  }
+
+  /**
+   * Returns true if the If-None-Match header value matches the ETag of the body in the given
+   * encoding.
+   *
+   * @param ifNoneMatch the value of the If-None-Match request header. May be null.
+   * @param gzip true for the gzip encoding, false for the identity encoding.
+   * @return true if the client already has the current content in that encoding.
+   */
+  public boolean matches(String ifNoneMatch, boolean gzip) {
+    return ETagHelper.matches(ifNoneMatch, getEtag(gzip));
+  }
+
+  static byte[] gzip(byte[] content) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(content.length / 2, 64));
+    try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+      gzip.write(content);
+    } catch (IOException ioex) {
+      throw new UncheckedIOException(ioex);
+    }
+    return out.toByteArray();
+  }
+
+  static String etag(byte[] content) {
+    return ETagHelper.etag(content);
+  }
+}
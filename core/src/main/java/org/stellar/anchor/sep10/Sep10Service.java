@@ -428,7 +428,7 @@ public class Sep10Service implements ISep10Service {
     AccountResponse account;
     try {
       infoF("Checking if {} exists in the Stellar network", challenge.getClientAccountId());
-      account = horizon.getServer().accounts().account(challenge.getClientAccountId());
+      account = horizon.getAccount(challenge.getClientAccountId());
       traceF("challenge account: {}", account);
       sep10ChallengeValidatedCounter.increment();
       return account;
@@ -25,6 +25,7 @@ public class Sep24Helper {
     if (txn.getToAccount() != null) txnR.setTo(txn.getToAccount());
     if (txn.getStartedAt() != null) txnR.setStartedAt(txn.getStartedAt());
     if (txn.getCompletedAt() != null) txnR.setCompletedAt(txn.getCompletedAt());
+    if (txn.getUpdatedAt() != null) txnR.setUpdatedAt(txn.getUpdatedAt());
     if (txn.getQuoteId() != null) txnR.setQuoteId(txn.getQuoteId());
     if (txn.getUserActionRequiredBy() != null)
       txnR.setUserActionRequiredBy(txn.getUserActionRequiredBy());
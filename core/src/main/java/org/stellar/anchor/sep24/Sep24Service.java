@@ -29,6 +29,7 @@ import java.net.URISyntaxException;
 import java.time.Instant;
 import java.util.*;
 import org.stellar.anchor.MoreInfoUrlConstructor;
+import org.stellar.anchor.SepTransactionVersion;
 import org.stellar.anchor.api.event.AnchorEvent;
 import org.stellar.anchor.api.exception.*;
 import org.stellar.anchor.api.sep.AssetInfo;
@@ -68,6 +69,7 @@ public class Sep24Service {
   final MoreInfoUrlConstructor moreInfoUrlConstructor;
   final CustodyConfig custodyConfig;
   final ExchangeAmountsCalculator exchangeAmountsCalculator;
+  final JsonSnapshot<InfoResponse> infoSnapshot;
 
   final Counter sep24TransactionRequestedCounter =
       counter(MetricConstants.SEP24_TRANSACTION_REQUESTED);
@@ -114,6 +116,7 @@ public class Sep24Service {
     this.moreInfoUrlConstructor = moreInfoUrlConstructor;
     this.custodyConfig = custodyConfig;
     this.exchangeAmountsCalculator = exchangeAmountsCalculator;
+    this.infoSnapshot = new JsonSnapshot<>(buildInfoResponse());
     info("Sep24Service initialized.");
   }
 
@@ -195,7 +198,7 @@ public class Sep24Service {
     Memo memo = makeMemo(withdrawRequest.get("memo"), withdrawRequest.get("memo_type"));
     Memo refundMemo =
         makeMemo(withdrawRequest.get("refund_memo"), withdrawRequest.get("refund_memo_type"));
-    String txnId = UUID.randomUUID().toString();
+    String txnId = generateSepTransactionId(appConfig.getTransactionIdFormat());
     Sep24TransactionBuilder builder =
         new Sep24TransactionBuilder(txnStore)
             .transactionId(txnId)
@@ -392,7 +395,7 @@ public class Sep24Service {
       depositRequest.put("client_domain", token.getClientDomain());
 
     Memo memo = makeMemo(depositRequest.get("memo"), depositRequest.get("memo_type"));
-    String txnId = generateSepTransactionId();
+    String txnId = generateSepTransactionId(appConfig.getTransactionIdFormat());
     Sep24TransactionBuilder builder =
         new Sep24TransactionBuilder(txnStore)
             .transactionId(txnId)
@@ -563,8 +566,47 @@ public class Sep24Service {
     return Sep24GetTransactionResponse.of(fromTxn(assetService, moreInfoUrlConstructor, txn, lang));
   }
 
+  /**
+   * Gets the ETag of the transaction requested by id without loading the transaction. The tag is
+   * derived from the id and updated_at of the transaction, the language and the generation of the
+   * more_info_url, so it changes whenever the response of findTransaction changes.
+   *
+   * @param token The SEP-10 token.
+   * @param txReq The request.
+   * @return The ETag. null if the transaction is not requested by id or if it is not found.
+   * @throws SepException if error happens
+   */
+  public String findTransactionETag(Sep10Jwt token, GetTransactionRequest txReq)
+      throws SepException {
+    if (token == null || txReq == null || txReq.getId() == null) {
+      return null;
+    }
+    SepTransactionVersion version = txnStore.findVersionByTransactionId(txReq.getId());
+    // The transactions of other accounts are rejected by findTransaction
+    if (version == null
+        || version.getUpdatedAt() == null
+        || !token.getAccount().equals(version.getSep10Account())) {
+      return null;
+    }
+    String lang = validateLanguage(appConfig, txReq.getLang());
+    return ETagHelper.etag(
+        txReq.getId(), version.getUpdatedAt(), lang, moreInfoUrlConstructor.generation());
+  }
+
   public InfoResponse getInfo() {
-    info("Getting Sep24 info");
+    return infoSnapshot.getValue();
+  }
+
+  /**
+   * Gets the /info response serialized when the service was created.
+   *
+   * @return the snapshot of the /info response.
+   */
+  public JsonSnapshot<InfoResponse> getInfoSnapshot() {
+    return infoSnapshot;
+  }
+
+  private InfoResponse buildInfoResponse() {
     List<AssetInfo> assets = assetService.listAllAssets();
     debugF("{} assets found", assets.size());
 
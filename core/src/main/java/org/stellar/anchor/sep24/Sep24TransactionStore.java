@@ -1,6 +1,8 @@
 package org.stellar.anchor.sep24;
 
+import java.util.Collection;
 import java.util.List;
+import org.stellar.anchor.SepTransactionVersion;
 import org.stellar.anchor.api.exception.SepException;
 import org.stellar.anchor.api.sep.sep24.GetTransactionsRequest;
 import org.stellar.anchor.util.TransactionsParams;
@@ -23,6 +25,25 @@ public interface Sep24TransactionStore {
    */
   Sep24Transaction findByTransactionId(String transactionId) throws SepException;
 
+  /**
+   * Find the version of the Sep24Transaction by transaction_id without loading the transaction.
+   *
+   * @param transactionId The transaction ID
+   * @return The version of the transaction. null if not found.
+   * @throws SepException if error happens
+   */
+  SepTransactionVersion findVersionByTransactionId(String transactionId) throws SepException;
+
+  /**
+   * Find the Sep24Transactions by transaction_ids
+   *
+   * @param transactionIds The transaction IDs
+   * @return The transaction documents found. The ids not found are skipped.
+   * @throws SepException if error happens
+   */
+  List<? extends Sep24Transaction> findByTransactionIds(Collection<String> transactionIds)
+      throws SepException;
+
   /**
    * Find the Sep24Transaction by the stellar network transaction id (hash)
    *
@@ -25,10 +25,12 @@ import io.micrometer.core.instrument.Counter;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.stream.Collectors;
 import javax.transaction.Transactional;
 import lombok.Data;
 import lombok.SneakyThrows;
+import org.stellar.anchor.SepTransactionVersion;
 import org.stellar.anchor.api.callback.CustomerIntegration;
 import org.stellar.anchor.api.callback.FeeIntegration;
 import org.stellar.anchor.api.callback.GetCustomerRequest;
@@ -69,6 +71,8 @@ import org.stellar.anchor.event.EventService;
 import org.stellar.anchor.sep38.Sep38Quote;
 import org.stellar.anchor.sep38.Sep38QuoteStore;
 import org.stellar.anchor.util.CustodyUtils;
+import org.stellar.anchor.util.ETagHelper;
+import org.stellar.anchor.util.JsonSnapshot;
 import org.stellar.anchor.util.Log;
 import org.stellar.anchor.util.TransactionHelper;
 
@@ -83,10 +87,11 @@ public class Sep31Service {
   private final AssetService assetService;
   private final FeeIntegration feeIntegration;
   private final CustomerIntegration customerIntegration;
-  private final Sep31InfoResponse infoResponse;
+  private final JsonSnapshot<Sep31InfoResponse> infoSnapshot;
   private final CustodyService custodyService;
   private final CustodyConfig custodyConfig;
   private final EventService.Session eventSession;
+  private final ExecutorService callbackExecutor;
   private final Counter sep31TransactionCreatedCounter = counter(SEP31_TRANSACTION_CREATED);
   private final Counter sep31TransactionPatchedCounter = counter(SEP31_TRANSACTION_PATCHED);
 
@@ -117,22 +122,33 @@ public class Sep31Service {
     this.feeIntegration = feeIntegration;
     this.customerIntegration = customerIntegration;
     this.eventSession = eventService.createSession(this.getClass().getName(), TRANSACTION);
-    this.infoResponse = sep31InfoResponseFromAssetInfoList(assetService.listAllAssets());
+    this.infoSnapshot =
+        new JsonSnapshot<>(sep31InfoResponseFromAssetInfoList(assetService.listAllAssets()));
     this.custodyService = custodyService;
     this.custodyConfig = custodyConfig;
+    this.callbackExecutor = newCallbackExecutor(sep31Config.getCallbackConcurrency());
     Log.info("Sep31Service initialized.");
   }
 
   public Sep31InfoResponse getInfo() {
-    return infoResponse;
+    return infoSnapshot.getValue();
+  }
+
+  /**
+   * Gets the /info response serialized when the service was created.
+   *
+   * @return the snapshot of the /info response.
+   */
+  public JsonSnapshot<Sep31InfoResponse> getInfoSnapshot() {
+    return infoSnapshot;
   }
 
   @Transactional(rollbackOn = {AnchorException.class, RuntimeException.class})
   public Sep31PostTransactionResponse postTransaction(
       Sep10Jwt sep10Jwt, Sep31PostTransactionRequest request) throws AnchorException {
-    Context.reset();
-    Context.get().setRequest(request);
-    Context.get().setSep10Jwt(sep10Jwt);
+    Context ctx = new Context();
+    ctx.setRequest(request);
+    ctx.setSep10Jwt(sep10Jwt);
 
     AssetInfo assetInfo = assetService.getAsset(request.getAssetCode(), request.getAssetIssuer());
     if (assetInfo == null) {
@@ -142,7 +158,7 @@ public class Sep31Service {
           String.format(
               "asset %s:%s is not supported.", request.getAssetCode(), request.getAssetIssuer()));
     }
-    Context.get().setAsset(assetInfo);
+    ctx.setAsset(assetInfo);
 
     // Pre-validation
     validateAmount(request.getAmount());
@@ -166,15 +182,11 @@ public class Sep31Service {
           "POST /transaction with id ({}) cannot have empty `fields`", sep10Jwt.getTransactionId());
       throw new BadRequestException("'fields' field cannot be empty");
     }
-    Context.get().setTransactionFields(request.getFields().getTransaction());
-    validateRequiredFields();
-
-    // Validation that execute HTTP requests
-    validateSenderAndReceiver();
-    preValidateQuote();
+    ctx.setTransactionFields(request.getFields().getTransaction());
+    validateRequiredFields(ctx);
 
-    // Query the fee
-    updateFee();
+    // Validation that execute HTTP requests and query the fee
+    validateAndUpdateFee(ctx);
 
     // Get the creator's stellarId
     StellarId creatorStellarId =
@@ -183,13 +195,13 @@ public class Sep31Service {
             .memo(sep10Jwt.getAccountMemo())
             .build();
 
-    Sep38Quote quote = Context.get().getQuote();
+    Sep38Quote quote = ctx.getQuote();
     FeeDetails feeDetails;
 
     if (quote != null) {
       feeDetails = quote.getFee();
     } else {
-      Amount fee = Context.get().getFee();
+      Amount fee = ctx.getFee();
 
       feeDetails = new FeeDetails(fee.getAmount(), fee.getAsset(), null);
     }
@@ -197,7 +209,7 @@ public class Sep31Service {
     Instant now = Instant.now();
     Sep31Transaction txn =
         new Sep31TransactionBuilder(sep31TransactionStore)
-            .id(generateSepTransactionId())
+            .id(generateSepTransactionId(appConfig.getTransactionIdFormat()))
             .status(SepTransactionStatus.PENDING_SENDER.getStatus())
             .statusEta(null)
             .feeDetails(feeDetails)
@@ -209,13 +221,13 @@ public class Sep31Service {
             .requiredInfoMessage(null)
             .quoteId(request.getQuoteId())
             .clientDomain(sep10Jwt.getClientDomain())
-            .clientName(getClientName())
+            .clientName(getClientName(ctx))
             .requiredInfoUpdates(null)
             .fields(request.getFields().getTransaction())
             .refunded(null)
             .refunds(null)
-            .senderId(Context.get().getRequest().getSenderId())
-            .receiverId(Context.get().getRequest().getReceiverId())
+            .senderId(ctx.getRequest().getSenderId())
+            .receiverId(ctx.getRequest().getReceiverId())
             .creator(creatorStellarId)
             // updateAmounts will update these ⬇️
             .amountExpected(request.getAmount())
@@ -233,14 +245,14 @@ public class Sep31Service {
       txn.setStellarAccountId(assetInfo.getDistributionAccount());
     }
 
-    Context.get().setTransaction(txn);
-    updateAmounts();
+    ctx.setTransaction(txn);
+    updateAmounts(ctx);
 
     // TODO: open the connection with DB and only commit/save after publishing the event:
-    Context.get().setTransaction(sep31TransactionStore.save(txn));
-    txn = Context.get().getTransaction();
+    ctx.setTransaction(sep31TransactionStore.save(txn));
+    txn = ctx.getTransaction();
 
-    updateDepositInfo();
+    updateDepositInfo(ctx);
 
     if (custodyConfig.isCustodyIntegrationEnabled()) {
       custodyService.createTransaction(txn);
@@ -273,13 +285,13 @@ public class Sep31Service {
    *
    * @throws AnchorException is something went wrong.
    */
-  void updateAmounts() throws AnchorException {
-    Sep31PostTransactionRequest request = Context.get().getRequest();
+  void updateAmounts(Context ctx) throws AnchorException {
+    Sep31PostTransactionRequest request = ctx.getRequest();
     if (request.getQuoteId() != null) {
-      updateTxAmountsBasedOnQuote();
+      updateTxAmountsBasedOnQuote(ctx);
       return;
     }
-    updateTxAmountsWhenNoQuoteWasUsed();
+    updateTxAmountsWhenNoQuoteWasUsed(ctx);
   }
 
   /**
@@ -287,14 +299,14 @@ public class Sep31Service {
    *
    * @throws ServerErrorException if the quote object is missing
    */
-  void updateTxAmountsBasedOnQuote() throws ServerErrorException {
-    Sep38Quote quote = Context.get().getQuote();
+  void updateTxAmountsBasedOnQuote(Context ctx) throws ServerErrorException {
+    Sep38Quote quote = ctx.getQuote();
     if (quote == null) {
-      infoF("Quote for transaction ({}) not found", Context.get().getTransaction().getId());
+      infoF("Quote for transaction ({}) not found", ctx.getTransaction().getId());
       throw new ServerErrorException("Quote not found.");
     }
 
-    Sep31Transaction txn = Context.get().getTransaction();
+    Sep31Transaction txn = ctx.getTransaction();
     debugF("Updating transaction ({}) with quote ({})", txn.getId(), quote.getId());
     txn.setAmountInAsset(quote.getSellAsset());
     txn.setAmountIn(quote.getSellAmount());
@@ -309,12 +321,12 @@ public class Sep31Service {
    * updateTxAmountsWhenNoQuoteWasUsed will update the transaction amountIn and amountOut based on
    * the request amount and the fee.
    */
-  void updateTxAmountsWhenNoQuoteWasUsed() {
-    Sep31PostTransactionRequest request = Context.get().getRequest();
-    Sep31Transaction txn = Context.get().getTransaction();
-    Amount feeResponse = Context.get().getFee();
+  void updateTxAmountsWhenNoQuoteWasUsed(Context ctx) {
+    Sep31PostTransactionRequest request = ctx.getRequest();
+    Sep31Transaction txn = ctx.getTransaction();
+    Amount feeResponse = ctx.getFee();
 
-    AssetInfo reqAsset = Context.get().getAsset();
+    AssetInfo reqAsset = ctx.getAsset();
     int scale = reqAsset.getSignificantDecimals();
     BigDecimal reqAmount = decimal(request.getAmount(), scale);
     BigDecimal fee = decimal(feeResponse.getAmount(), scale);
@@ -353,15 +365,15 @@ public class Sep31Service {
     String feeStr = formatAmount(fee, scale);
     txn.setAmountFee(feeStr);
     txn.setAmountFeeAsset(feeResponse.getAsset());
-    Context.get().getFee().setAmount(feeStr);
+    ctx.getFee().setAmount(feeStr);
   }
 
   /**
    * updateDepositInfo will populate the transaction's deposit information (stellar_account_id, memo
    * and memo_type), as provided by the sep31DepositInfoGenerator.
    */
-  void updateDepositInfo() throws AnchorException {
-    Sep31Transaction txn = Context.get().getTransaction();
+  void updateDepositInfo(Context ctx) throws AnchorException {
+    Sep31Transaction txn = ctx.getTransaction();
     SepDepositInfo depositInfo = sep31DepositInfoGenerator.generate(txn);
     infoF("Updating transaction ({}) with depositInfo ({})", txn.getId(), depositInfo);
 
@@ -392,6 +404,25 @@ public class Sep31Service {
     return txn.toSep31GetTransactionResponse();
   }
 
+  /**
+   * Gets the ETag of the transaction without loading the transaction. The tag is derived from the
+   * id and updated_at of the transaction.
+   *
+   * @param id the transaction id.
+   * @return the ETag. null if the transaction is not found.
+   * @throws AnchorException if error happens.
+   */
+  public String getTransactionETag(String id) throws AnchorException {
+    if (Objects.toString(id, "").isEmpty()) {
+      return null;
+    }
+    SepTransactionVersion version = sep31TransactionStore.findVersionByTransactionId(id);
+    if (version == null || version.getUpdatedAt() == null) {
+      return null;
+    }
+    return ETagHelper.etag(id, version.getUpdatedAt());
+  }
+
   @Transactional(rollbackOn = {AnchorException.class, RuntimeException.class})
   public Sep31GetTransactionResponse patchTransaction(Sep31PatchTransactionRequest request)
       throws AnchorException {
@@ -405,14 +436,14 @@ public class Sep31Service {
       throw new BadRequestException("id cannot be null nor empty");
     }
 
-    Context.reset();
+    Context ctx = new Context();
 
     Sep31Transaction txn = sep31TransactionStore.findByTransactionId(request.getId());
     if (txn == null) {
       infoF("Transaction ({}) not found", request.getId());
       throw new NotFoundException(String.format("transaction (id=%s) not found", request.getId()));
     }
-    Context.get().setTransaction(txn);
+    ctx.setTransaction(txn);
 
     // validate if the transaction is in the pending_transaction_info_update status
     if (!Objects.equals(
@@ -430,9 +461,9 @@ public class Sep31Service {
         .forEach((fieldName, fieldValue) -> txn.getFields().put(fieldName, fieldValue));
 
     AssetInfo assetInfo = assetService.getAsset(txn.getAmountInAsset());
-    Context.get().setAsset(assetInfo);
-    Context.get().setTransactionFields(txn.getFields());
-    validateRequiredFields();
+    ctx.setAsset(assetInfo);
+    ctx.setTransactionFields(txn.getFields());
+    validateRequiredFields(ctx);
 
     Sep31GetTransactionResponse response =
         sep31TransactionStore.save(txn).toSep31GetTransactionResponse();
@@ -473,12 +504,147 @@ public class Sep31Service {
   }
 
   /**
-   * preValidateQuote will validate if the requested asset supports/requires quotes.
+   * validateAndUpdateFee will validate if the SEP-31 receiver and sender exist and their status is
+   * ACCEPTED, validate the quote and update the fee.
+   *
+   * <p>The customer callbacks, the quote lookup and the fee callback are independent of each other,
+   * so when the callback executor is configured they are issued concurrently. The results are
+   * checked in the same order as the sequential execution: receiver, sender, quote and then fee.
+   *
+   * @param ctx the context of the request.
+   * @throws BadRequestException if `sender_id` or `receiver_id` is empty.
+   * @throws Sep31CustomerInfoNeededException if the SEP-12 customer does not exist or if its status
+   *     is not ACCEPTED.
+   * @throws AnchorException if the quote is not valid or if the fee cannot be fetched.
+   */
+  void validateAndUpdateFee(Context ctx) throws AnchorException {
+    Sep31PostTransactionRequest request = ctx.getRequest();
+    if (request.getReceiverId() == null) {
+      infoF("'receiver_id' cannot be empty for request ({})", request);
+      throw new BadRequestException("receiver_id cannot be empty.");
+    }
+
+    // The quote is only looked up when it is supported and provided. Otherwise, the fee is queried
+    // from the Anchor business server.
+    boolean useQuote =
+        ctx.getAsset().getSep31().isQuotesSupported() && request.getQuoteId() != null;
+
+    FutureTask<GetCustomerResponse> senderTask =
+        (request.getSenderId() == null)
+            ? null
+            : fork(() -> customerIntegration.getCustomer(getSenderRequest(ctx)));
+    FutureTask<Sep38Quote> quoteTask =
+        useQuote ? fork(() -> sep38QuoteStore.findByQuoteId(request.getQuoteId())) : null;
+    FutureTask<Amount> feeTask = useQuote ? null : fork(() -> queryFee(ctx));
+
+    try {
+      // The receiver is fetched on the request thread
+      validateReceiver(ctx, customerIntegration.getCustomer(getReceiverRequest(ctx)));
+      if (senderTask == null) {
+        infoF("'sender_id' cannot be empty for request ({})", request);
+        throw new BadRequestException("sender_id cannot be empty.");
+      }
+      validateSender(ctx, join(senderTask));
+      validateQuote(ctx, (quoteTask == null) ? null : join(quoteTask));
+      if (ctx.getQuote() != null) {
+        updateFee(ctx);
+      } else {
+        ctx.setFee(join(feeTask));
+      }
+    } finally {
+      for (FutureTask<?> task : Arrays.asList(senderTask, quoteTask, feeTask)) {
+        if (task != null) task.cancel(true);
+      }
+    }
+  }
+
+  /** shutdown stops the threads of the callbacks. Called when the service is destroyed. */
+  public void shutdown() {
+    if (callbackExecutor != null) {
+      callbackExecutor.shutdownNow();
+    }
+  }
+
+  /**
+   * newCallbackExecutor creates the executor of the POST /transactions callbacks. The tasks that
+   * cannot be accepted when all threads are busy are discarded and run by the request thread when
+   * they are joined.
    *
-   * <p>If quotes are supported and a `quote_id` was provided, this method will: - fetch the quote
-   * using the callbackAPI. - validate if the quote is valid. - validate if the transaction fields
-   * are compliant with the quote fields. - update the Context with the quote data.
+   * @param concurrency the number of threads. If less than 1, no executor is created.
+   * @return the executor, or null if the concurrency is disabled.
+   */
+  static ExecutorService newCallbackExecutor(int concurrency) {
+    if (concurrency < 1) {
+      return null;
+    }
+    return new ThreadPoolExecutor(
+        concurrency,
+        concurrency,
+        0L,
+        TimeUnit.MILLISECONDS,
+        new SynchronousQueue<>(),
+        runnable -> {
+          Thread thread = new Thread(runnable, "sep31-callback");
+          thread.setDaemon(true);
+          return thread;
+        },
+        new ThreadPoolExecutor.DiscardPolicy());
+  }
+
+  /**
+   * fork creates a task for the call. If the callback executor is configured, the task is
+   * submitted to it. Otherwise, the task is run by the caller when it is joined.
    *
+   * @param call the call to be executed.
+   * @return the task of the call.
+   */
+  <T> FutureTask<T> fork(Callable<T> call) {
+    FutureTask<T> task = new FutureTask<>(call);
+    if (callbackExecutor != null) {
+      callbackExecutor.execute(task);
+    }
+    return task;
+  }
+
+  /**
+   * join waits for the result of the task. The task is run by the caller if it has not been
+   * started yet, which happens when there is no callback executor or when the executor queue is
+   * full.
+   *
+   * @param task the task to be joined.
+   * @return the result of the task.
+   * @throws AnchorException if the task throws an AnchorException.
+   */
+  <T> T join(FutureTask<T> task) throws AnchorException {
+    task.run();
+    try {
+      return task.get();
+    } catch (ExecutionException eex) {
+      Throwable cause = eex.getCause();
+      if (cause instanceof AnchorException) {
+        throw (AnchorException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      } else if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new ServerErrorException("internal server error", (Exception) cause);
+    } catch (InterruptedException iex) {
+      Thread.currentThread().interrupt();
+      throw new ServerErrorException("internal server error", iex);
+    }
+  }
+
+  /**
+   * validateQuote will validate if the requested asset supports/requires quotes.
+   *
+   * <p>If quotes are supported and a `quote_id` was provided, this method will: - validate if the
+   * quote fetched from the database is valid. - validate if the transaction fields are compliant
+   * with the quote fields. - update the Context with the quote data.
+   *
+   * @param ctx the context of the request.
+   * @param quote the quote with the `quote_id` of the request. null if the quote was not found or
+   *     not fetched.
    * @throws BadRequestException if quotes are required but none was used in the request.
    * @throws BadRequestException if a quote with the provided id could not be found.
    * @throws BadRequestException if the transaction `amount` is different from the quote
@@ -486,9 +652,9 @@ public class Sep31Service {
    * @throws BadRequestException if the transaction `asset` is different from the quote
    *     `sell_asset`.
    */
-  void preValidateQuote() throws BadRequestException {
-    Sep31PostTransactionRequest request = Context.get().getRequest();
-    AssetInfo assetInfo = Context.get().getAsset();
+  void validateQuote(Context ctx, Sep38Quote quote) throws BadRequestException {
+    Sep31PostTransactionRequest request = ctx.getRequest();
+    AssetInfo assetInfo = ctx.getAsset();
     boolean isQuotesRequired = assetInfo.getSep31().isQuotesRequired();
     boolean isQuotesSupported = assetInfo.getSep31().isQuotesSupported();
 
@@ -501,7 +667,6 @@ public class Sep31Service {
       return;
     }
 
-    Sep38Quote quote = sep38QuoteStore.findByQuoteId(request.getQuoteId());
     if (quote == null) {
       infoF("Quote ({}) was not found", request.getQuoteId());
       throw new BadRequestException(
@@ -522,7 +687,7 @@ public class Sep31Service {
     }
 
     // Check quote asset: `post_transaction.asset == quote.sell_asset`
-    String assetName = Context.get().getAsset().getSep38AssetName();
+    String assetName = ctx.getAsset().getSep38AssetName();
     if (!assetName.equals(quote.getSellAsset())) {
       infoF(
           "Quote ({}) - sellAsset ({}) is different from the SEP-31 transaction asset ({})",
@@ -535,7 +700,7 @@ public class Sep31Service {
               quote.getSellAsset(), assetName));
     }
 
-    Context.get().setQuote(quote);
+    ctx.setQuote(quote);
   }
 
   /**
@@ -543,24 +708,35 @@ public class Sep31Service {
    * use the quote fees for it, otherwise it will call `GET {callbackAPI}/fee` to get the fee
    * information
    *
+   * @param ctx the context of the request.
    * @throws SepValidationException if the quote is missing the `fee` field.
    * @throws AnchorException if something else goes wrong.
    */
-  void updateFee() throws SepValidationException, AnchorException {
-    Sep38Quote quote = Context.get().getQuote();
+  void updateFee(Context ctx) throws SepValidationException, AnchorException {
+    Sep38Quote quote = ctx.getQuote();
     if (quote != null) {
       if (quote.getFee() == null) {
         infoF("Quote: ({}) is missing the 'fee' field", quote.getId());
         throw new SepValidationException("Quote is missing the 'fee' field");
       }
       Amount fee = new Amount(quote.getFee().getTotal(), quote.getFee().getAsset());
-      Context.get().setFee(fee);
+      ctx.setFee(fee);
       return;
     }
 
-    Sep31PostTransactionRequest request = Context.get().getRequest();
-    Sep10Jwt token = Context.get().getSep10Jwt();
-    String assetName = Context.get().getAsset().getSep38AssetName();
+    ctx.setFee(queryFee(ctx));
+  }
+
+  /**
+   * queryFee calls `GET {callbackAPI}/fee` to get the fee of the request.
+   *
+   * @param ctx the context of the request.
+   * @return the fee.
+   * @throws AnchorException if the fee cannot be fetched.
+   */
+  Amount queryFee(Context ctx) throws AnchorException {
+    Sep31PostTransactionRequest request = ctx.getRequest();
+    String assetName = ctx.getAsset().getSep38AssetName();
     infoF("Requesting fee for request ({})", request);
     Amount fee =
         feeIntegration
@@ -575,15 +751,15 @@ public class Sep31Service {
                     .receiveAmount(null)
                     .senderId(request.getSenderId())
                     .receiverId(request.getReceiverId())
-                    .clientId(getClientName())
+                    .clientId(getClientName(ctx))
                     .build())
             .getFee();
     infoF("Fee for request ({}) is ({})", request, fee);
-    Context.get().setFee(fee);
+    return fee;
   }
 
-  String getClientName() throws BadRequestException {
-    return getClientName(Context.get().getSep10Jwt().getAccount());
+  String getClientName(Context ctx) throws BadRequestException {
+    return getClientName(ctx.getSep10Jwt().getAccount());
   }
 
   String getClientName(String account) throws BadRequestException {
@@ -597,59 +773,47 @@ public class Sep31Service {
     return client == null ? null : client.getName();
   }
 
-  /**
-   * validateSenderAndReceiver will validate if the SEP-31 sender and receiver exist and their
-   * status is ACCEPTED.
-   *
-   * @throws BadRequestException if `sender_id` or `receiver_id` is empty.
-   * @throws Sep31CustomerInfoNeededException if the SEP-12 customer does not exist or if its status
-   *     is not ACCEPTED.
-   * @throws AnchorException is something else went wrong.
-   */
-  private void validateSenderAndReceiver()
-      throws AnchorException, BadRequestException, Sep31CustomerInfoNeededException {
-    String receiverId = Context.get().getRequest().getReceiverId();
-    if (receiverId == null) {
-      infoF("'receiver_id' cannot be empty for request ({})", Context.get().getRequest());
-      throw new BadRequestException("receiver_id cannot be empty.");
-    }
-
+  GetCustomerRequest getReceiverRequest(Context ctx) {
     // TODO: Populate customer type with the first receiver type; this is a temporary fix for cases
     // where customerType is required
-    Sep12Operation sep12Operation = Context.get().getAsset().getSep31().getSep12();
+    Sep12Operation sep12Operation = ctx.getAsset().getSep31().getSep12();
     String receiverType = null;
     if (sep12Operation != null) {
       Optional<String> receiverTypeOptional =
           sep12Operation.getReceiver().getTypes().keySet().stream().findFirst();
       receiverType = receiverTypeOptional.orElse(null);
     }
-    GetCustomerRequest request =
-        GetCustomerRequest.builder().id(receiverId).type(receiverType).build();
-    GetCustomerResponse receiver = this.customerIntegration.getCustomer(request);
-    if (receiver == null || !Objects.equals(receiver.getStatus(), Sep12Status.ACCEPTED.name())) {
-      infoF("Customer (receiver) info needed for request ({})", Context.get().getRequest());
-      throw new Sep31CustomerInfoNeededException("sep31-receiver");
-    }
-
-    String senderId = Context.get().getRequest().getSenderId();
-    if (senderId == null) {
-      infoF("'sender_id' cannot be empty for request ({})", Context.get().getRequest());
-      throw new BadRequestException("sender_id cannot be empty.");
-    }
+    return GetCustomerRequest.builder()
+        .id(ctx.getRequest().getReceiverId())
+        .type(receiverType)
+        .build();
+  }
 
+  GetCustomerRequest getSenderRequest(Context ctx) {
     // TODO: Populate customer type with the first sender type; this is a temporary fix for cases
     // where customerType is required
+    Sep12Operation sep12Operation = ctx.getAsset().getSep31().getSep12();
     String senderType = null;
     if (sep12Operation != null) {
       Optional<String> senderTypeOptional =
-          Context.get().getAsset().getSep31().getSep12().getSender().getTypes().keySet().stream()
-              .findFirst();
+          sep12Operation.getSender().getTypes().keySet().stream().findFirst();
       senderType = senderTypeOptional.orElse(null);
     }
-    request = GetCustomerRequest.builder().id(senderId).type(senderType).build();
-    GetCustomerResponse sender = this.customerIntegration.getCustomer(request);
+    return GetCustomerRequest.builder().id(ctx.getRequest().getSenderId()).type(senderType).build();
+  }
+
+  void validateReceiver(Context ctx, GetCustomerResponse receiver)
+      throws Sep31CustomerInfoNeededException {
+    if (receiver == null || !Objects.equals(receiver.getStatus(), Sep12Status.ACCEPTED.name())) {
+      infoF("Customer (receiver) info needed for request ({})", ctx.getRequest());
+      throw new Sep31CustomerInfoNeededException("sep31-receiver");
+    }
+  }
+
+  void validateSender(Context ctx, GetCustomerResponse sender)
+      throws Sep31CustomerInfoNeededException {
     if (sender == null || !Objects.equals(sender.getStatus(), Sep12Status.ACCEPTED.name())) {
-      infoF("Customer (sender) info needed for request ({})", Context.get().getRequest());
+      infoF("Customer (sender) info needed for request ({})", ctx.getRequest());
       throw new Sep31CustomerInfoNeededException("sep31-sender");
     }
   }
@@ -663,25 +827,25 @@ public class Sep31Service {
    *     request
    * @throws Sep31MissingFieldException if not all fields were provided.
    */
-  void validateRequiredFields() throws BadRequestException, Sep31MissingFieldException {
-    AssetInfo assetInfo = Context.get().getAsset();
+  void validateRequiredFields(Context ctx) throws BadRequestException, Sep31MissingFieldException {
+    AssetInfo assetInfo = ctx.getAsset();
     if (assetInfo == null) {
-      infoF("Missing asset information for request ({})", Context.get().getRequest());
+      infoF("Missing asset information for request ({})", ctx.getRequest());
       throw new BadRequestException("Missing asset information.");
     }
 
-    AssetResponse fieldSpecs = this.infoResponse.getReceive().get(assetInfo.getCode());
+    AssetResponse fieldSpecs = getInfo().getReceive().get(assetInfo.getCode());
     if (fieldSpecs == null) {
-      infoF("Asset [{}] has no fields definition", Context.get().getRequest());
+      infoF("Asset [{}] has no fields definition", ctx.getRequest());
       throw new BadRequestException(
           String.format("Asset [%s] has no fields definition", assetInfo.getCode()));
     }
 
-    Map<String, String> requestFields = Context.get().getTransactionFields();
+    Map<String, String> requestFields = ctx.getTransactionFields();
     if (requestFields == null) {
       infoF(
           "'fields' field must have one 'transaction' field for request ({})",
-          Context.get().getRequest());
+          ctx.getRequest());
       throw new BadRequestException("'fields' field must have one 'transaction' field");
     }
 
@@ -702,7 +866,7 @@ public class Sep31Service {
       infoF(
           "Missing SEP-31 fields ({}) for request ({})",
           sep31MissingTxnFields,
-          Context.get().getRequest());
+          ctx.getRequest());
       throw new Sep31MissingFieldException(sep31MissingTxnFields);
     }
   }
@@ -735,6 +899,7 @@ public class Sep31Service {
     return response;
   }
 
+  /** The state of a single POST or PATCH /transactions request. */
   @Data
   public static class Context {
     private Sep31Transaction transaction;
@@ -744,17 +909,5 @@ public class Sep31Service {
     private Amount fee;
     private AssetInfo asset;
     private Map<String, String> transactionFields;
-    private static ThreadLocal<Context> context = new ThreadLocal<>();
-
-    public static Context get() {
-      if (context.get() == null) {
-        context.set(new Context());
-      }
-      return context.get();
-    }
-
-    public static void reset() {
-      context.set(null);
-    }
   }
 }
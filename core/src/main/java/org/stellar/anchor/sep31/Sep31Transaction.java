@@ -152,6 +152,7 @@ public interface Sep31Transaction extends SepTransaction {
                 .stellarMemoType(getStellarMemoType())
                 .startedAt(getStartedAt())
                 .completedAt(getCompletedAt())
+                .updatedAt(getUpdatedAt())
                 .userActionRequiredBy(getUserActionRequiredBy())
                 .stellarTransactionId(getStellarTransactionId())
                 .externalTransactionId(getExternalTransactionId())
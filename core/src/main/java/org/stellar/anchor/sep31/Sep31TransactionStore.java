@@ -3,6 +3,7 @@ package org.stellar.anchor.sep31;
 import java.util.Collection;
 import java.util.List;
 import lombok.NonNull;
+import org.stellar.anchor.SepTransactionVersion;
 import org.stellar.anchor.api.exception.AnchorException;
 import org.stellar.anchor.api.exception.SepException;
 import org.stellar.anchor.util.TransactionsParams;
@@ -24,6 +25,15 @@ public interface Sep31TransactionStore {
    */
   Sep31Transaction findByTransactionId(String transactionId) throws AnchorException;
 
+  /**
+   * Find the version of the transaction by id without loading the transaction.
+   *
+   * @param transactionId The transaction id.
+   * @return The version of the transaction. null if not found.
+   * @throws AnchorException if error happens.
+   */
+  SepTransactionVersion findVersionByTransactionId(String transactionId) throws AnchorException;
+
   /**
    * Find the transactions by the collection of ids.
    *
@@ -0,0 +1,76 @@
+package org.stellar.anchor.sep38;
+
+import static org.stellar.anchor.api.callback.GetRateRequest.Type.INDICATIVE;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.AllArgsConstructor;
+import org.stellar.anchor.api.callback.GetRateRequest;
+import org.stellar.anchor.api.callback.GetRateResponse;
+import org.stellar.anchor.api.callback.RateIntegration;
+import org.stellar.anchor.api.exception.AnchorException;
+
+/**
+ * A short-lived cache of the indicative rates returned by the {@link RateIntegration}. The entries
+ * are keyed by the whole {@link GetRateRequest} so that rates are only shared between requests
+ * with identical parameters. Firm rates are never cached.
+ */
+public class IndicativeRateCache implements RateIntegration {
+  static final int MAX_ENTRIES = 10000;
+
+  final RateIntegration rateIntegration;
+  final long ttlMillis;
+  final Clock clock;
+  final Map<GetRateRequest, Entry> entries = new ConcurrentHashMap<>();
+
+  public IndicativeRateCache(RateIntegration rateIntegration, Duration ttl) {
+    this(rateIntegration, ttl, Clock.systemUTC());
+  }
+
+  IndicativeRateCache(RateIntegration rateIntegration, Duration ttl, Clock clock) {
+    this.rateIntegration = rateIntegration;
+    this.ttlMillis = ttl.toMillis();
+    this.clock = clock;
+  }
+
+  /**
+   * Returns the rate of the request, either from the cache or from the rate integration.
+   *
+   * @param request the GET /rate request.
+   * @return the GET /rate response.
+   * @throws AnchorException if the rate integration fails.
+   */
+  @Override
+  public GetRateResponse getRate(GetRateRequest request) throws AnchorException {
+    if (ttlMillis <= 0 || request.getType() != INDICATIVE) {
+      return rateIntegration.getRate(request);
+    }
+
+    long now = clock.millis();
+    Entry entry = entries.get(request);
+    if (entry != null && entry.expiresAt > now) {
+      return entry.response;
+    }
+
+    GetRateResponse response = rateIntegration.getRate(request);
+    if (entries.size() >= MAX_ENTRIES) {
+      evictExpired(now);
+    }
+    if (entries.size() < MAX_ENTRIES) {
+      entries.put(request, new Entry(response, now + ttlMillis));
+    }
+    return response;
+  }
+
+  void evictExpired(long now) {
+    entries.values().removeIf(entry -> entry.expiresAt <= now);
+  }
+
+  @AllArgsConstructor
+  static class Entry {
+    GetRateResponse response;
+    long expiresAt;
+  }
+}
@@ -17,8 +17,10 @@ import static org.stellar.anchor.util.StringHelper.isNotEmpty;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Metrics;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.*;
 import org.apache.commons.lang3.StringUtils;
 import org.stellar.anchor.api.callback.*;
 import org.stellar.anchor.api.event.AnchorEvent;
@@ -35,14 +37,18 @@ import org.stellar.anchor.asset.AssetService;
 import org.stellar.anchor.auth.Sep10Jwt;
 import org.stellar.anchor.config.Sep38Config;
 import org.stellar.anchor.event.EventService;
+import org.stellar.anchor.util.JsonSnapshot;
 import org.stellar.anchor.util.Log;
 
 public class Sep38Service {
   final AssetService assetService;
   final RateIntegration rateIntegration;
+  final RateIntegration indicativeRateIntegration;
+  final ExecutorService pricesExecutor;
+  final Duration pricesTimeout;
   final Sep38QuoteStore sep38QuoteStore;
   final EventService.Session eventSession;
-  final InfoResponse infoResponse;
+  final JsonSnapshot<InfoResponse> infoSnapshot;
   final Map<String, InfoResponse.Asset> assetMap;
   final int pricePrecision = 10;
   final Counter sep38PriceQueried = Metrics.counter(SEP38_PRICE_QUERIED);
@@ -57,16 +63,36 @@ public class Sep38Service {
     debug("sep38Config:", sep38Config);
     this.assetService = assetService;
     this.rateIntegration = rateIntegration;
+    Sep38Config.Prices prices =
+        Optional.ofNullable(sep38Config.getPrices()).orElseGet(Sep38Config.Prices::new);
+    this.indicativeRateIntegration =
+        (rateIntegration == null)
+            ? null
+            : new IndicativeRateCache(rateIntegration, Duration.ofSeconds(prices.getCacheTtl()));
+    this.pricesExecutor =
+        (prices.getConcurrency() > 1)
+            ? Executors.newFixedThreadPool(prices.getConcurrency(), Sep38Service::newPricesThread)
+            : null;
+    this.pricesTimeout = Duration.ofSeconds(Math.max(prices.getTimeout(), 0));
     this.sep38QuoteStore = sep38QuoteStore;
     this.eventSession = eventService.createSession(this.getClass().getName(), TRANSACTION);
-    this.infoResponse = new InfoResponse(this.assetService.listAllAssets());
+    this.infoSnapshot = new JsonSnapshot<>(new InfoResponse(this.assetService.listAllAssets()));
     assetMap = new HashMap<>();
-    this.infoResponse.getAssets().forEach(asset -> assetMap.put(asset.getAsset(), asset));
+    getInfo().getAssets().forEach(asset -> assetMap.put(asset.getAsset(), asset));
     Log.info("Sep38Service initialized.");
   }
 
   public InfoResponse getInfo() {
-    return this.infoResponse;
+    return this.infoSnapshot.getValue();
+  }
+
+  /**
+   * Gets the /info response serialized when the service was created.
+   *
+   * @return the snapshot of the /info response.
+   */
+  public JsonSnapshot<InfoResponse> getInfoSnapshot() {
+    return this.infoSnapshot;
   }
 
   public GetPricesResponse getPrices(
@@ -108,17 +134,24 @@ public class Sep38Service {
             .countryCode(countryCode)
             .sellDeliveryMethod(sellDeliveryMethod)
             .buyDeliveryMethod(buyDeliveryMethod);
-    GetPricesResponse response = new GetPricesResponse();
+    List<InfoResponse.Asset> buyAssets = new ArrayList<>();
+    List<GetRateRequest> requests = new ArrayList<>();
     for (String buyAssetName : sellAsset.getExchangeableAssetNames()) {
       InfoResponse.Asset buyAsset = this.assetMap.get(buyAssetName);
       if (buyAsset == null || !buyAsset.supportsBuyDeliveryMethod(buyDeliveryMethod)) {
         continue;
       }
+      buyAssets.add(buyAsset);
+      requests.add(builder.buyAsset(buyAssetName).build());
+    }
 
-      GetRateRequest request = builder.buyAsset(buyAssetName).build();
-      GetRateResponse rateResponse = this.rateIntegration.getRate(request);
-      GetRateResponse.Rate rate = rateResponse.getRate();
-      response.addAsset(buyAssetName, buyAsset.getDecimals(), rate.getPrice());
+    // The responses are in the same order as the requests
+    List<GetRateResponse> rateResponses = getIndicativeRates(requests);
+    GetPricesResponse response = new GetPricesResponse();
+    for (int i = 0; i < buyAssets.size(); i++) {
+      InfoResponse.Asset buyAsset = buyAssets.get(i);
+      GetRateResponse.Rate rate = rateResponses.get(i).getRate();
+      response.addAsset(buyAsset.getAsset(), buyAsset.getDecimals(), rate.getPrice());
     }
 
     // increment counter
@@ -126,6 +159,72 @@ public class Sep38Service {
     return response;
   }
 
+  /**
+   * Gets the indicative rates of the requests. When the concurrency is enabled, the requests are
+   * sent to the rate integration in parallel and must all complete within the prices timeout.
+   *
+   * @param requests the GET /rate requests.
+   * @return the GET /rate responses, in the same order as the requests.
+   * @throws AnchorException if any of the rate requests fails or the timeout is reached.
+   */
+  List<GetRateResponse> getIndicativeRates(List<GetRateRequest> requests) throws AnchorException {
+    List<GetRateResponse> responses = new ArrayList<>(requests.size());
+    if (pricesExecutor == null || requests.size() < 2) {
+      for (GetRateRequest request : requests) {
+        responses.add(indicativeRateIntegration.getRate(request));
+      }
+      return responses;
+    }
+
+    List<Future<GetRateResponse>> futures = new ArrayList<>(requests.size());
+    for (GetRateRequest request : requests) {
+      futures.add(pricesExecutor.submit(() -> indicativeRateIntegration.getRate(request)));
+    }
+
+    long deadline = System.nanoTime() + pricesTimeout.toNanos();
+    try {
+      for (Future<GetRateResponse> future : futures) {
+        if (pricesTimeout.isZero()) {
+          responses.add(future.get());
+        } else {
+          responses.add(future.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS));
+        }
+      }
+      return responses;
+    } catch (ExecutionException eex) {
+      Throwable cause = eex.getCause();
+      if (cause instanceof AnchorException) {
+        throw (AnchorException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      } else if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new ServerErrorException("internal server error", (Exception) cause);
+    } catch (TimeoutException tex) {
+      warnF("Timed out getting {} indicative rates after {}", requests.size(), pricesTimeout);
+      throw new ServerErrorException("timed out getting the prices");
+    } catch (InterruptedException iex) {
+      Thread.currentThread().interrupt();
+      throw new ServerErrorException("internal server error", iex);
+    } finally {
+      futures.forEach(future -> future.cancel(true));
+    }
+  }
+
+  /** Stops the threads of the indicative rate requests. Called when the service is destroyed. */
+  public void shutdown() {
+    if (pricesExecutor != null) {
+      pricesExecutor.shutdownNow();
+    }
+  }
+
+  static Thread newPricesThread(Runnable runnable) {
+    Thread thread = new Thread(runnable, "sep38-prices");
+    thread.setDaemon(true);
+    return thread;
+  }
+
   public void validateAsset(String prefix, String assetName) throws AnchorException {
     // assetName
     if (Objects.toString(assetName, "").isEmpty()) {
@@ -235,7 +334,7 @@ public class Sep38Service {
 
     // Get the rate
     GetRateRequest request = rrBuilder.build();
-    GetRateResponse rateResponse = this.rateIntegration.getRate(request);
+    GetRateResponse rateResponse = this.indicativeRateIntegration.getRate(request);
     GetRateResponse.Rate rate = rateResponse.getRate();
 
     // Check SEP31 sell_amount from rate integration when buy_amount is specified
@@ -9,6 +9,7 @@ import io.micrometer.core.instrument.Counter;
 import java.time.Instant;
 import java.util.*;
 import org.stellar.anchor.MoreInfoUrlConstructor;
+import org.stellar.anchor.SepTransactionVersion;
 import org.stellar.anchor.api.event.AnchorEvent;
 import org.stellar.anchor.api.exception.*;
 import org.stellar.anchor.api.sep.AssetInfo;
@@ -23,6 +24,8 @@ import org.stellar.anchor.config.AppConfig;
 import org.stellar.anchor.config.Sep6Config;
 import org.stellar.anchor.event.EventService;
 import org.stellar.anchor.sep6.ExchangeAmountsCalculator.Amounts;
+import org.stellar.anchor.util.ETagHelper;
+import org.stellar.anchor.util.JsonSnapshot;
 import org.stellar.anchor.util.MetricConstants;
 import org.stellar.anchor.util.SepHelper;
 import org.stellar.anchor.util.TransactionHelper;
@@ -37,7 +40,7 @@ public class Sep6Service {
   private final Sep6TransactionStore txnStore;
   private final ExchangeAmountsCalculator exchangeAmountsCalculator;
   private final EventService.Session eventSession;
-  private final InfoResponse infoResponse;
+  private final JsonSnapshot<InfoResponse> infoSnapshot;
   private final MoreInfoUrlConstructor moreInfoUrlConstructor;
   private final Counter sep6TransactionRequestedCounter =
       counter(MetricConstants.SEP6_TRANSACTION_REQUESTED);
@@ -83,12 +86,21 @@ public class Sep6Service {
     this.exchangeAmountsCalculator = exchangeAmountsCalculator;
     this.eventSession =
         eventService.createSession(this.getClass().getName(), EventService.EventQueue.TRANSACTION);
-    this.infoResponse = buildInfoResponse();
+    this.infoSnapshot = new JsonSnapshot<>(buildInfoResponse());
     this.moreInfoUrlConstructor = moreInfoUrlConstructor;
   }
 
   public InfoResponse getInfo() {
-    return infoResponse;
+    return infoSnapshot.getValue();
+  }
+
+  /**
+   * Gets the /info response serialized when the service was created.
+   *
+   * @return the snapshot of the /info response.
+   */
+  public JsonSnapshot<InfoResponse> getInfoSnapshot() {
+    return infoSnapshot;
   }
 
   public StartDepositResponse deposit(Sep10Jwt token, StartDepositRequest request)
@@ -119,7 +131,7 @@ public class Sep6Service {
     requestValidator.validateAccount(request.getAccount());
 
     Memo memo = makeMemo(request.getMemo(), request.getMemoType());
-    String id = SepHelper.generateSepTransactionId();
+    String id = SepHelper.generateSepTransactionId(appConfig.getTransactionIdFormat());
 
     Sep6TransactionBuilder builder =
         new Sep6TransactionBuilder(txnStore)
@@ -213,7 +225,7 @@ public class Sep6Service {
     }
 
     Memo memo = makeMemo(request.getMemo(), request.getMemoType());
-    String id = SepHelper.generateSepTransactionId();
+    String id = SepHelper.generateSepTransactionId(appConfig.getTransactionIdFormat());
 
     Sep6TransactionBuilder builder =
         new Sep6TransactionBuilder(txnStore)
@@ -293,7 +305,7 @@ public class Sep6Service {
     String sourceAccount = request.getAccount() != null ? request.getAccount() : token.getAccount();
     requestValidator.validateAccount(sourceAccount);
 
-    String id = SepHelper.generateSepTransactionId();
+    String id = SepHelper.generateSepTransactionId(appConfig.getTransactionIdFormat());
 
     Sep6TransactionBuilder builder =
         new Sep6TransactionBuilder(txnStore)
@@ -365,7 +377,7 @@ public class Sep6Service {
     String sourceAccount = request.getAccount() != null ? request.getAccount() : token.getAccount();
     requestValidator.validateAccount(sourceAccount);
 
-    String id = SepHelper.generateSepTransactionId();
+    String id = SepHelper.generateSepTransactionId(appConfig.getTransactionIdFormat());
 
     Amounts amounts;
     if (request.getQuoteId() != null) {
@@ -501,6 +513,34 @@ public class Sep6Service {
         Sep6TransactionUtils.fromTxn(txn, moreInfoUrlConstructor, lang));
   }
 
+  /**
+   * Gets the ETag of the transaction requested by id without loading the transaction. The tag is
+   * derived from the id and updated_at of the transaction, the language and the generation of the
+   * more_info_url, so it changes whenever the response of findTransaction changes.
+   *
+   * @param token the SEP-10 token.
+   * @param request the request.
+   * @return the ETag. null if the transaction is not requested by id or if it is not found.
+   * @throws AnchorException if error happens.
+   */
+  public String findTransactionETag(Sep10Jwt token, GetTransactionRequest request)
+      throws AnchorException {
+    if (token == null || request == null || request.getId() == null) {
+      return null;
+    }
+    SepTransactionVersion version = txnStore.findVersionByTransactionId(request.getId());
+    // The transactions of other accounts are rejected by findTransaction
+    if (version == null
+        || version.getUpdatedAt() == null
+        || !Objects.equals(version.getSep10Account(), token.getAccount())
+        || !Objects.equals(version.getSep10AccountMemo(), token.getAccountMemo())) {
+      return null;
+    }
+    String lang = validateLanguage(appConfig, request.getLang());
+    return ETagHelper.etag(
+        request.getId(), version.getUpdatedAt(), lang, moreInfoUrlConstructor.generation());
+  }
+
   private InfoResponse buildInfoResponse() {
     InfoResponse response =
         InfoResponse.builder()
@@ -1,6 +1,8 @@
 package org.stellar.anchor.sep6;
 
+import java.util.Collection;
 import java.util.List;
+import org.stellar.anchor.SepTransactionVersion;
 import org.stellar.anchor.api.exception.SepException;
 import org.stellar.anchor.api.sep.sep6.GetTransactionsRequest;
 import org.stellar.anchor.api.shared.RefundPayment;
@@ -16,6 +18,11 @@ public interface Sep6TransactionStore {
 
   Sep6Transaction findByTransactionId(String transactionId) throws SepException;
 
+  SepTransactionVersion findVersionByTransactionId(String transactionId) throws SepException;
+
+  List<? extends Sep6Transaction> findByTransactionIds(Collection<String> transactionIds)
+      throws SepException;
+
   Sep6Transaction findByStellarTransactionId(String stellarTransactionId) throws SepException;
 
   Sep6Transaction findByExternalTransactionId(String externalTransactionId) throws SepException;
@@ -0,0 +1,58 @@
+package org.stellar.anchor.util;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+public class ETagHelper {
+  /**
+   * Computes a strong ETag of the content.
+   *
+   * @param content the content.
+   * @return the quoted ETag.
+   */
+  public static String etag(byte[] content) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+      return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest) + "\"";
+    } catch (NoSuchAlgorithmException nsaex) {
+      throw new IllegalStateException(nsaex);
+    }
+  }
+
+  /**
+   * Computes a strong ETag of the values the content is derived from.
+   *
+   * @param values the values. The null values are allowed.
+   * @return the quoted ETag.
+   */
+  public static String etag(Object... values) {
+    StringBuilder sb = new StringBuilder();
+    for (Object value : values) {
+      // Separated so that ("a", "bc") and ("ab", "c") give different tags
+      sb.append(value).append('\u0000');
+    }
+    return etag(sb.toString().getBytes(UTF_8));
+  }
+
+  /**
+   * Returns true if the If-None-Match header value matches the ETag.
+   *
+   * @param ifNoneMatch the value of the If-None-Match request header. May be null.
+   * @param etag the ETag of the current content.
+   * @return true if the client already has the current content.
+   */
+  public static boolean matches(String ifNoneMatch, String etag) {
+    if (ifNoneMatch == null || etag == null) return false;
+    for (String tag : ifNoneMatch.split(",")) {
+      tag = tag.trim();
+      if (tag.equals("*")) return true;
+      // If-None-Match uses the weak comparison
+      if (tag.startsWith("W/")) tag = tag.substring(2);
+      if (tag.equals(etag)) return true;
+    }
+    return false;
+  }
+}
@@ -0,0 +1,35 @@
+package org.stellar.anchor.util;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import lombok.Getter;
+
+/**
+ * An immutable, pre-serialized JSON response. The body and its strong ETag are computed once so
+ * that serving a response that only changes with the configuration does not serialize it on every
+ * request.
+ *
+ * @param <T> the type of the response.
+ */
+@Getter
+public class JsonSnapshot<T> {
+  final T value;
+  final byte[] body;
+  final String etag;
+
+  public JsonSnapshot(T value) {
+    this.value = value;
+    this.body = GsonUtils.getInstance().toJson(value).getBytes(UTF_8);
+    this.etag = ETagHelper.etag(body);
+  }
+
+  /**
+   * Returns true if the If-None-Match header value matches the ETag of this snapshot.
+   *
+   * @param ifNoneMatch the value of the If-None-Match request header. May be null.
+   * @return true if the client already has the current content.
+   */
+  public boolean matches(String ifNoneMatch) {
+    return ETagHelper.matches(ifNoneMatch, etag);
+  }
+}
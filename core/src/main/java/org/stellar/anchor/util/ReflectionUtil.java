@@ -1,18 +1,35 @@
 package org.stellar.anchor.util;
 
 import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.stellar.sdk.requests.SSEStream;
 
 public class ReflectionUtil {
+  // The fields are looked up and made accessible once.
+  private static final Map<String, Field> fields = new ConcurrentHashMap<>();
+
   @SuppressWarnings("unchecked")
   public static <T> T getField(Object target, String fieldName, T defaultValue) {
     try {
       // populate executorService information
-      Field field = SSEStream.class.getDeclaredField(fieldName);
-      field.setAccessible(true);
+      Field field = fields.computeIfAbsent(fieldName, ReflectionUtil::findField);
+      if (field == null) {
+        return defaultValue;
+      }
       return (T) field.get(target);
-    } catch (NoSuchFieldException | IllegalAccessException nsfex) {
+    } catch (IllegalAccessException iaex) {
       return defaultValue;
     }
   }
+
+  private static Field findField(String fieldName) {
+    try {
+      Field field = SSEStream.class.getDeclaredField(fieldName);
+      field.setAccessible(true);
+      return field;
+    } catch (NoSuchFieldException nsfex) {
+      return null;
+    }
+  }
 }
@@ -10,6 +10,7 @@ import org.stellar.anchor.api.exception.AnchorException;
 import org.stellar.anchor.api.exception.BadRequestException;
 import org.stellar.anchor.api.exception.InvalidStellarAccountException;
 import org.stellar.anchor.api.sep.SepTransactionStatus;
+import org.stellar.anchor.config.AppConfig.TransactionIdFormat;
 import org.stellar.sdk.AccountConverter;
 import org.stellar.sdk.KeyPair;
 import org.stellar.sdk.xdr.*;
@@ -21,6 +22,20 @@ public class SepHelper {
    * @return An Id in UUID format
    */
   public static String generateSepTransactionId() {
+    return generateSepTransactionId(TransactionIdFormat.UUID_V4);
+  }
+
+  /**
+   * Generates an Id for SEP transactions in the given format. Both formats are UUID strings, so
+   * the memos derived from the Ids keep their length.
+   *
+   * @param format the format of the Id. The random UUIDs are generated if null.
+   * @return An Id in UUID format
+   */
+  public static String generateSepTransactionId(TransactionIdFormat format) {
+    if (format == TransactionIdFormat.UUID_V7) {
+      return TimeOrderedUuid.generate().toString();
+    }
     return UUID.randomUUID().toString();
   }
 
@@ -0,0 +1,38 @@
+package org.stellar.anchor.util;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+
+/**
+ * Generates the time-ordered UUIDs of the version 7 of RFC 9562. The first 48 bits are the Unix
+ * time in milliseconds, so the UUIDs generated later sort after the earlier ones and are inserted
+ * at the end of a B-tree index instead of at random pages. The remaining 74 bits are random.
+ */
+public class TimeOrderedUuid {
+  // Each thread has its own generator so that the threads do not wait for a shared one.
+  private static final ThreadLocal<SecureRandom> random = ThreadLocal.withInitial(SecureRandom::new);
+
+  /**
+   * Generates a UUID of the current time.
+   *
+   * @return the UUID.
+   */
+  public static UUID generate() {
+    return generate(System.currentTimeMillis());
+  }
+
+  /**
+   * Generates a UUID of the given time.
+   *
+   * @param epochMillis the Unix time in milliseconds.
+   * @return the UUID.
+   */
+  public static UUID generate(long epochMillis) {
+    SecureRandom rnd = random.get();
+    // unix_ts_ms(48) | ver(4) | rand_a(12)
+    long msb = (epochMillis << 16) | 0x7000L | (rnd.nextInt() & 0x0fffL);
+    // var(2) | rand_b(62)
+    long lsb = (rnd.nextLong() & 0x3fffffffffffffffL) | 0x8000000000000000L;
+    return new UUID(msb, lsb);
+  }
+}
@@ -0,0 +1,126 @@
+package org.stellar.anchor.horizon
+
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.TimeUnit
+import okhttp3.mockwebserver.MockResponse
+import okhttp3.mockwebserver.MockWebServer
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+import org.stellar.sdk.requests.ErrorResponse
+
+internal class HorizonPoolTest {
+  private lateinit var primary: MockWebServer
+  private lateinit var fallback: MockWebServer
+  private lateinit var pool: HorizonPool
+
+  @BeforeEach
+  fun setUp() {
+    primary = MockWebServer()
+    fallback = MockWebServer()
+    primary.start()
+    fallback.start()
+    pool = HorizonPool(listOf(primary.url("/").toString(), fallback.url("/").toString()))
+  }
+
+  @AfterEach
+  fun tearDown() {
+    pool.close()
+    primary.shutdown()
+    fallback.shutdown()
+  }
+
+  @Test
+  fun `test read goes to the first server`() {
+    primary.enqueue(root(100))
+
+    assertEquals(100, pool.read { it.root() }.historyLatestLedger)
+    assertEquals(1, primary.requestCount)
+    assertEquals(0, fallback.requestCount)
+  }
+
+  @Test
+  fun `test read is hedged on the next server when the best one is slow`() {
+    primary.enqueue(root(100).setHeadersDelay(5, TimeUnit.SECONDS))
+    fallback.enqueue(root(101))
+
+    val start = System.currentTimeMillis()
+    assertEquals(101, pool.read { it.root() }.historyLatestLedger)
+    assertTrue(System.currentTimeMillis() - start < 3000)
+    assertEquals(1, fallback.requestCount)
+  }
+
+  @Test
+  fun `test read fails over when a server fails`() {
+    primary.enqueue(MockResponse().setResponseCode(500))
+    fallback.enqueue(root(100))
+
+    assertEquals(100, pool.read { it.root() }.historyLatestLedger)
+    // The failed server is ranked down
+    assertEquals(fallback.url("/").toString(), pool.best().url)
+  }
+
+  @Test
+  fun `test client error is an answer`() {
+    primary.enqueue(MockResponse().setResponseCode(404))
+
+    val ex = assertThrows<ErrorResponse> { pool.read { it.root() } }
+    assertEquals(404, ex.code)
+    assertEquals(0, fallback.requestCount)
+    assertEquals(primary.url("/").toString(), pool.best().url)
+  }
+
+  @Test
+  fun `test read fails when all servers fail`() {
+    primary.enqueue(MockResponse().setResponseCode(500))
+    fallback.enqueue(MockResponse().setResponseCode(503))
+
+    assertThrows<ErrorResponse> { pool.read { it.root() } }
+  }
+
+  @Test
+  fun `test probe ranks down the server behind the others`() {
+    primary.enqueue(root(100))
+    fallback.enqueue(root(110))
+
+    pool.probe()
+
+    assertEquals(fallback.url("/").toString(), pool.best().url)
+  }
+
+  @Test
+  fun `test the started probes rank down the server behind the others`() {
+    primary.enqueue(root(100))
+    fallback.enqueue(root(110))
+
+    pool.startProbing()
+
+    val deadline = System.currentTimeMillis() + 5000
+    while (pool.best().url == primary.url("/").toString() && System.currentTimeMillis() < deadline)
+      Thread.sleep(10)
+    assertEquals(fallback.url("/").toString(), pool.best().url)
+  }
+
+  @Test
+  fun `test reads are rejected once the pool is closed`() {
+    pool.close()
+
+    assertThrows<RejectedExecutionException> { pool.read { it.root() } }
+  }
+
+  @Test
+  fun `test reported failure ranks down the server`() {
+    pool.reportFailure(pool.best())
+
+    assertEquals(fallback.url("/").toString(), pool.best().url)
+  }
+
+  private fun root(latestLedger: Int): MockResponse {
+    return MockResponse()
+      .setHeader("Content-Type", "application/json")
+      .setBody("""{"history_latest_ledger": $latestLedger, "core_latest_ledger": $latestLedger}""")
+  }
+}
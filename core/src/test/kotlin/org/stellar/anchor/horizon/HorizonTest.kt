@@ -11,8 +11,6 @@ import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.assertThrows
 import org.stellar.anchor.config.AppConfig
 import org.stellar.sdk.AssetTypeCreditAlphaNum
-import org.stellar.sdk.Server
-import org.stellar.sdk.requests.AccountsRequestBuilder
 import org.stellar.sdk.responses.AccountResponse
 import org.stellar.sdk.responses.AccountResponse.Balance
 
@@ -52,16 +50,14 @@ internal class HorizonTest {
   @Test
   fun test_isTrustlineConfigured_horizonError() {
     val appConfig = mockk<AppConfig>()
-    val server = mockk<Server>()
     val account = "testAccount"
     val asset = "stellar:USDC:issuerAccount"
 
     every { appConfig.horizonUrl } returns TEST_HORIZON_URI
     every { appConfig.stellarNetworkPassphrase } returns TEST_HORIZON_PASSPHRASE
-    every { server.accounts() } throws RuntimeException("Horizon error")
 
     val horizon = mockk<Horizon>()
-    every { horizon.server } returns server
+    every { horizon.getAccount(account) } throws RuntimeException("Horizon error")
     every { horizon.isTrustlineConfigured(account, asset) } answers { callOriginal() }
 
     assertThrows<RuntimeException> { horizon.isTrustlineConfigured(account, asset) }
@@ -70,10 +66,8 @@ internal class HorizonTest {
   @Test
   fun test_isTrustlineConfigured_present() {
     val appConfig = mockk<AppConfig>()
-    val server = mockk<Server>()
     val account = "testAccount"
     val asset = "stellar:USDC:issuerAccount1"
-    val accountsRequestBuilder: AccountsRequestBuilder = mockk()
     val accountResponse: AccountResponse = mockk()
     val balance1: Balance = mockk()
     val balance2: Balance = mockk()
@@ -82,8 +76,6 @@ internal class HorizonTest {
 
     every { appConfig.horizonUrl } returns TEST_HORIZON_URI
     every { appConfig.stellarNetworkPassphrase } returns TEST_HORIZON_PASSPHRASE
-    every { server.accounts() } returns accountsRequestBuilder
-    every { accountsRequestBuilder.account(account) } returns accountResponse
     every { balance1.getAssetType() } returns "credit_alphanum4"
     every { balance1.getAsset() } returns Optional.of(asset1)
     every { balance2.getAssetType() } returns "credit_alphanum12"
@@ -95,7 +87,7 @@ internal class HorizonTest {
     every { accountResponse.getBalances() } returns arrayOf(balance1, balance2)
 
     val horizon = mockk<Horizon>()
-    every { horizon.server } returns server
+    every { horizon.getAccount(account) } returns accountResponse
     every { horizon.isTrustlineConfigured(account, asset) } answers { callOriginal() }
 
     assertTrue(horizon.isTrustlineConfigured(account, asset))
@@ -104,10 +96,8 @@ internal class HorizonTest {
   @Test
   fun test_isTrustlineConfigured_absent() {
     val appConfig = mockk<AppConfig>()
-    val server = mockk<Server>()
     val account = "testAccount"
     val asset = "stellar:USDC:issuerAccount1"
-    val accountsRequestBuilder: AccountsRequestBuilder = mockk()
     val accountResponse: AccountResponse = mockk()
     val balance1: Balance = mockk()
     val balance2: Balance = mockk()
@@ -115,8 +105,6 @@ internal class HorizonTest {
     val asset1: AssetTypeCreditAlphaNum = mockk()
     val asset2: AssetTypeCreditAlphaNum = mockk()
     val asset3: AssetTypeCreditAlphaNum = mockk()
-    every { server.accounts() } returns accountsRequestBuilder
-    every { accountsRequestBuilder.account(account) } returns accountResponse
     every { balance1.getAssetType() } returns "credit_alphanum8"
     every { balance1.getAsset() } returns Optional.of(asset1)
     every { balance2.getAssetType() } returns "credit_alphanum4"
@@ -135,7 +123,7 @@ internal class HorizonTest {
     every { appConfig.stellarNetworkPassphrase } returns TEST_HORIZON_PASSPHRASE
 
     val horizon = mockk<Horizon>()
-    every { horizon.server } returns server
+    every { horizon.getAccount(account) } returns accountResponse
     every { horizon.isTrustlineConfigured(account, asset) } answers { callOriginal() }
 
     assertFalse(horizon.isTrustlineConfigured(account, asset))
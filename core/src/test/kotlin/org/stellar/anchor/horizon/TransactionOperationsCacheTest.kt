@@ -0,0 +1,148 @@
+package org.stellar.anchor.horizon
+
+import io.mockk.every
+import io.mockk.mockk
+import java.io.IOException
+import java.util.Optional
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import kotlin.test.assertEquals
+import kotlin.test.assertNull
+import kotlin.test.assertSame
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+import org.stellar.sdk.responses.TransactionResponse
+import org.stellar.sdk.responses.operations.OperationResponse
+import org.stellar.sdk.responses.operations.PaymentOperationResponse
+
+internal class TransactionOperationsCacheTest {
+  @Test
+  fun `test get loads the operations once`() {
+    val cache = TransactionOperationsCache(10)
+    val operations = listOf(operation("txn1", 1, 1))
+    val loads = AtomicInteger()
+
+    repeat(3) {
+      assertEquals(
+        operations,
+        cache.get("txn1") {
+          loads.incrementAndGet()
+          operations
+        }
+      )
+    }
+
+    assertEquals(1, loads.get())
+  }
+
+  @Test
+  fun `test get does not cache an empty result or an error`() {
+    val cache = TransactionOperationsCache(10)
+
+    cache.get("txn1") { listOf() }
+    assertNull(cache.getIfPresent("txn1"))
+
+    assertThrows<IOException> { cache.get("txn1") { throw IOException("Horizon error") } }
+    assertNull(cache.getIfPresent("txn1"))
+  }
+
+  @Test
+  fun `test concurrent gets share one load`() {
+    val cache = TransactionOperationsCache(10)
+    val operations = listOf(operation("txn1", 1, 1))
+    val loads = AtomicInteger()
+    val loading = CountDownLatch(1)
+    val release = CountDownLatch(1)
+    val executor = Executors.newFixedThreadPool(4)
+
+    val first =
+      executor.submit<List<OperationResponse>> {
+        cache.get("txn1") {
+          loads.incrementAndGet()
+          loading.countDown()
+          release.await()
+          operations
+        }
+      }
+    loading.await()
+    val others =
+      (1..3).map {
+        executor.submit<List<OperationResponse>> {
+          cache.get("txn1") {
+            loads.incrementAndGet()
+            operations
+          }
+        }
+      }
+    release.countDown()
+
+    assertSame(operations, first.get(5, TimeUnit.SECONDS))
+    others.forEach { assertEquals(operations, it.get(5, TimeUnit.SECONDS)) }
+    assertEquals(1, loads.get())
+    executor.shutdown()
+  }
+
+  @Test
+  fun `test the cache is bounded by the number of operations`() {
+    val cache = TransactionOperationsCache(3)
+
+    cache.put("txn1", listOf(operation("txn1", 1, 2), operation("txn1", 2, 2)))
+    cache.put("txn2", listOf(operation("txn2", 3, 1)))
+    cache.getIfPresent("txn1")
+    cache.put("txn3", listOf(operation("txn3", 4, 1)))
+
+    assertEquals(2, cache.size())
+    assertNull(cache.getIfPresent("txn2"))
+    assertEquals(2, cache.getIfPresent("txn1")!!.size)
+    assertEquals(1, cache.getIfPresent("txn3")!!.size)
+  }
+
+  @Test
+  fun `test a cache of size zero does not cache`() {
+    val cache = TransactionOperationsCache(0)
+    val operations = listOf(operation("txn1", 1, 1))
+    val loads = AtomicInteger()
+
+    repeat(2) {
+      cache.get("txn1") {
+        loads.incrementAndGet()
+        operations
+      }
+    }
+
+    assertEquals(2, loads.get())
+    assertNull(cache.getIfPresent("txn1"))
+  }
+
+  @Test
+  fun `test observed operations are cached once the transaction is complete`() {
+    val cache = TransactionOperationsCache(10)
+    val op1 = operation("txn1", 1, 2)
+    val op2 = operation("txn1", 2, 2)
+
+    cache.observe(op1)
+    cache.observe(op1)
+    assertNull(cache.getIfPresent("txn1"))
+
+    cache.observe(op2)
+    assertEquals(listOf<OperationResponse>(op1, op2), cache.getIfPresent("txn1"))
+    assertEquals(listOf<OperationResponse>(op1, op2), cache.get("txn1") { throw IOException() })
+  }
+
+  @Test
+  fun `test the shared cache is created once`() {
+    assertSame(TransactionOperationsCache.shared(10), TransactionOperationsCache.shared(20))
+  }
+
+  private fun operation(hash: String, id: Long, operationCount: Int): OperationResponse {
+    val txn = mockk<TransactionResponse>()
+    every { txn.hash } returns hash
+    every { txn.operationCount } returns operationCount
+    val operation = mockk<PaymentOperationResponse>()
+    every { operation.id } returns id
+    every { operation.transaction } returns Optional.of(txn)
+    return operation
+  }
+}
@@ -5,7 +5,9 @@ package org.stellar.anchor.sep1
 import io.mockk.*
 import io.mockk.impl.annotations.MockK
 import org.junit.jupiter.api.*
-import org.junit.jupiter.api.Assertions.assertEquals
+import java.io.ByteArrayInputStream
+import java.util.zip.GZIPInputStream
+import org.junit.jupiter.api.Assertions.*
 import org.stellar.anchor.api.exception.SepException
 import org.stellar.anchor.config.Sep1Config
 import org.stellar.anchor.config.Sep1Config.TomlType.*
@@ -85,4 +87,70 @@ internal class Sep1ServiceTest {
     // When, Then
     assertEquals("toml content", sep1Service.toml)
   }
+
+  @Test
+  fun `test toml snapshot is pre-encoded with an etag`() {
+    // Given
+    every { sep1Config.isEnabled } returns true
+    every { sep1Config.type } returns STRING
+    every { sep1Config.value } returns "toml content"
+    val sep1Service = Sep1Service(sep1Config)
+    // When
+    val snapshot = sep1Service.tomlSnapshot
+    // Then
+    assertArrayEquals("toml content".toByteArray(), snapshot.body)
+    assertArrayEquals(
+      "toml content".toByteArray(),
+      GZIPInputStream(ByteArrayInputStream(snapshot.gzipBody)).readAllBytes()
+    )
+    assertTrue(snapshot.etag.startsWith("\"") && snapshot.etag.endsWith("\""))
+    assertTrue(snapshot.matches(snapshot.etag, false))
+    assertTrue(snapshot.matches("\"other\", W/${snapshot.etag}", false))
+    assertTrue(snapshot.matches("*", false))
+    assertFalse(snapshot.matches("\"other\"", false))
+    assertFalse(snapshot.matches(null, false))
+    assertFalse(snapshot.matches(snapshot.etag, true))
+    assertSame(snapshot, sep1Service.tomlSnapshot)
+  }
+
+  @Test
+  fun `test refresh swaps the toml only when the content changes`() {
+    // Given
+    every { sep1Config.isEnabled } returns true
+    every { sep1Config.type } returns URL
+    every { sep1Config.value } returns "toml_url"
+    val sep1Service = spyk(Sep1Service(sep1Config))
+    every { sep1Service.readTomlFromURL(eq("toml_url")) } returns "toml content"
+    val first = sep1Service.tomlSnapshot
+    // When
+    sep1Service.refresh()
+    // Then
+    assertSame(first, sep1Service.tomlSnapshot)
+
+    // When
+    every { sep1Service.readTomlFromURL(eq("toml_url")) } returns "new toml content"
+    sep1Service.refresh()
+    // Then
+    assertEquals("new toml content", sep1Service.toml)
+    assertNotEquals(first.etag, sep1Service.tomlSnapshot.etag)
+
+    // When
+    every { sep1Service.readTomlFromURL(eq("toml_url")) } throws Exception("fetch failed")
+    sep1Service.refresh()
+    // Then
+    assertEquals("new toml content", sep1Service.toml)
+  }
+
+  @Test
+  fun `test shutdown stops the refresh`() {
+    every { sep1Config.isEnabled } returns true
+    every { sep1Config.type } returns URL
+    every { sep1Config.value } returns "toml_url"
+    every { sep1Config.refreshInterval } returns 60
+    val sep1Service = Sep1Service(sep1Config)
+
+    sep1Service.shutdown()
+
+    assertTrue(sep1Service.refresher.isShutdown)
+  }
 }
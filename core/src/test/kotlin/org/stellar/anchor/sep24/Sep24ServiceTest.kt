@@ -16,6 +16,7 @@ import org.junit.jupiter.api.assertThrows
 import org.junit.jupiter.params.ParameterizedTest
 import org.junit.jupiter.params.provider.ValueSource
 import org.stellar.anchor.MoreInfoUrlConstructor
+import org.stellar.anchor.SepTransactionVersion
 import org.stellar.anchor.TestConstants.Companion.TEST_ACCOUNT
 import org.stellar.anchor.TestConstants.Companion.TEST_AMOUNT
 import org.stellar.anchor.TestConstants.Companion.TEST_ASSET
@@ -671,6 +672,40 @@ internal class Sep24ServiceTest {
     }
   }
 
+  @Test
+  fun `test find transaction etag`() {
+    val version = mockk<SepTransactionVersion>()
+    every { version.sep10Account } returns TEST_ACCOUNT
+    every { version.updatedAt } returns TEST_STARTED_AT
+    every { txnStore.findVersionByTransactionId(TEST_TRANSACTION_ID_0) } returns version
+    every { moreInfoUrlConstructor.generation() } returns 1
+
+    val gtr = GetTransactionRequest(TEST_TRANSACTION_ID_0, null, null, "en-US")
+    val etag = sep24Service.findTransactionETag(createTestSep10JwtToken(), gtr)
+    assertNotNull(etag)
+    assertEquals(etag, sep24Service.findTransactionETag(createTestSep10JwtToken(), gtr))
+
+    // The tag changes with the transaction and with the more_info_url generation
+    every { version.updatedAt } returns TEST_COMPLETED_AT
+    val updatedEtag = sep24Service.findTransactionETag(createTestSep10JwtToken(), gtr)
+    assertNotEquals(etag, updatedEtag)
+    every { moreInfoUrlConstructor.generation() } returns 2
+    assertNotEquals(updatedEtag, sep24Service.findTransactionETag(createTestSep10JwtToken(), gtr))
+
+    // Only the transactions of the account requested by id are tagged
+    assertNull(
+      sep24Service.findTransactionETag(
+        createTestSep10JwtToken(),
+        GetTransactionRequest(null, TEST_TRANSACTION_ID_0, null, "en-US")
+      )
+    )
+    every { version.sep10Account } returns TEST_ASSET_ISSUER_ACCOUNT_ID
+    assertNull(sep24Service.findTransactionETag(createTestSep10JwtToken(), gtr))
+    every { txnStore.findVersionByTransactionId(any()) } returns null
+    assertNull(sep24Service.findTransactionETag(createTestSep10JwtToken(), gtr))
+    verify(exactly = 0) { txnStore.findByTransactionId(any()) }
+  }
+
   @Test
   fun `test GET info`() {
     val response = sep24Service.info
@@ -9,6 +9,8 @@ import java.time.Instant
 import java.time.format.DateTimeFormatter
 import java.time.temporal.ChronoUnit
 import java.util.*
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
 import java.util.stream.Stream
 import org.apache.commons.lang3.StringUtils
 import org.junit.jupiter.api.Assertions.*
@@ -362,20 +364,21 @@ class Sep31ServiceTest {
   fun `test update transaction amounts when no quote was used`() {
     request.destinationAsset =
       "stellar:USDC:GBBD47IF6LWK7P7MDEVSCWR7DPUWV3NY3DTQEVFL4NAT4AQH3ZLLFLA5"
-    Context.get().transaction = txn
-    Context.get().request = request
-    Context.get().fee = fee
-    Context.get().asset = asset
+    val ctx = Context()
+    ctx.transaction = txn
+    ctx.request = request
+    ctx.fee = fee
+    ctx.asset = asset
     every { sep31Config.paymentType } returns STRICT_SEND
 
     request.amount = "100"
     fee.amount = "2"
-    sep31Service.updateTxAmountsWhenNoQuoteWasUsed()
+    sep31Service.updateTxAmountsWhenNoQuoteWasUsed(ctx)
     assertEquals(txn.amountIn, "100")
     assertEquals(txn.amountOut, "98")
 
     every { sep31Config.paymentType } returns STRICT_RECEIVE
-    sep31Service.updateTxAmountsWhenNoQuoteWasUsed()
+    sep31Service.updateTxAmountsWhenNoQuoteWasUsed(ctx)
     assertEquals("102", txn.amountIn)
     assertEquals("100", txn.amountOut)
   }
@@ -412,17 +415,18 @@ class Sep31ServiceTest {
 
   @Test
   fun `test update tx amounts based on quote`() {
-    Context.get().transaction = txn
-    Context.get().request = request
-    Context.get().fee = fee
-    Context.get().quote = quote
+    val ctx = Context()
+    ctx.transaction = txn
+    ctx.request = request
+    ctx.fee = fee
+    ctx.quote = quote
 
     // Fee is as sell asset
     every { sep31Config.paymentType } throws Exception("paymentType must not be called")
     request.quoteId = "quote_id"
     request.amount = "100"
     request.assetCode = "USDC"
-    sep31Service.updateTxAmountsBasedOnQuote()
+    sep31Service.updateTxAmountsBasedOnQuote(ctx)
 
     // TODO: Add fee validation.
     assertEquals("100", txn.amountIn)
@@ -434,8 +438,8 @@ class Sep31ServiceTest {
     assertEquals(stellarJPYC, txn.amountOutAsset)
 
     // Test null quote failure
-    Context.get().quote = null
-    val ex = assertThrows<ServerErrorException> { sep31Service.updateTxAmountsBasedOnQuote() }
+    ctx.quote = null
+    val ex = assertThrows<ServerErrorException> { sep31Service.updateTxAmountsBasedOnQuote(ctx) }
     assertEquals("Quote not found.", ex.message)
   }
 
@@ -498,6 +502,7 @@ class Sep31ServiceTest {
           .stellarMemoType("text")
           .startedAt(wantStartedAt)
           .completedAt(wantCompletedAt)
+          .updatedAt(wantCompletedAt)
           .stellarTransactionId("18db1b8dffa78a0567faadeab7b08b7be8b3f65c40018d609cc530b757e67bc2")
           .externalTransactionId("external-id")
           .refunded(true)
@@ -870,7 +875,6 @@ class Sep31ServiceTest {
 
   @Test
   fun `test POST transaction without quote and quote is required`() {
-    Context.get().asset = asset
     val senderId = "d2bd1412-e2f6-4047-ad70-a1a2f133b25c"
     val receiverId = "137938d4-43a7-4252-a452-842adcee474c"
     val postTxRequest = Sep31PostTransactionRequest()
@@ -1011,22 +1015,23 @@ class Sep31ServiceTest {
 
   @Test
   fun `test validate required fields`() {
-    Context.reset()
-    val ex1 = assertThrows<BadRequestException> { sep31Service.validateRequiredFields() }
+    val ctx = Context()
+    val ex1 = assertThrows<BadRequestException> { sep31Service.validateRequiredFields(ctx) }
     assertEquals("Missing asset information.", ex1.message)
 
     val assetInfo = assetService.getAsset("USDC")
-    Context.get().asset = assetInfo
+    ctx.asset = assetInfo
     assetInfo.code = "BAD"
-    val ex2 = assertThrows<BadRequestException> { sep31Service.validateRequiredFields() }
+    val ex2 = assertThrows<BadRequestException> { sep31Service.validateRequiredFields(ctx) }
     assertEquals("Asset [BAD] has no fields definition", ex2.message)
 
     assetInfo.code = "USDC"
-    val ex3 = assertThrows<BadRequestException> { sep31Service.validateRequiredFields() }
+    val ex3 = assertThrows<BadRequestException> { sep31Service.validateRequiredFields(ctx) }
     assertEquals("'fields' field must have one 'transaction' field", ex3.message)
 
-    Context.get().transactionFields = mapOf()
-    val ex4 = assertThrows<Sep31MissingFieldException> { sep31Service.validateRequiredFields() }
+    ctx.transactionFields = mapOf()
+    val ex4 =
+      assertThrows<Sep31MissingFieldException> { sep31Service.validateRequiredFields(ctx) }
     val wantMissingFields = Sep31Operation.Fields()
     wantMissingFields.transaction =
       mapOf(
@@ -1037,51 +1042,172 @@ class Sep31ServiceTest {
       )
     assertEquals(wantMissingFields, ex4.missingFields)
 
-    Context.get().transactionFields = txn.fields
-    assertDoesNotThrow { sep31Service.validateRequiredFields() }
+    ctx.transactionFields = txn.fields
+    assertDoesNotThrow { sep31Service.validateRequiredFields(ctx) }
   }
 
   @Test
   fun `Test update fee ok`() {
     val jwtToken = TestHelper.createSep10Jwt()
-    Context.get().request = request
-    Context.get().sep10Jwt = jwtToken
+    val ctx = Context()
+    ctx.request = request
+    ctx.sep10Jwt = jwtToken
 
     // With quote
-    Context.get().quote = quote
+    ctx.quote = quote
     request.destinationAsset = "USDC"
-    sep31Service.updateFee()
-    var fee = Context.get().fee
+    sep31Service.updateFee(ctx)
+    var fee = ctx.fee
     assertEquals(quote.fee.total, fee.amount)
     assertEquals(quote.fee.asset, fee.asset)
 
     // No quote
     every { feeIntegration.getFee(any()) } returns GetFeeResponse(Amount("10", "USDC"))
-    Context.get().quote = null
-    Context.get().asset = asset
+    ctx.quote = null
+    ctx.asset = asset
     request.destinationAsset = "USDC"
-    sep31Service.updateFee()
-    fee = Context.get().fee
+    sep31Service.updateFee(ctx)
+    fee = ctx.fee
     assertEquals("10", fee.amount)
     assertEquals("USDC", fee.asset)
 
     request.destinationAsset = null
-    sep31Service.updateFee()
-    fee = Context.get().fee
+    sep31Service.updateFee(ctx)
+    fee = ctx.fee
     assertEquals("10", fee.amount)
     assertEquals("USDC", fee.asset)
   }
 
+  @Test
+  fun `test validate and update fee with concurrent callbacks`() {
+    every { sep31Config.callbackConcurrency } returns 4
+    sep31Service =
+      Sep31Service(
+        appConfig,
+        sep10Config,
+        sep31Config,
+        txnStore,
+        sep31DepositInfoGenerator,
+        quoteStore,
+        clientsConfig,
+        assetService,
+        feeIntegration,
+        customerIntegration,
+        eventService,
+        custodyService,
+        custodyConfig
+      )
+    asset.sep31.isQuotesSupported = false
+    asset.sep31.isQuotesRequired = false
+    val ctx = Context()
+    ctx.request = request
+    ctx.asset = asset
+    ctx.sep10Jwt = TestHelper.createSep10Jwt()
+
+    val acceptedCustomer = GetCustomerResponse()
+    acceptedCustomer.status = Sep12Status.ACCEPTED.name
+    every { customerIntegration.getCustomer(any()) } returns acceptedCustomer
+    every { feeIntegration.getFee(any()) } returns GetFeeResponse(Amount("10", "USDC"))
+
+    sep31Service.validateAndUpdateFee(ctx)
+    assertEquals("10", ctx.fee.amount)
+    assertEquals("USDC", ctx.fee.asset)
+    verify(exactly = 2) { customerIntegration.getCustomer(any()) }
+    verify(exactly = 1) { feeIntegration.getFee(any()) }
+    verify(exactly = 0) { quoteStore.findByQuoteId(any()) }
+
+    // The receiver is validated before the sender, as in the sequential execution
+    val customerNeedsInfo = GetCustomerResponse()
+    customerNeedsInfo.status = Sep12Status.NEEDS_INFO.name
+    every { customerIntegration.getCustomer(any()) } returns customerNeedsInfo
+    val ex =
+      assertThrows<Sep31CustomerInfoNeededException> { sep31Service.validateAndUpdateFee(ctx) }
+    assertEquals("sep31-receiver", ex.type)
+  }
+
+  @Test
+  fun `test sender and receiver are fetched concurrently`() {
+    every { sep31Config.callbackConcurrency } returns 4
+    sep31Service = newSep31Service()
+    asset.sep31.isQuotesSupported = false
+    asset.sep31.isQuotesRequired = false
+    val ctx = Context()
+    ctx.request = request
+    ctx.asset = asset
+    ctx.sep10Jwt = TestHelper.createSep10Jwt()
+
+    // Each customer callback waits for the other one, so they only complete if run concurrently
+    val started = CountDownLatch(2)
+    val acceptedCustomer = GetCustomerResponse()
+    acceptedCustomer.status = Sep12Status.ACCEPTED.name
+    every { customerIntegration.getCustomer(any()) } answers
+      {
+        started.countDown()
+        assertTrue(started.await(5, TimeUnit.SECONDS))
+        acceptedCustomer
+      }
+    every { feeIntegration.getFee(any()) } returns GetFeeResponse(Amount("10", "USDC"))
+
+    sep31Service.validateAndUpdateFee(ctx)
+    assertEquals("10", ctx.fee.amount)
+  }
+
+  @Test
+  fun `test callbacks run on the request thread after shutdown`() {
+    every { sep31Config.callbackConcurrency } returns 4
+    sep31Service = newSep31Service()
+    sep31Service.shutdown()
+    asset.sep31.isQuotesSupported = false
+    asset.sep31.isQuotesRequired = false
+    val ctx = Context()
+    ctx.request = request
+    ctx.asset = asset
+    ctx.sep10Jwt = TestHelper.createSep10Jwt()
+
+    val requestThread = Thread.currentThread()
+    val acceptedCustomer = GetCustomerResponse()
+    acceptedCustomer.status = Sep12Status.ACCEPTED.name
+    every { customerIntegration.getCustomer(any()) } answers
+      {
+        assertEquals(requestThread, Thread.currentThread())
+        acceptedCustomer
+      }
+    every { feeIntegration.getFee(any()) } returns GetFeeResponse(Amount("10", "USDC"))
+
+    sep31Service.validateAndUpdateFee(ctx)
+    assertEquals("10", ctx.fee.amount)
+    verify(exactly = 2) { customerIntegration.getCustomer(any()) }
+  }
+
+  private fun newSep31Service(): Sep31Service {
+    return Sep31Service(
+      appConfig,
+      sep10Config,
+      sep31Config,
+      txnStore,
+      sep31DepositInfoGenerator,
+      quoteStore,
+      clientsConfig,
+      assetService,
+      feeIntegration,
+      customerIntegration,
+      eventService,
+      custodyService,
+      custodyConfig
+    )
+  }
+
   @Test
   fun `test update fee failure`() {
     val jwtToken = TestHelper.createSep10Jwt()
-    Context.get().request = request
-    Context.get().sep10Jwt = jwtToken
+    val ctx = Context()
+    ctx.request = request
+    ctx.sep10Jwt = jwtToken
 
     // With quote
-    Context.get().quote = quote
+    ctx.quote = quote
     quote.fee = null
-    val ex = assertThrows<SepValidationException> { sep31Service.updateFee() }
+    val ex = assertThrows<SepValidationException> { sep31Service.updateFee(ctx) }
     assertEquals("Quote is missing the 'fee' field", ex.message)
   }
 
@@ -164,6 +164,7 @@ class Sep31TransactionTest {
             .stellarMemoType("text")
             .startedAt(mockStartedAt)
             .completedAt(mockCompletedAt)
+            .updatedAt(mockUpdatedAt)
             .stellarTransactionId(
               "2b862ac297c93e2db43fc58d407cc477396212bce5e6d5f61789f963d5a11300"
             )
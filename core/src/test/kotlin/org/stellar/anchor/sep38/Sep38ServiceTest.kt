@@ -4,8 +4,11 @@ package org.stellar.anchor.sep38
 
 import io.mockk.*
 import io.mockk.impl.annotations.MockK
+import java.time.Duration
 import java.time.Instant
 import java.time.temporal.ChronoUnit
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
 import org.junit.jupiter.api.*
 import org.junit.jupiter.api.Assertions.*
 import org.skyscreamer.jsonassert.JSONAssert
@@ -41,7 +44,8 @@ import org.stellar.anchor.util.StringHelper.json
 
 @Order(88)
 class Sep38ServiceTest {
-  class PropertySep38Config : Sep38Config {
+  class PropertySep38Config(private val cacheTtl: Int = 0, private val timeout: Int = 10) :
+    Sep38Config {
     override fun isEnabled(): Boolean {
       return true
     }
@@ -49,6 +53,14 @@ class Sep38ServiceTest {
     override fun isSep10Enforced(): Boolean {
       return false
     }
+
+    override fun getPrices(): Sep38Config.Prices {
+      val prices = Sep38Config.Prices()
+      prices.concurrency = 4
+      prices.timeout = timeout
+      prices.cacheTtl = cacheTtl
+      return prices
+    }
   }
 
   companion object {
@@ -290,6 +302,105 @@ class Sep38ServiceTest {
     assertEquals(wantResponse, gotResponse)
   }
 
+  @Test
+  fun `test get prices with cached indicative rates`() {
+    every { mockRateIntegration.getRate(any()) } returns
+      GetRateResponse.indicativePrice("1", "100", "100", mockSellAssetFee(fiatUSD))
+    sep38Service =
+      Sep38Service(
+        PropertySep38Config(cacheTtl = 60),
+        sep38Service.assetService,
+        mockRateIntegration,
+        null,
+        eventService
+      )
+
+    val wantResponse = GetPricesResponse()
+    wantResponse.addAsset(stellarJPYC, 7, "1")
+    wantResponse.addAsset(stellarUSDC, 7, "1")
+    assertEquals(wantResponse, sep38Service.getPrices(fiatUSD, "100", null, null, null))
+    assertEquals(wantResponse, sep38Service.getPrices(fiatUSD, "100", null, null, null))
+    verify(exactly = 2) { mockRateIntegration.getRate(any()) }
+
+    // a different amount is not served from the cache
+    sep38Service.getPrices(fiatUSD, "200", null, null, null)
+    verify(exactly = 4) { mockRateIntegration.getRate(any()) }
+  }
+
+  @Test
+  fun `test get prices requests the rates concurrently`() {
+    // Each rate request waits for the other one, so they only complete if run concurrently
+    val started = CountDownLatch(2)
+    every { mockRateIntegration.getRate(any()) } answers
+      {
+        started.countDown()
+        assertTrue(started.await(5, TimeUnit.SECONDS))
+        GetRateResponse.indicativePrice("1", "100", "100", mockSellAssetFee(fiatUSD))
+      }
+
+    val wantResponse = GetPricesResponse()
+    wantResponse.addAsset(stellarJPYC, 7, "1")
+    wantResponse.addAsset(stellarUSDC, 7, "1")
+    assertEquals(wantResponse, sep38Service.getPrices(fiatUSD, "100", null, null, null))
+  }
+
+  @Test
+  fun `test get prices fails when the rates are not returned in time`() {
+    val interrupted = CountDownLatch(1)
+    every { mockRateIntegration.getRate(any()) } answers
+      {
+        try {
+          Thread.sleep(10_000)
+        } catch (iex: InterruptedException) {
+          interrupted.countDown()
+          throw iex
+        }
+        GetRateResponse.indicativePrice("1", "100", "100", mockSellAssetFee(fiatUSD))
+      }
+    sep38Service =
+      Sep38Service(
+        PropertySep38Config(timeout = 1),
+        sep38Service.assetService,
+        mockRateIntegration,
+        null,
+        eventService
+      )
+
+    val start = System.currentTimeMillis()
+    val ex = assertThrows<ServerErrorException> {
+      sep38Service.getPrices(fiatUSD, "100", null, null, null)
+    }
+    assertEquals("timed out getting the prices", ex.message)
+    assertTrue(System.currentTimeMillis() - start < 5_000)
+    // The pending rate requests are cancelled
+    assertTrue(interrupted.await(5, TimeUnit.SECONDS))
+  }
+
+  @Test
+  fun `test shutdown stops the prices executor`() {
+    sep38Service.shutdown()
+    assertTrue(sep38Service.pricesExecutor.isShutdown)
+  }
+
+  @Test
+  fun `test firm rates are not cached`() {
+    val firmRequest =
+      GetRateRequest.builder()
+        .type(FIRM)
+        .sellAsset(fiatUSD)
+        .buyAsset(stellarUSDC)
+        .sellAmount("100")
+        .build()
+    every { mockRateIntegration.getRate(firmRequest) } returns
+      GetRateResponse.indicativePrice("1", "100", "100", mockSellAssetFee(fiatUSD))
+    val cache = IndicativeRateCache(mockRateIntegration, Duration.ofSeconds(60))
+
+    cache.getRate(firmRequest)
+    cache.getRate(firmRequest)
+    verify(exactly = 2) { mockRateIntegration.getRate(firmRequest) }
+    assertTrue(cache.entries.isEmpty())
+  }
+
   @Test
   fun `test GET price failure`() {
     var getPriceRequestBuilder = Sep38GetPriceRequest.builder()
@@ -0,0 +1,31 @@
+package org.stellar.anchor.util
+
+import java.time.Instant
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.Test
+
+class ETagHelperTest {
+  @Test
+  fun `test etag of values`() {
+    val updatedAt = Instant.parse("2024-01-01T00:00:00Z")
+    val etag = ETagHelper.etag("txn-1", updatedAt, "en")
+
+    assertTrue(etag.startsWith("\"") && etag.endsWith("\""))
+    assertEquals(etag, ETagHelper.etag("txn-1", updatedAt, "en"))
+    assertNotEquals(etag, ETagHelper.etag("txn-1", updatedAt.plusMillis(1), "en"))
+    assertNotEquals(etag, ETagHelper.etag("txn-1", updatedAt, "es"))
+    assertNotEquals(ETagHelper.etag("a", "bc"), ETagHelper.etag("ab", "c"))
+  }
+
+  @Test
+  fun `test matches`() {
+    val etag = ETagHelper.etag("txn-1")
+
+    assertTrue(ETagHelper.matches(etag, etag))
+    assertTrue(ETagHelper.matches("\"other\", W/$etag", etag))
+    assertTrue(ETagHelper.matches("*", etag))
+    assertFalse(ETagHelper.matches("\"other\"", etag))
+    assertFalse(ETagHelper.matches(null, etag))
+    assertFalse(ETagHelper.matches("*", null))
+  }
+}
@@ -0,0 +1,22 @@
+package org.stellar.anchor.util
+
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.Test
+import org.stellar.anchor.api.sep.sep38.InfoResponse
+import org.stellar.anchor.asset.DefaultAssetService
+
+class JsonSnapshotTest {
+  @Test
+  fun `test the response is pre-serialized with an etag`() {
+    val assetService = DefaultAssetService.fromJsonResource("test_assets.json")
+    val info = InfoResponse(assetService.listAllAssets())
+    val snapshot = JsonSnapshot(info)
+
+    assertSame(info, snapshot.value)
+    assertEquals(GsonUtils.getInstance().toJson(info), String(snapshot.body, Charsets.UTF_8))
+    assertTrue(snapshot.matches(snapshot.etag))
+    assertFalse(snapshot.matches("\"other\""))
+    assertEquals(snapshot.etag, JsonSnapshot(InfoResponse(assetService.listAllAssets())).etag)
+    assertNotEquals(snapshot.etag, JsonSnapshot(InfoResponse(listOf())).etag)
+  }
+}
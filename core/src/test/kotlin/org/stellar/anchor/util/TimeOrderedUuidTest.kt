@@ -0,0 +1,46 @@
+package org.stellar.anchor.util
+
+import java.util.*
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.Test
+import org.stellar.anchor.config.AppConfig.TransactionIdFormat.UUID_V4
+import org.stellar.anchor.config.AppConfig.TransactionIdFormat.UUID_V7
+
+internal class TimeOrderedUuidTest {
+  @Test
+  fun `test version, variant and timestamp`() {
+    val millis = 1718000000123L
+    val uuid = TimeOrderedUuid.generate(millis)
+
+    assertEquals(7, uuid.version())
+    assertEquals(2, uuid.variant())
+    assertEquals(millis, uuid.mostSignificantBits ushr 16)
+    assertEquals(uuid, UUID.fromString(uuid.toString()))
+  }
+
+  @Test
+  fun `test uuids are ordered by time`() {
+    val ids = (0L until 100L).map { TimeOrderedUuid.generate(1718000000000L + it).toString() }
+
+    assertEquals(ids, ids.sorted())
+  }
+
+  @Test
+  fun `test uuids of the same millisecond are unique`() {
+    val ids = (1..10000).map { TimeOrderedUuid.generate(1718000000000L).toString() }
+
+    assertEquals(ids.size, ids.toSet().size)
+  }
+
+  @Test
+  fun `test sep transaction id formats`() {
+    val v4 = SepHelper.generateSepTransactionId(UUID_V4)
+    val v7 = SepHelper.generateSepTransactionId(UUID_V7)
+
+    assertEquals(4, UUID.fromString(v4).version())
+    assertEquals(7, UUID.fromString(v7).version())
+    assertEquals(4, UUID.fromString(SepHelper.generateSepTransactionId(null)).version())
+    // The memos are derived from the first 32 characters of the ids
+    assertEquals(v4.length, v7.length)
+  }
+}
@@ -2,6 +2,7 @@ package org.stellar.anchor.util;
 
 import io.jsonwebtoken.SignatureAlgorithm;
 import java.security.InvalidKeyException;
+import java.security.Key;
 import java.security.KeyFactory;
 import java.security.NoSuchAlgorithmException;
 import java.security.PrivateKey;
@@ -12,6 +13,8 @@ import java.security.spec.InvalidKeySpecException;
 import java.security.spec.PKCS8EncodedKeySpec;
 import java.security.spec.X509EncodedKeySpec;
 import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
 import org.apache.commons.lang3.StringUtils;
 
 public class RSAUtil {
@@ -24,6 +27,10 @@ public class RSAUtil {
   public static final String RSA_ALGORITHM = SignatureAlgorithm.RS512.getFamilyName();
   public static final String SHA512_WITH_RSA_ALGORITHM = SignatureAlgorithm.RS512.getJcaName();
 
+  // Signature instances are not thread-safe and expensive to look up, so they are cached per thread
+  private static final ThreadLocal<Map<String, CachedSignature>> signatures =
+      ThreadLocal.withInitial(HashMap::new);
+
   public static PublicKey generatePublicKey(String publicKey)
       throws NoSuchAlgorithmException, InvalidKeySpecException {
     return generatePublicKey(publicKey, RSA_ALGORITHM);
@@ -129,13 +136,15 @@ public class RSAUtil {
       throw new IllegalArgumentException("Public key is null");
     }
 
-    Signature sign = Signature.getInstance(signatureAlgorithm);
-    sign.initVerify(publicKey);
+    byte[] signatureBytes = Base64.getDecoder().decode(signature);
+    CachedSignature cached = getSignature(signatureAlgorithm, false);
+    Signature sign = cached.init(publicKey);
     sign.update(dataString.getBytes());
 
     try {
-      return sign.verify(Base64.getDecoder().decode(signature));
+      return sign.verify(signatureBytes);
     } catch (SignatureException ignored) {
+      cached.reset();
       return false;
     }
   }
@@ -154,14 +163,80 @@ public class RSAUtil {
 
   public static String sign(String dataString, PrivateKey privateKey, String signatureAlgorithm)
       throws NoSuchAlgorithmException, InvalidKeyException, SignatureException {
+    return new String(
+        Base64.getEncoder().encode(sign(dataString.getBytes(), privateKey, signatureAlgorithm)));
+  }
+
+  /**
+   * Sign data.
+   *
+   * @param data The data to sign
+   * @param privateKey The private key to sign with
+   * @param signatureAlgorithm the standard name of the algorithm requested
+   * @return The raw signature bytes
+   */
+  public static byte[] sign(byte[] data, PrivateKey privateKey, String signatureAlgorithm)
+      throws NoSuchAlgorithmException, InvalidKeyException, SignatureException {
     if (privateKey == null) {
       throw new IllegalArgumentException("Private key is null");
     }
 
-    Signature sign = Signature.getInstance(signatureAlgorithm);
-    sign.initSign(privateKey);
-    sign.update(dataString.getBytes());
+    CachedSignature cached = getSignature(signatureAlgorithm, true);
+    Signature sign = cached.init(privateKey);
+    try {
+      sign.update(data);
+      return sign.sign();
+    } catch (SignatureException e) {
+      cached.reset();
+      throw e;
+    }
+  }
 
-    return new String(Base64.getEncoder().encode(sign.sign()));
+  private static CachedSignature getSignature(String signatureAlgorithm, boolean forSigning)
+      throws NoSuchAlgorithmException {
+    String cacheKey = (forSigning ? "sign:" : "verify:") + signatureAlgorithm;
+    Map<String, CachedSignature> cache = signatures.get();
+    CachedSignature cached = cache.get(cacheKey);
+    if (cached == null) {
+      cached = new CachedSignature(Signature.getInstance(signatureAlgorithm));
+      cache.put(cacheKey, cached);
+    }
+    return cached;
+  }
+
+  /**
+   * A thread-confined Signature with the key it was last initialized with. A Signature returns to
+   * its initialized state after sign() and verify(), so it is only re-initialized when the key
+   * changes or the previous operation failed.
+   */
+  private static class CachedSignature {
+    private final Signature signature;
+    private Key key;
+
+    CachedSignature(Signature signature) {
+      this.signature = signature;
+    }
+
+    Signature init(PrivateKey privateKey) throws InvalidKeyException {
+      if (key != privateKey) {
+        key = null;
+        signature.initSign(privateKey);
+        key = privateKey;
+      }
+      return signature;
+    }
+
+    Signature init(PublicKey publicKey) throws InvalidKeyException {
+      if (key != publicKey) {
+        key = null;
+        signature.initVerify(publicKey);
+        key = publicKey;
+      }
+      return signature;
+    }
+
+    void reset() {
+      key = null;
+    }
   }
 }
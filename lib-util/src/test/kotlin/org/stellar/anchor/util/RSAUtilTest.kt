@@ -173,6 +173,21 @@ class RSAUtilTest {
     assertTrue(isValidSignature(signature, payload, publicKey))
   }
 
+  @Test
+  fun `test sign and verify reuse the signature across keys and failed verifications`() {
+    val kp = KeyPairGenerator.getInstance("RSA").genKeyPair()
+    val otherSignature = sign(payload, kp.private)
+
+    assertFalse(isValidSignature(signature, payload + "test", publicKey))
+    assertTrue(isValidSignature(signature, payload, publicKey))
+    assertFalse(isValidSignature(otherSignature, payload, publicKey))
+    assertTrue(isValidSignature(otherSignature, payload, kp.public))
+    assertTrue(isValidSignature(signature, payload, publicKey))
+    assertThrows<IllegalArgumentException> { isValidSignature("%%%", payload, publicKey) }
+    assertTrue(isValidSignature(signature, payload, publicKey))
+    assertTrue(isValidSignature(sign(payload, privateKey), payload, publicKey))
+  }
+
   @Throws(IOException::class, SepNotFoundException::class)
   fun getCompactJsonString(fileName: String): String {
     val gson = GsonBuilder().serializeNulls().create()
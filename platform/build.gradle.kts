@@ -5,6 +5,7 @@ plugins {
   alias(libs.plugins.spring.boot)
   alias(libs.plugins.spring.dependency.management)
   alias(libs.plugins.kotlin.jvm)
+  alias(libs.plugins.jmh)
 }
 
 dependencies {
@@ -54,6 +55,16 @@ dependencies {
   testImplementation("org.springframework.boot:spring-boot-starter-test")
   testImplementation(libs.okhttp3.mockserver)
   testImplementation(libs.okhttp3.tls)
+  testImplementation(libs.h2database)
+
+  jmh(libs.okhttp3.mockserver)
+  jmh(libs.h2database)
+}
+
+// The benchmarks are in src/jmh and can be run with `./gradlew :platform:jmh`.
+jmh {
+  jmhVersion.set(libs.versions.jmh.get())
+  includes.set(listOfNotNull(project.findProperty("jmhIncludes")?.toString()))
 }
 
 tasks.test {
@@ -0,0 +1,94 @@
+package org.stellar.anchor.platform.callback;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+import org.stellar.anchor.api.callback.GetRateRequest;
+import org.stellar.anchor.api.callback.GetRateResponse;
+import org.stellar.anchor.api.exception.AnchorException;
+import org.stellar.anchor.asset.DefaultAssetService;
+import org.stellar.anchor.auth.AuthHelper;
+import org.stellar.anchor.util.GsonUtils;
+
+/**
+ * Measures the end-to-end `RestRateIntegration.getRate` call, including the URL encoding, the HTTP
+ * round trip to a local mock business server, the response parsing and the validation.
+ *
+ * <p>Run with `./gradlew :platform:jmh -PjmhIncludes=RestRateIntegrationBenchmark`.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RestRateIntegrationBenchmark {
+  static final String USDC = "stellar:USDC:GA5ZSEJYB37JRC5AVCIA5MOP4RHTM335X2KGX3IHOJAPP5RE34K4KZVN";
+  static final String USD = "iso4217:USD";
+  static final String RATE_RESPONSE =
+      "{\"rate\":{\"price\":\"1.02\",\"sell_amount\":\"103.00\",\"buy_amount\":\"100.00\","
+          + "\"fee\":{\"total\":\"1.00\",\"asset\":\""
+          + USD
+          + "\",\"details\":[{\"name\":\"Service fee\",\"amount\":\"1.00\"}]}}}";
+
+  MockWebServer server;
+  RestRateIntegration rateIntegration;
+  GetRateRequest request;
+
+  @Setup
+  public void setup() throws Exception {
+    server = new MockWebServer();
+    server.setDispatcher(
+        new Dispatcher() {
+          @NotNull
+          @Override
+          public MockResponse dispatch(@NotNull RecordedRequest recordedRequest) {
+            return new MockResponse()
+                .setResponseCode(200)
+                .addHeader("Content-Type", "application/json")
+                .setBody(RATE_RESPONSE);
+          }
+        });
+    server.start();
+
+    rateIntegration =
+        new RestRateIntegration(
+            server.url("/").toString(),
+            new OkHttpClient(),
+            AuthHelper.forNone(),
+            GsonUtils.getInstance(),
+            DefaultAssetService.fromJsonResource("benchmark_assets.json"));
+    request =
+        GetRateRequest.builder()
+            .type(GetRateRequest.Type.INDICATIVE)
+            .sellAsset(USD)
+            .sellAmount("103")
+            .sellDeliveryMethod("WIRE")
+            .buyAsset(USDC)
+            .countryCode("US")
+            .clientId("GBJDSMTMG4YBP27ZILV665XBISBBNRP62YB7WZA2IQX2HIPK7ABLF4C2")
+            .build();
+  }
+
+  @TearDown(Level.Iteration)
+  public void drainRecordedRequests() throws InterruptedException {
+    // MockWebServer keeps every recorded request in memory
+    while (server.takeRequest(0, TimeUnit.MILLISECONDS) != null) {}
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    server.shutdown();
+  }
+
+  @Benchmark
+  public GetRateResponse getRate() throws AnchorException {
+    return rateIntegration.getRate(request);
+  }
+}
@@ -0,0 +1,100 @@
+package org.stellar.anchor.platform.custody.fireblocks;
+
+import static org.stellar.anchor.util.RSAUtil.SHA512_WITH_RSA_ALGORITHM;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import okhttp3.OkHttpClient;
+import org.openjdk.jmh.annotations.*;
+import org.stellar.anchor.config.CustodySecretConfig;
+import org.stellar.anchor.platform.config.FireblocksConfig;
+import org.stellar.anchor.util.RSAUtil;
+
+/**
+ * Measures the RSA work of the custody server: signing the JWT of a Fireblocks API call and
+ * verifying the signature of a Fireblocks webhook event.
+ *
+ * <p>Run with `./gradlew :platform:jmh -PjmhIncludes=FireblocksSignatureBenchmark`. The threads
+ * benchmark variants show how the throughput scales with the number of cores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class FireblocksSignatureBenchmark {
+  static final String PATH = "/v1/transactions/00000000-0000-0000-0000-000000000000";
+  static final String BODY =
+      "{\"assetId\":\"XLM_USDC_T_CEKS\",\"source\":{\"type\":\"VAULT_ACCOUNT\",\"id\":\"1\"},"
+          + "\"destination\":{\"type\":\"ONE_TIME_ADDRESS\",\"oneTimeAddress\":{\"address\":"
+          + "\"GBJDSMTMG4YBP27ZILV665XBISBBNRP62YB7WZA2IQX2HIPK7ABLF4C2\"}},\"amount\":\"100\"}";
+
+  FireblocksApiClient apiClient;
+  PrivateKey privateKey;
+  PublicKey publicKey;
+  String signature;
+
+  @Setup
+  public void setup() throws Exception {
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+    generator.initialize(4096);
+    KeyPair keyPair = generator.generateKeyPair();
+    privateKey = keyPair.getPrivate();
+    publicKey = keyPair.getPublic();
+    signature = RSAUtil.sign(BODY, privateKey);
+
+    String secretKey = Base64.getEncoder().encodeToString(privateKey.getEncoded());
+    FireblocksConfig fireblocksConfig =
+        new FireblocksConfig(
+            new CustodySecretConfig() {
+              @Override
+              public String getFireblocksApiKey() {
+                return "benchmarkApiKey";
+              }
+
+              @Override
+              public String getFireblocksSecretKey() {
+                return secretKey;
+              }
+
+              @Override
+              public String getCustodyAuthSecret() {
+                return null;
+              }
+            });
+    fireblocksConfig.setBaseUrl("http://localhost");
+    apiClient = new FireblocksApiClient(new OkHttpClient(), fireblocksConfig);
+  }
+
+  @Benchmark
+  public String signGetJwt() {
+    return apiClient.signJwt(PATH, "");
+  }
+
+  @Benchmark
+  public String signPostJwt() {
+    return apiClient.signJwt(PATH, BODY);
+  }
+
+  @Benchmark
+  public boolean verifyWebhookSignature() throws Exception {
+    return RSAUtil.isValidSignature(signature, BODY, publicKey, SHA512_WITH_RSA_ALGORITHM);
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public String signPostJwtThreads() {
+    return apiClient.signJwt(PATH, BODY);
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public boolean verifyWebhookSignatureThreads() throws Exception {
+    return RSAUtil.isValidSignature(signature, BODY, publicKey, SHA512_WITH_RSA_ALGORITHM);
+  }
+}
@@ -0,0 +1,118 @@
+package org.stellar.anchor.platform.data;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.stellar.anchor.config.AppConfig.TransactionIdFormat;
+import org.stellar.anchor.util.SepHelper;
+import org.stellar.anchor.util.TimeOrderedUuid;
+
+/**
+ * Measures the inserts into a transaction table keyed by the SEP transaction id when the table
+ * already has `rowCount` rows, with the random and the time-ordered ids. The table of each format
+ * is preloaded once and reused by the later runs, as the file database is kept in the build
+ * directory. Set `jdbcUrl` to a Postgres URL with the credentials to measure against Postgres.
+ *
+ * <p>Run with `./gradlew :platform:jmh -PjmhIncludes=TransactionIdInsertBenchmark`.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class TransactionIdInsertBenchmark {
+  static final int PRELOAD_BATCH_SIZE = 10000;
+
+  @Param({"UUID_V4", "UUID_V7"})
+  TransactionIdFormat format;
+
+  @Param({"10000000"})
+  int rowCount;
+
+  @Param({"jdbc:h2:file:./build/jmh/transaction_ids"})
+  String jdbcUrl;
+
+  Connection connection;
+  PreparedStatement insertStatement;
+
+  @Setup
+  public void setup() throws SQLException {
+    connection = DriverManager.getConnection(jdbcUrl);
+    String table = "benchmark_transaction_" + format.name().toLowerCase();
+    try (Statement statement = connection.createStatement()) {
+      statement.execute(
+          "CREATE TABLE IF NOT EXISTS "
+              + table
+              + " (id VARCHAR(255) PRIMARY KEY, status VARCHAR(255), amount_in VARCHAR(255),"
+              + " started_at TIMESTAMP)");
+    }
+    preload(table);
+    insertStatement =
+        connection.prepareStatement(
+            "INSERT INTO " + table + " (id, status, amount_in, started_at) VALUES (?, ?, ?, ?)");
+  }
+
+  @TearDown
+  public void tearDown() throws SQLException {
+    connection.close();
+  }
+
+  @Benchmark
+  public int insert() throws SQLException {
+    return insert(insertStatement, SepHelper.generateSepTransactionId(format));
+  }
+
+  void preload(String table) throws SQLException {
+    long count;
+    try (Statement statement = connection.createStatement();
+        ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM " + table)) {
+      rs.next();
+      count = rs.getLong(1);
+    }
+
+    connection.setAutoCommit(false);
+    try (PreparedStatement preload =
+        connection.prepareStatement(
+            "INSERT INTO " + table + " (id, status, amount_in, started_at) VALUES (?, ?, ?, ?)")) {
+      // The time-ordered ids of the existing rows are spread over the past as if they were
+      // inserted over time
+      long start = System.currentTimeMillis() - rowCount;
+      for (long i = count; i < rowCount; i++) {
+        String id =
+            format == TransactionIdFormat.UUID_V7
+                ? TimeOrderedUuid.generate(start + i).toString()
+                : UUID.randomUUID().toString();
+        preload.setString(1, id);
+        preload.setString(2, "completed");
+        preload.setString(3, "100");
+        preload.setTimestamp(4, Timestamp.from(Instant.now()));
+        preload.addBatch();
+        if ((i + 1) % PRELOAD_BATCH_SIZE == 0) {
+          preload.executeBatch();
+          connection.commit();
+        }
+      }
+      preload.executeBatch();
+      connection.commit();
+    } finally {
+      connection.setAutoCommit(true);
+    }
+  }
+
+  static int insert(PreparedStatement insert, String id) throws SQLException {
+    insert.setString(1, id);
+    insert.setString(2, "incomplete");
+    insert.setString(3, "100");
+    insert.setTimestamp(4, Timestamp.from(Instant.now()));
+    return insert.executeUpdate();
+  }
+}
@@ -0,0 +1,135 @@
+package org.stellar.anchor.platform.rpc;
+
+import static org.stellar.anchor.api.sep.SepTransactionStatus.PENDING_RECEIVER;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.reflect.TypeToken;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import javax.validation.Validator;
+import org.openjdk.jmh.annotations.*;
+import org.stellar.anchor.api.callback.CustomerIntegration;
+import org.stellar.anchor.api.rpc.RpcRequest;
+import org.stellar.anchor.api.rpc.RpcResponse;
+import org.stellar.anchor.asset.DefaultAssetService;
+import org.stellar.anchor.event.EventService;
+import org.stellar.anchor.metrics.MetricsService;
+import org.stellar.anchor.platform.config.RpcConfig;
+import org.stellar.anchor.platform.data.JdbcSep31Transaction;
+import org.stellar.anchor.platform.service.RpcService;
+import org.stellar.anchor.platform.utils.RpcUtil;
+import org.stellar.anchor.platform.validator.RequestValidator;
+import org.stellar.anchor.sep24.Sep24TransactionStore;
+import org.stellar.anchor.sep31.Sep31TransactionStore;
+import org.stellar.anchor.sep6.Sep6TransactionStore;
+import org.stellar.anchor.util.GsonUtils;
+
+/**
+ * Measures a 100-call RPC batch through the platform RPC controller path: parsing the request
+ * body, binding the params of each call, handling the calls with in-memory transaction stores and
+ * serializing the responses.
+ *
+ * <p>Run with `./gradlew :platform:jmh -PjmhIncludes=RpcBatchBenchmark`.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RpcBatchBenchmark {
+  static final int BATCH_SIZE = 100;
+  static final Type RPC_CALLS = new TypeToken<List<JsonObject>>() {}.getType();
+  static final Type RPC_REQUESTS = new TypeToken<List<RpcRequest>>() {}.getType();
+
+  Gson gson;
+  RpcService rpcService;
+  String body;
+
+  @Setup
+  public void setup() throws Exception {
+    gson = GsonUtils.getInstance();
+
+    JdbcSep31Transaction txn = new JdbcSep31Transaction();
+    txn.setId("00000000-0000-0000-0000-000000000000");
+    txn.setStatus(PENDING_RECEIVER.toString());
+    txn.setAmountIn("100");
+    txn.setAmountInAsset("stellar:USDC");
+    txn.setAmountOut("98");
+    txn.setAmountOutAsset("iso4217:USD");
+    txn.setAmountFee("2");
+    txn.setAmountFeeAsset("stellar:USDC");
+    txn.setStartedAt(Instant.now());
+
+    EventService.Session eventSession = stub(EventService.Session.class, null);
+    NotifyCustomerInfoUpdatedHandler handler =
+        new NotifyCustomerInfoUpdatedHandler(
+            stub(Sep6TransactionStore.class, null),
+            stub(Sep24TransactionStore.class, null),
+            stub(Sep31TransactionStore.class, txn),
+            new RequestValidator(stub(Validator.class, null)),
+            stub(CustomerIntegration.class, null),
+            DefaultAssetService.fromJsonResource("benchmark_assets.json"),
+            stub(EventService.class, eventSession),
+            new MetricsService());
+    RpcConfig rpcConfig = new RpcConfig();
+    rpcConfig.setBatchSizeLimit(BATCH_SIZE);
+    rpcService = new RpcService(List.of(handler), rpcConfig);
+
+    StringBuilder sb = new StringBuilder("[");
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      if (i > 0) sb.append(',');
+      sb.append("{\"jsonrpc\":\"2.0\",\"method\":\"notify_customer_info_updated\",\"id\":")
+          .append(i)
+          .append(",\"params\":{\"transaction_id\":\"")
+          .append(txn.getId())
+          .append("\",\"message\":\"Customer info updated\"}}");
+    }
+    body = sb.append(']').toString();
+  }
+
+  /** The params are kept as the parsed JSON tree and bound directly to the request type. */
+  @Benchmark
+  public String parsedParams() {
+    List<JsonObject> rpcCalls = gson.fromJson(body, RPC_CALLS);
+    List<RpcRequest> rpcRequests =
+        rpcCalls.stream().map(RpcUtil::toRpcRequest).collect(Collectors.toList());
+    List<RpcResponse> responses = rpcService.handle(rpcRequests);
+    return gson.toJson(responses);
+  }
+
+  /** The params are parsed into maps and converted to the request type by the handler. */
+  @Benchmark
+  public String mapParams() {
+    List<RpcRequest> rpcRequests = gson.fromJson(body, RPC_REQUESTS);
+    List<RpcResponse> responses = rpcService.handle(rpcRequests);
+    return gson.toJson(responses);
+  }
+
+  /**
+   * Creates a stub that returns the given value from the methods returning a compatible type, the
+   * first argument from save() and null, an empty set or a name otherwise.
+   */
+  @SuppressWarnings("unchecked")
+  static <T> T stub(Class<T> type, Object value) {
+    return (T)
+        Proxy.newProxyInstance(
+            type.getClassLoader(),
+            new Class<?>[] {type},
+            (proxy, method, args) -> {
+              if (method.getName().equals("save")) return args[0];
+              if (method.getName().equals("hashCode")) return System.identityHashCode(proxy);
+              if (method.getName().equals("equals")) return proxy == args[0];
+              if (value != null && method.getReturnType().isInstance(value)) return value;
+              if (method.getReturnType() == Set.class) return Set.of();
+              if (method.getReturnType() == String.class) return type.getSimpleName();
+              return null;
+            });
+  }
+}
@@ -5,6 +5,7 @@ import static okhttp3.HttpUrl.get;
 import com.google.common.reflect.TypeToken;
 import com.google.gson.Gson;
 import com.google.gson.annotations.SerializedName;
+import java.io.IOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
@@ -14,15 +15,21 @@ import java.util.List;
 import java.util.Map;
 import okhttp3.*;
 import okhttp3.HttpUrl.Builder;
+import okio.BufferedSink;
+import okio.Okio;
+import okio.Source;
 import org.springframework.http.HttpStatus;
 import org.stellar.anchor.api.callback.*;
 import org.stellar.anchor.api.exception.AnchorException;
 import org.stellar.anchor.api.exception.BadRequestException;
 import org.stellar.anchor.api.exception.ServerErrorException;
+import org.stellar.anchor.api.shared.BinaryContent;
 import org.stellar.anchor.auth.AuthHelper;
 import org.stellar.anchor.util.Log;
 
 public class RestCustomerIntegration implements CustomerIntegration {
+  private static final MediaType OCTET_STREAM = MediaType.parse("application/octet-stream");
+
   private final String anchorEndpoint;
   private final OkHttpClient httpClient;
   private final AuthHelper authHelper;
@@ -106,14 +113,16 @@ public class RestCustomerIntegration implements CustomerIntegration {
 
   private Request createCallbackRequest(PutCustomerRequest putCustomerRequest)
       throws AnchorException {
-    boolean hasBinaryFields = false;
+    boolean hasBinaryFields =
+        putCustomerRequest.getBinaryContents() != null
+            && !putCustomerRequest.getBinaryContents().isEmpty();
 
     /*
      * Check if the request has binary fields. If it does, we need to use multipart/form-data
      * instead of application/json.
      */
     for (Field field : putCustomerRequest.getClass().getDeclaredFields()) {
-      if (!Modifier.isPrivate(field.getModifiers())) {
+      if (!hasBinaryFields && !Modifier.isPrivate(field.getModifiers())) {
         field.setAccessible(true);
         try {
           Object value = field.get(putCustomerRequest);
@@ -158,9 +167,8 @@ public class RestCustomerIntegration implements CustomerIntegration {
 
             if (value instanceof byte[]) {
               byte[] bytes = (byte[]) value;
-              RequestBody fileBody =
-                  RequestBody.create(bytes, MediaType.parse("application/octet-stream"));
-              builder.addFormDataPart(name, field.getName(), fileBody);
+              RequestBody fileBody = RequestBody.create(bytes, OCTET_STREAM);
+              builder.addFormDataPart(name, fileName(name), fileBody);
             } else {
               builder.addFormDataPart(name, value.toString());
             }
@@ -171,9 +179,65 @@ public class RestCustomerIntegration implements CustomerIntegration {
       }
     }
 
+    if (putCustomerRequest.getBinaryContents() != null) {
+      for (Map.Entry<String, BinaryContent> entry :
+          putCustomerRequest.getBinaryContents().entrySet()) {
+        builder.addFormDataPart(
+            entry.getKey(),
+            fileName(entry.getKey()),
+            new BinaryContentRequestBody(entry.getValue()));
+      }
+    }
+
     return builder.build();
   }
 
+  /**
+   * Returns the file name of a binary field, which is the name of the field in the request class,
+   * whether the content is in memory or streamed.
+   *
+   * @param name the serialized name of the field.
+   * @return the file name.
+   */
+  static String fileName(String name) {
+    for (Field field : PutCustomerRequest.class.getDeclaredFields()) {
+      SerializedName serializedName = field.getAnnotation(SerializedName.class);
+      if (serializedName != null && serializedName.value().equals(name)) {
+        return field.getName();
+      }
+    }
+    return name;
+  }
+
+  /**
+   * A request body that copies the binary content to the connection as it is sent, so the content
+   * is never fully loaded in memory. The content is opened again if the request is retried.
+   */
+  static class BinaryContentRequestBody extends RequestBody {
+    private final BinaryContent content;
+
+    BinaryContentRequestBody(BinaryContent content) {
+      this.content = content;
+    }
+
+    @Override
+    public MediaType contentType() {
+      return OCTET_STREAM;
+    }
+
+    @Override
+    public long contentLength() {
+      return content.getSize();
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+      try (Source source = Okio.source(content.getInputStream())) {
+        sink.writeAll(source);
+      }
+    }
+  }
+
   @Override
   public void deleteCustomer(String id) throws AnchorException {
     HttpUrl url = getCustomerUrlBuilder().addPathSegment(id).build();
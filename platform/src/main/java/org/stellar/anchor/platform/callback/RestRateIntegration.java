@@ -2,26 +2,23 @@ package org.stellar.anchor.platform.callback;
 
 import static java.lang.Math.abs;
 import static java.lang.String.format;
-import static okhttp3.HttpUrl.get;
 import static org.stellar.anchor.util.ErrorHelper.logErrorAndThrow;
 import static org.stellar.anchor.util.Log.*;
 import static org.stellar.anchor.util.NumberHelper.hasProperSignificantDecimals;
 import static org.stellar.anchor.util.NumberHelper.isPositiveNumber;
 
-import com.google.common.reflect.TypeToken;
 import com.google.gson.Gson;
-import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.Map;
 import java.util.Objects;
 import okhttp3.HttpUrl;
 import okhttp3.HttpUrl.Builder;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
+import okhttp3.ResponseBody;
 import org.springframework.http.HttpStatus;
 import org.stellar.anchor.api.callback.GetRateRequest;
 import org.stellar.anchor.api.callback.GetRateResponse;
@@ -40,6 +37,8 @@ public class RestRateIntegration implements RateIntegration {
         RoundingMode.FLOOR, RoundingMode.CEILING, RoundingMode.HALF_UP, RoundingMode.HALF_DOWN
       };
   private final String anchorEndpoint;
+  // The parsed `{anchorEndpoint}/rate` URL. null if the anchorEndpoint is not a valid HTTP URL.
+  private final HttpUrl rateUrl;
   private final OkHttpClient httpClient;
   private final Gson gson;
   private final AuthHelper authHelper;
@@ -58,6 +57,8 @@ public class RestRateIntegration implements RateIntegration {
     }
 
     this.anchorEndpoint = anchorEndpoint;
+    HttpUrl baseUrl = HttpUrl.parse(anchorEndpoint);
+    this.rateUrl = (baseUrl == null) ? null : baseUrl.newBuilder().addPathSegment("rate").build();
     this.httpClient = httpClient;
     this.authHelper = authHelper;
     this.gson = gson;
@@ -66,29 +67,23 @@ public class RestRateIntegration implements RateIntegration {
 
   @Override
   public GetRateResponse getRate(GetRateRequest request) throws AnchorException {
-    Builder urlBuilder = get(anchorEndpoint).newBuilder().addPathSegment("rate");
-    Type type = new TypeToken<Map<String, ?>>() {}.getType();
-    Map<String, String> paramsMap = gson.fromJson(gson.toJson(request), type);
-    paramsMap.forEach(
-        (key, value) -> {
-          if (value != null) {
-            urlBuilder.addQueryParameter(key, value);
-          }
-        });
-    HttpUrl url = urlBuilder.build();
-
+    HttpUrl url = buildRateUrl(request);
     Request httpRequest =
         PlatformIntegrationHelper.getRequestBuilder(authHelper).url(url).get().build();
     Response response = PlatformIntegrationHelper.call(httpClient, httpRequest);
-    String responseContent = PlatformIntegrationHelper.getContent(response);
 
     if (response.code() != HttpStatus.OK.value()) {
+      String responseContent = PlatformIntegrationHelper.getContent(response);
       throw PlatformIntegrationHelper.httpError(responseContent, response.code(), gson);
     }
 
     GetRateResponse getRateResponse;
-    try {
-      getRateResponse = gson.fromJson(responseContent, GetRateResponse.class);
+    try (ResponseBody responseBody = response.body()) {
+      if (responseBody == null) {
+        throw new ServerErrorException("unable to fetch response body");
+      }
+      // Parse the response directly from the body stream to avoid buffering it as a string
+      getRateResponse = gson.fromJson(responseBody.charStream(), GetRateResponse.class);
     } catch (Exception e) { // cannot read body from response
       errorEx("Error parsing body response to GetRateResponse", e);
       throw new ServerErrorException("internal server error", e);
@@ -98,6 +93,39 @@ public class RestRateIntegration implements RateIntegration {
     return getRateResponse;
   }
 
+  /**
+   * Builds the `GET {anchorEndpoint}/rate` URL of the request. The query parameters are named
+   * after the serialized names of the {@link GetRateRequest} fields and null fields are omitted.
+   *
+   * @param request the GET /rate request.
+   * @return the URL of the request.
+   */
+  HttpUrl buildRateUrl(GetRateRequest request) {
+    if (rateUrl == null) {
+      throw new IllegalArgumentException(format("invalid anchorEndpoint: %s", anchorEndpoint));
+    }
+    Builder urlBuilder = rateUrl.newBuilder();
+    if (request.getType() != null) {
+      urlBuilder.addQueryParameter("type", request.getType().toString());
+    }
+    addQueryParameter(urlBuilder, "sell_asset", request.getSellAsset());
+    addQueryParameter(urlBuilder, "sell_amount", request.getSellAmount());
+    addQueryParameter(urlBuilder, "sell_delivery_method", request.getSellDeliveryMethod());
+    addQueryParameter(urlBuilder, "buy_asset", request.getBuyAsset());
+    addQueryParameter(urlBuilder, "buy_amount", request.getBuyAmount());
+    addQueryParameter(urlBuilder, "buy_delivery_method", request.getBuyDeliveryMethod());
+    addQueryParameter(urlBuilder, "country_code", request.getCountryCode());
+    addQueryParameter(urlBuilder, "expire_after", request.getExpireAfter());
+    addQueryParameter(urlBuilder, "client_id", request.getClientId());
+    return urlBuilder.build();
+  }
+
+  private static void addQueryParameter(Builder urlBuilder, String name, String value) {
+    if (value != null) {
+      urlBuilder.addQueryParameter(name, value);
+    }
+  }
+
   void validateRateResponse(GetRateRequest request, GetRateResponse getRateResponse)
       throws ServerErrorException {
     AssetInfo sellAsset = assetService.getAssetByName(request.getSellAsset());
@@ -185,15 +213,15 @@ public class RestRateIntegration implements RateIntegration {
             ServerErrorException.class);
       }
 
+      BigDecimal price = new BigDecimal(rate.getPrice());
+      BigDecimal sellAmount = new BigDecimal(rate.getSellAmount());
+      BigDecimal buyAmount = new BigDecimal(rate.getBuyAmount());
+      BigDecimal feeTotal = new BigDecimal(fee.getTotal());
       if (fee.getAsset().equals(request.getSellAsset())) {
         // when fee is in sell_asset,
         // check that sell_amount ~= price * buy_amount + (fee ?: 0)
-        BigDecimal expected =
-            new BigDecimal(rate.getPrice())
-                .multiply(new BigDecimal(rate.getBuyAmount()))
-                .add(new BigDecimal(fee.getTotal()));
-        if (!withinRoundingError(
-            new BigDecimal(rate.getSellAmount()), expected, sellAsset.getSignificantDecimals())) {
+        BigDecimal expected = price.multiply(buyAmount).add(feeTotal);
+        if (!withinRoundingError(sellAmount, expected, sellAsset.getSignificantDecimals())) {
           logErrorAndThrow(
               format(
                   "'rate.sell_amount' (%s) is not within rounding error of the expected (%s) ('price * buy_amount + fee') in the GET /rate response",
@@ -203,11 +231,8 @@ public class RestRateIntegration implements RateIntegration {
       } else {
         // when fee is in buy_asset,
         // check that sell_amount ~= price * (buy_amount + (fee ?: 0))
-        BigDecimal expected =
-            new BigDecimal(rate.getPrice())
-                .multiply(new BigDecimal(rate.getBuyAmount()).add(new BigDecimal(fee.getTotal())));
-        if (!withinRoundingError(
-            new BigDecimal(rate.getSellAmount()), expected, sellAsset.getSignificantDecimals())) {
+        BigDecimal expected = price.multiply(buyAmount.add(feeTotal));
+        if (!withinRoundingError(sellAmount, expected, sellAsset.getSignificantDecimals())) {
           logErrorAndThrow(
               format(
                   "'rate.sell_amount' (%s) is not within rounding error of the expected (%s) ('price * (buy_amount + fee)') in the GET /rate response",
@@ -217,7 +242,7 @@ public class RestRateIntegration implements RateIntegration {
       }
 
       if (fee.getDetails() != null) {
-        BigDecimal totalFee = new BigDecimal(0);
+        BigDecimal totalFee = BigDecimal.ZERO;
         for (FeeDescription feeDescription : fee.getDetails()) {
           if (!isPositiveNumber(feeDescription.getAmount())) {
             logErrorAndThrow(
@@ -239,7 +264,7 @@ public class RestRateIntegration implements RateIntegration {
         }
 
         // check that sell_amount is equal to price * buy_amount + (fee ?: 0)
-        if (totalFee.compareTo(new BigDecimal(fee.getTotal())) != 0) {
+        if (totalFee.compareTo(feeTotal) != 0) {
           logErrorAndThrow(
               format(
                   "'rate.fee.total' (%s) is not equal to the sum of fees (%s) in the GET /rate response",
@@ -1,5 +1,6 @@
 package org.stellar.anchor.platform.component.custody;
 
+import java.util.Optional;
 import okhttp3.OkHttpClient;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -15,7 +16,9 @@ import org.stellar.anchor.platform.custody.*;
 import org.stellar.anchor.platform.custody.fireblocks.FireblocksApiClient;
 import org.stellar.anchor.platform.custody.fireblocks.FireblocksEventService;
 import org.stellar.anchor.platform.custody.fireblocks.FireblocksPaymentService;
+import org.stellar.anchor.platform.custody.fireblocks.FireblocksWebhookInbox;
 import org.stellar.anchor.platform.data.JdbcCustodyTransactionRepo;
+import org.stellar.anchor.platform.data.JdbcFireblocksWebhookEventRepo;
 import org.stellar.anchor.platform.fireblocks.job.FireblocksTransactionsReconciliationJob;
 
 @Configuration
@@ -45,6 +48,13 @@ public class FireblocksBeans {
     return new FireblocksApiClient(httpClient, fireblocksConfig);
   }
 
+  @Bean(destroyMethod = "shutdown")
+  @ConditionalOnProperty(value = "custody.fireblocks.webhook.inbox_enabled", havingValue = "true")
+  FireblocksWebhookInbox fireblocksWebhookInbox(
+      JdbcFireblocksWebhookEventRepo webhookEventRepo, FireblocksConfig fireblocksConfig) {
+    return new FireblocksWebhookInbox(webhookEventRepo, fireblocksConfig);
+  }
+
   @Bean
   FireblocksEventService fireblocksEventService(
       JdbcCustodyTransactionRepo custodyTransactionRepo,
@@ -52,7 +62,8 @@ public class FireblocksBeans {
       Sep24CustodyPaymentHandler sep24CustodyPaymentHandler,
       Sep31CustodyPaymentHandler sep31CustodyPaymentHandler,
       Horizon horizon,
-      FireblocksConfig fireblocksConfig)
+      FireblocksConfig fireblocksConfig,
+      Optional<FireblocksWebhookInbox> fireblocksWebhookInbox)
       throws InvalidConfigException {
     return new FireblocksEventService(
         custodyTransactionRepo,
@@ -60,7 +71,8 @@ public class FireblocksBeans {
         sep24CustodyPaymentHandler,
         sep31CustodyPaymentHandler,
         horizon,
-        fireblocksConfig);
+        fireblocksConfig,
+        fireblocksWebhookInbox.orElse(null));
   }
 
   @Bean
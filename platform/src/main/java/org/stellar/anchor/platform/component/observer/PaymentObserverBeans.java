@@ -1,5 +1,6 @@
 package org.stellar.anchor.platform.component.observer;
 
+import java.util.ArrayList;
 import java.util.List;
 import lombok.SneakyThrows;
 import org.springframework.context.annotation.Bean;
@@ -9,12 +10,16 @@ import org.stellar.anchor.api.sep.AssetInfo;
 import org.stellar.anchor.apiclient.PlatformApiClient;
 import org.stellar.anchor.asset.AssetService;
 import org.stellar.anchor.config.AppConfig;
+import org.stellar.anchor.horizon.TransactionOperationsCache;
 import org.stellar.anchor.platform.config.PaymentObserverConfig;
+import org.stellar.anchor.platform.config.PaymentObserverConfig.CoordinationConfig;
 import org.stellar.anchor.platform.config.RpcConfig;
 import org.stellar.anchor.platform.data.JdbcSep24TransactionStore;
 import org.stellar.anchor.platform.data.JdbcSep31TransactionStore;
 import org.stellar.anchor.platform.data.JdbcSep6TransactionStore;
+import org.stellar.anchor.platform.data.ObserverLeaseRepo;
 import org.stellar.anchor.platform.observer.PaymentListener;
+import org.stellar.anchor.platform.observer.stellar.PaymentObserverCoordinator;
 import org.stellar.anchor.platform.observer.stellar.PaymentObservingAccountsManager;
 import org.stellar.anchor.platform.observer.stellar.StellarPaymentObserver;
 import org.stellar.anchor.platform.observer.stellar.StellarPaymentStreamerCursorStore;
@@ -30,7 +35,8 @@ public class PaymentObserverBeans {
       StellarPaymentStreamerCursorStore stellarPaymentStreamerCursorStore,
       PaymentObservingAccountsManager paymentObservingAccountsManager,
       AppConfig appConfig,
-      PaymentObserverConfig paymentObserverConfig) {
+      PaymentObserverConfig paymentObserverConfig,
+      TransactionOperationsCache operationsCache) {
     // validate assetService
     if (assetService == null || assetService.listAllAssets() == null) {
       throw new ServerErrorException("Asset service cannot be empty.");
@@ -60,13 +66,17 @@ public class PaymentObserverBeans {
       throw new ServerErrorException("PaymentObserverConfig cannot be empty.");
     }
 
+    List<String> horizonUrls = new ArrayList<>();
+    horizonUrls.add(appConfig.getHorizonUrl());
+    horizonUrls.addAll(appConfig.getHorizonFallbackUrls());
     StellarPaymentObserver stellarPaymentObserver =
         new StellarPaymentObserver(
-            appConfig.getHorizonUrl(),
+            horizonUrls,
             paymentObserverConfig.getStellar(),
             paymentListeners,
             paymentObservingAccountsManager,
             stellarPaymentStreamerCursorStore);
+    stellarPaymentObserver.setOperationsCache(operationsCache);
 
     // Add distribution wallet to the observing list as type RESIDENTIAL
     for (AssetInfo assetInfo : stellarAssets) {
@@ -77,10 +87,25 @@ public class PaymentObserverBeans {
       }
     }
 
-    stellarPaymentObserver.start();
     return stellarPaymentObserver;
   }
 
+  @Bean
+  public PaymentObserverCoordinator paymentObserverCoordinator(
+      StellarPaymentObserver stellarPaymentObserver,
+      ObserverLeaseRepo observerLeaseRepo,
+      PaymentObserverConfig paymentObserverConfig) {
+    CoordinationConfig coordinationConfig = paymentObserverConfig.getCoordination();
+    if (coordinationConfig == null) {
+      coordinationConfig = new CoordinationConfig();
+    }
+    PaymentObserverCoordinator coordinator =
+        new PaymentObserverCoordinator(
+            stellarPaymentObserver, observerLeaseRepo, coordinationConfig);
+    coordinator.start();
+    return coordinator;
+  }
+
   @Bean
   public PaymentOperationToEventListener paymentOperationToEventListener(
       JdbcSep31TransactionStore sep31TransactionStore,
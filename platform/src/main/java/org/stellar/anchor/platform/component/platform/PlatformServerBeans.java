@@ -1,10 +1,12 @@
 package org.stellar.anchor.platform.component.platform;
 
 import java.util.Optional;
+import javax.persistence.EntityManager;
 import javax.servlet.Filter;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.stellar.anchor.api.exception.InvalidConfigException;
 import org.stellar.anchor.asset.AssetService;
 import org.stellar.anchor.auth.JwtService;
@@ -20,7 +22,11 @@ import org.stellar.anchor.horizon.Horizon;
 import org.stellar.anchor.platform.apiclient.CustodyApiClient;
 import org.stellar.anchor.platform.config.PlatformServerConfig;
 import org.stellar.anchor.platform.config.PropertyCustodyConfig;
+import org.stellar.anchor.platform.config.PropertyDataConfig;
+import org.stellar.anchor.platform.data.JdbcDataRetention;
 import org.stellar.anchor.platform.data.JdbcTransactionPendingTrustRepo;
+import org.stellar.anchor.platform.data.TransactionIdRegistry;
+import org.stellar.anchor.platform.job.DataRetentionJob;
 import org.stellar.anchor.platform.job.TrustlineCheckJob;
 import org.stellar.anchor.platform.rpc.NotifyTrustSetHandler;
 import org.stellar.anchor.platform.service.*;
@@ -114,18 +120,22 @@ public class PlatformServerBeans {
       Sep6DepositInfoGenerator sep6DepositInfoGenerator,
       Sep24DepositInfoGenerator sep24DepositInfoGenerator,
       CustodyService custodyService,
-      CustodyConfig custodyConfig) {
-    return new TransactionService(
-        txn6Store,
-        txn24Store,
-        txn31Store,
-        quoteStore,
-        assetService,
-        eventService,
-        sep6DepositInfoGenerator,
-        sep24DepositInfoGenerator,
-        custodyService,
-        custodyConfig);
+      CustodyConfig custodyConfig,
+      TransactionIdRegistry transactionIdRegistry) {
+    TransactionService transactionService =
+        new TransactionService(
+            txn6Store,
+            txn24Store,
+            txn31Store,
+            quoteStore,
+            assetService,
+            eventService,
+            sep6DepositInfoGenerator,
+            sep24DepositInfoGenerator,
+            custodyService,
+            custodyConfig);
+    transactionService.setTransactionIdRegistry(transactionIdRegistry);
+    return transactionService;
   }
 
   @Bean
@@ -141,4 +151,17 @@ public class PlatformServerBeans {
       return null;
     }
   }
+
+  @Bean
+  DataRetentionJob dataRetentionJob(
+      EntityManager entityManager,
+      PlatformTransactionManager transactionManager,
+      PropertyDataConfig dataConfig) {
+    if (dataConfig.getRetention().isEnabled()) {
+      return new DataRetentionJob(
+          new JdbcDataRetention(entityManager, transactionManager), dataConfig.getRetention());
+    } else {
+      return null;
+    }
+  }
 }
@@ -4,6 +4,8 @@ import java.util.List;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.stellar.anchor.api.callback.CustomerIntegration;
 import org.stellar.anchor.asset.AssetService;
 import org.stellar.anchor.config.CustodyConfig;
@@ -15,6 +17,7 @@ import org.stellar.anchor.platform.component.sep.ApiClientBeans;
 import org.stellar.anchor.platform.config.PropertyCustodyConfig;
 import org.stellar.anchor.platform.config.RpcConfig;
 import org.stellar.anchor.platform.data.JdbcTransactionPendingTrustRepo;
+import org.stellar.anchor.platform.data.TransactionIdRegistry;
 import org.stellar.anchor.platform.rpc.*;
 import org.stellar.anchor.platform.service.RpcService;
 import org.stellar.anchor.platform.validator.RequestValidator;
@@ -28,9 +31,16 @@ import org.stellar.anchor.sep6.Sep6TransactionStore;
 @Import(ApiClientBeans.class)
 public class RpcActionBeans {
 
-  @Bean
-  RpcService rpcService(List<RpcMethodHandler<?>> rpcMethodHandlers, RpcConfig rpcConfig) {
-    return new RpcService(rpcMethodHandlers, rpcConfig);
+  @Bean(destroyMethod = "shutdown")
+  RpcService rpcService(
+      List<RpcMethodHandler<?>> rpcMethodHandlers,
+      RpcConfig rpcConfig,
+      PlatformTransactionManager transactionManager,
+      TransactionIdRegistry transactionIdRegistry) {
+    RpcService rpcService =
+        new RpcService(rpcMethodHandlers, rpcConfig, new TransactionTemplate(transactionManager));
+    rpcService.setTransactionIdRegistry(transactionIdRegistry);
+    return rpcService;
   }
 
   @Bean
@@ -26,6 +26,8 @@ import org.stellar.anchor.platform.apiclient.CustodyApiClient;
 import org.stellar.anchor.platform.condition.ConditionalOnAllSepsEnabled;
 import org.stellar.anchor.platform.condition.ConditionalOnAnySepsEnabled;
 import org.stellar.anchor.platform.config.*;
+import org.stellar.anchor.platform.controller.sep.TransactionChangeWaiter;
+import org.stellar.anchor.platform.event.TransactionChangeNotifier;
 import org.stellar.anchor.platform.observer.stellar.PaymentObservingAccountsManager;
 import org.stellar.anchor.platform.service.Sep31DepositInfoApiGenerator;
 import org.stellar.anchor.platform.service.Sep31DepositInfoCustodyGenerator;
@@ -100,10 +102,12 @@ public class SepBeans {
     registrationBean.addUrlPatterns("/sep6/withdraw/*");
     registrationBean.addUrlPatterns("/sep6/withdraw-exchange/*");
     registrationBean.addUrlPatterns("/sep6/transaction");
+    registrationBean.addUrlPatterns("/sep6/transaction/*");
     registrationBean.addUrlPatterns("/sep6/transactions*");
     registrationBean.addUrlPatterns("/sep6/transactions/*");
     registrationBean.addUrlPatterns("/sep12/*");
     registrationBean.addUrlPatterns("/sep24/transaction");
+    registrationBean.addUrlPatterns("/sep24/transaction/*");
     registrationBean.addUrlPatterns("/sep24/transactions*");
     registrationBean.addUrlPatterns("/sep24/transactions/*");
     registrationBean.addUrlPatterns("/sep31/transactions");
@@ -118,7 +122,7 @@ public class SepBeans {
     return registrationBean;
   }
 
-  @Bean
+  @Bean(destroyMethod = "shutdown")
   @ConditionalOnAllSepsEnabled(seps = {"sep1"})
   Sep1Service sep1Service(Sep1Config sep1Config) throws IOException, InvalidConfigException {
     return new Sep1Service(sep1Config);
@@ -245,7 +249,7 @@ public class SepBeans {
     }
   }
 
-  @Bean
+  @Bean(destroyMethod = "shutdown")
   @ConditionalOnAllSepsEnabled(seps = {"sep31"})
   Sep31Service sep31Service(
       AppConfig appConfig,
@@ -277,7 +281,7 @@ public class SepBeans {
         custodyConfig);
   }
 
-  @Bean
+  @Bean(destroyMethod = "shutdown")
   @ConditionalOnAllSepsEnabled(seps = {"sep38"})
   Sep38Service sep38Service(
       Sep38Config sep38Config,
@@ -288,4 +292,16 @@ public class SepBeans {
     return new Sep38Service(
         sep38Config, assetService, rateIntegration, sep38QuoteStore, eventService);
   }
+
+  @Bean(initMethod = "start", destroyMethod = "stop")
+  @ConditionalOnAnySepsEnabled(seps = {"sep6", "sep24", "sep31"})
+  TransactionChangeNotifier transactionChangeNotifier(PropertyEventConfig eventConfig) {
+    return new TransactionChangeNotifier(eventConfig);
+  }
+
+  @Bean
+  @ConditionalOnAnySepsEnabled(seps = {"sep6", "sep24", "sep31"})
+  TransactionChangeWaiter transactionChangeWaiter(TransactionChangeNotifier notifier) {
+    return new TransactionChangeWaiter(notifier);
+  }
 }
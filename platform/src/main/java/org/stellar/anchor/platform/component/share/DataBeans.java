@@ -1,8 +1,13 @@
 package org.stellar.anchor.platform.component.share;
 
+import java.util.Optional;
+import javax.persistence.EntityManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.stellar.anchor.platform.config.PropertyDataConfig;
 import org.stellar.anchor.platform.data.*;
+import org.stellar.anchor.platform.databaseintegration.ReplicaReads;
 import org.stellar.anchor.platform.observer.stellar.JdbcStellarPaymentStreamerCursorStore;
 import org.stellar.anchor.platform.observer.stellar.PaymentObservingAccountStore;
 import org.stellar.anchor.sep38.Sep38QuoteStore;
@@ -10,18 +15,49 @@ import org.stellar.anchor.sep38.Sep38QuoteStore;
 @Configuration
 public class DataBeans {
   @Bean
-  JdbcSep6TransactionStore sep6TransactionStore(JdbcSep6TransactionRepo sep6TransactionRepo) {
-    return new JdbcSep6TransactionStore(sep6TransactionRepo);
+  TransactionIdRegistry transactionIdRegistry(
+      EntityManager entityManager, PropertyDataConfig dataConfig) {
+    return new TransactionIdRegistry(
+        new JdbcTransactionIdResolver(entityManager), dataConfig.isArchiveLookupEnabled());
   }
 
   @Bean
-  JdbcSep24TransactionStore sep24TransactionStore(JdbcSep24TransactionRepo sep24TransactionRepo) {
-    return new JdbcSep24TransactionStore(sep24TransactionRepo);
+  JdbcSep6TransactionStore sep6TransactionStore(
+      JdbcSep6TransactionRepo sep6TransactionRepo,
+      PropertyDataConfig dataConfig,
+      TransactionIdRegistry transactionIdRegistry,
+      Optional<ReplicaReads> replicaReads) {
+    JdbcSep6TransactionStore store = new JdbcSep6TransactionStore(sep6TransactionRepo);
+    store.setArchiveLookup(dataConfig.isArchiveLookupEnabled());
+    store.setTransactionIds(transactionIdRegistry);
+    store.setReplicaReads(replicaReads.orElse(ReplicaReads.DISABLED));
+    return store;
   }
 
   @Bean
-  JdbcSep31TransactionStore sep31TransactionStore(JdbcSep31TransactionRepo txnRepo) {
-    return new JdbcSep31TransactionStore(txnRepo);
+  JdbcSep24TransactionStore sep24TransactionStore(
+      JdbcSep24TransactionRepo sep24TransactionRepo,
+      PropertyDataConfig dataConfig,
+      TransactionIdRegistry transactionIdRegistry,
+      Optional<ReplicaReads> replicaReads) {
+    JdbcSep24TransactionStore store = new JdbcSep24TransactionStore(sep24TransactionRepo);
+    store.setArchiveLookup(dataConfig.isArchiveLookupEnabled());
+    store.setTransactionIds(transactionIdRegistry);
+    store.setReplicaReads(replicaReads.orElse(ReplicaReads.DISABLED));
+    return store;
+  }
+
+  @Bean
+  JdbcSep31TransactionStore sep31TransactionStore(
+      JdbcSep31TransactionRepo txnRepo,
+      PropertyDataConfig dataConfig,
+      TransactionIdRegistry transactionIdRegistry,
+      Optional<ReplicaReads> replicaReads) {
+    JdbcSep31TransactionStore store = new JdbcSep31TransactionStore(txnRepo);
+    store.setArchiveLookup(dataConfig.isArchiveLookupEnabled());
+    store.setTransactionIds(transactionIdRegistry);
+    store.setReplicaReads(replicaReads.orElse(ReplicaReads.DISABLED));
+    return store;
   }
 
   @Bean
@@ -36,7 +72,8 @@ public class DataBeans {
   }
 
   @Bean
-  public PaymentObservingAccountStore observingAccountStore(PaymentObservingAccountRepo repo) {
-    return new PaymentObservingAccountStore(repo);
+  public PaymentObservingAccountStore observingAccountStore(
+      PaymentObservingAccountRepo repo, PlatformTransactionManager transactionManager) {
+    return new PaymentObservingAccountStore(repo, transactionManager);
   }
 }
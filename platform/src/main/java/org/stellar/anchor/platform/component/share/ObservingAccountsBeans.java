@@ -1,5 +1,6 @@
 package org.stellar.anchor.platform.component.share;
 
+import java.nio.file.Path;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
@@ -17,8 +18,10 @@ public class ObservingAccountsBeans {
   @Bean
   public PaymentObservingAccountsManager paymentObservingAccountsManager(
       PaymentObservingAccountStore paymentObservingAccountStore) {
+    String snapshotFile = env.getProperty("stellar-observer.account-snapshot-file");
     PaymentObservingAccountsManager bean =
-        new PaymentObservingAccountsManager(paymentObservingAccountStore);
+        new PaymentObservingAccountsManager(
+            paymentObservingAccountStore, snapshotFile != null ? Path.of(snapshotFile) : null);
 
     if (env.getProperty("sep31.enabled", Boolean.class, false)) {
       bean.start();
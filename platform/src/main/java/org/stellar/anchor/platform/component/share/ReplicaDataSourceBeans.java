@@ -0,0 +1,64 @@
+package org.stellar.anchor.platform.component.share;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.time.Duration;
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.stellar.anchor.platform.config.PropertyDataConfig;
+import org.stellar.anchor.platform.databaseintegration.ReplicaReads;
+import org.stellar.anchor.platform.databaseintegration.ReplicaRoutingDataSource;
+
+/**
+ * The data sources when a read replica is configured. Each database has its own connection pool
+ * and its own pool metrics. The data source routes the replica read transactions to the replica
+ * pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.datasource.replica.url")
+public class ReplicaDataSourceBeans {
+  @Bean
+  @ConfigurationProperties(prefix = "spring.datasource.hikari")
+  HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+    return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+  }
+
+  @Bean
+  @ConfigurationProperties(prefix = "spring.datasource.replica.hikari")
+  HikariDataSource replicaDataSource(
+      DataSourceProperties dataSourceProperties,
+      @Value("${spring.datasource.replica.url}") String replicaUrl) {
+    // The replica has the driver and the credentials of the primary
+    return dataSourceProperties
+        .initializeDataSourceBuilder()
+        .type(HikariDataSource.class)
+        .url(replicaUrl)
+        .build();
+  }
+
+  @Bean
+  @Primary
+  DataSource dataSource(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource) {
+    return new LazyConnectionDataSourceProxy(
+        new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource));
+  }
+
+  @Bean
+  ReplicaReads replicaReads(
+      PlatformTransactionManager transactionManager,
+      EntityManagerFactory entityManagerFactory,
+      PropertyDataConfig dataConfig) {
+    return new ReplicaReads(
+        transactionManager,
+        entityManagerFactory,
+        Duration.ofSeconds(dataConfig.getReplica().getMaxLag()));
+  }
+}
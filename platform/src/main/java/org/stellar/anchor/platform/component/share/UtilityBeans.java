@@ -4,6 +4,7 @@ import com.google.gson.Gson;
 import java.util.List;
 import javax.validation.Validator;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -15,6 +16,7 @@ import org.stellar.anchor.auth.JwtService;
 import org.stellar.anchor.config.*;
 import org.stellar.anchor.healthcheck.HealthCheckable;
 import org.stellar.anchor.horizon.Horizon;
+import org.stellar.anchor.horizon.TransactionOperationsCache;
 import org.stellar.anchor.platform.config.*;
 import org.stellar.anchor.platform.service.HealthCheckService;
 import org.stellar.anchor.platform.service.Sep24MoreInfoUrlConstructor;
@@ -31,8 +33,10 @@ public class UtilityBeans {
 
   @Bean
   @DependsOn("configManager")
-  public HealthCheckService healthCheckService(List<HealthCheckable> checkables) {
-    return new HealthCheckService(checkables);
+  public HealthCheckService healthCheckService(
+      List<HealthCheckable> checkables,
+      @Value("${health_check.refresh_enabled:false}") boolean refreshEnabled) {
+    return new HealthCheckService(checkables, refreshEnabled);
   }
 
   @Bean
@@ -84,8 +88,16 @@ public class UtilityBeans {
   }
 
   @Bean
-  public Horizon horizon(AppConfig appConfig) {
-    return new Horizon(appConfig);
+  public TransactionOperationsCache transactionOperationsCache(AppConfig appConfig) {
+    // The observer and the platform server share the cache when they run in the same process
+    return TransactionOperationsCache.shared(appConfig.getTransactionOperationsCacheSize());
+  }
+
+  @Bean(destroyMethod = "close")
+  public Horizon horizon(AppConfig appConfig, TransactionOperationsCache operationsCache) {
+    Horizon horizon = new Horizon(appConfig, appConfig.getHorizonFallbackUrls());
+    horizon.setOperationsCache(operationsCache);
+    return horizon;
   }
 
   @Bean
@@ -21,15 +21,34 @@ public class EventProcessorConfig implements Validator {
   }
 
   @Override
-  public void validate(@NotNull Object target, @NotNull Errors errors) {}
+  public void validate(@NotNull Object target, @NotNull Errors errors) {
+    EventProcessorConfig config = (EventProcessorConfig) target;
+    if (config.getCallbackApiRequest() != null && config.getCallbackApiRequest().consumers < 1) {
+      errors.rejectValue(
+          "callbackApiRequest.consumers",
+          "callback-api-request-consumers-invalid",
+          "event_processor.callback_api_request.consumers must be greater than 0");
+    }
+    if (config.getClientStatusCallback() != null
+        && config.getClientStatusCallback().consumers < 1) {
+      errors.rejectValue(
+          "clientStatusCallback.consumers",
+          "client-status-callback-consumers-invalid",
+          "event_processor.client_status_callback.consumers must be greater than 0");
+    }
+  }
 
   @Data
   public static class ClientStatusCallbackConfig {
     boolean enabled;
+    /** The number of consumers of the status callbacks of each client. */
+    int consumers = 1;
   }
 
   @Data
   public static class CallbackApiRequestConfig {
     boolean enabled;
+    /** The number of consumers of the events delivered to the anchor business server. */
+    int consumers = 1;
   }
 }
@@ -36,6 +36,7 @@ public class FireblocksConfig implements Validator {
   private String publicKey;
   private RetryConfig retryConfig;
   private Reconciliation reconciliation;
+  private Webhook webhook = new Webhook();
   private Map<String, String> assetMappings;
 
   public FireblocksConfig(CustodySecretConfig secretConfig) {
@@ -89,6 +90,7 @@ public class FireblocksConfig implements Validator {
     validatePublicKey(errors);
     validateRetryMaxAttempts(errors);
     validateRetryDelay(errors);
+    validateWebhook(errors);
   }
 
   private void validateBaseUrl(Errors errors) {
@@ -155,6 +157,16 @@ public class FireblocksConfig implements Validator {
           "custody-fireblocks-reconciliation-max_attempts-invalid",
           "custody.fireblocks.reconciliation.max_attempts must be greater than or equal to 0");
     }
+    if (reconciliation.concurrency < 0) {
+      errors.reject(
+          "custody-fireblocks-reconciliation-concurrency-invalid",
+          "custody.fireblocks.reconciliation.concurrency must be greater than or equal to 0");
+    }
+    if (reconciliation.rateLimit < 0) {
+      errors.reject(
+          "custody-fireblocks-reconciliation-rate_limit-invalid",
+          "custody.fireblocks.reconciliation.rate_limit must be greater than or equal to 0");
+    }
   }
 
   public void validatePublicKey(Errors errors) {
@@ -184,6 +196,35 @@ public class FireblocksConfig implements Validator {
     }
   }
 
+  public void validateWebhook(Errors errors) {
+    if (webhook.inboxEnabled && webhook.workers <= 0) {
+      errors.reject(
+          "custody-fireblocks-webhook-workers-invalid",
+          "custody.fireblocks.webhook.workers must be greater than 0");
+    }
+    if (webhook.inboxEnabled && webhook.maxAttempts <= 0) {
+      errors.reject(
+          "custody-fireblocks-webhook-max_attempts-invalid",
+          "custody.fireblocks.webhook.max_attempts must be greater than 0");
+    }
+    if (webhook.inboxEnabled && webhook.retryDelay < 0) {
+      errors.reject(
+          "custody-fireblocks-webhook-retry_delay-invalid",
+          "custody.fireblocks.webhook.retry_delay must be greater than or equal to 0");
+    }
+    if (webhook.inboxEnabled && webhook.maxRetryDelay < webhook.retryDelay) {
+      errors.reject(
+          "custody-fireblocks-webhook-max_retry_delay-invalid",
+          "custody.fireblocks.webhook.max_retry_delay must be greater than or equal to"
+              + " custody.fireblocks.webhook.retry_delay");
+    }
+    if (webhook.inboxEnabled && webhook.dedupeWindow <= 0) {
+      errors.reject(
+          "custody-fireblocks-webhook-dedupe_window-invalid",
+          "custody.fireblocks.webhook.dedupe_window must be greater than 0");
+    }
+  }
+
   /**
    * Get Fireblocks public key
    *
@@ -225,5 +266,24 @@ public class FireblocksConfig implements Validator {
   public static class Reconciliation {
     private int maxAttempts;
     private String cronExpression;
+    private int concurrency;
+    private int rateLimit;
+
+    public Reconciliation(int maxAttempts, String cronExpression) {
+      this(maxAttempts, cronExpression, 0, 0);
+    }
+  }
+
+  @Data
+  @AllArgsConstructor
+  @NoArgsConstructor
+  public static class Webhook {
+    private boolean inboxEnabled;
+    private int workers;
+    private int maxAttempts;
+    private long retryDelay;
+    private long maxRetryDelay;
+    private long sweepInterval;
+    private long dedupeWindow;
   }
 }
@@ -46,4 +46,32 @@ public class KafkaConfig {
 
   /** The SASL mechanism used for authentication. */
   SaslMechanism saslMechanism;
+
+  /**
+   * Whether the producer writes each event exactly once to the partition even if the send is
+   * retried.
+   */
+  boolean enableIdempotence = true;
+
+  /** The compression of the batches sent by the producer: none, gzip, snappy, lz4 or zstd. */
+  String compressionType;
+
+  public KafkaConfig(
+      String bootstrapServer,
+      String clientId,
+      int retries,
+      int lingerMs,
+      int batchSize,
+      int pollTimeoutSeconds,
+      SecurityProtocol securityProtocol,
+      SaslMechanism saslMechanism) {
+    this.bootstrapServer = bootstrapServer;
+    this.clientId = clientId;
+    this.retries = retries;
+    this.lingerMs = lingerMs;
+    this.batchSize = batchSize;
+    this.pollTimeoutSeconds = pollTimeoutSeconds;
+    this.securityProtocol = securityProtocol;
+    this.saslMechanism = saslMechanism;
+  }
 }
@@ -12,6 +12,7 @@ import org.springframework.validation.Validator;
 public class PaymentObserverConfig implements Validator {
   PaymentObserverType type;
   StellarPaymentObserverConfig stellar;
+  CoordinationConfig coordination;
 
   public enum PaymentObserverType {
     STELLAR
@@ -30,6 +31,15 @@ public class PaymentObserverConfig implements Validator {
     int maxEventBackoffTime;
   }
 
+  @Data
+  @AllArgsConstructor
+  @NoArgsConstructor
+  public static class CoordinationConfig {
+    boolean enabled = false;
+    int shardCount = 1;
+    int leaseDuration = 15;
+  }
+
   @Override
   public boolean supports(@NotNull Class<?> clazz) {
     return PlatformApiConfig.class.isAssignableFrom(clazz);
@@ -39,6 +49,7 @@ public class PaymentObserverConfig implements Validator {
   public void validate(@NotNull Object target, @NotNull Errors errors) {
     PaymentObserverConfig config = (PaymentObserverConfig) target;
     validateStellar(config, errors);
+    validateCoordination(config, errors);
     validateConfig(config, errors);
   }
 
@@ -50,6 +61,21 @@ public class PaymentObserverConfig implements Validator {
         "payment_observer.type must not be empty");
   }
 
+  void validateCoordination(PaymentObserverConfig config, Errors errors) {
+    if (config.coordination != null && config.coordination.enabled) {
+      if (config.coordination.shardCount < 1) {
+        errors.reject(
+            "invalid-payment-observer-coordination-shard-count",
+            "The payment_observer.coordination.shard_count must be equal or greater than 1");
+      }
+      if (config.coordination.leaseDuration < 3) {
+        errors.reject(
+            "invalid-payment-observer-coordination-lease-duration",
+            "The payment_observer.coordination.lease_duration must be equal or greater than 3");
+      }
+    }
+  }
+
   void validateStellar(PaymentObserverConfig config, Errors errors) {
     if (PaymentObserverType.STELLAR.equals(config.type)) {
       if (config.stellar == null) {
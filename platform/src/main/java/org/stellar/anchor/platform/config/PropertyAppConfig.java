@@ -3,7 +3,9 @@ package org.stellar.anchor.platform.config;
 import static org.stellar.anchor.util.StringHelper.isEmpty;
 import static org.stellar.sdk.Network.*;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 import lombok.Data;
 import org.apache.abdera.i18n.rfc4646.Lang;
 import org.jetbrains.annotations.NotNull;
@@ -22,8 +24,16 @@ public class PropertyAppConfig implements AppConfig, Validator {
   @Value("${stellar_network.horizon_url}")
   private String horizonUrl;
 
+  @Value("${stellar_network.horizon_fallback_urls:}")
+  private String horizonFallbackUrls;
+
+  @Value("${stellar_network.transaction_operations_cache_size:20000}")
+  private int transactionOperationsCacheSize;
+
   private List<String> languages;
 
+  private TransactionIdFormat transactionIdFormat = TransactionIdFormat.UUID_V4;
+
   @Override
   public boolean supports(@NotNull Class<?> clazz) {
     return AppConfig.class.isAssignableFrom(clazz);
@@ -34,6 +44,8 @@ public class PropertyAppConfig implements AppConfig, Validator {
     AppConfig config = (AppConfig) target;
 
     validateConfig(config, errors);
+    validateHorizonFallbackUrls(config, errors);
+    validateTransactionOperationsCacheSize(config, errors);
     validateLanguage(config, errors);
   }
 
@@ -70,6 +82,27 @@ public class PropertyAppConfig implements AppConfig, Validator {
     }
   }
 
+  void validateHorizonFallbackUrls(AppConfig config, Errors errors) {
+    for (String url : config.getHorizonFallbackUrls()) {
+      if (!NetUtil.isUrlValid(url)) {
+        errors.rejectValue(
+            "horizonFallbackUrls",
+            "horizon-fallback-urls-invalid",
+            String.format(
+                "The stellar_network.horizon_fallback_urls:%s is not in valid format.", url));
+      }
+    }
+  }
+
+  void validateTransactionOperationsCacheSize(AppConfig config, Errors errors) {
+    if (config.getTransactionOperationsCacheSize() < 0) {
+      errors.rejectValue(
+          "transactionOperationsCacheSize",
+          "transaction-operations-cache-size-invalid",
+          "The stellar_network.transaction_operations_cache_size must not be negative.");
+    }
+  }
+
   void validateLanguage(AppConfig config, Errors errors) {
     if (config.getLanguages() != null) {
       for (String lang : config.getLanguages()) {
@@ -85,6 +118,17 @@ public class PropertyAppConfig implements AppConfig, Validator {
     }
   }
 
+  @Override
+  public List<String> getHorizonFallbackUrls() {
+    if (isEmpty(horizonFallbackUrls)) {
+      return List.of();
+    }
+    return Arrays.stream(horizonFallbackUrls.split(","))
+        .map(String::trim)
+        .filter(url -> !url.isEmpty())
+        .collect(Collectors.toList());
+  }
+
   @Override
   public String getStellarNetworkPassphrase() {
     switch (stellarNetwork.toUpperCase()) {
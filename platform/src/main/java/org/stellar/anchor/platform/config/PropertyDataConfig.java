@@ -15,6 +15,12 @@ import org.stellar.anchor.config.SecretConfig;
 public class PropertyDataConfig implements Validator {
   public static final String ERROR_SECRET_DATA_USERNAME_EMPTY = "secret-data-username-empty";
   public static final String ERROR_SECRET_DATA_PASSWORD_EMPTY = "secret-data-password-empty";
+  public static final String ERROR_DATA_REPLICA_NOT_SUPPORTED = "data-replica-not-supported";
+  public static final String ERROR_DATA_REPLICA_MAX_LAG_INVALID = "data-replica-max-lag-invalid";
+  public static final String ERROR_DATA_RETENTION_NOT_SUPPORTED = "data-retention-not-supported";
+  public static final String ERROR_DATA_RETENTION_INVALID = "data-retention-invalid";
+  public static final String ERROR_DATA_ARCHIVE_LOOKUP_NOT_SUPPORTED =
+      "data-archive-lookup-not-supported";
   String type;
   String server;
   String database;
@@ -23,6 +29,10 @@ public class PropertyDataConfig implements Validator {
   boolean flywayEnabled;
   boolean dllAuto;
   String flywayLocation;
+  // If null, the archive tables are looked up whenever they exist
+  Boolean archiveLookup;
+  ReplicaConfig replica = new ReplicaConfig();
+  RetentionConfig retention = new RetentionConfig();
   private SecretConfig secretConfig;
 
   public PropertyDataConfig(SecretConfig secretConfig) {
@@ -37,6 +47,68 @@ public class PropertyDataConfig implements Validator {
   @Override
   public void validate(@NotNull Object target, @NotNull Errors errors) {
     validateSecrets(errors);
+    validateReplica(errors);
+    validateRetention(errors);
+    validateArchiveLookup(errors);
+  }
+
+  /**
+   * Returns true if the transactions that are not found are looked up in the archive tables.
+   *
+   * @return the data.archive_lookup value, or whether the archive tables exist if it is not set.
+   */
+  public boolean isArchiveLookupEnabled() {
+    return archiveLookup != null ? archiveLookup : hasArchiveTables();
+  }
+
+  // The archive tables are created by the flyway migrations
+  private boolean hasArchiveTables() {
+    return (DATABASE_POSTGRES.equals(type) || DATABASE_AURORA.equals(type)) && flywayEnabled;
+  }
+
+  private void validateArchiveLookup(Errors errors) {
+    if (Boolean.TRUE.equals(archiveLookup) && !hasArchiveTables()) {
+      errors.reject(
+          ERROR_DATA_ARCHIVE_LOOKUP_NOT_SUPPORTED,
+          "data.archive_lookup is only supported by the postgres and aurora databases with flyway"
+              + " enabled.");
+    }
+  }
+
+  private void validateRetention(Errors errors) {
+    if (retention == null || !retention.enabled) {
+      return;
+    }
+    if (!hasArchiveTables()) {
+      errors.reject(
+          ERROR_DATA_RETENTION_NOT_SUPPORTED,
+          "data.retention is only supported by the postgres and aurora databases with flyway"
+              + " enabled.");
+    }
+    if (retention.transactionArchiveAge <= 0
+        || retention.quotePurgeAge <= 0
+        || retention.batchSize <= 0
+        || retention.maxBatches <= 0) {
+      errors.reject(
+          ERROR_DATA_RETENTION_INVALID,
+          "data.retention.transaction_archive_age, quote_purge_age, batch_size and max_batches"
+              + " must be positive.");
+    }
+  }
+
+  private void validateReplica(Errors errors) {
+    if (replica == null || isEmpty(replica.server)) {
+      return;
+    }
+    if (!DATABASE_POSTGRES.equals(type) && !DATABASE_AURORA.equals(type)) {
+      errors.reject(
+          ERROR_DATA_REPLICA_NOT_SUPPORTED,
+          "data.replica.server is only supported by the postgres and aurora databases.");
+    }
+    if (replica.maxLag < 0) {
+      errors.reject(
+          ERROR_DATA_REPLICA_MAX_LAG_INVALID, "data.replica.max_lag must not be negative.");
+    }
   }
 
   private void validateSecrets(Errors errors) {
@@ -57,4 +129,22 @@ public class PropertyDataConfig implements Validator {
         break;
     }
   }
+
+  @Data
+  public static class ReplicaConfig {
+    String server;
+    String database;
+    int maxActiveConnections = 10;
+    int maxLag = 5;
+  }
+
+  @Data
+  public static class RetentionConfig {
+    boolean enabled = false;
+    String cronExpression;
+    int transactionArchiveAge = 90;
+    int quotePurgeAge = 7;
+    int batchSize = 500;
+    int maxBatches = 100;
+  }
 }
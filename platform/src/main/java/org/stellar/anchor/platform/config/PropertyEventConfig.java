@@ -2,6 +2,7 @@ package org.stellar.anchor.platform.config;
 
 import static org.stellar.anchor.util.StringHelper.isEmpty;
 
+import java.util.List;
 import lombok.Data;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.validation.Errors;
@@ -11,6 +12,8 @@ import org.stellar.anchor.config.event.EventConfig;
 
 @Data
 public class PropertyEventConfig implements EventConfig, Validator {
+  static final List<String> COMPRESSION_TYPES = List.of("none", "gzip", "snappy", "lz4", "zstd");
+
   private boolean enabled = false;
   private PropertyQueueConfig queue;
 
@@ -87,6 +90,14 @@ public class PropertyEventConfig implements EventConfig, Validator {
           "events.queue.kafka.batch_size must be greater than 0");
     }
 
+    if (!isEmpty(config.queue.kafka.compressionType)
+        && !COMPRESSION_TYPES.contains(config.queue.kafka.compressionType)) {
+      errors.rejectValue(
+          "queue.kafka.compressionType",
+          "kafka-compression-type-invalid",
+          "events.queue.kafka.compression_type must be one of " + COMPRESSION_TYPES);
+    }
+
     if (config.queue.kafka.securityProtocol == null) {
       errors.rejectValue(
           "queue.kafka.securityProtocol",
@@ -7,8 +7,21 @@ import org.stellar.anchor.config.Sep12Config;
 public class PropertySep12Config implements Sep12Config {
   Boolean enabled;
   String customerIntegrationEndPoint;
+  Streaming streaming = new Streaming();
 
   public PropertySep12Config(CallbackApiConfig callbackApiConfig) {
     this.customerIntegrationEndPoint = callbackApiConfig.getBaseUrl();
   }
+
+  @Override
+  public boolean isStreamingEnabled() {
+    return streaming != null && streaming.isEnabled();
+  }
+
+  @Data
+  public static class Streaming {
+    boolean enabled = false;
+    String fileSizeThreshold;
+    String maxFileSize;
+  }
 }
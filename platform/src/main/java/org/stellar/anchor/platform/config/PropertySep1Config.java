@@ -28,6 +28,11 @@ public class PropertySep1Config implements Sep1Config, Validator {
     return toml.getValue();
   }
 
+  @Override
+  public int getRefreshInterval() {
+    return toml.getRefreshInterval();
+  }
+
   @Getter
   @Setter
   @AllArgsConstructor
@@ -35,6 +40,11 @@ public class PropertySep1Config implements Sep1Config, Validator {
   public static class TomlConfig {
     TomlType type;
     String value;
+    int refreshInterval;
+
+    public TomlConfig(TomlType type, String value) {
+      this(type, value, 0);
+    }
   }
 
   @Override
@@ -19,6 +19,7 @@ public class PropertySep31Config implements Sep31Config, Validator {
   boolean enabled;
   PaymentType paymentType = STRICT_SEND;
   DepositInfoGeneratorType depositInfoGeneratorType;
+  int callbackConcurrency;
   CustodyConfig custodyConfig;
   AssetService assetService;
 
@@ -10,4 +10,6 @@ public class PropertySep38Config implements Sep38Config {
 
   @SerializedName("sep10_enforced")
   boolean sep10Enforced;
+
+  Prices prices = new Prices();
 }
@@ -8,6 +8,8 @@ import lombok.NoArgsConstructor;
 public class RpcConfig {
   private CustomMessages customMessages;
   private int batchSizeLimit;
+  private boolean bulkExecutionEnabled;
+  private int concurrency;
 
   @Data
   @AllArgsConstructor
@@ -76,6 +76,7 @@ public class DataConfigAdapter extends SpringConfigAdapter {
           "spring.datasource.hikari.idle-timeout",
           "spring.datasource.hikari.max-lifetime",
           "spring.datasource.hikari.auto-commit ",
+          "spring.datasource.replica.url",
           "spring.jpa.database",
           "spring.jpa.database-platform",
           "spring.jpa.defer-datasource-initialization",
@@ -133,6 +134,7 @@ public class DataConfigAdapter extends SpringConfigAdapter {
             "spring.datasource.password",
             SecretManager.getInstance().get(PropertySecretConfig.SECRET_DATA_PASSWORD));
         configureFlyway(config);
+        configureReplica(config);
         break;
       case DATABASE_POSTGRES:
         set("spring.datasource.driver-class-name", "org.postgresql.Driver");
@@ -146,6 +148,7 @@ public class DataConfigAdapter extends SpringConfigAdapter {
             "spring.datasource.password",
             SecretManager.getInstance().get(PropertySecretConfig.SECRET_DATA_PASSWORD));
         configureFlyway(config);
+        configureReplica(config);
         break;
       default:
         Log.errorF("Invalid config[data.type]={}", type);
@@ -179,12 +182,41 @@ public class DataConfigAdapter extends SpringConfigAdapter {
     }
   }
 
+  private void configureReplica(ConfigMap config) throws InvalidConfigException {
+    String server = config.getString("data.replica.server", "");
+    if (isEmpty(server)) {
+      return;
+    }
+    String database = config.getString("data.replica.database", "");
+    if (isEmpty(database)) {
+      database = config.getString("data.database");
+    }
+    // An entity manager open for the whole request would keep the connection of its first read,
+    // so a replica read would use the primary, or the writes after it would use the replica.
+    set("spring.jpa.open-in-view", false);
+    // The pools are named so that their metrics are told apart
+    set("spring.datasource.hikari.pool-name", "anchor-platform-primary");
+    set("spring.datasource.replica.url", constructPostgressUrl(server, database));
+    set("spring.datasource.replica.hikari.pool-name", "anchor-platform-replica");
+    set(
+        "spring.datasource.replica.hikari.maximum-pool-size",
+        config.getInt("data.replica.max_active_connections"));
+    // The other settings are the ones of the primary pool
+    set("spring.datasource.replica.hikari.connection-timeout", 10000); // in ms
+    set("spring.datasource.replica.hikari.minimum-idle", 5);
+    set("spring.datasource.replica.hikari.idle-timeout", 10000);
+    set("spring.datasource.replica.hikari.max-lifetime", 840000);
+  }
+
   private String constructPostgressUrl(ConfigMap config) {
-    return String.format(
-        "jdbc:postgresql://%s/%s",
+    return constructPostgressUrl(
         config.getString("data.server"), config.getString("data.database"));
   }
 
+  private String constructPostgressUrl(String server, String database) {
+    return String.format("jdbc:postgresql://%s/%s", server, database);
+  }
+
   private String constructSQLiteUrl(ConfigMap config) {
     return String.format("jdbc:sqlite:%s.db", config.getString("data.database"));
   }
@@ -276,6 +308,10 @@ public class DataConfigAdapter extends SpringConfigAdapter {
     set("spring.jpa.hibernate.use-new-id-generator-mappings", true);
     set("spring.jpa.open-in-view", true);
     set("spring.jpa.show-sql", false);
+    // Send the saveAll() writes in JDBC batches
+    set("spring.jpa.properties.hibernate.jdbc.batch_size", 50);
+    set("spring.jpa.properties.hibernate.order_inserts", true);
+    set("spring.jpa.properties.hibernate.order_updates", true);
 
     set("spring.flyway.enabled", false);
   }
@@ -1,6 +1,7 @@
 package org.stellar.anchor.platform.configurator;
 
 import static org.stellar.anchor.util.Log.info;
+import static org.stellar.anchor.util.StringHelper.isEmpty;
 
 import java.util.List;
 import lombok.SneakyThrows;
@@ -42,6 +43,12 @@ class ObserverConfigAdapter extends SpringConfigAdapter {
     copy(config, "payment_observer.port", "server.port");
     set("spring.mvc.converters.preferred-json-mapper", "gson");
 
+    // Only the observer saves the snapshot of the observing accounts
+    String snapshotFile = config.getString("payment_observer.stellar.account_snapshot_file");
+    if (!isEmpty(snapshotFile)) {
+      set("stellar-observer.account-snapshot-file", snapshotFile);
+    }
+
     // Enable the management server for Spring Actuator
     copy(config, "payment_observer.management_server_port", "management.server.port");
     set("management.endpoints.enabled-by-default", true);
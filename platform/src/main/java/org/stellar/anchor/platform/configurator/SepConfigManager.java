@@ -40,6 +40,15 @@ class SepServerConfigAdapter extends SpringConfigAdapter {
   void updateSpringEnv(ConfigMap config) throws InvalidConfigException {
     copy(config, "sep_server.context_path", "server.servlet.context-path");
     copy(config, "sep_server.port", "server.port");
+    if (config.getBoolean("sep12.streaming.enabled")) {
+      // The uploaded files above the threshold are spooled to disk by the servlet container
+      copy(
+          config,
+          "sep12.streaming.file_size_threshold",
+          "spring.servlet.multipart.file-size-threshold");
+      copy(config, "sep12.streaming.max_file_size", "spring.servlet.multipart.max-file-size");
+      copy(config, "sep12.streaming.max_file_size", "spring.servlet.multipart.max-request-size");
+    }
     set("spring.mvc.converters.preferred-json-mapper", "gson");
     // Enable the management server for Spring Actuator
     copy(config, "sep_server.management_server_port", "management.server.port");
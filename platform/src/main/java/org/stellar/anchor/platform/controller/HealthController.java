@@ -22,11 +22,14 @@ public abstract class HealthController {
       method = {RequestMethod.GET},
       produces = {MediaType.APPLICATION_JSON_VALUE})
   public ResponseEntity<HealthCheckResponse> health(
-      @RequestParam(required = false) List<String> checks) {
+      @RequestParam(required = false) List<String> checks,
+      @RequestParam(required = false, defaultValue = "false") boolean refresh) {
     if (checks == null) {
       checks = List.of("all");
     }
-    HealthCheckResponse healthCheckResponse = healthCheckService.check(checks);
+    // The last results of the background checks are returned unless a fresh run is requested and
+    // health_check.refresh_enabled is true
+    HealthCheckResponse healthCheckResponse = healthCheckService.check(checks, refresh);
 
     boolean unhealthy =
         healthCheckResponse.getChecks().values().stream()
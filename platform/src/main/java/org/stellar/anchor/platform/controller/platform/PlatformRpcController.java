@@ -1,5 +1,8 @@
 package org.stellar.anchor.platform.controller.platform;
 
+import static java.util.stream.Collectors.toList;
+
+import com.google.gson.JsonObject;
 import java.util.List;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -12,6 +15,7 @@ import org.springframework.web.bind.annotation.RestController;
 import org.stellar.anchor.api.rpc.RpcRequest;
 import org.stellar.anchor.api.rpc.RpcResponse;
 import org.stellar.anchor.platform.service.RpcService;
+import org.stellar.anchor.platform.utils.RpcUtil;
 
 @RestController
 public class PlatformRpcController {
@@ -27,7 +31,8 @@ public class PlatformRpcController {
       method = {RequestMethod.POST},
       produces = {MediaType.APPLICATION_JSON_VALUE})
   @ResponseStatus(value = HttpStatus.OK)
-  public List<RpcResponse> handle(@RequestBody List<RpcRequest> rpcRequests) {
+  public List<RpcResponse> handle(@RequestBody List<JsonObject> rpcCalls) {
+    List<RpcRequest> rpcRequests = rpcCalls.stream().map(RpcUtil::toRpcRequest).collect(toList());
     return rpcService.handle(rpcRequests);
   }
 }
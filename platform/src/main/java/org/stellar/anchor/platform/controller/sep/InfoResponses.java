@@ -0,0 +1,29 @@
+package org.stellar.anchor.platform.controller.sep;
+
+import java.time.Duration;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.stellar.anchor.util.JsonSnapshot;
+
+/**
+ * Serves the pre-serialized /info responses. The responses only change when the anchor is
+ * restarted with new assets, so the clients may cache them for a while and revalidate them with the
+ * ETag.
+ */
+class InfoResponses {
+  static final CacheControl CACHE_CONTROL = CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic();
+
+  static ResponseEntity<byte[]> of(JsonSnapshot<?> info, String ifNoneMatch) {
+    HttpHeaders headers = new HttpHeaders();
+    headers.setETag(info.getEtag());
+    headers.setCacheControl(CACHE_CONTROL);
+    if (info.matches(ifNoneMatch)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+    }
+    headers.setContentType(MediaType.APPLICATION_JSON);
+    return ResponseEntity.ok().headers(headers).body(info.getBody());
+  }
+}
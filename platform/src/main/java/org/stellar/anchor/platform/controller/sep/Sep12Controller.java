@@ -4,6 +4,8 @@ import static org.stellar.anchor.util.Log.*;
 
 import com.google.gson.Gson;
 import com.google.gson.annotations.SerializedName;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.Map;
 import javax.servlet.http.HttpServletRequest;
@@ -15,7 +17,9 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.multipart.MultipartHttpServletRequest;
 import org.stellar.anchor.api.sep.sep12.*;
+import org.stellar.anchor.api.shared.BinaryContent;
 import org.stellar.anchor.auth.Sep10Jwt;
+import org.stellar.anchor.config.Sep12Config;
 import org.stellar.anchor.platform.condition.ConditionalOnAllSepsEnabled;
 import org.stellar.anchor.sep12.Sep12Service;
 import org.stellar.anchor.util.GsonUtils;
@@ -26,9 +30,11 @@ import org.stellar.anchor.util.GsonUtils;
 @ConditionalOnAllSepsEnabled(seps = {"sep12"})
 public class Sep12Controller {
   private final Sep12Service sep12Service;
+  private final Sep12Config sep12Config;
 
-  Sep12Controller(Sep12Service sep12Service) {
+  Sep12Controller(Sep12Service sep12Service, Sep12Config sep12Config) {
     this.sep12Service = sep12Service;
+    this.sep12Config = sep12Config;
   }
 
   @SneakyThrows
@@ -105,6 +111,7 @@ public class Sep12Controller {
 
     // Extract binary fields
     MultiValueMap<String, MultipartFile> files = request.getMultiFileMap();
+    Map<String, BinaryContent> binaryContents = new HashMap<>();
     for (java.lang.reflect.Field field : Sep12PutCustomerRequest.class.getDeclaredFields()) {
       if (field.getType() == byte[].class) {
         field.setAccessible(true);
@@ -113,10 +120,17 @@ public class Sep12Controller {
 
         MultipartFile file = files.getFirst(fieldName);
         if (file != null) {
-          field.set(putCustomerRequest, file.getBytes());
+          if (sep12Config.isStreamingEnabled()) {
+            binaryContents.put(fieldName, new MultipartFileContent(file));
+          } else {
+            field.set(putCustomerRequest, file.getBytes());
+          }
         }
       }
     }
+    if (!binaryContents.isEmpty()) {
+      putCustomerRequest.setBinaryContents(binaryContents);
+    }
 
     Sep10Jwt sep10Jwt = Sep10Helper.getSep10Token(request);
     return sep12Service.putCustomer(sep10Jwt, putCustomerRequest);
@@ -162,4 +176,26 @@ public class Sep12Controller {
     debugF("DELETE /customer requestURI={} account={}", request.getRequestURI(), account);
     sep12Service.deleteCustomer(sep10Jwt, account, memo, memoType);
   }
+
+  /**
+   * The content of an uploaded file. The servlet container keeps the file in memory or in a
+   * temporary file on disk until the request completes, so the content can be read from there.
+   */
+  static class MultipartFileContent implements BinaryContent {
+    private final MultipartFile file;
+
+    MultipartFileContent(MultipartFile file) {
+      this.file = file;
+    }
+
+    @Override
+    public long getSize() {
+      return file.getSize();
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+      return file.getInputStream();
+    }
+  }
 }
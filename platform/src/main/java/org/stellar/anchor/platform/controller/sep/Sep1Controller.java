@@ -12,6 +12,7 @@ import org.stellar.anchor.api.sep.SepExceptionResponse;
 import org.stellar.anchor.config.Sep1Config;
 import org.stellar.anchor.platform.condition.ConditionalOnAllSepsEnabled;
 import org.stellar.anchor.sep1.Sep1Service;
+import org.stellar.anchor.sep1.TomlSnapshot;
 
 @RestController
 @CrossOrigin(origins = "*")
@@ -44,13 +45,44 @@ public class Sep1Controller {
       value = "/.well-known/stellar.toml",
       produces = {MediaType.APPLICATION_JSON_VALUE},
       method = {RequestMethod.GET, RequestMethod.OPTIONS})
-  public ResponseEntity<String> getToml() throws SepException {
+  public ResponseEntity<byte[]> getToml(
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding)
+      throws SepException {
     if (!sep1Config.isEnabled()) {
       throw new SepNotFoundException("Not Found");
     }
+    TomlSnapshot toml = sep1Service.getTomlSnapshot();
+    boolean gzip = acceptsGzip(acceptEncoding);
     HttpHeaders headers = new HttpHeaders();
+    // The gzip and identity bodies are different representations with their own ETags
+    headers.setETag(toml.getEtag(gzip));
+    headers.set(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    if (toml.matches(ifNoneMatch, gzip)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+    }
+
     headers.set("content-type", "text/plain");
-    return ResponseEntity.ok().headers(headers).body(sep1Service.getToml());
+    if (gzip) {
+      headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+      return ResponseEntity.ok().headers(headers).body(toml.getGzipBody());
+    }
+    return ResponseEntity.ok().headers(headers).body(toml.getBody());
+  }
+
+  static boolean acceptsGzip(String acceptEncoding) {
+    if (acceptEncoding == null) return false;
+    for (String coding : acceptEncoding.split(",")) {
+      String[] parts = coding.trim().split(";");
+      if (parts[0].trim().equalsIgnoreCase("gzip")) {
+        for (int i = 1; i < parts.length; i++) {
+          String param = parts[i].replace(" ", "");
+          if (param.equals("q=0") || param.matches("q=0\\.0*")) return false;
+        }
+        return true;
+      }
+    }
+    return false;
   }
 
   @ExceptionHandler({SepNotFoundException.class})
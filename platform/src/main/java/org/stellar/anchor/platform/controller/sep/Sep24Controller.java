@@ -5,19 +5,25 @@ import static org.stellar.anchor.util.Log.*;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
+import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
 import javax.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.stellar.anchor.api.exception.*;
 import org.stellar.anchor.api.sep.SepExceptionResponse;
 import org.stellar.anchor.api.sep.sep24.*;
 import org.stellar.anchor.auth.Sep10Jwt;
 import org.stellar.anchor.platform.condition.ConditionalOnAllSepsEnabled;
 import org.stellar.anchor.sep24.Sep24Service;
+import org.stellar.anchor.util.ETagHelper;
 
 @RestController
 @CrossOrigin(origins = "*")
@@ -25,18 +31,21 @@ import org.stellar.anchor.sep24.Sep24Service;
 @ConditionalOnAllSepsEnabled(seps = {"sep24"})
 public class Sep24Controller {
   private final Sep24Service sep24Service;
+  private final TransactionChangeWaiter transactionChangeWaiter;
 
-  Sep24Controller(Sep24Service sep24Service) {
+  Sep24Controller(Sep24Service sep24Service, TransactionChangeWaiter transactionChangeWaiter) {
     this.sep24Service = sep24Service;
+    this.transactionChangeWaiter = transactionChangeWaiter;
   }
 
   @CrossOrigin(origins = "*")
   @RequestMapping(
       value = "/info",
       method = {RequestMethod.GET})
-  public InfoResponse getInfo() {
+  public ResponseEntity<byte[]> getInfo(
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
     debug("/info");
-    return sep24Service.getInfo();
+    return InfoResponses.of(sep24Service.getInfoSnapshot(), ifNoneMatch);
   }
 
   @CrossOrigin(origins = "*")
@@ -150,13 +159,24 @@ public class Sep24Controller {
       consumes = {MediaType.APPLICATION_JSON_VALUE},
       produces = {MediaType.APPLICATION_JSON_VALUE},
       method = {RequestMethod.GET})
-  public Sep24GetTransactionResponse getTransaction(
-      HttpServletRequest request, @RequestBody(required = false) GetTransactionRequest tr)
+  public ResponseEntity<Sep24GetTransactionResponse> getTransaction(
+      HttpServletRequest request,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+      @RequestBody(required = false) GetTransactionRequest tr)
       throws SepException, IOException, URISyntaxException {
     debug("/transaction", tr);
     Sep10Jwt token = Sep10Helper.getSep10Token(request);
 
-    return sep24Service.findTransaction(token, tr);
+    // Check if the transaction changed before building the response
+    String etag = sep24Service.findTransactionETag(token, tr);
+    if (ETagHelper.matches(ifNoneMatch, etag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+    if (etag != null) {
+      response.eTag(etag);
+    }
+    return response.body(sep24Service.findTransaction(token, tr));
   }
 
   @CrossOrigin(origins = "*")
@@ -165,8 +185,9 @@ public class Sep24Controller {
       consumes = {MediaType.ALL_VALUE},
       produces = {MediaType.APPLICATION_JSON_VALUE},
       method = {RequestMethod.GET})
-  public Sep24GetTransactionResponse getTransaction(
+  public ResponseEntity<Sep24GetTransactionResponse> getTransaction(
       HttpServletRequest request,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
       @RequestParam(required = false, value = "id") String id,
       @RequestParam(required = false, value = "external_transaction_id")
           String externalTransactionId,
@@ -180,7 +201,57 @@ public class Sep24Controller {
         stellarTransactionId);
     GetTransactionRequest tr =
         new GetTransactionRequest(id, stellarTransactionId, externalTransactionId, lang);
-    return getTransaction(request, tr);
+    return getTransaction(request, ifNoneMatch, tr);
+  }
+
+  @CrossOrigin(origins = "*")
+  @RequestMapping(
+      value = "/transaction",
+      params = {"wait_for_change_since"},
+      produces = {MediaType.APPLICATION_JSON_VALUE},
+      method = {RequestMethod.GET})
+  public DeferredResult<Sep24GetTransactionResponse> waitForTransactionChange(
+      HttpServletRequest request,
+      @RequestParam(required = false, value = "id") String id,
+      @RequestParam(required = false, value = "external_transaction_id")
+          String externalTransactionId,
+      @RequestParam(required = false, value = "stellar_transaction_id") String stellarTransactionId,
+      @RequestParam(required = false, value = "lang") String lang,
+      @RequestParam(value = "wait_for_change_since") String waitForChangeSince)
+      throws SepException, IOException, URISyntaxException {
+    debugF("/transaction id={} wait_for_change_since={}", id, waitForChangeSince);
+    Sep10Jwt token = Sep10Helper.getSep10Token(request);
+    GetTransactionRequest tr =
+        new GetTransactionRequest(id, stellarTransactionId, externalTransactionId, lang);
+    Instant since = TransactionChangeWaiter.parseSince(waitForChangeSince);
+    return transactionChangeWaiter.waitForChange(
+        sep24Service.findTransaction(token, tr),
+        since,
+        () -> sep24Service.findTransaction(token, tr),
+        TransactionChangeWaiter.SEP24);
+  }
+
+  @CrossOrigin(origins = "*")
+  @RequestMapping(
+      value = "/transaction/stream",
+      produces = {MediaType.TEXT_EVENT_STREAM_VALUE},
+      method = {RequestMethod.GET})
+  public SseEmitter streamTransaction(
+      HttpServletRequest request,
+      @RequestParam(required = false, value = "id") String id,
+      @RequestParam(required = false, value = "external_transaction_id")
+          String externalTransactionId,
+      @RequestParam(required = false, value = "stellar_transaction_id") String stellarTransactionId,
+      @RequestParam(required = false, value = "lang") String lang)
+      throws SepException, IOException, URISyntaxException {
+    debugF("/transaction/stream id={}", id);
+    Sep10Jwt token = Sep10Helper.getSep10Token(request);
+    GetTransactionRequest tr =
+        new GetTransactionRequest(id, stellarTransactionId, externalTransactionId, lang);
+    return transactionChangeWaiter.stream(
+        sep24Service.findTransaction(token, tr),
+        () -> sep24Service.findTransaction(token, tr),
+        TransactionChangeWaiter.SEP24);
   }
 
   @ExceptionHandler({MethodArgumentNotValidException.class, SepValidationException.class})
@@ -3,11 +3,17 @@ package org.stellar.anchor.platform.controller.sep;
 import static org.stellar.anchor.util.Log.debugF;
 import static org.stellar.anchor.util.Log.errorEx;
 
+import java.io.IOException;
+import java.time.Instant;
 import javax.servlet.http.HttpServletRequest;
 import lombok.Data;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.stellar.anchor.api.exception.AnchorException;
 import org.stellar.anchor.api.exception.Sep31CustomerInfoNeededException;
 import org.stellar.anchor.api.exception.Sep31MissingFieldException;
@@ -16,6 +22,7 @@ import org.stellar.anchor.api.sep.sep31.*;
 import org.stellar.anchor.auth.Sep10Jwt;
 import org.stellar.anchor.platform.condition.ConditionalOnAllSepsEnabled;
 import org.stellar.anchor.sep31.Sep31Service;
+import org.stellar.anchor.util.ETagHelper;
 
 @RestController
 @CrossOrigin(origins = "*")
@@ -23,18 +30,22 @@ import org.stellar.anchor.sep31.Sep31Service;
 @ConditionalOnAllSepsEnabled(seps = {"sep31"})
 public class Sep31Controller {
   private final Sep31Service sep31Service;
+  private final TransactionChangeWaiter transactionChangeWaiter;
 
-  public Sep31Controller(Sep31Service sep31Service) {
+  public Sep31Controller(
+      Sep31Service sep31Service, TransactionChangeWaiter transactionChangeWaiter) {
     this.sep31Service = sep31Service;
+    this.transactionChangeWaiter = transactionChangeWaiter;
   }
 
   @CrossOrigin(origins = "*")
   @RequestMapping(
       value = "/info",
       method = {RequestMethod.GET})
-  public Sep31InfoResponse getInfo() {
+  public ResponseEntity<byte[]> getInfo(
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
     debugF("GET /info");
-    return sep31Service.getInfo();
+    return InfoResponses.of(sep31Service.getInfoSnapshot(), ifNoneMatch);
   }
 
   @CrossOrigin(origins = "*")
@@ -53,16 +64,61 @@ public class Sep31Controller {
   }
 
   @CrossOrigin(origins = "*")
-  @ResponseStatus(code = HttpStatus.OK)
   @RequestMapping(
       value = "/transactions/{id}",
       produces = {MediaType.APPLICATION_JSON_VALUE},
       method = {RequestMethod.GET})
-  public Sep31GetTransactionResponse getTransaction(
-      HttpServletRequest ignoredServletRequest, @PathVariable(name = "id") String txnId)
+  public ResponseEntity<Sep31GetTransactionResponse> getTransaction(
+      HttpServletRequest ignoredServletRequest,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+      @PathVariable(name = "id") String txnId)
       throws AnchorException {
     debugF("GET /transactions id={}", txnId);
-    return sep31Service.getTransaction(txnId);
+    // Check if the transaction changed before building the response
+    String etag = sep31Service.getTransactionETag(txnId);
+    if (ETagHelper.matches(ifNoneMatch, etag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+    if (etag != null) {
+      response.eTag(etag);
+    }
+    return response.body(sep31Service.getTransaction(txnId));
+  }
+
+  @CrossOrigin(origins = "*")
+  @RequestMapping(
+      value = "/transactions/{id}",
+      params = {"wait_for_change_since"},
+      produces = {MediaType.APPLICATION_JSON_VALUE},
+      method = {RequestMethod.GET})
+  public DeferredResult<Sep31GetTransactionResponse> waitForTransactionChange(
+      HttpServletRequest ignoredServletRequest,
+      @PathVariable(name = "id") String txnId,
+      @RequestParam(value = "wait_for_change_since") String waitForChangeSince)
+      throws AnchorException {
+    debugF("GET /transactions id={} wait_for_change_since={}", txnId, waitForChangeSince);
+    Instant since = TransactionChangeWaiter.parseSince(waitForChangeSince);
+    return transactionChangeWaiter.waitForChange(
+        sep31Service.getTransaction(txnId),
+        since,
+        () -> sep31Service.getTransaction(txnId),
+        TransactionChangeWaiter.SEP31);
+  }
+
+  @CrossOrigin(origins = "*")
+  @RequestMapping(
+      value = "/transactions/{id}/stream",
+      produces = {MediaType.TEXT_EVENT_STREAM_VALUE},
+      method = {RequestMethod.GET})
+  public SseEmitter streamTransaction(
+      HttpServletRequest ignoredServletRequest, @PathVariable(name = "id") String txnId)
+      throws AnchorException, IOException {
+    debugF("GET /transactions/stream id={}", txnId);
+    return transactionChangeWaiter.stream(
+        sep31Service.getTransaction(txnId),
+        () -> sep31Service.getTransaction(txnId),
+        TransactionChangeWaiter.SEP31);
   }
 
   @CrossOrigin(origins = "*")
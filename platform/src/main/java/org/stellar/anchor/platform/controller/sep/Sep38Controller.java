@@ -7,8 +7,10 @@ import com.google.gson.Gson;
 import java.util.Map;
 import javax.servlet.http.HttpServletRequest;
 import lombok.SneakyThrows;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.client.RestClientException;
 import org.stellar.anchor.api.exception.SepValidationException;
@@ -37,9 +39,10 @@ public class Sep38Controller {
   @RequestMapping(
       value = "/info",
       method = {RequestMethod.GET})
-  public InfoResponse getInfo() {
+  public ResponseEntity<byte[]> getInfo(
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
     debugF("GET /info");
-    return sep38Service.getInfo();
+    return InfoResponses.of(sep38Service.getInfoSnapshot(), ifNoneMatch);
   }
 
   @SneakyThrows
@@ -2,17 +2,25 @@ package org.stellar.anchor.platform.controller.sep;
 
 import static org.stellar.anchor.util.Log.debugF;
 
+import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
+import java.time.Instant;
 import javax.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.stellar.anchor.api.exception.AnchorException;
 import org.stellar.anchor.api.exception.SepException;
 import org.stellar.anchor.api.sep.sep6.*;
 import org.stellar.anchor.auth.Sep10Jwt;
 import org.stellar.anchor.platform.condition.ConditionalOnAllSepsEnabled;
 import org.stellar.anchor.sep6.Sep6Service;
+import org.stellar.anchor.util.ETagHelper;
 
 @RestController
 @CrossOrigin(origins = "*")
@@ -20,9 +28,11 @@ import org.stellar.anchor.sep6.Sep6Service;
 @ConditionalOnAllSepsEnabled(seps = {"sep6"})
 public class Sep6Controller {
   private final Sep6Service sep6Service;
+  private final TransactionChangeWaiter transactionChangeWaiter;
 
-  public Sep6Controller(Sep6Service sep6Service) {
+  public Sep6Controller(Sep6Service sep6Service, TransactionChangeWaiter transactionChangeWaiter) {
     this.sep6Service = sep6Service;
+    this.transactionChangeWaiter = transactionChangeWaiter;
   }
 
   @CrossOrigin(origins = "*")
@@ -30,9 +40,10 @@ public class Sep6Controller {
       value = "/info",
       produces = {MediaType.APPLICATION_JSON_VALUE},
       method = {RequestMethod.GET})
-  public InfoResponse getInfo() {
+  public ResponseEntity<byte[]> getInfo(
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
     debugF("GET /info");
-    return sep6Service.getInfo();
+    return InfoResponses.of(sep6Service.getInfoSnapshot(), ifNoneMatch);
   }
 
   @CrossOrigin(origins = "*")
@@ -217,8 +228,9 @@ public class Sep6Controller {
       value = "/transaction",
       produces = {MediaType.APPLICATION_JSON_VALUE},
       method = {RequestMethod.GET})
-  public GetTransactionResponse getTransaction(
+  public ResponseEntity<GetTransactionResponse> getTransaction(
       HttpServletRequest request,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
       @RequestParam(required = false, value = "id") String id,
       @RequestParam(required = false, value = "stellar_transaction_id") String stellarTransactionId,
       @RequestParam(required = false, value = "external_transaction_id")
@@ -238,6 +250,74 @@ public class Sep6Controller {
             .stellarTransactionId(stellarTransactionId)
             .externalTransactionId(externalTransactionId)
             .build();
-    return sep6Service.findTransaction(token, getTransactionRequest);
+
+    // Check if the transaction changed before building the response
+    String etag = sep6Service.findTransactionETag(token, getTransactionRequest);
+    if (ETagHelper.matches(ifNoneMatch, etag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+    if (etag != null) {
+      response.eTag(etag);
+    }
+    return response.body(sep6Service.findTransaction(token, getTransactionRequest));
+  }
+
+  @CrossOrigin(origins = "*")
+  @RequestMapping(
+      value = "/transaction",
+      params = {"wait_for_change_since"},
+      produces = {MediaType.APPLICATION_JSON_VALUE},
+      method = {RequestMethod.GET})
+  public DeferredResult<GetTransactionResponse> waitForTransactionChange(
+      HttpServletRequest request,
+      @RequestParam(required = false, value = "id") String id,
+      @RequestParam(required = false, value = "stellar_transaction_id") String stellarTransactionId,
+      @RequestParam(required = false, value = "external_transaction_id")
+          String externalTransactionId,
+      @RequestParam(required = false, value = "lang") String lang,
+      @RequestParam(value = "wait_for_change_since") String waitForChangeSince)
+      throws AnchorException, MalformedURLException, URISyntaxException {
+    debugF("/transaction id={} wait_for_change_since={}", id, waitForChangeSince);
+    Sep10Jwt token = Sep10Helper.getSep10Token(request);
+    GetTransactionRequest getTransactionRequest =
+        GetTransactionRequest.builder()
+            .id(id)
+            .stellarTransactionId(stellarTransactionId)
+            .externalTransactionId(externalTransactionId)
+            .build();
+    Instant since = TransactionChangeWaiter.parseSince(waitForChangeSince);
+    return transactionChangeWaiter.waitForChange(
+        sep6Service.findTransaction(token, getTransactionRequest),
+        since,
+        () -> sep6Service.findTransaction(token, getTransactionRequest),
+        TransactionChangeWaiter.SEP6);
+  }
+
+  @CrossOrigin(origins = "*")
+  @RequestMapping(
+      value = "/transaction/stream",
+      produces = {MediaType.TEXT_EVENT_STREAM_VALUE},
+      method = {RequestMethod.GET})
+  public SseEmitter streamTransaction(
+      HttpServletRequest request,
+      @RequestParam(required = false, value = "id") String id,
+      @RequestParam(required = false, value = "stellar_transaction_id") String stellarTransactionId,
+      @RequestParam(required = false, value = "external_transaction_id")
+          String externalTransactionId,
+      @RequestParam(required = false, value = "lang") String lang)
+      throws AnchorException, IOException, URISyntaxException {
+    debugF("/transaction/stream id={}", id);
+    Sep10Jwt token = Sep10Helper.getSep10Token(request);
+    GetTransactionRequest getTransactionRequest =
+        GetTransactionRequest.builder()
+            .id(id)
+            .stellarTransactionId(stellarTransactionId)
+            .externalTransactionId(externalTransactionId)
+            .build();
+    return transactionChangeWaiter.stream(
+        sep6Service.findTransaction(token, getTransactionRequest),
+        () -> sep6Service.findTransaction(token, getTransactionRequest),
+        TransactionChangeWaiter.SEP6);
   }
 }
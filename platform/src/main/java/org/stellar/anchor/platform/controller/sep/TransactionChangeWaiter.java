@@ -0,0 +1,190 @@
+package org.stellar.anchor.platform.controller.sep;
+
+import static org.stellar.anchor.api.sep.SepTransactionStatus.*;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.stellar.anchor.api.exception.SepValidationException;
+import org.stellar.anchor.api.sep.sep24.Sep24GetTransactionResponse;
+import org.stellar.anchor.api.sep.sep31.Sep31GetTransactionResponse;
+import org.stellar.anchor.api.sep.sep6.GetTransactionResponse;
+import org.stellar.anchor.platform.event.TransactionChangeNotifier;
+import org.stellar.anchor.util.GsonUtils;
+import org.stellar.anchor.util.Log;
+
+/**
+ * Holds the SEP transaction requests until the transaction changes. The requests are handled
+ * asynchronously, so the waiting wallets do not hold the request threads. The transaction is looked
+ * up again each time the notifier reports that it may have changed.
+ */
+public class TransactionChangeWaiter {
+  static final Duration WAIT_TIMEOUT = Duration.ofSeconds(30);
+  static final Duration STREAM_TIMEOUT = Duration.ofMinutes(10);
+  static final Set<String> FINAL_STATUSES =
+      Set.of(
+          COMPLETED.getStatus(), REFUNDED.getStatus(), EXPIRED.getStatus(), ERROR.getStatus());
+
+  static final View<Sep24GetTransactionResponse> SEP24 =
+      new View<>(
+          r -> r.getTransaction().getId(),
+          r -> r.getTransaction().getUpdatedAt(),
+          r -> r.getTransaction().getStatus());
+  static final View<GetTransactionResponse> SEP6 =
+      new View<>(
+          r -> r.getTransaction().getId(),
+          r ->
+              r.getTransaction().getUpdatedAt() != null
+                  ? Instant.parse(r.getTransaction().getUpdatedAt())
+                  : null,
+          r -> r.getTransaction().getStatus());
+  static final View<Sep31GetTransactionResponse> SEP31 =
+      new View<>(
+          r -> r.getTransaction().getId(),
+          r -> r.getTransaction().getUpdatedAt(),
+          r -> r.getTransaction().getStatus());
+
+  private final TransactionChangeNotifier notifier;
+
+  public TransactionChangeWaiter(TransactionChangeNotifier notifier) {
+    this.notifier = notifier;
+  }
+
+  /**
+   * Waits until the transaction is updated after the given time.
+   *
+   * @param current the transaction as it is now.
+   * @param since the time of the last update known by the wallet.
+   * @param lookup looks up the transaction.
+   * @param view the fields of the transaction.
+   * @return the result that is set to the transaction when it changes or when the wait times out.
+   */
+  <T> DeferredResult<T> waitForChange(
+      T current, Instant since, Callable<T> lookup, View<T> view) {
+    DeferredResult<T> result = new DeferredResult<>(WAIT_TIMEOUT.toMillis());
+    if (isUpdatedAfter(current, since, view)) {
+      result.setResult(current);
+      return result;
+    }
+
+    String transactionId = view.id.apply(current);
+    AtomicReference<T> latest = new AtomicReference<>(current);
+    Runnable listener =
+        () -> {
+          try {
+            T txn = lookup.call();
+            latest.set(txn);
+            if (isUpdatedAfter(txn, since, view)) {
+              result.setResult(txn);
+            }
+          } catch (Exception ex) {
+            result.setErrorResult(ex);
+          }
+        };
+    result.onTimeout(() -> result.setResult(latest.get()));
+    result.onCompletion(() -> notifier.unsubscribe(transactionId, listener));
+    notifier.subscribe(transactionId, listener);
+    return result;
+  }
+
+  /**
+   * Streams the transaction to the wallet as server-sent events. An event is sent with the current
+   * transaction and then each time it changes. The stream is completed when the transaction reaches
+   * a final status or when it times out.
+   *
+   * @param current the transaction as it is now.
+   * @param lookup looks up the transaction.
+   * @param view the fields of the transaction.
+   * @return the emitter of the events.
+   * @throws IOException if the current transaction cannot be sent.
+   */
+  <T> SseEmitter stream(T current, Callable<T> lookup, View<T> view) throws IOException {
+    SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT.toMillis());
+    Stream<T> stream = new Stream<>(emitter, view);
+    stream.send(current);
+    if (FINAL_STATUSES.contains(view.status.apply(current))) {
+      return emitter;
+    }
+
+    String transactionId = view.id.apply(current);
+    Runnable listener =
+        () -> {
+          try {
+            stream.send(lookup.call());
+          } catch (Exception ex) {
+            emitter.completeWithError(ex);
+          }
+        };
+    emitter.onCompletion(() -> notifier.unsubscribe(transactionId, listener));
+    emitter.onTimeout(emitter::complete);
+    notifier.subscribe(transactionId, listener);
+    return emitter;
+  }
+
+  /**
+   * Parses the wait_for_change_since parameter.
+   *
+   * @param value the value of the parameter.
+   * @return the time.
+   * @throws SepValidationException if the value is not an ISO 8601 date-time.
+   */
+  static Instant parseSince(String value) throws SepValidationException {
+    try {
+      return Instant.parse(value);
+    } catch (DateTimeParseException ex) {
+      throw new SepValidationException(
+          "wait_for_change_since must be an ISO 8601 UTC date-time", ex);
+    }
+  }
+
+  static <T> boolean isUpdatedAfter(T txn, Instant since, View<T> view) {
+    Instant updatedAt = view.updatedAt.apply(txn);
+    // Without the timestamps, the change cannot be detected
+    return since == null || updatedAt == null || updatedAt.isAfter(since);
+  }
+
+  private static class Stream<T> {
+    final SseEmitter emitter;
+    final View<T> view;
+    String lastSent;
+
+    Stream(SseEmitter emitter, View<T> view) {
+      this.emitter = emitter;
+      this.view = view;
+    }
+
+    synchronized void send(T txn) throws IOException {
+      String json = GsonUtils.getInstance().toJson(txn);
+      if (json.equals(lastSent)) {
+        return;
+      }
+      lastSent = json;
+      emitter.send(SseEmitter.event().name("transaction").data(json, MediaType.APPLICATION_JSON));
+      if (FINAL_STATUSES.contains(view.status.apply(txn))) {
+        Log.debugF("The transaction {} reached a final status", view.id.apply(txn));
+        emitter.complete();
+      }
+    }
+  }
+
+  /** The fields of a transaction response that are used to detect its changes. */
+  static class View<T> {
+    final Function<T, String> id;
+    final Function<T, Instant> updatedAt;
+    final Function<T, String> status;
+
+    View(Function<T, String> id, Function<T, Instant> updatedAt, Function<T, String> status) {
+      this.id = id;
+      this.updatedAt = updatedAt;
+      this.status = status;
+    }
+  }
+}
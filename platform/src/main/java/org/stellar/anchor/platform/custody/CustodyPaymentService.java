@@ -59,4 +59,38 @@ public interface CustodyPaymentService<T> {
    * @throws CustodyException if an error happens on custody service
    */
   List<T> getTransactionsByTimeRange(Instant startTime, Instant endTime) throws CustodyException;
+
+  /**
+   * Get custody transactions within time range. Each request of a page of transactions is sent
+   * through the guard, for example to rate limit the requests.
+   *
+   * @param startTime start from time
+   * @param endTime to time
+   * @param guard sends the requests of the pages
+   * @return list of custody transactions
+   * @throws CustodyException if an error happens on custody service
+   */
+  default List<T> getTransactionsByTimeRange(Instant startTime, Instant endTime, RequestGuard guard)
+      throws CustodyException {
+    return guard.send(() -> getTransactionsByTimeRange(startTime, endTime));
+  }
+
+  /** A request to the custody service. */
+  @FunctionalInterface
+  interface Request<R> {
+    R send() throws CustodyException;
+  }
+
+  /** Sends the requests to the custody service, for example under a rate limit. */
+  interface RequestGuard {
+    RequestGuard DIRECT =
+        new RequestGuard() {
+          @Override
+          public <R> R send(Request<R> request) throws CustodyException {
+            return request.send();
+          }
+        };
+
+    <R> R send(Request<R> request) throws CustodyException;
+  }
 }
@@ -155,6 +155,15 @@ public class CustodyTransactionService {
     custodyTransactionRepo.save(txn);
   }
 
+  public void updateCustodyTransactions(List<JdbcCustodyTransaction> txns) {
+    if (txns.isEmpty()) {
+      return;
+    }
+    Instant now = Instant.now();
+    txns.forEach(txn -> txn.setUpdatedAt(now));
+    custodyTransactionRepo.saveAll(txns);
+  }
+
   public List<JdbcCustodyTransaction> getOutboundTransactionsEligibleForReconciliation() {
     return custodyTransactionRepo.findAllByStatusAndExternalTxIdNotNull(
         CustodyTransactionStatus.SUBMITTED.toString());
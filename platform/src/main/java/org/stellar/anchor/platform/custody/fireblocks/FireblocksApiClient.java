@@ -1,16 +1,19 @@
 package org.stellar.anchor.platform.custody.fireblocks;
 
-import static org.stellar.anchor.auth.AuthHelper.jwtsBuilder;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.stellar.anchor.util.OkHttpUtil.TYPE_JSON;
 
+import com.google.gson.Gson;
 import io.jsonwebtoken.SignatureAlgorithm;
 import java.io.IOException;
-import java.math.BigInteger;
+import java.security.GeneralSecurityException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.PrivateKey;
 import java.time.Instant;
-import java.util.Date;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.UUID;
 import javax.validation.constraints.NotNull;
@@ -26,10 +29,16 @@ import org.springframework.web.util.UriComponentsBuilder;
 import org.stellar.anchor.api.exception.FireblocksException;
 import org.stellar.anchor.api.exception.InvalidConfigException;
 import org.stellar.anchor.platform.config.FireblocksConfig;
+import org.stellar.anchor.util.GsonUtils;
+import org.stellar.anchor.util.RSAUtil;
 
 /**
  * API client, that is responsible for communication with Fireblocks. It generates and adds JWT
  * token to the request and validates the response status code
+ *
+ * <p>A token is signed for every request, so the token is assembled directly instead of through
+ * the JWT builder: the header is encoded once, the body hash of the requests without a body is
+ * computed once and the RS256 signature uses the per-thread Signature cached by {@link RSAUtil}.
  */
 public class FireblocksApiClient {
 
@@ -38,6 +47,13 @@ public class FireblocksApiClient {
   private static final String TOKEN_PREFIX = "Bearer ";
   private static final int TOKEN_EXPIRATION_SECONDS = 55;
   private static final String SHA256_ALGORITHM = "SHA-256";
+  private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+  private static final String ENCODED_HEADER =
+      BASE64_URL.encodeToString("{\"alg\":\"RS256\",\"typ\":\"JWT\"}".getBytes(UTF_8));
+  private static final ThreadLocal<MessageDigest> sha256 =
+      ThreadLocal.withInitial(FireblocksApiClient::newSha256Digest);
+  static final String EMPTY_BODY_HASH = bodyHash(StringUtils.EMPTY);
+  private static final Gson gson = GsonUtils.getInstance();
 
   private final OkHttpClient client;
   private final String baseUrl;
@@ -96,36 +112,42 @@ public class FireblocksApiClient {
     }
   }
 
-  private String signJwt(String path, String dataJSONString) {
-    String bodyHash;
-
+  String signJwt(String path, String dataJSONString) {
+    String bodyHash =
+        StringUtils.isEmpty(dataJSONString) ? EMPTY_BODY_HASH : bodyHash(dataJSONString);
+
+    long now = Instant.now().getEpochSecond();
+    Map<String, Object> claims = new LinkedHashMap<>();
+    claims.put("sub", apiKey);
+    claims.put("iat", now);
+    claims.put("exp", now + TOKEN_EXPIRATION_SECONDS);
+    claims.put("nonce", UUID.randomUUID().toString());
+    claims.put("uri", path);
+    claims.put("bodyHash", bodyHash);
+
+    String content =
+        ENCODED_HEADER + "." + BASE64_URL.encodeToString(gson.toJson(claims).getBytes(UTF_8));
     try {
-      MessageDigest digest = MessageDigest.getInstance(SHA256_ALGORITHM);
-      digest.update(dataJSONString.getBytes());
-      BigInteger number = new BigInteger(1, digest.digest());
-      StringBuilder hexString = new StringBuilder(number.toString(16));
+      byte[] signature =
+          RSAUtil.sign(
+              content.getBytes(UTF_8), privateKey, SignatureAlgorithm.RS256.getJcaName());
+      return content + "." + BASE64_URL.encodeToString(signature);
+    } catch (GeneralSecurityException e) {
+      throw new RuntimeException("Unable to sign Fireblocks JWT token", e);
+    }
+  }
 
-      while (hexString.length() < 64) {
-        hexString.insert(0, '0');
-      }
+  static String bodyHash(String dataJSONString) {
+    MessageDigest digest = sha256.get();
+    return HexFormat.of().formatHex(digest.digest(dataJSONString.getBytes()));
+  }
 
-      bodyHash = hexString.toString();
+  private static MessageDigest newSha256Digest() {
+    try {
+      return MessageDigest.getInstance(SHA256_ALGORITHM);
     } catch (NoSuchAlgorithmException e) {
       throw new RuntimeException("Unable to generate body hash for Fireblocks JWT token", e);
     }
-
-    Instant now = Instant.now();
-    Instant expirationTime = now.plusSeconds(TOKEN_EXPIRATION_SECONDS);
-
-    return jwtsBuilder()
-        .setSubject(apiKey)
-        .setIssuedAt(Date.from(now))
-        .setExpiration(Date.from(expirationTime))
-        .claim("nonce", UUID.randomUUID().toString())
-        .claim("uri", path)
-        .claim("bodyHash", bodyHash)
-        .signWith(SignatureAlgorithm.RS256, privateKey)
-        .compact();
   }
 
   private String buildPath(@NotNull String path, Map<String, String> params) {
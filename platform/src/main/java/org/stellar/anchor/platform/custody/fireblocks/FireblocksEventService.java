@@ -41,6 +41,7 @@ public class FireblocksEventService extends CustodyEventService {
 
   private final Horizon horizon;
   private final PublicKey publicKey;
+  private final FireblocksWebhookInbox webhookInbox;
 
   public FireblocksEventService(
       JdbcCustodyTransactionRepo custodyTransactionRepo,
@@ -50,6 +51,25 @@ public class FireblocksEventService extends CustodyEventService {
       Horizon horizon,
       FireblocksConfig fireblocksConfig)
       throws InvalidConfigException {
+    this(
+        custodyTransactionRepo,
+        sep6CustodyPaymentHandler,
+        sep24CustodyPaymentHandler,
+        sep31CustodyPaymentHandler,
+        horizon,
+        fireblocksConfig,
+        null);
+  }
+
+  public FireblocksEventService(
+      JdbcCustodyTransactionRepo custodyTransactionRepo,
+      Sep6CustodyPaymentHandler sep6CustodyPaymentHandler,
+      Sep24CustodyPaymentHandler sep24CustodyPaymentHandler,
+      Sep31CustodyPaymentHandler sep31CustodyPaymentHandler,
+      Horizon horizon,
+      FireblocksConfig fireblocksConfig,
+      FireblocksWebhookInbox webhookInbox)
+      throws InvalidConfigException {
     super(
         custodyTransactionRepo,
         sep6CustodyPaymentHandler,
@@ -57,10 +77,15 @@ public class FireblocksEventService extends CustodyEventService {
         sep31CustodyPaymentHandler);
     this.horizon = horizon;
     this.publicKey = fireblocksConfig.getFireblocksPublicKey();
+    this.webhookInbox = webhookInbox;
+    if (webhookInbox != null) {
+      webhookInbox.setProcessor(this::processEvent);
+    }
   }
 
   /**
-   * Process request sent by Fireblocks to webhook endpoint
+   * Process request sent by Fireblocks to webhook endpoint. If the webhook inbox is enabled, the
+   * event is only stored in the inbox and processed asynchronously.
    *
    * @param event Request body
    * @param headers HTTP headers
@@ -83,25 +108,15 @@ public class FireblocksEventService extends CustodyEventService {
 
     try {
       if (RSAUtil.isValidSignature(signature, event, publicKey)) {
-        FireblocksEventObject fireblocksEventObject =
-            GsonUtils.getInstance().fromJson(event, FireblocksEventObject.class);
-
-        TransactionDetails transactionDetails = fireblocksEventObject.getData();
-        setExternalTxId(
-            transactionDetails.getDestinationAddress(),
-            transactionDetails.getDestinationTag(),
-            transactionDetails.getId());
-
-        if (!transactionDetails.getStatus().isObservableByWebhook()) {
-          debugF("Skipping Fireblocks webhook event[{}] due to the status", event);
+        if (webhookInbox != null && webhookInbox.isEnabled()) {
+          FireblocksEventObject fireblocksEventObject =
+              GsonUtils.getInstance().fromJson(event, FireblocksEventObject.class);
+          webhookInbox.append(fireblocksEventObject.getData(), event);
           return;
         }
 
         try {
-          Optional<CustodyPayment> payment = convert(transactionDetails);
-          if (payment.isPresent()) {
-            handlePayment(payment.get());
-          }
+          processEvent(event);
         } catch (AnchorException | IOException e) {
           throw new BadRequestException("Unable to handle Fireblocks webhook event", e);
         }
@@ -113,6 +128,32 @@ public class FireblocksEventService extends CustodyEventService {
     }
   }
 
+  /**
+   * Process Fireblocks event, which signature has already been verified
+   *
+   * @param event Fireblocks event
+   */
+  void processEvent(String event) throws AnchorException, IOException {
+    FireblocksEventObject fireblocksEventObject =
+        GsonUtils.getInstance().fromJson(event, FireblocksEventObject.class);
+
+    TransactionDetails transactionDetails = fireblocksEventObject.getData();
+    setExternalTxId(
+        transactionDetails.getDestinationAddress(),
+        transactionDetails.getDestinationTag(),
+        transactionDetails.getId());
+
+    if (!transactionDetails.getStatus().isObservableByWebhook()) {
+      debugF("Skipping Fireblocks webhook event[{}] due to the status", event);
+      return;
+    }
+
+    Optional<CustodyPayment> payment = convert(transactionDetails);
+    if (payment.isPresent()) {
+      handlePayment(payment.get());
+    }
+  }
+
   public Optional<CustodyPayment> convert(TransactionDetails td) throws IOException {
     Optional<OperationResponse> operation = Optional.empty();
     CustodyPayment.CustodyPaymentStatus status =
@@ -127,14 +168,7 @@ public class FireblocksEventService extends CustodyEventService {
 
     try {
       operation =
-          horizon
-              .getServer()
-              .payments()
-              .includeTransactions(true)
-              .forTransaction(td.getTxHash())
-              .execute()
-              .getRecords()
-              .stream()
+          horizon.getStellarTxnOperations(td.getTxHash()).stream()
               .filter(o -> PAYMENT_TRANSACTION_OPERATION_TYPES.contains(o.getType()))
               .findFirst();
     } catch (Exception e) {
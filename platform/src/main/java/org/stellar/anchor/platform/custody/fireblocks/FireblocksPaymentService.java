@@ -12,6 +12,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import lombok.Getter;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
@@ -22,6 +23,7 @@ import org.stellar.anchor.api.custody.fireblocks.CreateAddressResponse;
 import org.stellar.anchor.api.custody.fireblocks.CreateTransactionRequest;
 import org.stellar.anchor.api.custody.fireblocks.CreateTransactionResponse;
 import org.stellar.anchor.api.custody.fireblocks.TransactionDetails;
+import org.stellar.anchor.api.exception.CustodyException;
 import org.stellar.anchor.api.exception.FireblocksException;
 import org.stellar.anchor.api.exception.InvalidConfigException;
 import org.stellar.anchor.platform.config.FireblocksConfig;
@@ -139,7 +141,13 @@ public class FireblocksPaymentService implements CustodyPaymentService<Transacti
 
   @Override
   public List<TransactionDetails> getTransactionsByTimeRange(Instant startTime, Instant endTime)
-      throws FireblocksException {
+      throws CustodyException {
+    return getTransactionsByTimeRange(startTime, endTime, RequestGuard.DIRECT);
+  }
+
+  @Override
+  public List<TransactionDetails> getTransactionsByTimeRange(
+      Instant startTime, Instant endTime, RequestGuard guard) throws CustodyException {
     if (startTime.isAfter(endTime)) {
       throw new IllegalArgumentException("End time can't be before start time");
     }
@@ -153,22 +161,26 @@ public class FireblocksPaymentService implements CustodyPaymentService<Transacti
                 QUERY_PARAM_ORDER_BY, TRANSACTIONS_ORDER_BY,
                 QUERY_PARAM_SORT, TRANSACTIONS_SORT));
 
-    List<TransactionDetails> transactions = new ArrayList<>(getTransactions(queryParams));
+    List<TransactionDetails> transactions = new ArrayList<>();
+    List<TransactionDetails> page = guard.send(() -> getTransactions(queryParams));
+
+    while (page != null && !page.isEmpty()) {
+      transactions.addAll(page);
+      if (page.size() < transactionLimit) {
+        break;
+      }
 
-    while (transactions.size() % transactionLimit == 0) {
-      Long maxCreatedAt =
-          transactions.stream()
+      // The pages are sorted by createdAt, so the next page starts after the last page
+      long maxCreatedAt =
+          page.stream()
               .map(TransactionDetails::getCreatedAt)
+              .filter(Objects::nonNull)
               .reduce(Long.MIN_VALUE, Long::max);
-
-      queryParams.put(QUERY_PARAM_AFTER, String.valueOf(maxCreatedAt));
-
-      List<TransactionDetails> retrievedTransactions = getTransactions(queryParams);
-      if (retrievedTransactions == null) {
-        return transactions;
-      } else {
-        transactions.addAll(getTransactions(queryParams));
+      if (maxCreatedAt == Long.MIN_VALUE) {
+        break;
       }
+      queryParams.put(QUERY_PARAM_AFTER, String.valueOf(maxCreatedAt));
+      page = guard.send(() -> getTransactions(queryParams));
     }
 
     return transactions;
@@ -0,0 +1,230 @@
+package org.stellar.anchor.platform.custody.fireblocks;
+
+import static org.stellar.anchor.platform.data.JdbcFireblocksWebhookEvent.Status.FAILED;
+import static org.stellar.anchor.platform.data.JdbcFireblocksWebhookEvent.Status.PENDING;
+import static org.stellar.anchor.platform.data.JdbcFireblocksWebhookEvent.Status.PROCESSED;
+import static org.stellar.anchor.util.Log.debugF;
+import static org.stellar.anchor.util.Log.errorEx;
+import static org.stellar.anchor.util.Log.warnF;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.stellar.anchor.api.custody.fireblocks.TransactionDetails;
+import org.stellar.anchor.platform.config.FireblocksConfig;
+import org.stellar.anchor.platform.data.JdbcFireblocksWebhookEvent;
+import org.stellar.anchor.platform.data.JdbcFireblocksWebhookEventRepo;
+
+/**
+ * A durable inbox of the Fireblocks webhook events. The webhook endpoint appends the verified event
+ * to the inbox and returns right away. The events are processed by a bounded pool of workers. The
+ * events of the same Fireblocks transaction are always processed by the same worker so that they
+ * are processed in the order they were received. Events that could not be dispatched, for example
+ * because the workers were busy or the server restarted, are picked up by the periodic sweep.
+ *
+ * <p>An event that failed is processed again by the sweep after a delay that doubles with each
+ * attempt. The later events of the same Fireblocks transaction are not processed until the failed
+ * event is processed or is marked as failed after the max attempts. The events received at the same
+ * time are ordered by their arrival sequence.
+ *
+ * <p>The processed events are kept for the dedupe window to drop their redeliveries, and are then
+ * deleted by the periodic purge.
+ */
+public class FireblocksWebhookInbox {
+  static final int QUEUE_CAPACITY = 1000;
+  static final int SWEEP_BATCH_SIZE = 100;
+  static final int PURGE_BATCH_SIZE = 500;
+  static final long PURGE_INTERVAL = 3600000;
+
+  private final JdbcFireblocksWebhookEventRepo webhookEventRepo;
+  private final FireblocksConfig.Webhook webhookConfig;
+  private final ExecutorService[] workers;
+  private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+  private Processor processor;
+
+  public FireblocksWebhookInbox(
+      JdbcFireblocksWebhookEventRepo webhookEventRepo, FireblocksConfig fireblocksConfig) {
+    this.webhookEventRepo = webhookEventRepo;
+    this.webhookConfig = fireblocksConfig.getWebhook();
+    // The workers are only started when the events are stored in the inbox
+    this.workers = new ExecutorService[isEnabled() ? Math.max(webhookConfig.getWorkers(), 1) : 0];
+    for (int i = 0; i < workers.length; i++) {
+      workers[i] =
+          new ThreadPoolExecutor(
+              1,
+              1,
+              0L,
+              TimeUnit.MILLISECONDS,
+              new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+              FireblocksWebhookInbox::newWorkerThread);
+    }
+  }
+
+  public boolean isEnabled() {
+    return webhookConfig.isInboxEnabled();
+  }
+
+  public void shutdown() {
+    for (ExecutorService worker : workers) {
+      worker.shutdownNow();
+    }
+  }
+
+  void setProcessor(Processor processor) {
+    this.processor = processor;
+  }
+
+  /**
+   * Appends the event to the inbox and dispatches it to a worker. An event with the same Fireblocks
+   * transaction id and status as an event already in the inbox is dropped.
+   *
+   * @param details the parsed event data.
+   * @param event the raw event.
+   * @return true if the event was appended, false if it is a duplicate.
+   */
+  public boolean append(TransactionDetails details, String event) {
+    String id = details.getId() + ":" + details.getStatus();
+    Instant now = Instant.now();
+    JdbcFireblocksWebhookEvent inboxEvent =
+        JdbcFireblocksWebhookEvent.builder()
+            .id(id)
+            .fireblocksTxId(details.getId())
+            .event(event)
+            .status(PENDING.name())
+            .attemptCount(0)
+            .nextAttemptAt(now)
+            .createdAt(now)
+            .updatedAt(now)
+            .newEvent(true)
+            .build();
+    try {
+      // inserted without a lookup, a redelivered event violates the primary key
+      webhookEventRepo.save(inboxEvent);
+    } catch (DataIntegrityViolationException ex) {
+      debugF("Fireblocks webhook event[{}] is a duplicate", id);
+      return false;
+    }
+
+    dispatch(inboxEvent);
+    return true;
+  }
+
+  /**
+   * Dispatches the pending events that are due and are the oldest unprocessed event of their
+   * Fireblocks transaction.
+   */
+  @Scheduled(fixedDelayString = "${custody.fireblocks.webhook.sweep_interval:5000}")
+  public void sweep() {
+    if (!isEnabled()) return;
+    for (JdbcFireblocksWebhookEvent inboxEvent :
+        webhookEventRepo.findDueHeadEvents(Instant.now(), PageRequest.of(0, SWEEP_BATCH_SIZE))) {
+      dispatch(inboxEvent);
+    }
+  }
+
+  /** Deletes the processed events received before the dedupe window, in batches. */
+  @Scheduled(fixedDelay = PURGE_INTERVAL, initialDelay = PURGE_INTERVAL)
+  public void purge() {
+    if (!isEnabled()) return;
+    Instant cutoff = Instant.now().minusMillis(webhookConfig.getDedupeWindow());
+    try {
+      int deleted;
+      do {
+        deleted = webhookEventRepo.deleteProcessedBefore(cutoff, PURGE_BATCH_SIZE);
+      } while (deleted >= PURGE_BATCH_SIZE);
+    } catch (Exception ex) {
+      errorEx("Failed to purge the processed Fireblocks webhook events", ex);
+    }
+  }
+
+  void dispatch(JdbcFireblocksWebhookEvent inboxEvent) {
+    if (workers.length == 0 || !inFlight.add(inboxEvent.getId())) return;
+    ExecutorService worker =
+        workers[Math.floorMod(inboxEvent.getFireblocksTxId().hashCode(), workers.length)];
+    try {
+      worker.execute(() -> process(inboxEvent));
+    } catch (RejectedExecutionException ex) {
+      // the sweep will dispatch the event again
+      inFlight.remove(inboxEvent.getId());
+    }
+  }
+
+  void process(JdbcFireblocksWebhookEvent inboxEvent) {
+    try {
+      if (isBlocked(inboxEvent)) {
+        // the sweep dispatches the event again once the older events are processed
+        debugF(
+            "Fireblocks webhook event[{}] waits for the older events of the transaction",
+            inboxEvent.getId());
+        return;
+      }
+
+      try {
+        processor.process(inboxEvent.getEvent());
+        inboxEvent.setStatus(PROCESSED.name());
+      } catch (Exception ex) {
+        errorEx(
+            String.format("Failed to process Fireblocks webhook event[%s]", inboxEvent.getId()),
+            ex);
+        inboxEvent.setAttemptCount(inboxEvent.getAttemptCount() + 1);
+        if (inboxEvent.getAttemptCount() >= webhookConfig.getMaxAttempts()) {
+          warnF(
+              "Fireblocks webhook event[{}] failed after {} attempts. The later events of the"
+                  + " transaction are processed without it.",
+              inboxEvent.getId(),
+              inboxEvent.getAttemptCount());
+          inboxEvent.setStatus(FAILED.name());
+        } else {
+          inboxEvent.setNextAttemptAt(
+              Instant.now().plusMillis(retryDelay(inboxEvent.getAttemptCount())));
+        }
+      }
+
+      inboxEvent.setUpdatedAt(Instant.now());
+      webhookEventRepo.save(inboxEvent);
+    } catch (Exception ex) {
+      errorEx(
+          String.format("Failed to update Fireblocks webhook event[%s]", inboxEvent.getId()), ex);
+    } finally {
+      inFlight.remove(inboxEvent.getId());
+    }
+  }
+
+  boolean isBlocked(JdbcFireblocksWebhookEvent inboxEvent) {
+    return webhookEventRepo.hasOlderPendingEvent(
+        inboxEvent.getFireblocksTxId(),
+        inboxEvent.getCreatedAt(),
+        inboxEvent.getArrivalSequence());
+  }
+
+  /**
+   * Returns the delay before the next attempt, which doubles after each failed attempt up to the
+   * max retry delay.
+   *
+   * @param attemptCount the number of failed attempts.
+   * @return the delay in ms.
+   */
+  long retryDelay(int attemptCount) {
+    long delay = webhookConfig.getRetryDelay() << Math.min(attemptCount - 1, 30);
+    return Math.min(delay, webhookConfig.getMaxRetryDelay());
+  }
+
+  static Thread newWorkerThread(Runnable runnable) {
+    Thread thread = new Thread(runnable, "fireblocks-webhook");
+    thread.setDaemon(true);
+    return thread;
+  }
+
+  @FunctionalInterface
+  interface Processor {
+    void process(String event) throws Exception;
+  }
+}
@@ -4,5 +4,34 @@ import java.util.List;
 import org.stellar.anchor.util.TransactionsParams;
 
 public interface AllTransactionsRepository<T> {
+  /**
+   * Finds a page of the transactions. The transactions moved to the archive table by the data
+   * retention job are not listed.
+   *
+   * @param params the order, the statuses and the page of the transactions.
+   * @param entityClass the entity class of the transactions.
+   * @return the page of the transactions.
+   */
   List<T> findAllTransactions(TransactionsParams params, Class<T> entityClass);
+
+  /**
+   * Finds a transaction moved to the archive table by the data retention job. The returned
+   * transaction is detached, so saving it stores it in the table of the active transactions again.
+   *
+   * @param id the id of the transaction.
+   * @param entityClass the entity class of the transaction.
+   * @return the archived transaction, or null if it is not archived.
+   */
+  T findArchivedTransaction(String id, Class<T> entityClass);
+
+  /**
+   * Finds a transaction moved to the archive table by the data retention job by the value of a
+   * column, for example its stellar transaction id. The returned transaction is detached.
+   *
+   * @param column the name of the column. It must not be taken from the requests.
+   * @param value the value of the column.
+   * @param entityClass the entity class of the transaction.
+   * @return the first archived transaction found, or null if none is archived.
+   */
+  T findArchivedTransactionBy(String column, String value, Class<T> entityClass);
 }
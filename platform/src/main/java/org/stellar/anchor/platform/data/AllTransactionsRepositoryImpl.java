@@ -13,6 +13,7 @@ import org.stellar.anchor.util.TransactionsParams;
 public class AllTransactionsRepositoryImpl<T> implements AllTransactionsRepository<T> {
   private final EntityManager em;
   private static final String NL = System.lineSeparator();
+  static final String ARCHIVE_SUFFIX = "_archive";
 
   public AllTransactionsRepositoryImpl(EntityManager em) {
     this.em = em;
@@ -21,14 +22,7 @@ public class AllTransactionsRepositoryImpl<T> implements AllTransactionsReposito
   @Override
   @SuppressWarnings("unchecked")
   public List<T> findAllTransactions(TransactionsParams params, Class<T> entityClass) {
-    JpaEntityInformation<T, ?> entityInformation =
-        JpaEntityInformationSupport.getEntityInformation(entityClass, em);
-    Table table = entityInformation.getJavaType().getAnnotation(Table.class);
-
-    if (table == null || table.name().isEmpty()) {
-      throw new AssertionError("Class " + entityClass.getName() + " doesn't have table name");
-    }
-
+    Table table = getTable(entityClass);
     List<SepTransactionStatus> statuses = params.getStatuses();
 
     // Create query
@@ -48,4 +42,41 @@ public class AllTransactionsRepositoryImpl<T> implements AllTransactionsReposito
 
     return results;
   }
+
+  @Override
+  public T findArchivedTransaction(String id, Class<T> entityClass) {
+    return findArchivedTransactionBy("id", id, entityClass);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public T findArchivedTransactionBy(String column, String value, Class<T> entityClass) {
+    if (value == null) {
+      return null;
+    }
+    String nativeQuery =
+        String.format(
+            "SELECT * FROM %s t WHERE t.%s = :value LIMIT 1",
+            getTable(entityClass).name() + ARCHIVE_SUFFIX, column);
+    List<T> results =
+        em.createNativeQuery(nativeQuery, entityClass).setParameter("value", value).getResultList();
+    if (results.isEmpty()) {
+      return null;
+    }
+    // The archived transaction is not in the table of the entity
+    T result = results.get(0);
+    em.detach(result);
+    return result;
+  }
+
+  private Table getTable(Class<T> entityClass) {
+    JpaEntityInformation<T, ?> entityInformation =
+        JpaEntityInformationSupport.getEntityInformation(entityClass, em);
+    Table table = entityInformation.getJavaType().getAnnotation(Table.class);
+
+    if (table == null || table.name().isEmpty()) {
+      throw new AssertionError("Class " + entityClass.getName() + " doesn't have table name");
+    }
+    return table;
+  }
 }
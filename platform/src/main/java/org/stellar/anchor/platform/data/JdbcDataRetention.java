@@ -0,0 +1,160 @@
+package org.stellar.anchor.platform.data;
+
+import static org.stellar.anchor.platform.data.AllTransactionsRepositoryImpl.ARCHIVE_SUFFIX;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves the finished transactions to the archive tables and deletes the expired quotes. Each call
+ * handles one batch of rows in its own database transaction, so that the locks are held briefly.
+ * Only supported by the postgres databases.
+ */
+public class JdbcDataRetention {
+  public static final List<String> SEP_TABLES =
+      List.of("sep6_transaction", "sep24_transaction", "sep31_transaction");
+  static final String CUSTODY_TABLE = "custody_transaction";
+  static final String QUOTE_TABLE = "exchange_quote";
+  // The expired and error transactions may be recovered by notify_transaction_recovery
+  static final List<String> SEP_FINISHED_STATUSES = List.of("completed", "refunded");
+  static final List<String> CUSTODY_FINISHED_STATUSES = List.of("completed", "failed");
+
+  private final EntityManager em;
+  private final TransactionTemplate transactionTemplate;
+  // The columns of the tables do not change while the platform runs
+  private final Map<String, String> columns = new ConcurrentHashMap<>();
+
+  public JdbcDataRetention(EntityManager em, PlatformTransactionManager transactionManager) {
+    this.em = em;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  /**
+   * Moves a batch of the finished SEP transactions last updated before the cutoff to the archive
+   * table.
+   *
+   * @param table the table of the transactions.
+   * @param cutoff the time before which the transactions are archived.
+   * @param batchSize the maximum number of transactions moved.
+   * @return the number of transactions moved.
+   */
+  public int archiveSepTransactions(String table, Instant cutoff, int batchSize) {
+    return archive(table, SEP_FINISHED_STATUSES, "started_at", cutoff, batchSize);
+  }
+
+  /**
+   * Moves a batch of the finished custody transactions last updated before the cutoff to the
+   * archive table.
+   *
+   * @param cutoff the time before which the transactions are archived.
+   * @param batchSize the maximum number of transactions moved.
+   * @return the number of transactions moved.
+   */
+  public int archiveCustodyTransactions(Instant cutoff, int batchSize) {
+    return archive(CUSTODY_TABLE, CUSTODY_FINISHED_STATUSES, "created_at", cutoff, batchSize);
+  }
+
+  /**
+   * Deletes a batch of the quotes expired before the cutoff that no transaction refers to.
+   *
+   * @param cutoff the time before which the quotes expired.
+   * @param batchSize the maximum number of quotes deleted.
+   * @return the number of quotes deleted.
+   */
+  public int purgeQuotes(Instant cutoff, int batchSize) {
+    StringBuilder unreferenced = new StringBuilder();
+    for (String table : SEP_TABLES) {
+      for (String t : List.of(table, table + ARCHIVE_SUFFIX)) {
+        unreferenced.append(
+            String.format(" AND NOT EXISTS (SELECT 1 FROM %s t WHERE t.quote_id = q.id)", t));
+      }
+    }
+    String sql =
+        String.format(
+            "DELETE FROM %1$s WHERE id IN (SELECT q.id FROM %1$s q WHERE q.expires_at < :cutoff%2$s"
+                + " LIMIT :limit FOR UPDATE SKIP LOCKED)",
+            QUOTE_TABLE, unreferenced);
+    Integer deleted =
+        transactionTemplate.execute(
+            status ->
+                em.createNativeQuery(sql)
+                    .setParameter("cutoff", Timestamp.from(cutoff))
+                    .setParameter("limit", batchSize)
+                    .executeUpdate());
+    return deleted == null ? 0 : deleted;
+  }
+
+  @SuppressWarnings("unchecked")
+  int archive(
+      String table, List<String> statuses, String fallbackColumn, Instant cutoff, int batchSize) {
+    String archive = table + ARCHIVE_SUFFIX;
+    // The transactions never updated are aged by the time they were created
+    String select =
+        String.format(
+            "SELECT id FROM %s WHERE status IN (:statuses) AND (updated_at < :cutoff OR"
+                + " (updated_at IS NULL AND %s < :cutoff)) LIMIT :limit FOR UPDATE SKIP LOCKED",
+            table, fallbackColumn);
+    Integer moved =
+        transactionTemplate.execute(
+            status -> {
+              List<String> ids =
+                  em.createNativeQuery(select)
+                      .setParameter("statuses", statuses)
+                      .setParameter("cutoff", Timestamp.from(cutoff))
+                      .setParameter("limit", batchSize)
+                      .getResultList();
+              if (ids.isEmpty()) {
+                return 0;
+              }
+              // A transaction archived before may have been restored and finished again
+              em.createNativeQuery(String.format("DELETE FROM %s WHERE id IN (:ids)", archive))
+                  .setParameter("ids", ids)
+                  .executeUpdate();
+              // The columns are named, so the column order of the archive table does not matter
+              String columns = columns(table);
+              em.createNativeQuery(
+                      String.format(
+                          "INSERT INTO %s (%s) SELECT %s FROM %s WHERE id IN (:ids)",
+                          archive, columns, columns, table))
+                  .setParameter("ids", ids)
+                  .executeUpdate();
+              // The selected rows are locked, so the deleted rows are the archived rows
+              return em.createNativeQuery(String.format("DELETE FROM %s WHERE id IN (:ids)", table))
+                  .setParameter("ids", ids)
+                  .executeUpdate();
+            });
+    return moved == null ? 0 : moved;
+  }
+
+  /**
+   * Lists the columns of the table. A column missing from the archive table fails the archiving
+   * instead of losing its values.
+   *
+   * @param table the table.
+   * @return the quoted names of the columns, separated by commas.
+   */
+  @SuppressWarnings("unchecked")
+  String columns(String table) {
+    return columns.computeIfAbsent(
+        table,
+        t -> {
+          List<String> names =
+              em.createNativeQuery(
+                      "SELECT column_name FROM information_schema.columns WHERE lower(table_name) ="
+                          + " :table AND table_schema = current_schema ORDER BY ordinal_position")
+                  .setParameter("table", t)
+                  .getResultList();
+          if (names.isEmpty()) {
+            throw new IllegalStateException("The table " + t + " has no columns");
+          }
+          return names.stream().map(name -> '"' + name + '"').collect(Collectors.joining(", "));
+        });
+  }
+}
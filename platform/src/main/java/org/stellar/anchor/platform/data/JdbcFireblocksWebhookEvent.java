@@ -0,0 +1,98 @@
+package org.stellar.anchor.platform.data;
+
+import com.google.gson.annotations.SerializedName;
+import java.time.Instant;
+import javax.persistence.Access;
+import javax.persistence.AccessType;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.Table;
+import javax.persistence.Transient;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Generated;
+import org.hibernate.annotations.GenerationTime;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * A Fireblocks webhook event stored in the inbox. The id is the Fireblocks transaction id followed
+ * by the transaction status so that a redelivered event is stored only once.
+ *
+ * <p>A new event is inserted without first being looked up, so that saving a redelivered event
+ * fails on the primary key instead of merging it into the stored event.
+ */
+@Getter
+@Setter
+@Builder
+@Entity
+@Access(AccessType.FIELD)
+@Table(name = "fireblocks_webhook_event")
+@NoArgsConstructor
+@AllArgsConstructor
+public class JdbcFireblocksWebhookEvent implements Persistable<String> {
+
+  @Id String id;
+
+  @SerializedName("fireblocks_tx_id")
+  @Column(name = "fireblocks_tx_id")
+  String fireblocksTxId;
+
+  @SerializedName("event")
+  @Column(name = "event")
+  String event;
+
+  @SerializedName("status")
+  @Column(name = "status")
+  String status;
+
+  @SerializedName("attempt_count")
+  @Column(name = "attempt_count")
+  int attemptCount;
+
+  @SerializedName("next_attempt_at")
+  @Column(name = "next_attempt_at")
+  Instant nextAttemptAt;
+
+  @SerializedName("created_at")
+  @Column(name = "created_at")
+  Instant createdAt;
+
+  @SerializedName("updated_at")
+  @Column(name = "updated_at")
+  Instant updatedAt;
+
+  // Generated by the database in the insert order. It orders the events received at the same time.
+  @SerializedName("arrival_sequence")
+  @Generated(GenerationTime.INSERT)
+  @Column(
+      name = "arrival_sequence",
+      insertable = false,
+      updatable = false,
+      columnDefinition = "bigserial")
+  Long arrivalSequence;
+
+  @Transient boolean newEvent;
+
+  @Override
+  public boolean isNew() {
+    return newEvent;
+  }
+
+  @PostLoad
+  @PostPersist
+  void markNotNew() {
+    newEvent = false;
+  }
+
+  public enum Status {
+    PENDING,
+    PROCESSED,
+    FAILED
+  }
+}
@@ -0,0 +1,57 @@
+package org.stellar.anchor.platform.data;
+
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface JdbcFireblocksWebhookEventRepo
+    extends CrudRepository<JdbcFireblocksWebhookEvent, String> {
+
+  /**
+   * Finds the pending events due for processing that are the oldest pending event of their
+   * Fireblocks transaction. The failed events do not hold the later events of their transaction.
+   */
+  @Query(
+      "SELECT e FROM JdbcFireblocksWebhookEvent e WHERE e.status = 'PENDING'"
+          + " AND (e.nextAttemptAt IS NULL OR e.nextAttemptAt <= :now)"
+          + " AND NOT EXISTS (SELECT h FROM JdbcFireblocksWebhookEvent h"
+          + " WHERE h.fireblocksTxId = e.fireblocksTxId AND h.status = 'PENDING'"
+          + " AND (h.createdAt < e.createdAt OR (h.createdAt = e.createdAt"
+          + " AND h.arrivalSequence < e.arrivalSequence)))"
+          + " ORDER BY e.createdAt ASC, e.arrivalSequence ASC")
+  List<JdbcFireblocksWebhookEvent> findDueHeadEvents(@Param("now") Instant now, Pageable page);
+
+  /** Checks if an older event of the same Fireblocks transaction is still pending. */
+  @Query(
+      "SELECT CASE WHEN COUNT(h) > 0 THEN true ELSE false END FROM JdbcFireblocksWebhookEvent h"
+          + " WHERE h.fireblocksTxId = :fireblocksTxId AND h.status = 'PENDING'"
+          + " AND (h.createdAt < :createdAt OR (h.createdAt = :createdAt"
+          + " AND h.arrivalSequence < :arrivalSequence))")
+  boolean hasOlderPendingEvent(
+      @Param("fireblocksTxId") String fireblocksTxId,
+      @Param("createdAt") Instant createdAt,
+      @Param("arrivalSequence") Long arrivalSequence);
+
+  /**
+   * Deletes a batch of the processed events received before the cutoff. A redelivery of a deleted
+   * event is no longer dropped.
+   *
+   * @param cutoff the time before which the events were received.
+   * @param limit the maximum number of events deleted.
+   * @return the number of events deleted.
+   */
+  @Transactional
+  @Modifying
+  @Query(
+      value =
+          "DELETE FROM fireblocks_webhook_event WHERE id IN (SELECT id FROM"
+              + " fireblocks_webhook_event WHERE status = 'PROCESSED' AND created_at < :cutoff"
+              + " LIMIT :limit)",
+      nativeQuery = true)
+  int deleteProcessedBefore(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
+}
@@ -1,11 +1,16 @@
 package org.stellar.anchor.platform.data;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
+import org.stellar.anchor.SepTransactionVersion;
 import org.stellar.anchor.sep24.Sep24Transaction;
 
 public interface JdbcSep24TransactionRepo
@@ -15,6 +20,15 @@ public interface JdbcSep24TransactionRepo
 
   JdbcSep24Transaction findOneByTransactionId(String transactionId);
 
+  @Query(
+      value =
+          "SELECT t.sep10Account AS sep10Account, t.sep10AccountMemo AS sep10AccountMemo,"
+              + " t.updatedAt AS updatedAt FROM JdbcSep24Transaction t"
+              + " WHERE t.transactionId = :transactionId")
+  SepTransactionVersion findVersionByTransactionId(@Param("transactionId") String transactionId);
+
+  List<JdbcSep24Transaction> findByTransactionIdIn(Collection<String> transactionIds);
+
   JdbcSep24Transaction findOneByExternalTransactionId(String externalTransactionId);
 
   JdbcSep24Transaction findOneByStellarTransactionId(String stellarTransactionId);
@@ -25,5 +39,13 @@ public interface JdbcSep24TransactionRepo
   List<Sep24Transaction> findBySep10AccountAndRequestAssetCodeOrderByStartedAtDesc(
       String stellarAccount, String assetCode);
 
+  @Query(
+      value =
+          "SELECT max(t.updatedAt) FROM JdbcSep24Transaction t WHERE t.sep10Account = :account")
+  Instant findLatestUpdateBySep10Account(@Param("account") String account);
+
+  @Query(value = "SELECT max(t.updatedAt) FROM JdbcSep24Transaction t")
+  Instant findLatestUpdate();
+
   Page<JdbcSep24Transaction> findByStatusIn(List<String> allowedStatuses, Pageable pageable);
 }
@@ -2,12 +2,16 @@ package org.stellar.anchor.platform.data;
 
 import java.time.Instant;
 import java.time.format.DateTimeParseException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import lombok.Setter;
+import org.stellar.anchor.SepTransactionVersion;
 import org.stellar.anchor.api.exception.SepException;
 import org.stellar.anchor.api.exception.SepValidationException;
 import org.stellar.anchor.api.sep.sep24.GetTransactionsRequest;
+import org.stellar.anchor.platform.databaseintegration.ReplicaReads;
 import org.stellar.anchor.sep24.Sep24RefundPayment;
 import org.stellar.anchor.sep24.Sep24Refunds;
 import org.stellar.anchor.sep24.Sep24Transaction;
@@ -18,6 +22,12 @@ import org.stellar.anchor.util.TransactionsParams;
 public class JdbcSep24TransactionStore implements Sep24TransactionStore {
   static final String CB_KEY_NAMESPACE = "SAS:RESOURCE:";
   final JdbcSep24TransactionRepo txnRepo;
+  // Look up the transactions moved to the archive by the data retention job
+  @Setter boolean archiveLookup = false;
+  // Remembers the protocol of the saved transactions for the platform lookups
+  @Setter TransactionIdRegistry transactionIds;
+  // Reads the transaction lists from the read replica, if any
+  @Setter ReplicaReads replicaReads = ReplicaReads.DISABLED;
 
   public JdbcSep24TransactionStore(JdbcSep24TransactionRepo txnRepo) {
     this.txnRepo = txnRepo;
@@ -40,17 +50,44 @@ public class JdbcSep24TransactionStore implements Sep24TransactionStore {
 
   @Override
   public Sep24Transaction findByTransactionId(String transactionId) {
-    return txnRepo.findOneByTransactionId(transactionId);
+    JdbcSep24Transaction txn = txnRepo.findOneByTransactionId(transactionId);
+    if (txn == null && archiveLookup) {
+      // The id of a SEP-24 transaction is its transaction id
+      txn = txnRepo.findArchivedTransaction(transactionId, JdbcSep24Transaction.class);
+    }
+    return txn;
+  }
+
+  @Override
+  public SepTransactionVersion findVersionByTransactionId(String transactionId) {
+    return txnRepo.findVersionByTransactionId(transactionId);
+  }
+
+  @Override
+  public List<? extends Sep24Transaction> findByTransactionIds(Collection<String> transactionIds) {
+    return txnRepo.findByTransactionIdIn(transactionIds);
   }
 
   @Override
   public Sep24Transaction findByStellarTransactionId(String stellarTransactionId) {
-    return txnRepo.findOneByStellarTransactionId(stellarTransactionId);
+    JdbcSep24Transaction txn = txnRepo.findOneByStellarTransactionId(stellarTransactionId);
+    if (txn == null && archiveLookup) {
+      txn =
+          txnRepo.findArchivedTransactionBy(
+              "stellar_transaction_id", stellarTransactionId, JdbcSep24Transaction.class);
+    }
+    return txn;
   }
 
   @Override
   public Sep24Transaction findByExternalTransactionId(String externalTransactionId) {
-    return txnRepo.findOneByExternalTransactionId(externalTransactionId);
+    JdbcSep24Transaction txn = txnRepo.findOneByExternalTransactionId(externalTransactionId);
+    if (txn == null && archiveLookup) {
+      txn =
+          txnRepo.findArchivedTransactionBy(
+              "external_transaction_id", externalTransactionId, JdbcSep24Transaction.class);
+    }
+    return txn;
   }
 
   public JdbcSep24Transaction findOneByToAccountAndMemoAndStatus(
@@ -66,10 +103,14 @@ public class JdbcSep24TransactionStore implements Sep24TransactionStore {
       throws SepValidationException {
 
     if (accountMemo != null) accountId = accountId + ":" + accountMemo;
+    final String account = accountId;
 
     List<Sep24Transaction> txns =
-        txnRepo.findBySep10AccountAndRequestAssetCodeOrderByStartedAtDesc(
-            accountId, tr.getAssetCode());
+        replicaReads.read(
+            () -> txnRepo.findLatestUpdateBySep10Account(account),
+            () ->
+                txnRepo.findBySep10AccountAndRequestAssetCodeOrderByStartedAtDesc(
+                    account, tr.getAssetCode()));
 
     // TODO: This should be replaced by Couchbase query
     int limit = Integer.MAX_VALUE;
@@ -118,11 +159,19 @@ public class JdbcSep24TransactionStore implements Sep24TransactionStore {
     }
     JdbcSep24Transaction txn = (JdbcSep24Transaction) sep24Transaction;
     txn.setId(txn.getTransactionId());
-    return txnRepo.save(txn);
+    // The replica reads compare the latest updated_at of the primary and the replica
+    txn.setUpdatedAt(Instant.now());
+    JdbcSep24Transaction saved = txnRepo.save(txn);
+    if (transactionIds != null) {
+      transactionIds.register(txn.getTransactionId(), TransactionIdRegistry.SEP_24);
+    }
+    return saved;
   }
 
   @Override
   public List<? extends Sep24Transaction> findTransactions(TransactionsParams params) {
-    return txnRepo.findAllTransactions(params, JdbcSep24Transaction.class);
+    return replicaReads.readWithinMaxLag(
+        txnRepo::findLatestUpdate,
+        () -> txnRepo.findAllTransactions(params, JdbcSep24Transaction.class));
   }
 }
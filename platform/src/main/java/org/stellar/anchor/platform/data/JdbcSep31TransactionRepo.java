@@ -1,5 +1,6 @@
 package org.stellar.anchor.platform.data;
 
+import java.time.Instant;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -8,6 +9,7 @@ import org.jetbrains.annotations.NotNull;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.data.repository.query.Param;
+import org.stellar.anchor.SepTransactionVersion;
 import org.stellar.anchor.sep31.Sep31Transaction;
 
 public interface JdbcSep31TransactionRepo
@@ -16,6 +18,9 @@ public interface JdbcSep31TransactionRepo
   @NotNull
   Optional<JdbcSep31Transaction> findById(@NonNull String id);
 
+  @Query(value = "SELECT t.updatedAt AS updatedAt FROM JdbcSep31Transaction t WHERE t.id = :id")
+  SepTransactionVersion findVersionById(@Param("id") String id);
+
   @Query(value = "SELECT t FROM JdbcSep31Transaction t WHERE t.id IN :ids")
   List<JdbcSep31Transaction> findByIds(@Param("ids") Collection<String> ids);
 
@@ -26,6 +31,9 @@ public interface JdbcSep31TransactionRepo
   @Query(value = "SELECT COUNT(t) FROM JdbcSep31Transaction t WHERE t.status = :status")
   Integer findByStatusCount(@Param("status") String status);
 
+  @Query(value = "SELECT max(t.updatedAt) FROM JdbcSep31Transaction t")
+  Instant findLatestUpdate();
+
   Optional<JdbcSep31Transaction> findByStellarAccountIdAndStellarMemoAndStatus(
       @Param("stellar_account_id") String accountId,
       @Param("stellar_memo") String memo,
@@ -5,7 +5,10 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import lombok.NonNull;
+import lombok.Setter;
+import org.stellar.anchor.SepTransactionVersion;
 import org.stellar.anchor.api.exception.SepException;
+import org.stellar.anchor.platform.databaseintegration.ReplicaReads;
 import org.stellar.anchor.sep31.RefundPayment;
 import org.stellar.anchor.sep31.Sep31Refunds;
 import org.stellar.anchor.sep31.Sep31Transaction;
@@ -14,6 +17,12 @@ import org.stellar.anchor.util.TransactionsParams;
 
 public class JdbcSep31TransactionStore implements Sep31TransactionStore {
   private final JdbcSep31TransactionRepo transactionRepo;
+  // Look up the transactions moved to the archive by the data retention job
+  @Setter boolean archiveLookup = false;
+  // Remembers the protocol of the saved transactions for the platform lookups
+  @Setter TransactionIdRegistry transactionIds;
+  // Reads the transaction lists from the read replica, if any
+  @Setter ReplicaReads replicaReads = ReplicaReads.DISABLED;
 
   public JdbcSep31TransactionStore(JdbcSep31TransactionRepo transactionRepo) {
     this.transactionRepo = transactionRepo;
@@ -36,7 +45,16 @@ public class JdbcSep31TransactionStore implements Sep31TransactionStore {
 
   @Override
   public Sep31Transaction findByTransactionId(@NonNull String transactionId) {
-    return transactionRepo.findById(transactionId).orElse(null);
+    JdbcSep31Transaction txn = transactionRepo.findById(transactionId).orElse(null);
+    if (txn == null && archiveLookup) {
+      txn = transactionRepo.findArchivedTransaction(transactionId, JdbcSep31Transaction.class);
+    }
+    return txn;
+  }
+
+  @Override
+  public SepTransactionVersion findVersionByTransactionId(@NonNull String transactionId) {
+    return transactionRepo.findVersionById(transactionId);
   }
 
   @Override
@@ -63,7 +81,11 @@ public class JdbcSep31TransactionStore implements Sep31TransactionStore {
       txn.setAmountExpected(txn.getAmountIn());
     }
 
-    return transactionRepo.save((JdbcSep31Transaction) transaction);
+    JdbcSep31Transaction saved = transactionRepo.save(txn);
+    if (transactionIds != null) {
+      transactionIds.register(txn.getId(), TransactionIdRegistry.SEP_31);
+    }
+    return saved;
   }
 
   public Sep31Transaction findByStellarAccountId(String accountId) {
@@ -84,6 +106,8 @@ public class JdbcSep31TransactionStore implements Sep31TransactionStore {
 
   @Override
   public List<? extends Sep31Transaction> findTransactions(TransactionsParams params) {
-    return transactionRepo.findAllTransactions(params, JdbcSep31Transaction.class);
+    return replicaReads.readWithinMaxLag(
+        transactionRepo::findLatestUpdate,
+        () -> transactionRepo.findAllTransactions(params, JdbcSep31Transaction.class));
   }
 }
@@ -1,10 +1,14 @@
 package org.stellar.anchor.platform.data;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import lombok.NonNull;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
+import org.stellar.anchor.SepTransactionVersion;
 import org.stellar.anchor.sep6.Sep6Transaction;
 
 public interface JdbcSep6TransactionRepo
@@ -16,6 +20,12 @@ public interface JdbcSep6TransactionRepo
 
   JdbcSep6Transaction findOneByTransactionId(String transactionId);
 
+  @Query(
+      value =
+          "SELECT t.sep10Account AS sep10Account, t.sep10AccountMemo AS sep10AccountMemo,"
+              + " t.updatedAt AS updatedAt FROM JdbcSep6Transaction t WHERE t.id = :id")
+  SepTransactionVersion findVersionById(@Param("id") String id);
+
   JdbcSep6Transaction findOneByStellarTransactionId(String stellarTransactionId);
 
   JdbcSep6Transaction findOneByExternalTransactionId(String externalTransactionId);
@@ -29,4 +39,11 @@ public interface JdbcSep6TransactionRepo
   List<Sep6Transaction>
       findBySep10AccountAndSep10AccountMemoAndRequestAssetCodeOrderByStartedAtDesc(
           String sep10Account, String sep10AccountMemo, String requestAssetCode);
+
+  @Query(
+      value = "SELECT max(t.updatedAt) FROM JdbcSep6Transaction t WHERE t.sep10Account = :account")
+  Instant findLatestUpdateBySep10Account(@Param("account") String account);
+
+  @Query(value = "SELECT max(t.updatedAt) FROM JdbcSep6Transaction t")
+  Instant findLatestUpdate();
 }
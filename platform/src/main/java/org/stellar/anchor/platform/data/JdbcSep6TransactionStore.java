@@ -2,19 +2,30 @@ package org.stellar.anchor.platform.data;
 
 import java.time.Instant;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
+import lombok.Setter;
+import org.stellar.anchor.SepTransactionVersion;
 import org.stellar.anchor.api.exception.SepException;
 import org.stellar.anchor.api.exception.SepValidationException;
 import org.stellar.anchor.api.sep.sep6.GetTransactionsRequest;
 import org.stellar.anchor.api.shared.RefundPayment;
 import org.stellar.anchor.api.shared.Refunds;
+import org.stellar.anchor.platform.databaseintegration.ReplicaReads;
 import org.stellar.anchor.sep6.*;
 import org.stellar.anchor.util.DateUtil;
 import org.stellar.anchor.util.TransactionsParams;
 
 public class JdbcSep6TransactionStore implements Sep6TransactionStore {
   private final JdbcSep6TransactionRepo transactionRepo;
+  // Look up the transactions moved to the archive by the data retention job
+  @Setter boolean archiveLookup = false;
+  // Remembers the protocol of the saved transactions for the platform lookups
+  @Setter TransactionIdRegistry transactionIds;
+  // Reads the transaction lists from the read replica, if any
+  @Setter ReplicaReads replicaReads = ReplicaReads.DISABLED;
 
   public JdbcSep6TransactionStore(JdbcSep6TransactionRepo transactionRepo) {
     this.transactionRepo = transactionRepo;
@@ -37,34 +48,64 @@ public class JdbcSep6TransactionStore implements Sep6TransactionStore {
 
   @Override
   public Sep6Transaction findByTransactionId(String transactionId) {
-    return transactionRepo.findById(transactionId).orElse(null);
+    JdbcSep6Transaction txn = transactionRepo.findById(transactionId).orElse(null);
+    if (txn == null && archiveLookup) {
+      txn = transactionRepo.findArchivedTransaction(transactionId, JdbcSep6Transaction.class);
+    }
+    return txn;
+  }
+
+  @Override
+  public SepTransactionVersion findVersionByTransactionId(String transactionId) {
+    return transactionRepo.findVersionById(transactionId);
+  }
+
+  @Override
+  public List<? extends Sep6Transaction> findByTransactionIds(Collection<String> transactionIds) {
+    List<JdbcSep6Transaction> transactions = new ArrayList<>(transactionIds.size());
+    transactionRepo.findAllById(transactionIds).forEach(transactions::add);
+    return transactions;
   }
 
   @Override
   public Sep6Transaction findByStellarTransactionId(String stellarTransactionId) {
-    return transactionRepo.findOneByStellarTransactionId(stellarTransactionId);
+    JdbcSep6Transaction txn = transactionRepo.findOneByStellarTransactionId(stellarTransactionId);
+    if (txn == null && archiveLookup) {
+      txn =
+          transactionRepo.findArchivedTransactionBy(
+              "stellar_transaction_id", stellarTransactionId, JdbcSep6Transaction.class);
+    }
+    return txn;
   }
 
   @Override
   public Sep6Transaction findByExternalTransactionId(String externalTransactionId) {
-    return transactionRepo.findOneByExternalTransactionId(externalTransactionId);
+    JdbcSep6Transaction txn = transactionRepo.findOneByExternalTransactionId(externalTransactionId);
+    if (txn == null && archiveLookup) {
+      txn =
+          transactionRepo.findArchivedTransactionBy(
+              "external_transaction_id", externalTransactionId, JdbcSep6Transaction.class);
+    }
+    return txn;
   }
 
   @Override
   public List<Sep6Transaction> findTransactions(
       String accountId, String accountMemo, GetTransactionsRequest request)
       throws SepValidationException {
-    List<Sep6Transaction> txns;
-    if (accountMemo == null) {
-      txns =
-          transactionRepo.findBySep10AccountAndRequestAssetCodeOrderByStartedAtDesc(
-              accountId, request.getAssetCode());
-    } else {
-      txns =
-          transactionRepo
-              .findBySep10AccountAndSep10AccountMemoAndRequestAssetCodeOrderByStartedAtDesc(
-                  accountId, accountMemo, request.getAssetCode());
-    }
+    List<Sep6Transaction> txns =
+        replicaReads.read(
+            () -> transactionRepo.findLatestUpdateBySep10Account(accountId),
+            () -> {
+              if (accountMemo == null) {
+                return transactionRepo.findBySep10AccountAndRequestAssetCodeOrderByStartedAtDesc(
+                    accountId, request.getAssetCode());
+              } else {
+                return transactionRepo
+                    .findBySep10AccountAndSep10AccountMemoAndRequestAssetCodeOrderByStartedAtDesc(
+                        accountId, accountMemo, request.getAssetCode());
+              }
+            });
 
     int limit = Integer.MAX_VALUE;
     if (request.getLimit() != null && request.getLimit() > 0) {
@@ -114,12 +155,18 @@ public class JdbcSep6TransactionStore implements Sep6TransactionStore {
     JdbcSep6Transaction txn = (JdbcSep6Transaction) transaction;
     txn.setUpdatedAt(Instant.now());
 
-    return transactionRepo.save(txn);
+    JdbcSep6Transaction saved = transactionRepo.save(txn);
+    if (transactionIds != null) {
+      transactionIds.register(txn.getId(), TransactionIdRegistry.SEP_6);
+    }
+    return saved;
   }
 
   @Override
   public List<? extends Sep6Transaction> findTransactions(TransactionsParams params) {
-    return transactionRepo.findAllTransactions(params, JdbcSep6Transaction.class);
+    return replicaReads.readWithinMaxLag(
+        transactionRepo::findLatestUpdate,
+        () -> transactionRepo.findAllTransactions(params, JdbcSep6Transaction.class));
   }
 
   @Override
@@ -0,0 +1,34 @@
+package org.stellar.anchor.platform.data;
+
+import static org.stellar.anchor.platform.data.TransactionIdRegistry.SEP_24;
+import static org.stellar.anchor.platform.data.TransactionIdRegistry.SEP_31;
+import static org.stellar.anchor.platform.data.TransactionIdRegistry.SEP_6;
+
+import java.util.List;
+import javax.persistence.EntityManager;
+
+/**
+ * Resolves the protocol of a transaction id with one query of the primary key indexes of the SEP-6,
+ * SEP-24 and SEP-31 transaction tables.
+ */
+public class JdbcTransactionIdResolver implements TransactionIdRegistry.Resolver {
+  static final String QUERY =
+      String.format(
+          "SELECT '%s' FROM sep6_transaction WHERE id = :id"
+              + " UNION ALL SELECT '%s' FROM sep24_transaction WHERE id = :id"
+              + " UNION ALL SELECT '%s' FROM sep31_transaction WHERE id = :id",
+          SEP_6, SEP_24, SEP_31);
+
+  private final EntityManager em;
+
+  public JdbcTransactionIdResolver(EntityManager em) {
+    this.em = em;
+  }
+
+  @Override
+  public String resolve(String txnId) {
+    List<?> protocols = em.createNativeQuery(QUERY).setParameter("id", txnId).getResultList();
+    // Some databases return a single character literal as a Character
+    return protocols.isEmpty() ? null : String.valueOf(protocols.get(0));
+  }
+}
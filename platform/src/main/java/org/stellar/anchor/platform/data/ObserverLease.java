@@ -0,0 +1,29 @@
+package org.stellar.anchor.platform.data;
+
+import java.time.Instant;
+import javax.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** The lease of a payment observer shard. Only the owner of the lease observes the shard. */
+@Getter
+@Setter
+@Entity
+@Access(AccessType.FIELD)
+@NoArgsConstructor
+@Table(name = "observer_lease")
+public class ObserverLease {
+  public ObserverLease(String id, String owner, Instant expiresAt) {
+    this.id = id;
+    this.owner = owner;
+    this.expiresAt = expiresAt;
+  }
+
+  @Id String id;
+
+  String owner;
+
+  @Column(name = "expires_at")
+  Instant expiresAt;
+}
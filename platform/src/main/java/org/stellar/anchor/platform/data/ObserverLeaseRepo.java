@@ -0,0 +1,62 @@
+package org.stellar.anchor.platform.data;
+
+import java.time.Instant;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface ObserverLeaseRepo extends CrudRepository<ObserverLease, String> {
+  /**
+   * Creates a lease without an owner. Unlike save, the insert fails if another instance created
+   * the lease in the meantime instead of overwriting its owner.
+   *
+   * @param id the id of the lease.
+   * @param expiresAt the expiry of the lease.
+   */
+  @Transactional
+  @Modifying
+  @Query(
+      value = "INSERT INTO observer_lease (id, expires_at) VALUES (:id, :expiresAt)",
+      nativeQuery = true)
+  void insert(@Param("id") String id, @Param("expiresAt") Instant expiresAt);
+
+  /**
+   * Takes or renews the lease if it is owned by the owner or if it has expired. The lease is
+   * updated in a single statement, so only one of the owners racing for an expired lease gets it.
+   *
+   * @param id the id of the lease.
+   * @param owner the new owner.
+   * @param now the current time.
+   * @param expiresAt the new expiry of the lease.
+   * @return 1 if the lease was taken or renewed, 0 otherwise.
+   */
+  @Transactional
+  @Modifying
+  @Query(
+      value =
+          "UPDATE ObserverLease l SET l.owner = :owner, l.expiresAt = :expiresAt"
+              + " WHERE l.id = :id AND (l.owner = :owner OR l.expiresAt < :now)")
+  int acquire(
+      @Param("id") String id,
+      @Param("owner") String owner,
+      @Param("now") Instant now,
+      @Param("expiresAt") Instant expiresAt);
+
+  /**
+   * Releases the lease if it is owned by the owner, so that another instance can take it without
+   * waiting for the expiry.
+   *
+   * @param id the id of the lease.
+   * @param owner the owner.
+   * @param now the current time.
+   * @return 1 if the lease was released, 0 otherwise.
+   */
+  @Transactional
+  @Modifying
+  @Query(
+      value =
+          "UPDATE ObserverLease l SET l.expiresAt = :now WHERE l.id = :id AND l.owner = :owner")
+  int release(@Param("id") String id, @Param("owner") String owner, @Param("now") Instant now);
+}
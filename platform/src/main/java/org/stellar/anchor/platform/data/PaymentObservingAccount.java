@@ -7,6 +7,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.hibernate.annotations.TypeDef;
+import org.springframework.data.domain.Persistable;
 
 @Getter
 @Setter
@@ -15,7 +16,7 @@ import org.hibernate.annotations.TypeDef;
 @NoArgsConstructor
 @Table(name = "stellar_payment_observing_account")
 @TypeDef(name = "json", typeClass = JsonType.class)
-public class PaymentObservingAccount {
+public class PaymentObservingAccount implements Persistable<String> {
   public PaymentObservingAccount(String account, Instant lastObserved) {
     this.account = account;
     this.lastObserved = lastObserved;
@@ -27,4 +28,23 @@ public class PaymentObservingAccount {
 
   @Column(name = "last_observed")
   Instant lastObserved;
+
+  // Set on an account known to be absent so that it is inserted without first being looked up
+  @Transient boolean newAccount;
+
+  @Override
+  public String getId() {
+    return account;
+  }
+
+  @Override
+  public boolean isNew() {
+    return newAccount;
+  }
+
+  @PostLoad
+  @PostPersist
+  void markNotNew() {
+    newAccount = false;
+  }
 }
@@ -1,8 +1,12 @@
 package org.stellar.anchor.platform.data;
 
+import java.time.Instant;
+import java.util.List;
 import org.springframework.data.repository.CrudRepository;
 
 public interface PaymentObservingAccountRepo
     extends CrudRepository<PaymentObservingAccount, String> {
   PaymentObservingAccount findByAccount(String account);
+
+  List<PaymentObservingAccount> findByLastObservedGreaterThanEqual(Instant lastObserved);
 }
@@ -11,6 +11,39 @@ import lombok.Data;
 public class PaymentStreamerCursor {
   public static final String SINGLETON_ID = "SINGLETON_ID";
 
+  /**
+   * Gets the id of the cursor of an observer shard. The cursor of the only shard is the singleton
+   * cursor, so switching between one observer and one active observer keeps the cursor.
+   *
+   * @param shard the index of the shard.
+   * @param shardCount the number of shards.
+   * @return the id of the cursor.
+   */
+  public static String shardId(int shard, int shardCount) {
+    return shardCount == 1 ? SINGLETON_ID : "SHARD_" + shard + "_OF_" + shardCount;
+  }
+
+  /**
+   * Gets the shard count of the observers that saved the cursor.
+   *
+   * @param id the id of the cursor.
+   * @return the shard count, or 0 if the id is not the id of a shard cursor.
+   */
+  public static int shardCount(String id) {
+    if (SINGLETON_ID.equals(id)) {
+      return 1;
+    }
+    int of = id.indexOf("_OF_");
+    if (!id.startsWith("SHARD_") || of < 0) {
+      return 0;
+    }
+    try {
+      return Integer.parseInt(id.substring(of + "_OF_".length()));
+    } catch (NumberFormatException ex) {
+      return 0;
+    }
+  }
+
   @Id
   @SerializedName("id")
   String id = SINGLETON_ID;
@@ -0,0 +1,121 @@
+package org.stellar.anchor.platform.data;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.stellar.anchor.api.exception.AnchorException;
+
+/**
+ * Remembers which SEP protocol a transaction id belongs to. The protocol of a transaction never
+ * changes, so once it is known, the lookups of the id only query the table of its protocol instead
+ * of probing the SEP-6, SEP-24 and SEP-31 tables in series.
+ *
+ * <p>The protocol of an id is registered when the transaction is saved by this instance. The ids
+ * created by another instance, such as the SEP server for the platform server, are resolved with a
+ * single query of the id indexes of the three tables on their first lookup. The tables are only
+ * probed after the query when the archived transactions are looked up, since the query does not
+ * cover the archive tables.
+ */
+public class TransactionIdRegistry {
+  public static final String SEP_6 = "6";
+  public static final String SEP_24 = "24";
+  public static final String SEP_31 = "31";
+  static final int MAX_ENTRIES = 50000;
+
+  final Map<String, String> protocols =
+      Collections.synchronizedMap(
+          new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+              return size() > MAX_ENTRIES;
+            }
+          });
+  private final Resolver resolver;
+  private final boolean archiveLookup;
+
+  public TransactionIdRegistry() {
+    this(null, false);
+  }
+
+  /**
+   * @param resolver resolves the protocol of the ids that are not registered. If null, the
+   *     protocols are probed.
+   * @param archiveLookup if true, the protocols are also probed when the resolver does not find
+   *     the id, so that the lookups can find the archived transactions.
+   */
+  public TransactionIdRegistry(Resolver resolver, boolean archiveLookup) {
+    this.resolver = resolver;
+    this.archiveLookup = archiveLookup;
+  }
+
+  /**
+   * Registers the protocol of a transaction id.
+   *
+   * @param txnId the transaction id.
+   * @param protocol the protocol of the transaction.
+   */
+  public void register(String txnId, String protocol) {
+    if (txnId != null) {
+      protocols.put(txnId, protocol);
+    }
+  }
+
+  /**
+   * Finds the transaction by id. If the protocol of the id is registered or can be resolved, only
+   * the table of that protocol is queried. Otherwise, if there is no resolver or the archived
+   * transactions are looked up, the protocols are probed in the given order and the protocol of the
+   * transaction found is remembered.
+   *
+   * @param txnId the transaction id.
+   * @param probeOrder the protocols to probe when the protocol of the id is not known.
+   * @param lookup finds the transaction of a protocol by id.
+   * @return the transaction or null if it is not found.
+   * @throws AnchorException if the lookup fails.
+   */
+  public JdbcSepTransaction find(String txnId, List<String> probeOrder, Lookup lookup)
+      throws AnchorException {
+    String known = protocols.get(txnId);
+    if (known == null && resolver != null) {
+      known = resolver.resolve(txnId);
+    }
+    if (known != null) {
+      JdbcSepTransaction txn = lookup.find(known, txnId);
+      if (txn != null) {
+        protocols.put(txnId, known);
+        return txn;
+      }
+      protocols.remove(txnId);
+    }
+    if (resolver != null && !archiveLookup) {
+      return null;
+    }
+
+    // The transaction may only be found by the lookups, for example in the archive tables
+    for (String protocol : probeOrder) {
+      if (protocol.equals(known)) continue;
+      JdbcSepTransaction txn = lookup.find(protocol, txnId);
+      if (txn != null) {
+        protocols.put(txnId, protocol);
+        return txn;
+      }
+    }
+    return null;
+  }
+
+  @FunctionalInterface
+  public interface Lookup {
+    JdbcSepTransaction find(String protocol, String txnId) throws AnchorException;
+  }
+
+  @FunctionalInterface
+  public interface Resolver {
+    /**
+     * Resolves the protocol of a transaction id.
+     *
+     * @param txnId the transaction id.
+     * @return the protocol, or null if no transaction has the id.
+     */
+    String resolve(String txnId);
+  }
+}
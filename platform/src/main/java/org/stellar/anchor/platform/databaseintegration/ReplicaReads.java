@@ -0,0 +1,132 @@
+package org.stellar.anchor.platform.databaseintegration;
+
+import static org.stellar.anchor.util.Log.debugF;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Supplier;
+import javax.persistence.EntityManagerFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Routes the reads of the query endpoints to the read replica. A replica read runs in a read-only
+ * database transaction named {@link #REPLICA_TRANSACTION}, and the connections of that transaction
+ * are taken from the replica. The other transactions, including the read-only transactions of the
+ * repositories, use the primary.
+ *
+ * <p>The replica is only read if it has replicated the latest update of the read rows. The latest
+ * <code>updated_at</code> of the rows is queried on the primary and then on the replica, so the
+ * updates of every instance are taken into account. Otherwise, the rows are read from the primary.
+ *
+ * <p>A read inside a database transaction or inside a request with an open entity manager uses
+ * the connection that is already bound, which is a connection to the primary.
+ */
+public class ReplicaReads {
+  public static final String REPLICA_TRANSACTION = "replica-read";
+
+  /** The reads when there is no replica. All the reads are sent to the primary. */
+  public static final ReplicaReads DISABLED = new ReplicaReads(null, null, null);
+
+  final EntityManagerFactory entityManagerFactory;
+  final TransactionTemplate replicaTransaction;
+  final Duration maxLag;
+
+  /**
+   * Creates the replica reads.
+   *
+   * @param transactionManager the transaction manager of the routing data source.
+   * @param entityManagerFactory the factory of the entity managers bound to the transactions.
+   * @param maxLag the replication lag tolerated by the reads that are not of an account.
+   */
+  public ReplicaReads(
+      PlatformTransactionManager transactionManager,
+      EntityManagerFactory entityManagerFactory,
+      Duration maxLag) {
+    this.entityManagerFactory = entityManagerFactory;
+    this.maxLag = maxLag;
+    if (transactionManager == null) {
+      this.replicaTransaction = null;
+    } else {
+      this.replicaTransaction = new TransactionTemplate(transactionManager);
+      this.replicaTransaction.setReadOnly(true);
+      this.replicaTransaction.setName(REPLICA_TRANSACTION);
+    }
+  }
+
+  /**
+   * Reads from the replica if it has replicated the latest update of the read rows, for example
+   * the transactions of an account, so that a client reads its own writes.
+   *
+   * @param latestUpdate the query of the latest <code>updated_at</code> of the read rows.
+   * @param read the read.
+   * @return the result of the read.
+   * @param <T> the type of the result.
+   */
+  public <T> T read(Supplier<Instant> latestUpdate, Supplier<T> read) {
+    return read(latestUpdate, Duration.ZERO, read);
+  }
+
+  /**
+   * Reads from the replica if it lags the latest update of the read rows by less than the max
+   * lag, for example a page of all the transactions.
+   *
+   * @param latestUpdate the query of the latest <code>updated_at</code> of the read rows.
+   * @param read the read.
+   * @return the result of the read.
+   * @param <T> the type of the result.
+   */
+  public <T> T readWithinMaxLag(Supplier<Instant> latestUpdate, Supplier<T> read) {
+    return read(latestUpdate, maxLag, read);
+  }
+
+  <T> T read(Supplier<Instant> latestUpdate, Duration tolerance, Supplier<T> read) {
+    if (replicaTransaction == null
+        || TransactionSynchronizationManager.hasResource(entityManagerFactory)) {
+      return read.get();
+    }
+
+    Instant primaryUpdate = latestUpdate.get();
+    Replicated<T> replicated =
+        replicaTransaction.execute(
+            status -> {
+              Instant replicaUpdate = latestUpdate.get();
+              if (!isReplicated(primaryUpdate, replicaUpdate, tolerance)) {
+                return null;
+              }
+              return new Replicated<>(read.get());
+            });
+    if (replicated != null) {
+      return replicated.result;
+    }
+    debugF("The replica lags the update at {}. Read from the primary.", primaryUpdate);
+    return read.get();
+  }
+
+  static boolean isReplicated(Instant primaryUpdate, Instant replicaUpdate, Duration tolerance) {
+    if (primaryUpdate == null) {
+      return true;
+    }
+    return replicaUpdate != null && !replicaUpdate.plus(tolerance).isBefore(primaryUpdate);
+  }
+
+  /**
+   * Checks if the connections of the current thread are to be taken from the replica.
+   *
+   * @return true if the current thread is in a replica read.
+   */
+  public static boolean isReplicaRead() {
+    String name = TransactionSynchronizationManager.getCurrentTransactionName();
+    return TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+        && REPLICA_TRANSACTION.equals(name);
+  }
+
+  static class Replicated<T> {
+    final T result;
+
+    Replicated(T result) {
+      this.result = result;
+    }
+  }
+}
@@ -0,0 +1,33 @@
+package org.stellar.anchor.platform.databaseintegration;
+
+import java.util.HashMap;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Takes the connections of the replica read transactions from the replica and the others from the
+ * primary. It must be wrapped in a LazyConnectionDataSourceProxy, because the transaction manager
+ * takes the connection of a transaction before the transaction is marked read-only and named. The
+ * proxy takes the connection when the first statement runs.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+  public enum Target {
+    PRIMARY,
+    REPLICA
+  }
+
+  public ReplicaRoutingDataSource(DataSource primary, DataSource replica) {
+    Map<Object, Object> targets = new HashMap<>();
+    targets.put(Target.PRIMARY, primary);
+    targets.put(Target.REPLICA, replica);
+    setTargetDataSources(targets);
+    setDefaultTargetDataSource(primary);
+    afterPropertiesSet();
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    return ReplicaReads.isReplicaRead() ? Target.REPLICA : Target.PRIMARY;
+  }
+}
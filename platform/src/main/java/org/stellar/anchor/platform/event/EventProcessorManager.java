@@ -71,13 +71,14 @@ public class EventProcessorManager {
   @SneakyThrows
   public void start() {
     if (eventProcessorConfig.getCallbackApiRequest().isEnabled()) {
-      // Create a processor for the callback API handler
-      processors.add(
-          new CallbackApiEventProcessor(
-              CALLBACK_API_EVENT_PROCESSOR_NAME,
-              EventQueue.TRANSACTION,
-              eventService,
-              new CallbackApiEventHandler(callbackApiConfig)));
+      // Create the processors for the callback API handler. The processors with the same name
+      // share the partitions of the queue.
+      CallbackApiEventHandler handler = new CallbackApiEventHandler(callbackApiConfig);
+      for (int i = 0; i < eventProcessorConfig.getCallbackApiRequest().getConsumers(); i++) {
+        processors.add(
+            new CallbackApiEventProcessor(
+                CALLBACK_API_EVENT_PROCESSOR_NAME, EventQueue.TRANSACTION, eventService, handler));
+      }
     }
     // Create a processor of the client status callback handler for each client defined in the
     // clientsConfig
@@ -105,18 +106,19 @@ public class EventProcessorManager {
             throw new InternalServerErrorException(
                 "Unknown client type: " + clientConfig.getType());
         }
-        processors.add(
-            new ClientStatusCallbackProcessor(
-                processorName,
-                EventQueue.TRANSACTION,
-                eventService,
-                new ClientStatusCallbackHandler(
-                    secretConfig,
-                    clientConfig,
-                    sep6TransactionStore,
-                    assetService,
-                    sep6MoreInfoUrlConstructor,
-                    sep24MoreInfoUrlConstructor)));
+        ClientStatusCallbackHandler handler =
+            new ClientStatusCallbackHandler(
+                secretConfig,
+                clientConfig,
+                sep6TransactionStore,
+                assetService,
+                sep6MoreInfoUrlConstructor,
+                sep24MoreInfoUrlConstructor);
+        for (int i = 0; i < eventProcessorConfig.getClientStatusCallback().getConsumers(); i++) {
+          processors.add(
+              new ClientStatusCallbackProcessor(
+                  processorName, EventQueue.TRANSACTION, eventService, handler));
+        }
       }
     }
 
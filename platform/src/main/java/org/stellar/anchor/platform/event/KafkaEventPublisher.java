@@ -31,6 +31,7 @@ public class KafkaEventPublisher implements EventPublisher {
     props.put(RETRIES_CONFIG, kafkaConfig.getRetries());
     props.put(LINGER_MS_CONFIG, kafkaConfig.getLingerMs());
     props.put(BATCH_SIZE_CONFIG, kafkaConfig.getBatchSize());
+    KafkaSession.configureDelivery(props, kafkaConfig);
     // reconnect back-off is 1 second
     props.put(RECONNECT_BACKOFF_MS_CONFIG, "1000");
     // maximum reconnect back-off is 10 seconds
@@ -54,7 +55,8 @@ public class KafkaEventPublisher implements EventPublisher {
   @Override
   public void publish(String queue, AnchorEvent event) {
     try {
-      ProducerRecord<String, AnchorEvent> record = new ProducerRecord<>(queue, event);
+      ProducerRecord<String, AnchorEvent> record =
+          new ProducerRecord<>(queue, KafkaSession.partitionKey(event), event);
       record.headers().add(new RecordHeader("type", event.getType().type.getBytes()));
       // If the queue is offline, throw an exception
       try {
@@ -3,6 +3,7 @@ package org.stellar.anchor.platform.event;
 import static org.apache.kafka.clients.CommonClientConfigs.SECURITY_PROTOCOL_CONFIG;
 import static org.apache.kafka.clients.producer.ProducerConfig.*;
 import static org.apache.kafka.common.config.SaslConfigs.SASL_MECHANISM;
+import static java.util.stream.Collectors.toList;
 import static org.stellar.anchor.util.StringHelper.isEmpty;
 
 import io.micrometer.core.instrument.Metrics;
@@ -10,11 +11,15 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.Future;
 import lombok.AllArgsConstructor;
 import org.apache.kafka.clients.consumer.*;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.header.internals.RecordHeader;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
@@ -23,6 +28,7 @@ import org.stellar.anchor.api.event.AnchorEvent;
 import org.stellar.anchor.api.exception.AnchorException;
 import org.stellar.anchor.api.exception.EventPublishException;
 import org.stellar.anchor.api.exception.InvalidConfigException;
+import org.stellar.anchor.api.exception.ServerErrorException;
 import org.stellar.anchor.event.EventService;
 import org.stellar.anchor.event.EventService.EventQueue;
 import org.stellar.anchor.platform.config.KafkaConfig;
@@ -38,11 +44,28 @@ public class KafkaSession implements EventService.Session {
   final String topic;
   Producer<String, String> producer = null;
   Consumer<String, String> consumer = null;
+  final boolean readFromLatest;
 
   KafkaSession(KafkaConfig kafkaConfig, String sessionName, EventQueue queue) {
+    this(kafkaConfig, sessionName, queue, false);
+  }
+
+  /**
+   * Creates the session of the queue.
+   *
+   * @param kafkaConfig the Kafka configuration.
+   * @param sessionName the name of the session. The consumer group of the session is named after
+   *     it.
+   * @param queue the queue.
+   * @param readFromLatest if true, the events published after the first read are read from all the
+   *     partitions without a consumer group, and no offset is committed.
+   */
+  KafkaSession(
+      KafkaConfig kafkaConfig, String sessionName, EventQueue queue, boolean readFromLatest) {
     this.kafkaConfig = kafkaConfig;
     this.sessionName = sessionName;
     this.topic = queue.name();
+    this.readFromLatest = readFromLatest;
   }
 
   @Override
@@ -51,9 +74,7 @@ public class KafkaSession implements EventService.Session {
       if (producer == null) {
         producer = createProducer();
       }
-      String serialized = GsonUtils.getInstance().toJson(event);
-      ProducerRecord<String, String> record = new ProducerRecord<>(topic, serialized);
-      record.headers().add(new RecordHeader("type", event.getType().type.getBytes()));
+      ProducerRecord<String, String> record = toRecord(event);
       // If the queue is offline, throw an exception
       try {
         producer.send(record).get();
@@ -62,24 +83,102 @@ public class KafkaSession implements EventService.Session {
       }
 
       // publish the event to the metrics
-      Metrics.counter(
-              "event.published",
-              "class",
-              event.getClass().getSimpleName(),
-              "type",
-              event.getType().type)
-          .increment();
+      countPublished(event);
 
     } catch (Exception ex) {
       Log.errorEx(ex);
     }
   }
 
+  @Override
+  public void publishAll(List<AnchorEvent> events) throws AnchorException {
+    try {
+      if (producer == null) {
+        producer = createProducer();
+      }
+      // Send all the records before waiting so that the producer sends them in batches
+      List<Future<RecordMetadata>> futures = new ArrayList<>(events.size());
+      for (AnchorEvent event : events) {
+        futures.add(producer.send(toRecord(event)));
+      }
+      for (int i = 0; i < futures.size(); i++) {
+        try {
+          futures.get(i).get();
+        } catch (Exception ex) {
+          throw new EventPublishException("Failed to publish event to Kafka.", ex);
+        }
+        countPublished(events.get(i));
+      }
+    } catch (Exception ex) {
+      Log.errorEx(ex);
+    }
+  }
+
+  private ProducerRecord<String, String> toRecord(AnchorEvent event) {
+    String serialized = GsonUtils.getInstance().toJson(event);
+    // The events of a transaction go to the same partition so that they are consumed in order
+    ProducerRecord<String, String> record =
+        new ProducerRecord<>(topic, partitionKey(event), serialized);
+    record.headers().add(new RecordHeader("type", event.getType().type.getBytes()));
+    return record;
+  }
+
+  /**
+   * Gets the key of the record of the event. The events of the same transaction, customer or quote
+   * have the same key.
+   *
+   * @param event the event.
+   * @return the key or null if the event has no transaction, customer or quote.
+   */
+  static String partitionKey(AnchorEvent event) {
+    if (event.getTransaction() != null && event.getTransaction().getId() != null) {
+      return event.getTransaction().getId();
+    }
+    if (event.getCustomer() != null && event.getCustomer().getId() != null) {
+      return event.getCustomer().getId();
+    }
+    if (event.getQuote() != null && event.getQuote().getId() != null) {
+      return event.getQuote().getId();
+    }
+    return null;
+  }
+
+  /**
+   * Sets the delivery properties of a producer.
+   *
+   * @param props the properties of the producer.
+   * @param kafkaConfig the Kafka configuration.
+   */
+  static void configureDelivery(Properties props, KafkaConfig kafkaConfig) {
+    props.put(ENABLE_IDEMPOTENCE_CONFIG, kafkaConfig.isEnableIdempotence());
+    if (kafkaConfig.isEnableIdempotence()) {
+      // Idempotence requires the acknowledgement of all the in-sync replicas
+      props.put(ACKS_CONFIG, "all");
+    }
+    if (!isEmpty(kafkaConfig.getCompressionType())) {
+      props.put(COMPRESSION_TYPE_CONFIG, kafkaConfig.getCompressionType());
+    }
+  }
+
+  private void countPublished(AnchorEvent event) {
+    Metrics.counter(
+            "event.published",
+            "class",
+            event.getClass().getSimpleName(),
+            "type",
+            event.getType().type)
+        .increment();
+  }
+
   @Override
   public EventService.ReadResponse read() throws AnchorException {
     if (consumer == null) {
       consumer = createConsumer();
-      consumer.subscribe(java.util.Collections.singletonList(topic));
+      if (readFromLatest) {
+        assignLatest();
+      } else {
+        consumer.subscribe(java.util.Collections.singletonList(topic));
+      }
     }
 
     ConsumerRecords<String, String> consumerRecords =
@@ -99,6 +198,20 @@ public class KafkaSession implements EventService.Session {
     return new KafkaReadResponse(events);
   }
 
+  private void assignLatest() throws AnchorException {
+    List<PartitionInfo> partitions = consumer.partitionsFor(topic);
+    if (partitions == null || partitions.isEmpty()) {
+      consumer.close();
+      consumer = null;
+      throw new ServerErrorException("The Kafka topic " + topic + " has no partitions");
+    }
+    // The partitions added to the topic later are read by the next session
+    List<TopicPartition> assigned =
+        partitions.stream().map(p -> new TopicPartition(topic, p.partition())).collect(toList());
+    consumer.assign(assigned);
+    consumer.seekToEnd(assigned);
+  }
+
   @AllArgsConstructor
   public class KafkaReadResponse implements EventService.ReadResponse {
     private final List<AnchorEvent> events;
@@ -111,7 +224,8 @@ public class KafkaSession implements EventService.Session {
 
   @Override
   public void ack(EventService.ReadResponse readResponse) throws AnchorException {
-    if (consumer != null) {
+    // The session without a consumer group has no offset to commit
+    if (consumer != null && !readFromLatest) {
       consumer.commitSync();
     }
   }
@@ -144,6 +258,7 @@ public class KafkaSession implements EventService.Session {
     props.put(RETRIES_CONFIG, kafkaConfig.getRetries());
     props.put(LINGER_MS_CONFIG, kafkaConfig.getLingerMs());
     props.put(BATCH_SIZE_CONFIG, kafkaConfig.getBatchSize());
+    configureDelivery(props, kafkaConfig);
     // reconnect back-off is 1 second
     props.put(RECONNECT_BACKOFF_MS_CONFIG, "1000");
     // maximum reconnect back-off is 10 seconds
@@ -160,8 +275,10 @@ public class KafkaSession implements EventService.Session {
     if (!isEmpty(kafkaConfig.getClientId())) {
       props.put(ConsumerConfig.CLIENT_ID_CONFIG, kafkaConfig.getClientId());
     }
-    props.put(ConsumerConfig.GROUP_ID_CONFIG, "group-" + sessionName);
-    props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+    if (!readFromLatest) {
+      props.put(ConsumerConfig.GROUP_ID_CONFIG, "group-" + sessionName);
+      props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+    }
     props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
     props.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
     props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
@@ -20,6 +20,7 @@ public class MskEventPublisher extends KafkaEventPublisher {
     props.put(RETRIES_CONFIG, mskConfig.getRetries());
     props.put(LINGER_MS_CONFIG, mskConfig.getLingerMs());
     props.put(BATCH_SIZE_CONFIG, mskConfig.getBatchSize());
+    KafkaSession.configureDelivery(props, mskConfig);
 
     if (mskConfig.isUseIAM()) {
       props.put("security.protocol", "SASL_SSL");
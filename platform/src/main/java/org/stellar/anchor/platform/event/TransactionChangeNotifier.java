@@ -0,0 +1,176 @@
+package org.stellar.anchor.platform.event;
+
+import static org.stellar.anchor.util.Log.infoF;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.stellar.anchor.api.event.AnchorEvent;
+import org.stellar.anchor.config.event.QueueConfig;
+import org.stellar.anchor.event.EventService;
+import org.stellar.anchor.platform.config.PropertyEventConfig;
+import org.stellar.anchor.platform.utils.DaemonExecutors;
+import org.stellar.anchor.util.Log;
+
+/**
+ * Notifies the listeners of a transaction when the transaction may have changed. The SEP endpoints
+ * that wait for the changes of a transaction subscribe to it instead of looking it up repeatedly.
+ *
+ * <p>When the events are published to Kafka, the events of the TRANSACTION queue are read from
+ * all the partitions without a consumer group, so that the changes made by the servers in every
+ * process are notified and the instance leaves no consumer group behind. Otherwise, the listeners
+ * of all the transactions are notified every poll interval.
+ */
+public class TransactionChangeNotifier {
+  static final int LISTENER_THREADS = 4;
+  static final Duration POLL_INTERVAL = Duration.ofSeconds(5);
+  static final Duration READ_RETRY_DELAY = Duration.ofSeconds(2);
+
+  private final PropertyEventConfig eventConfig;
+  private final String sessionName = "transaction-change-notifier-" + UUID.randomUUID();
+  private final Map<String, Set<Runnable>> listeners = new ConcurrentHashMap<>();
+  // The listeners look up the transactions, so they are called off the thread reading the events
+  private final ExecutorService listenerExecutor =
+      DaemonExecutors.newFixedThreadPool(LISTENER_THREADS);
+  private final ScheduledExecutorService feedScheduler = DaemonExecutors.newScheduledThreadPool(1);
+  private volatile boolean stopped = false;
+
+  public TransactionChangeNotifier(PropertyEventConfig eventConfig) {
+    this.eventConfig = eventConfig;
+  }
+
+  public void start() {
+    if (isKafkaEnabled()) {
+      infoF("Reading the transaction changes from Kafka as {}", sessionName);
+      feedScheduler.scheduleWithFixedDelay(
+          this::readEvents, 0, READ_RETRY_DELAY.toMillis(), TimeUnit.MILLISECONDS);
+    } else {
+      feedScheduler.scheduleWithFixedDelay(
+          this::notifyAllTransactions,
+          POLL_INTERVAL.toMillis(),
+          POLL_INTERVAL.toMillis(),
+          TimeUnit.MILLISECONDS);
+    }
+  }
+
+  public void stop() {
+    stopped = true;
+    feedScheduler.shutdownNow();
+    listenerExecutor.shutdownNow();
+  }
+
+  /**
+   * Adds a listener of the changes of the transaction. The listener is also called once after it is
+   * added, because the transaction may have changed before.
+   *
+   * @param transactionId the id of the transaction.
+   * @param listener the listener. It is called by the threads of the notifier.
+   */
+  public void subscribe(String transactionId, Runnable listener) {
+    listeners.compute(
+        transactionId,
+        (id, set) -> {
+          Set<Runnable> updated = set != null ? set : ConcurrentHashMap.newKeySet();
+          updated.add(listener);
+          return updated;
+        });
+    execute(listener);
+  }
+
+  /**
+   * Removes a listener of the changes of the transaction.
+   *
+   * @param transactionId the id of the transaction.
+   * @param listener the listener.
+   */
+  public void unsubscribe(String transactionId, Runnable listener) {
+    listeners.computeIfPresent(
+        transactionId,
+        (id, set) -> {
+          set.remove(listener);
+          return set.isEmpty() ? null : set;
+        });
+  }
+
+  /**
+   * Notifies the listeners of the transaction of the event.
+   *
+   * @param event the published event.
+   */
+  public void published(AnchorEvent event) {
+    if (event.getTransaction() == null || event.getTransaction().getId() == null) {
+      return;
+    }
+    notifyListeners(event.getTransaction().getId());
+  }
+
+  void notifyListeners(String transactionId) {
+    Set<Runnable> set = listeners.get(transactionId);
+    if (set == null) {
+      return;
+    }
+    set.forEach(this::execute);
+  }
+
+  void notifyAllTransactions() {
+    listeners.keySet().forEach(this::notifyListeners);
+  }
+
+  void readEvents() {
+    KafkaSession session =
+        new KafkaSession(
+            eventConfig.getQueue().getKafka(),
+            sessionName,
+            EventService.EventQueue.TRANSACTION,
+            // Only the changes made while the session reads are of interest
+            true);
+    try {
+      while (!stopped && !Thread.currentThread().isInterrupted()) {
+        List<AnchorEvent> events = session.read().getEvents();
+        events.forEach(this::published);
+      }
+    } catch (Exception ex) {
+      // The reading is restarted after the retry delay
+      Log.errorEx("Failed to read the transaction changes", ex);
+    } finally {
+      try {
+        session.close();
+      } catch (Exception ex) {
+        Log.errorEx(ex);
+      }
+    }
+  }
+
+  private void execute(Runnable listener) {
+    try {
+      listenerExecutor.execute(
+          () -> {
+            try {
+              listener.run();
+            } catch (RuntimeException ex) {
+              Log.errorEx("Failed to notify the change of the transaction", ex);
+            }
+          });
+    } catch (RejectedExecutionException ex) {
+      Log.debug("The notifier is stopped");
+    }
+  }
+
+  private boolean isKafkaEnabled() {
+    return eventConfig.isEnabled()
+        && eventConfig.getQueue() != null
+        && eventConfig.getQueue().getType() == QueueConfig.QueueType.KAFKA;
+  }
+
+  int listenerCount(String transactionId) {
+    Set<Runnable> set = listeners.get(transactionId);
+    return set != null ? set.size() : 0;
+  }
+}
@@ -1,17 +1,28 @@
 package org.stellar.anchor.platform.fireblocks.job;
 
+import static org.stellar.anchor.platform.service.AnchorMetrics.FIREBLOCKS_RECONCILIATION;
 import static org.stellar.anchor.util.Log.debug;
 import static org.stellar.anchor.util.Log.debugF;
 import static org.stellar.anchor.util.Log.errorEx;
 import static org.stellar.anchor.util.Log.info;
 
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import java.io.IOException;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.HttpStatus;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.stellar.anchor.api.custody.fireblocks.TransactionDetails;
 import org.stellar.anchor.api.exception.AnchorException;
@@ -23,13 +34,19 @@ import org.stellar.anchor.platform.custody.CustodyTransactionService;
 import org.stellar.anchor.platform.custody.fireblocks.FireblocksEventService;
 import org.stellar.anchor.platform.data.CustodyTransactionStatus;
 import org.stellar.anchor.platform.data.JdbcCustodyTransaction;
+import org.stellar.anchor.platform.utils.DaemonExecutors;
+import org.stellar.anchor.platform.utils.TokenBucket;
 
 public class FireblocksTransactionsReconciliationJob {
+  private static final Duration RATE_LIMITED_PAUSE = Duration.ofSeconds(1);
 
   private final FireblocksConfig fireblocksConfig;
   private final CustodyPaymentService<TransactionDetails> custodyPaymentService;
   private final FireblocksEventService fireblocksEventService;
   private final CustodyTransactionService custodyTransactionService;
+  private final ExecutorService executor;
+  private final TokenBucket rateLimiter;
+  private final Timer reconciliationTimer = Metrics.timer(FIREBLOCKS_RECONCILIATION.toString());
 
   public FireblocksTransactionsReconciliationJob(
       FireblocksConfig fireblocksConfig,
@@ -40,95 +57,201 @@ public class FireblocksTransactionsReconciliationJob {
     this.custodyPaymentService = custodyPaymentService;
     this.fireblocksEventService = fireblocksEventService;
     this.custodyTransactionService = custodyTransactionService;
+
+    FireblocksConfig.Reconciliation reconciliation = fireblocksConfig.getReconciliation();
+    this.executor =
+        reconciliation.getConcurrency() > 1
+            ? DaemonExecutors.newFixedThreadPool(reconciliation.getConcurrency())
+            : null;
+    this.rateLimiter =
+        reconciliation.getRateLimit() > 0 ? new TokenBucket(reconciliation.getRateLimit()) : null;
   }
 
   @Scheduled(cron = "${custody.fireblocks.reconciliation.cron_expression}")
   public void reconcileTransactions() {
     info("Fireblocks Transaction Reconciliation job started");
+    long start = System.nanoTime();
+
+    try {
+      List<JdbcCustodyTransaction> outboundTransactions =
+          custodyTransactionService.getOutboundTransactionsEligibleForReconciliation();
+      List<JdbcCustodyTransaction> inboundTransactions =
+          custodyTransactionService.getInboundTransactionsEligibleForReconciliation();
+
+      // A single scan of the Fireblocks transactions created since the oldest transaction
+      List<TransactionDetails> fireblocksTransactions =
+          getFireblocksTransactions(outboundTransactions, inboundTransactions);
+
+      Map<String, TransactionDetails> transactionsById = new HashMap<>();
+      Map<String, TransactionDetails> transactionsByDestination = new HashMap<>();
+      for (TransactionDetails fireblocksTxn : fireblocksTransactions) {
+        if (fireblocksTxn.getId() != null) {
+          transactionsById.putIfAbsent(fireblocksTxn.getId(), fireblocksTxn);
+        }
+        if (!StringUtils.isEmpty(fireblocksTxn.getDestinationAddress())
+            && !StringUtils.isEmpty(fireblocksTxn.getDestinationTag())) {
+          transactionsByDestination.putIfAbsent(
+              fireblocksTxn.getDestinationAddress()
+                  + StringUtils.SPACE
+                  + fireblocksTxn.getDestinationTag(),
+              fireblocksTxn);
+        }
+      }
 
-    custodyTransactionService
-        .getOutboundTransactionsEligibleForReconciliation()
-        .forEach(this::reconcileOutboundTransactions);
+      List<JdbcCustodyTransaction> updates = Collections.synchronizedList(new ArrayList<>());
+      List<Runnable> tasks = new ArrayList<>();
+      for (JdbcCustodyTransaction txn : outboundTransactions) {
+        TransactionDetails fireblocksTxn = transactionsById.get(txn.getExternalTxId());
+        tasks.add(() -> reconcileOutboundTransaction(txn, fireblocksTxn, updates));
+      }
+      if (fireblocksTransactions.isEmpty()) {
+        debug("No Fireblocks transactions within specified time range");
+      } else {
+        for (JdbcCustodyTransaction txn : inboundTransactions) {
+          TransactionDetails fireblocksTxn =
+              transactionsByDestination.get(
+                  txn.getToAccount() + StringUtils.SPACE + txn.getMemo());
+          tasks.add(() -> reconcileInboundTransaction(txn, fireblocksTxn, updates));
+        }
+      }
 
-    List<JdbcCustodyTransaction> inboundTransactions =
-        custodyTransactionService.getInboundTransactionsEligibleForReconciliation();
-    reconcileInboundTransactions(inboundTransactions);
+      runAll(tasks);
+      custodyTransactionService.updateCustodyTransactions(updates);
+    } finally {
+      reconciliationTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
 
     info("Fireblocks Transaction Reconciliation job finished");
   }
 
-  private void reconcileOutboundTransactions(JdbcCustodyTransaction txn) {
+  private List<TransactionDetails> getFireblocksTransactions(
+      List<JdbcCustodyTransaction> outboundTransactions,
+      List<JdbcCustodyTransaction> inboundTransactions) {
+    Instant startTime = null;
+    for (JdbcCustodyTransaction txn : outboundTransactions) {
+      startTime = min(startTime, txn.getCreatedAt());
+    }
+    boolean hasInbound = false;
+    for (JdbcCustodyTransaction txn : inboundTransactions) {
+      hasInbound = true;
+      startTime = min(startTime, txn.getCreatedAt());
+    }
+
+    if (startTime == null) {
+      if (!hasInbound) debug("No inbound transactions to reconcile");
+      return List.of();
+    }
+
+    try {
+      // Each page is a request under the rate limit
+      List<TransactionDetails> transactions =
+          custodyPaymentService.getTransactionsByTimeRange(startTime, Instant.now(), this::send);
+      return transactions != null ? transactions : List.of();
+    } catch (CustodyException e) {
+      errorEx("Failed to retrieve fireblocks transactions", e);
+      return List.of();
+    }
+  }
+
+  private void reconcileOutboundTransaction(
+      JdbcCustodyTransaction txn,
+      TransactionDetails fireblocksTxn,
+      List<JdbcCustodyTransaction> updates) {
     try {
-      TransactionDetails fireblocksTxn =
-          custodyPaymentService.getTransactionById(txn.getExternalTxId());
+      if (fireblocksTxn == null) {
+        String externalTxId = txn.getExternalTxId();
+        fireblocksTxn = send(() -> custodyPaymentService.getTransactionById(externalTxId));
+      }
 
       int attempt = txn.getReconciliationAttemptCount() + 1;
       if (fireblocksTxn.getStatus().isObservable()) {
         handleStatusChanged(fireblocksTxn, attempt);
       } else {
-        handleStatusNotChanged(txn, attempt, fireblocksTxn.getExternalTxId());
+        handleStatusNotChanged(txn, attempt, fireblocksTxn.getExternalTxId(), updates);
       }
     } catch (AnchorException | IOException e) {
       errorEx(String.format("Failed to reconcile status for transaction (id=%s)", txn.getId()), e);
     }
   }
 
-  private void reconcileInboundTransactions(List<JdbcCustodyTransaction> transactions) {
-    if (transactions.isEmpty()) {
-      debug("No inbound transactions to reconcile");
-      return;
+  private void reconcileInboundTransaction(
+      JdbcCustodyTransaction txn,
+      TransactionDetails fireblocksTxn,
+      List<JdbcCustodyTransaction> updates) {
+    int attempt = txn.getReconciliationAttemptCount() + 1;
+
+    try {
+      if (fireblocksTxn != null && fireblocksTxn.getStatus().isObservable()) {
+        handleStatusChanged(fireblocksTxn, attempt);
+      } else {
+        final String externalTxId = fireblocksTxn != null ? fireblocksTxn.getExternalTxId() : null;
+        handleStatusNotChanged(txn, attempt, externalTxId, updates);
+      }
+    } catch (AnchorException | IOException e) {
+      errorEx(String.format("Failed to reconcile status for transaction (id=%s)", txn.getId()), e);
     }
+  }
 
-    Instant startTime =
-        transactions.stream()
-            .map(JdbcCustodyTransaction::getCreatedAt)
-            .min(Instant::compareTo)
-            .orElse(null);
+  /**
+   * Sends the Fireblocks request under the rate limit. If Fireblocks responds with HTTP 429, the
+   * calls are paused and the request is retried once, whether the calls are rate limited or not.
+   */
+  private <R> R send(CustodyPaymentService.Request<R> request) throws CustodyException {
+    for (int attempt = 1; ; attempt++) {
+      acquire();
+      try {
+        return request.send();
+      } catch (CustodyException e) {
+        if (attempt > 1 || e.getStatusCode() != HttpStatus.TOO_MANY_REQUESTS.value()) {
+          throw e;
+        }
+        debugF("Fireblocks rate limit reached. Pausing for {}", RATE_LIMITED_PAUSE);
+        pause();
+      }
+    }
+  }
 
+  private void pause() throws CustodyException {
+    if (rateLimiter != null) {
+      rateLimiter.pause(RATE_LIMITED_PAUSE);
+      return;
+    }
     try {
-      List<TransactionDetails> fireblocksTransactions =
-          custodyPaymentService.getTransactionsByTimeRange(startTime, Instant.now());
+      Thread.sleep(RATE_LIMITED_PAUSE.toMillis());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CustodyException("Interrupted while waiting for the Fireblocks rate limit");
+    }
+  }
 
-      if (fireblocksTransactions.isEmpty()) {
-        debug("No Fireblocks transactions within specified time range");
+  private void acquire() throws CustodyException {
+    if (rateLimiter == null) return;
+    try {
+      rateLimiter.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CustodyException("Interrupted while waiting for the Fireblocks rate limit");
+    }
+  }
+
+  private void runAll(List<Runnable> tasks) {
+    if (executor == null || tasks.size() < 2) {
+      tasks.forEach(Runnable::run);
+      return;
+    }
+
+    List<Future<?>> futures = new ArrayList<>(tasks.size());
+    tasks.forEach(task -> futures.add(executor.submit(task)));
+    for (Future<?> future : futures) {
+      try {
+        future.get();
+      } catch (ExecutionException e) {
+        errorEx("Failed to reconcile transaction", e.getCause());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        futures.forEach(f -> f.cancel(true));
         return;
       }
-
-      Map<String, TransactionDetails> mappings =
-          fireblocksTransactions.stream()
-              .filter(
-                  txn ->
-                      !StringUtils.isEmpty(txn.getDestinationAddress())
-                          && !StringUtils.isEmpty(txn.getDestinationTag()))
-              .collect(
-                  Collectors.toMap(
-                      txn ->
-                          txn.getDestinationAddress() + StringUtils.SPACE + txn.getDestinationTag(),
-                      txn -> txn,
-                      (txn1, txn2) -> txn1));
-
-      transactions.forEach(
-          txn -> {
-            int attempt = txn.getReconciliationAttemptCount() + 1;
-
-            try {
-              String key = txn.getToAccount() + StringUtils.SPACE + txn.getMemo();
-              TransactionDetails fireblocksTxn = mappings.get(key);
-              if (fireblocksTxn != null && fireblocksTxn.getStatus().isObservable()) {
-                handleStatusChanged(fireblocksTxn, attempt);
-              } else {
-                final String externalTxId =
-                    fireblocksTxn != null ? fireblocksTxn.getExternalTxId() : null;
-                handleStatusNotChanged(txn, attempt, externalTxId);
-              }
-            } catch (AnchorException | IOException e) {
-              errorEx(
-                  String.format("Failed to reconcile status for transaction (id=%s)", txn.getId()),
-                  e);
-            }
-          });
-    } catch (CustodyException e) {
-      errorEx("Failed to retrieve fireblocks transactions", e);
     }
   }
 
@@ -145,7 +268,10 @@ public class FireblocksTransactionsReconciliationJob {
   }
 
   private void handleStatusNotChanged(
-      JdbcCustodyTransaction txn, int attempt, String externalTxnId) {
+      JdbcCustodyTransaction txn,
+      int attempt,
+      String externalTxnId,
+      List<JdbcCustodyTransaction> updates) {
     debugF("Reconciliation attempt #[{}]: Fireblocks transaction status wasn't changed", attempt);
 
     txn.setReconciliationAttemptCount(attempt);
@@ -158,6 +284,12 @@ public class FireblocksTransactionsReconciliationJob {
     if (!StringUtils.isEmpty(externalTxnId)) {
       txn.setExternalTxId(externalTxnId);
     }
-    custodyTransactionService.updateCustodyTransaction(txn);
+    updates.add(txn);
+  }
+
+  private static Instant min(Instant a, Instant b) {
+    if (a == null) return b;
+    if (b == null) return a;
+    return a.isBefore(b) ? a : b;
   }
 }
@@ -0,0 +1,62 @@
+package org.stellar.anchor.platform.job;
+
+import static org.stellar.anchor.platform.data.JdbcDataRetention.SEP_TABLES;
+import static org.stellar.anchor.util.Log.info;
+import static org.stellar.anchor.util.Log.infoF;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.function.IntUnaryOperator;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.stellar.anchor.platform.config.PropertyDataConfig.RetentionConfig;
+import org.stellar.anchor.platform.data.JdbcDataRetention;
+
+public class DataRetentionJob {
+  private final JdbcDataRetention dataRetention;
+  private final RetentionConfig retentionConfig;
+
+  public DataRetentionJob(JdbcDataRetention dataRetention, RetentionConfig retentionConfig) {
+    this.dataRetention = dataRetention;
+    this.retentionConfig = retentionConfig;
+  }
+
+  @Scheduled(cron = "${data.retention.cron_expression}")
+  public void run() {
+    info("Data retention job started");
+
+    Instant now = Instant.now();
+    Instant archiveCutoff = now.minus(retentionConfig.getTransactionArchiveAge(), ChronoUnit.DAYS);
+    for (String table : SEP_TABLES) {
+      int archived =
+          inBatches(size -> dataRetention.archiveSepTransactions(table, archiveCutoff, size));
+      infoF("{} transactions of {} are archived", archived, table);
+    }
+    int archived = inBatches(size -> dataRetention.archiveCustodyTransactions(archiveCutoff, size));
+    infoF("{} custody transactions are archived", archived);
+
+    Instant purgeCutoff = now.minus(retentionConfig.getQuotePurgeAge(), ChronoUnit.DAYS);
+    int purged = inBatches(size -> dataRetention.purgeQuotes(purgeCutoff, size));
+    infoF("{} expired quotes are deleted", purged);
+
+    info("Data retention job finished");
+  }
+
+  /**
+   * Runs the batches until a batch is not full or the maximum number of batches is reached. The
+   * rows left are handled by the next run.
+   *
+   * @param batch the batch that takes the batch size and returns the number of rows handled.
+   * @return the total number of rows handled.
+   */
+  int inBatches(IntUnaryOperator batch) {
+    int total = 0;
+    for (int i = 0; i < retentionConfig.getMaxBatches(); i++) {
+      int count = batch.applyAsInt(retentionConfig.getBatchSize());
+      total += count;
+      if (count < retentionConfig.getBatchSize()) {
+        break;
+      }
+    }
+    return total;
+  }
+}
@@ -1,33 +1,113 @@
 package org.stellar.anchor.platform.observer.stellar;
 
-import java.util.Optional;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import org.stellar.anchor.platform.data.PaymentStreamerCursor;
 import org.stellar.anchor.platform.data.PaymentStreamerCursorRepo;
 
 public class JdbcStellarPaymentStreamerCursorStore implements StellarPaymentStreamerCursorStore {
   private final PaymentStreamerCursorRepo repo;
+  private final List<String> ids;
+  private final int shardCount;
 
   public JdbcStellarPaymentStreamerCursorStore(PaymentStreamerCursorRepo repo) {
+    this(repo, List.of(PaymentStreamerCursor.SINGLETON_ID), 1);
+  }
+
+  JdbcStellarPaymentStreamerCursorStore(
+      PaymentStreamerCursorRepo repo, List<String> ids, int shardCount) {
     this.repo = repo;
+    this.ids = ids;
+    this.shardCount = shardCount;
   }
 
   @Override
   public void save(String cursor) {
-    PaymentStreamerCursor paymentStreamerCursor =
-        this.repo.findById(PaymentStreamerCursor.SINGLETON_ID).orElse(null);
-    if (paymentStreamerCursor == null) {
-      paymentStreamerCursor = new PaymentStreamerCursor();
-    }
+    for (String id : ids) {
+      PaymentStreamerCursor paymentStreamerCursor = this.repo.findById(id).orElse(null);
+      if (paymentStreamerCursor == null) {
+        paymentStreamerCursor = new PaymentStreamerCursor();
+      }
 
-    paymentStreamerCursor.setId(PaymentStreamerCursor.SINGLETON_ID);
-    paymentStreamerCursor.setCursor(cursor);
+      paymentStreamerCursor.setId(id);
+      paymentStreamerCursor.setCursor(cursor);
 
-    this.repo.save(paymentStreamerCursor);
+      this.repo.save(paymentStreamerCursor);
+    }
   }
 
+  /**
+   * Loads the earliest cursor of the shards. A shard resumes from the furthest cursor the observers
+   * of a previous shard count agree on when it is further than its own cursor, so that neither a
+   * new shard nor a shard of a count used again resumes from a stale cursor.
+   *
+   * @return the cursor, or null if no cursor is saved.
+   */
   @Override
   public String load() {
-    Optional<PaymentStreamerCursor> pageToken = repo.findById(PaymentStreamerCursor.SINGLETON_ID);
-    return pageToken.map(PaymentStreamerCursor::getCursor).orElse(null);
+    Map<String, String> cursors = new HashMap<>();
+    for (PaymentStreamerCursor cursor : repo.findAll()) {
+      if (cursor.getCursor() != null) {
+        cursors.put(cursor.getId(), cursor.getCursor());
+      }
+    }
+
+    String previous = previousCursor(cursors);
+    String loaded = null;
+    for (String id : ids) {
+      String cursor = later(cursors.get(id), previous);
+      if (loaded == null || (cursor != null && compare(cursor, loaded) < 0)) {
+        loaded = cursor;
+      }
+    }
+    return loaded;
+  }
+
+  @Override
+  public StellarPaymentStreamerCursorStore forShards(Set<Integer> shards, int shardCount) {
+    List<String> shardIds = new ArrayList<>();
+    for (int shard : shards) {
+      shardIds.add(PaymentStreamerCursor.shardId(shard, shardCount));
+    }
+    return new JdbcStellarPaymentStreamerCursorStore(repo, shardIds, shardCount);
+  }
+
+  /**
+   * Gets the furthest cursor the observers of the other shard counts agree on. The observers of a
+   * shard count agree on the earliest cursor of their shards, if all of them saved a cursor.
+   */
+  String previousCursor(Map<String, String> cursors) {
+    Map<Integer, List<String>> cursorsByCount = new HashMap<>();
+    cursors.forEach(
+        (id, cursor) -> {
+          int count = PaymentStreamerCursor.shardCount(id);
+          if (count > 0 && count != shardCount) {
+            cursorsByCount.computeIfAbsent(count, k -> new ArrayList<>()).add(cursor);
+          }
+        });
+
+    String previous = null;
+    for (Map.Entry<Integer, List<String>> entry : cursorsByCount.entrySet()) {
+      if (entry.getValue().size() == entry.getKey()) {
+        String agreed = entry.getValue().stream().min(this::compare).orElse(null);
+        previous = later(previous, agreed);
+      }
+    }
+    return previous;
+  }
+
+  String later(String cursor, String other) {
+    if (cursor == null || other == null) {
+      return cursor == null ? other : cursor;
+    }
+    return compare(cursor, other) >= 0 ? cursor : other;
+  }
+
+  // The cursors are the paging tokens of the operations, which are ordered as numbers
+  int compare(String cursor, String other) {
+    return Long.compare(Long.parseLong(cursor), Long.parseLong(other));
   }
 }
@@ -0,0 +1,52 @@
+package org.stellar.anchor.platform.observer.stellar;
+
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.BooleanSupplier;
+import lombok.Getter;
+
+/**
+ * The part of the observed accounts an observer handles. The accounts are split into shards by the
+ * hash of the account. An observer handles the payments of its shards only while it holds the
+ * leases of the shards.
+ */
+@Getter
+public class ObserverShard {
+  /** The shard of all the accounts, handled by an observer that is not coordinated. */
+  public static final ObserverShard ALL = new ObserverShard(Set.of(0), 1, () -> true);
+
+  final Set<Integer> indexes;
+  final int count;
+  final BooleanSupplier active;
+
+  public ObserverShard(Set<Integer> indexes, int count, BooleanSupplier active) {
+    this.indexes = new TreeSet<>(indexes);
+    this.count = count;
+    this.active = active;
+  }
+
+  /**
+   * Checks if the account belongs to one of the shards. String.hashCode is specified by the JDK, so
+   * all the observers agree on the shard of an account.
+   *
+   * @param account the account.
+   * @return true if the account belongs to one of the shards.
+   */
+  public boolean owns(String account) {
+    return count == 1 || indexes.contains(Math.floorMod(account.hashCode(), count));
+  }
+
+  /**
+   * Checks if the observer still holds the leases of all the shards.
+   *
+   * @return true if the leases are held.
+   */
+  public boolean isActive() {
+    return active.getAsBoolean();
+  }
+
+  @Override
+  public String toString() {
+    return indexes + "/" + count;
+  }
+}
@@ -0,0 +1,82 @@
+package org.stellar.anchor.platform.observer.stellar;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A Bloom filter of the observed accounts. It is checked before the account index so that the
+ * payments of the accounts that are not observed are rejected without taking the lock of the index
+ * and without allocating. About 1% of the accounts that are not observed pass the filter.
+ *
+ * <p>Accounts cannot be removed from the filter. It is rebuilt from the index when accounts are
+ * evicted or when it holds more accounts than its capacity.
+ *
+ * <p>The filter is thread-safe. Accounts can be added while it is read.
+ */
+class ObservingAccountFilter {
+  static final int MIN_CAPACITY = 1024;
+  private static final int BITS_PER_ACCOUNT = 10;
+  private static final int HASHES = 7;
+
+  private final int capacity;
+  private final long bitMask;
+  private final AtomicLongArray bits;
+
+  /**
+   * Creates an empty filter.
+   *
+   * @param capacity the number of accounts the filter is sized for.
+   */
+  ObservingAccountFilter(int capacity) {
+    this.capacity = Math.max(capacity, MIN_CAPACITY);
+    // The number of bits is a power of two so that the bit of a hash is selected with a mask
+    long numBits = Long.highestOneBit((long) this.capacity * BITS_PER_ACCOUNT - 1) << 1;
+    this.bitMask = numBits - 1;
+    this.bits = new AtomicLongArray((int) (numBits >>> 6));
+  }
+
+  int capacity() {
+    return capacity;
+  }
+
+  void add(String account) {
+    long h1 = hash(account);
+    long h2 = (h1 >>> 32) | 1;
+    for (int i = 0; i < HASHES; i++) {
+      long bit = (h1 + i * h2) & bitMask;
+      long mask = 1L << bit;
+      bits.accumulateAndGet((int) (bit >>> 6), mask, (word, m) -> word | m);
+    }
+  }
+
+  /**
+   * Checks if the account may be observed.
+   *
+   * @param account the account.
+   * @return false if the account is not observed. true if it may be observed.
+   */
+  boolean mightContain(String account) {
+    long h1 = hash(account);
+    long h2 = (h1 >>> 32) | 1;
+    for (int i = 0; i < HASHES; i++) {
+      long bit = (h1 + i * h2) & bitMask;
+      if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  static long hash(String account) {
+    // FNV-1a over the chars followed by the MurmurHash3 finalizer
+    long h = 0xcbf29ce484222325L;
+    for (int i = 0; i < account.length(); i++) {
+      h = (h ^ account.charAt(i)) * 0x100000001b3L;
+    }
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+}
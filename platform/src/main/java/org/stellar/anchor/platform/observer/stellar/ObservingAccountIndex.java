@@ -0,0 +1,395 @@
+package org.stellar.anchor.platform.observer.stellar;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import org.stellar.sdk.StrKey;
+
+/**
+ * A compact index of the observed accounts. The Stellar account ids are kept as their 32-byte
+ * ed25519 public keys in an open-addressing hash table of primitive arrays, and the last observed
+ * timestamps as epoch seconds. An account takes about 50 bytes instead of the few hundred bytes of
+ * a String key, an Instant and a map entry. The accounts that are not ed25519 account ids, such as
+ * muxed accounts, are kept in a map.
+ *
+ * <p>The index tracks the accounts whose timestamp changed since they were persisted (dirty).
+ *
+ * <p>The index is NOT thread-safe.
+ */
+class ObservingAccountIndex {
+  static final int SNAPSHOT_VERSION = 1;
+  private static final int SNAPSHOT_MAGIC = 0x4f425341; // "OBSA"
+  private static final int KEY_LONGS = 4;
+  private static final int INITIAL_CAPACITY = 1024;
+  private static final byte USED = 1;
+  private static final byte RESIDENTIAL = 2;
+  private static final byte DIRTY = 4;
+
+  private long[] keys = new long[INITIAL_CAPACITY * KEY_LONGS];
+  private long[] lastObserved = new long[INITIAL_CAPACITY];
+  private byte[] flags = new byte[INITIAL_CAPACITY];
+  private int mask = INITIAL_CAPACITY - 1;
+  private int tableSize = 0;
+  private final Map<String, Other> others = new HashMap<>();
+
+  /**
+   * Updates the timestamp of the account if it is in the index.
+   *
+   * @param account the account.
+   * @param epochSecond the timestamp.
+   * @return true if the account is in the index.
+   */
+  boolean touch(String account, long epochSecond) {
+    long[] key = toKey(account);
+    if (key == null) {
+      Other other = others.get(account);
+      if (other == null) return false;
+      other.flags = stamp(other.flags, other.lastObserved, epochSecond);
+      other.lastObserved = epochSecond;
+      return true;
+    }
+    int slot = find(key);
+    if (slot < 0) return false;
+    flags[slot] = stamp(flags[slot], lastObserved[slot], epochSecond);
+    lastObserved[slot] = epochSecond;
+    return true;
+  }
+
+  /**
+   * Adds the account or updates its timestamp. A transient account becomes residential if it is
+   * added again as residential.
+   *
+   * @param account the account.
+   * @param epochSecond the timestamp.
+   * @param residential true if the account is never evicted.
+   * @param dirty true if the account must be persisted.
+   * @return true if the account was not in the index.
+   */
+  boolean put(String account, long epochSecond, boolean residential, boolean dirty) {
+    long[] key = toKey(account);
+    if (key == null) {
+      Other other = others.get(account);
+      if (other == null) {
+        others.put(account, new Other(epochSecond, newFlags(residential, dirty)));
+        return true;
+      }
+      other.flags = merge(other.flags, other.lastObserved, epochSecond, residential, dirty);
+      other.lastObserved = epochSecond;
+      return false;
+    }
+    return put(key, epochSecond, residential, dirty);
+  }
+
+  private boolean put(long[] key, long epochSecond, boolean residential, boolean dirty) {
+    int slot = find(key);
+    if (slot >= 0) {
+      flags[slot] = merge(flags[slot], lastObserved[slot], epochSecond, residential, dirty);
+      lastObserved[slot] = epochSecond;
+      return false;
+    }
+
+    if ((tableSize + 1) * 4L > (mask + 1) * 3L) {
+      resize((mask + 1) * 2);
+    }
+    slot = home(key);
+    while ((flags[slot] & USED) != 0) {
+      slot = (slot + 1) & mask;
+    }
+    System.arraycopy(key, 0, keys, slot * KEY_LONGS, KEY_LONGS);
+    lastObserved[slot] = epochSecond;
+    flags[slot] = newFlags(residential, dirty);
+    tableSize++;
+    return true;
+  }
+
+  /**
+   * Removes the transient accounts that have not been observed for the max idle time.
+   *
+   * @param nowEpochSecond the current time.
+   * @param maxIdleSeconds the max idle time.
+   * @return the removed accounts.
+   */
+  List<String> removeIdle(long nowEpochSecond, long maxIdleSeconds) {
+    List<String> removed = new ArrayList<>();
+    for (int slot = 0; slot <= mask; ) {
+      if ((flags[slot] & USED) != 0
+          && (flags[slot] & RESIDENTIAL) == 0
+          && Math.abs(nowEpochSecond - lastObserved[slot]) >= maxIdleSeconds) {
+        removed.add(accountAt(slot));
+        // The following entry may be shifted into this slot
+        removeAt(slot);
+      } else {
+        slot++;
+      }
+    }
+    Iterator<Map.Entry<String, Other>> it = others.entrySet().iterator();
+    while (it.hasNext()) {
+      Map.Entry<String, Other> entry = it.next();
+      Other other = entry.getValue();
+      if ((other.flags & RESIDENTIAL) == 0
+          && Math.abs(nowEpochSecond - other.lastObserved) >= maxIdleSeconds) {
+        removed.add(entry.getKey());
+        it.remove();
+      }
+    }
+    return removed;
+  }
+
+  /**
+   * Gets the accounts that must be persisted.
+   *
+   * @return the timestamps of the dirty accounts.
+   */
+  Map<String, Long> getDirty() {
+    Map<String, Long> dirty = new HashMap<>();
+    for (int slot = 0; slot <= mask; slot++) {
+      if ((flags[slot] & DIRTY) != 0) {
+        dirty.put(accountAt(slot), lastObserved[slot]);
+      }
+    }
+    others.forEach(
+        (account, other) -> {
+          if ((other.flags & DIRTY) != 0) dirty.put(account, other.lastObserved);
+        });
+    return dirty;
+  }
+
+  /**
+   * Marks the account as persisted unless its timestamp changed since it was read.
+   *
+   * @param account the account.
+   * @param epochSecond the persisted timestamp.
+   */
+  void markClean(String account, long epochSecond) {
+    long[] key = toKey(account);
+    if (key == null) {
+      Other other = others.get(account);
+      if (other != null && other.lastObserved == epochSecond) {
+        other.flags &= ~DIRTY;
+      }
+      return;
+    }
+    int slot = find(key);
+    if (slot >= 0 && lastObserved[slot] == epochSecond) {
+      flags[slot] &= ~DIRTY;
+    }
+  }
+
+  int size() {
+    return tableSize + others.size();
+  }
+
+  void clear() {
+    keys = new long[INITIAL_CAPACITY * KEY_LONGS];
+    lastObserved = new long[INITIAL_CAPACITY];
+    flags = new byte[INITIAL_CAPACITY];
+    mask = INITIAL_CAPACITY - 1;
+    tableSize = 0;
+    others.clear();
+  }
+
+  void forEach(Visitor visitor) {
+    for (int slot = 0; slot <= mask; slot++) {
+      if ((flags[slot] & USED) != 0) {
+        visitor.visit(
+            accountAt(slot),
+            lastObserved[slot],
+            (flags[slot] & RESIDENTIAL) != 0,
+            (flags[slot] & DIRTY) != 0);
+      }
+    }
+    others.forEach(
+        (account, other) ->
+            visitor.visit(
+                account,
+                other.lastObserved,
+                (other.flags & RESIDENTIAL) != 0,
+                (other.flags & DIRTY) != 0));
+  }
+
+  /**
+   * Writes the accounts to a snapshot.
+   *
+   * @param out the output of the snapshot.
+   * @param takenAtEpochSecond the time the snapshot is taken.
+   * @throws IOException if the snapshot cannot be written.
+   */
+  void writeSnapshot(DataOutputStream out, long takenAtEpochSecond) throws IOException {
+    out.writeInt(SNAPSHOT_MAGIC);
+    out.writeInt(SNAPSHOT_VERSION);
+    out.writeLong(takenAtEpochSecond);
+    out.writeInt(tableSize);
+    for (int slot = 0; slot <= mask; slot++) {
+      if ((flags[slot] & USED) != 0) {
+        for (int i = 0; i < KEY_LONGS; i++) {
+          out.writeLong(keys[slot * KEY_LONGS + i]);
+        }
+        out.writeLong(lastObserved[slot]);
+        out.writeByte(flags[slot] & ~DIRTY);
+      }
+    }
+    out.writeInt(others.size());
+    for (Map.Entry<String, Other> entry : others.entrySet()) {
+      out.writeUTF(entry.getKey());
+      out.writeLong(entry.getValue().lastObserved);
+      out.writeByte(entry.getValue().flags & ~DIRTY);
+    }
+  }
+
+  /**
+   * Adds the accounts of a snapshot.
+   *
+   * @param in the input of the snapshot.
+   * @return the time the snapshot was taken in epoch seconds.
+   * @throws IOException if the snapshot cannot be read.
+   */
+  long readSnapshot(DataInputStream in) throws IOException {
+    if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+      throw new IOException("Unsupported observing account snapshot");
+    }
+    long takenAt = in.readLong();
+    int count = in.readInt();
+    for (int n = 0; n < count; n++) {
+      long[] key = new long[KEY_LONGS];
+      for (int i = 0; i < KEY_LONGS; i++) {
+        key[i] = in.readLong();
+      }
+      long epochSecond = in.readLong();
+      boolean residential = (in.readByte() & RESIDENTIAL) != 0;
+      put(key, epochSecond, residential, false);
+    }
+    count = in.readInt();
+    for (int n = 0; n < count; n++) {
+      String account = in.readUTF();
+      long epochSecond = in.readLong();
+      boolean residential = (in.readByte() & RESIDENTIAL) != 0;
+      put(account, epochSecond, residential, false);
+    }
+    return takenAt;
+  }
+
+  private int find(long[] key) {
+    int slot = home(key);
+    while ((flags[slot] & USED) != 0) {
+      int base = slot * KEY_LONGS;
+      if (keys[base] == key[0]
+          && keys[base + 1] == key[1]
+          && keys[base + 2] == key[2]
+          && keys[base + 3] == key[3]) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return -1;
+  }
+
+  private int home(long[] key) {
+    return homeOf(key[0]);
+  }
+
+  private int homeOf(long k0) {
+    // The public keys are random, but mix the bits anyway (MurmurHash3 finalizer)
+    long h = k0;
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    return (int) h & mask;
+  }
+
+  /** Removes the entry of the slot and shifts back the following entries of the probe sequence. */
+  private void removeAt(int slot) {
+    int hole = slot;
+    int next = slot;
+    while (true) {
+      next = (next + 1) & mask;
+      if ((flags[next] & USED) == 0) break;
+      int home = homeOf(keys[next * KEY_LONGS]);
+      // The entry stays if its home is cyclically in (hole, next]
+      boolean stays = hole <= next ? hole < home && home <= next : hole < home || home <= next;
+      if (!stays) {
+        System.arraycopy(keys, next * KEY_LONGS, keys, hole * KEY_LONGS, KEY_LONGS);
+        lastObserved[hole] = lastObserved[next];
+        flags[hole] = flags[next];
+        hole = next;
+      }
+    }
+    flags[hole] = 0;
+    tableSize--;
+  }
+
+  private void resize(int capacity) {
+    long[] oldKeys = keys;
+    long[] oldLastObserved = lastObserved;
+    byte[] oldFlags = flags;
+    keys = new long[capacity * KEY_LONGS];
+    lastObserved = new long[capacity];
+    flags = new byte[capacity];
+    mask = capacity - 1;
+    for (int old = 0; old < oldFlags.length; old++) {
+      if ((oldFlags[old] & USED) == 0) continue;
+      int slot = homeOf(oldKeys[old * KEY_LONGS]);
+      while ((flags[slot] & USED) != 0) {
+        slot = (slot + 1) & mask;
+      }
+      System.arraycopy(oldKeys, old * KEY_LONGS, keys, slot * KEY_LONGS, KEY_LONGS);
+      lastObserved[slot] = oldLastObserved[old];
+      flags[slot] = oldFlags[old];
+    }
+  }
+
+  private String accountAt(int slot) {
+    byte[] bytes = new byte[KEY_LONGS * Long.BYTES];
+    ByteBuffer.wrap(bytes).asLongBuffer().put(keys, slot * KEY_LONGS, KEY_LONGS);
+    return StrKey.encodeStellarAccountId(bytes);
+  }
+
+  /** Decodes the ed25519 account id. Returns null if the account is not an ed25519 account id. */
+  static long[] toKey(String account) {
+    if (account == null || account.length() != 56 || account.charAt(0) != 'G') {
+      return null;
+    }
+    try {
+      byte[] bytes = StrKey.decodeStellarAccountId(account);
+      long[] key = new long[KEY_LONGS];
+      ByteBuffer.wrap(bytes).asLongBuffer().get(key);
+      return key;
+    } catch (RuntimeException ex) {
+      return null;
+    }
+  }
+
+  private static byte newFlags(boolean residential, boolean dirty) {
+    return (byte) (USED | (residential ? RESIDENTIAL : 0) | (dirty ? DIRTY : 0));
+  }
+
+  private static byte stamp(byte flags, long previous, long epochSecond) {
+    return previous != epochSecond ? (byte) (flags | DIRTY) : flags;
+  }
+
+  private static byte merge(
+      byte flags, long previous, long epochSecond, boolean residential, boolean dirty) {
+    byte merged = dirty ? stamp(flags, previous, epochSecond) : flags;
+    return residential ? (byte) (merged | RESIDENTIAL) : merged;
+  }
+
+  @FunctionalInterface
+  interface Visitor {
+    void visit(String account, long lastObserved, boolean residential, boolean dirty);
+  }
+
+  private static class Other {
+    long lastObserved;
+    byte flags;
+
+    Other(long lastObserved, byte flags) {
+      this.lastObserved = lastObserved;
+      this.flags = flags;
+    }
+  }
+}
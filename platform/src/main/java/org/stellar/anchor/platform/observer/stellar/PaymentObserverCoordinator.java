@@ -0,0 +1,281 @@
+package org.stellar.anchor.platform.observer.stellar;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.stellar.anchor.util.Log.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ScheduledExecutorService;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.stellar.anchor.platform.config.PaymentObserverConfig.CoordinationConfig;
+import org.stellar.anchor.platform.data.ObserverLease;
+import org.stellar.anchor.platform.data.ObserverLeaseRepo;
+import org.stellar.anchor.platform.utils.DaemonExecutors;
+
+/**
+ * Coordinates the replicas of the payment observer through leases in the database. The observed
+ * accounts are split into shards and each shard has a lease. A replica observes the shards it holds
+ * the leases of and renews the leases every third of their duration. The replicas without a shard
+ * stand by and take over a shard whose lease has expired. With a single shard, one replica is
+ * active and the others stand by.
+ *
+ * <p>A replica may hold several shards. When a lease stays expired for a whole lease duration, no
+ * replica stands by, so a replica that already holds shards takes it over as well. The shards that
+ * stay without an owner are reported by the health check of the observer.
+ *
+ * <p>The leases are identified by the shard count. When the shard count changes, the replicas with
+ * the new count stand by until the leases of the previous count have expired or are released, so
+ * that the replicas of both counts never handle the same account. The cursor of a new shard starts
+ * from the furthest cursor the replicas of a previous count agree on.
+ *
+ * <p>The lease expiry is set from the clock of the replica, so the clocks of the replicas must be
+ * synchronized within a fraction of the lease duration. A replica stops handling the payments of
+ * its shards before their leases expire.
+ */
+public class PaymentObserverCoordinator {
+  static final String LEASE_ID_PREFIX = "stellar_payment_observer_shard_";
+
+  final StellarPaymentObserver observer;
+  final ObserverLeaseRepo observerLeaseRepo;
+  final CoordinationConfig config;
+  final String instanceId;
+  final Duration leaseDuration;
+  final Duration renewInterval;
+  ScheduledExecutorService scheduler;
+  // The replicas started together are given a lease duration to take a shard each before the
+  // orphaned shards are taken over.
+  Instant startedAt = Instant.now();
+
+  // The time until which each held lease is active, by shard. Only modified by the scheduler
+  // thread.
+  final Map<Integer, Instant> activeUntil = new ConcurrentSkipListMap<>();
+
+  public PaymentObserverCoordinator(
+      StellarPaymentObserver observer,
+      ObserverLeaseRepo observerLeaseRepo,
+      CoordinationConfig config) {
+    this.observer = observer;
+    this.observerLeaseRepo = observerLeaseRepo;
+    this.config = config;
+    this.instanceId = newInstanceId();
+    this.leaseDuration = Duration.ofSeconds(config.getLeaseDuration());
+    this.renewInterval = leaseDuration.dividedBy(3);
+  }
+
+  /** Starts the observer. If the coordination is enabled, the observer waits for a lease. */
+  public void start() {
+    if (!config.isEnabled()) {
+      observer.start();
+      return;
+    }
+
+    infoF(
+        "Starting the payment observer coordination. instance={} shards={}",
+        instanceId,
+        config.getShardCount());
+    startedAt = Instant.now();
+    createLeases();
+    observer.startStandby();
+    scheduler = DaemonExecutors.newScheduledThreadPool(1);
+    scheduler.scheduleWithFixedDelay(this::coordinate, 0, renewInterval.toMillis(), MILLISECONDS);
+  }
+
+  /** Releases the leases, so that a standby replica takes over the shards without waiting. */
+  public void shutdown() {
+    if (scheduler == null) {
+      return;
+    }
+    scheduler.shutdownNow();
+    if (!activeUntil.isEmpty()) {
+      List<Integer> shards = new ArrayList<>(activeUntil.keySet());
+      infoF("Releasing the leases of shards {}", shards);
+      activeUntil.clear();
+      observer.deactivate();
+      for (int shard : shards) {
+        try {
+          observerLeaseRepo.release(leaseId(shard), instanceId, Instant.now());
+        } catch (Exception ex) {
+          warnF("Failed to release the lease of shard {}. error={}", shard, ex.getMessage());
+        }
+      }
+    }
+  }
+
+  void coordinate() {
+    try {
+      // The lease is considered taken from the time before the update, so that the replica stops
+      // before the expiry seen by the other replicas.
+      Instant now = Instant.now();
+      boolean changed = renew(now);
+
+      Map<String, ObserverLease> leases = new HashMap<>();
+      observerLeaseRepo.findAll().forEach(lease -> leases.put(lease.getId(), lease));
+      List<String> previousLeases = previousLeases(leases, now);
+      if (previousLeases.isEmpty()) {
+        changed |= take(now);
+      } else {
+        warnF(
+            "Waiting for the leases of the previous shard count to expire. leases={}",
+            previousLeases);
+      }
+      observer.setUnownedShardCount(unownedShardCount(leases, now));
+
+      if (changed && !activeUntil.isEmpty()) {
+        Set<Integer> shards = Set.copyOf(activeUntil.keySet());
+        observer.activate(
+            new ObserverShard(shards, config.getShardCount(), () -> isActive(shards)));
+      }
+    } catch (Exception ex) {
+      // The leases expire if the database stays unavailable
+      errorEx("Failed to coordinate the payment observer", ex);
+    }
+  }
+
+  /**
+   * Renews the held leases. The observer is deactivated if a lease is lost, because the payments
+   * of the lost shard may have been skipped since its lease stopped being active.
+   *
+   * @return true if a lease is lost.
+   */
+  boolean renew(Instant now) {
+    boolean lost = false;
+    for (int shard : new ArrayList<>(activeUntil.keySet())) {
+      if (!isActive(Set.of(shard))) {
+        // The renewals failed for too long. The shard may have been taken over.
+        lose(shard, "the lease has expired");
+        lost = true;
+      } else if (acquire(shard, now, now)) {
+        activeUntil.put(shard, activeUntil(now));
+      } else {
+        lose(shard, "the lease is taken by another replica");
+        lost = true;
+      }
+    }
+    if (lost) {
+      observer.deactivate();
+    }
+    return lost;
+  }
+
+  /**
+   * Takes a shard whose lease has expired if the replica holds none, and the orphaned shards.
+   *
+   * @return true if a lease is taken.
+   */
+  boolean take(Instant now) {
+    boolean taken = false;
+    for (int shard = 0; shard < config.getShardCount(); shard++) {
+      if (activeUntil.containsKey(shard)) {
+        continue;
+      }
+      Instant expiredBefore;
+      if (activeUntil.isEmpty()) {
+        expiredBefore = now;
+      } else if (now.isAfter(startedAt.plus(leaseDuration))) {
+        // Only the leases no standby replica took over within a lease duration
+        expiredBefore = now.minus(leaseDuration);
+      } else {
+        break;
+      }
+      if (acquire(shard, expiredBefore, now)) {
+        infoF("Took the lease of shard {}", shard);
+        activeUntil.put(shard, activeUntil(now));
+        taken = true;
+      }
+    }
+    return taken;
+  }
+
+  boolean acquire(int shard, Instant expiredBefore, Instant now) {
+    return observerLeaseRepo.acquire(
+            leaseId(shard), instanceId, expiredBefore, now.plus(leaseDuration))
+        == 1;
+  }
+
+  void lose(int shard, String reason) {
+    warnF("Lost the lease of shard {}: {}", shard, reason);
+    activeUntil.remove(shard);
+  }
+
+  /** Gets the active leases of the other shard counts. */
+  List<String> previousLeases(Map<String, ObserverLease> leases, Instant now) {
+    List<String> previous = new ArrayList<>();
+    for (ObserverLease lease : leases.values()) {
+      if (lease.getId().startsWith(LEASE_ID_PREFIX)
+          && !lease.getId().endsWith("_of_" + config.getShardCount())
+          && lease.getExpiresAt() != null
+          && lease.getExpiresAt().isAfter(now)) {
+        previous.add(lease.getId());
+      }
+    }
+    return previous;
+  }
+
+  /** Counts the shards whose lease has not been renewed for a whole lease duration. */
+  int unownedShardCount(Map<String, ObserverLease> leases, Instant now) {
+    int count = 0;
+    for (int shard = 0; shard < config.getShardCount(); shard++) {
+      ObserverLease lease = leases.get(leaseId(shard));
+      if (!activeUntil.containsKey(shard)
+          && (lease == null
+              || lease.getExpiresAt() == null
+              || lease.getExpiresAt().isBefore(now.minus(leaseDuration)))) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /** Creates the missing leases as expired. */
+  void createLeases() {
+    for (int i = 0; i < config.getShardCount(); i++) {
+      String id = leaseId(i);
+      if (!observerLeaseRepo.existsById(id)) {
+        try {
+          observerLeaseRepo.insert(id, Instant.EPOCH);
+        } catch (DataIntegrityViolationException ex) {
+          // Another replica created it
+          debugF("The lease {} is already created", id);
+        }
+      }
+    }
+  }
+
+  // A missed renewal is tolerated. The replica stops handling the payments one renewal interval
+  // before the lease expires.
+  Instant activeUntil(Instant now) {
+    return now.plus(leaseDuration).minus(renewInterval);
+  }
+
+  boolean isActive() {
+    return !activeUntil.isEmpty() && isActive(activeUntil.keySet());
+  }
+
+  boolean isActive(Set<Integer> shards) {
+    Instant now = Instant.now();
+    for (int shard : shards) {
+      Instant until = activeUntil.get(shard);
+      if (until == null || !now.isBefore(until)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  String leaseId(int shard) {
+    return LEASE_ID_PREFIX + shard + "_of_" + config.getShardCount();
+  }
+
+  static String newInstanceId() {
+    String host = System.getenv("HOSTNAME");
+    String suffix = UUID.randomUUID().toString().substring(0, 8);
+    return host == null || host.isEmpty() ? suffix : host + "-" + suffix;
+  }
+}
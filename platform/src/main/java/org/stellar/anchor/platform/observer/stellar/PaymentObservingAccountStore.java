@@ -2,16 +2,25 @@ package org.stellar.anchor.platform.observer.stellar;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.stellar.anchor.platform.data.PaymentObservingAccount;
 import org.stellar.anchor.platform.data.PaymentObservingAccountRepo;
 import org.stellar.anchor.util.Log;
 
 public class PaymentObservingAccountStore {
+  static final int UPSERT_CHUNK_SIZE = 500;
+
   final PaymentObservingAccountRepo repo;
+  final TransactionTemplate transactionTemplate;
 
-  public PaymentObservingAccountStore(PaymentObservingAccountRepo repo) {
+  public PaymentObservingAccountStore(
+      PaymentObservingAccountRepo repo, PlatformTransactionManager transactionManager) {
     this.repo = repo;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
   }
 
   List<PaymentObservingAccount> list() {
@@ -21,6 +30,11 @@ public class PaymentObservingAccountStore {
     return paymentObservingAccounts;
   }
 
+  List<PaymentObservingAccount> listObservedSince(Instant since) {
+    Log.debugF("Retrieving the observing accounts observed since {} from the store.", since);
+    return repo.findByLastObservedGreaterThanEqual(since);
+  }
+
   void upsert(String account, Instant lastObserved) {
     Log.infoF("Upserting account[{}, {}]", account, lastObserved);
     PaymentObservingAccount poa = repo.findByAccount(account);
@@ -45,4 +59,43 @@ public class PaymentObservingAccountStore {
       Log.warnF("Account[{}] cannot be found for deletion.", account);
     }
   }
+
+  /**
+   * Upserts the accounts in chunks. Each chunk is read with one query and written in the same
+   * database transaction: the newer rows are updated in place by the entity manager and the new
+   * rows are inserted without being looked up again.
+   *
+   * @param lastObserved the last observed timestamps of the accounts.
+   */
+  void upsertAll(Map<String, Instant> lastObserved) {
+    Log.infoF("Upserting {} accounts", lastObserved.size());
+    List<String> accounts = new ArrayList<>(lastObserved.keySet());
+    for (int from = 0; from < accounts.size(); from += UPSERT_CHUNK_SIZE) {
+      List<String> chunk =
+          accounts.subList(from, Math.min(from + UPSERT_CHUNK_SIZE, accounts.size()));
+      transactionTemplate.executeWithoutResult(status -> upsertChunk(chunk, lastObserved));
+    }
+  }
+
+  private void upsertChunk(List<String> chunk, Map<String, Instant> lastObserved) {
+    Map<String, PaymentObservingAccount> existing = new HashMap<>();
+    repo.findAllById(chunk).forEach(poa -> existing.put(poa.getAccount(), poa));
+
+    List<PaymentObservingAccount> added = new ArrayList<>();
+    for (String account : chunk) {
+      Instant observed = lastObserved.get(account);
+      PaymentObservingAccount poa = existing.get(account);
+      if (poa == null) {
+        poa = new PaymentObservingAccount(account, observed);
+        poa.setNewAccount(true);
+        added.add(poa);
+      } else if (observed.isAfter(poa.getLastObserved())) {
+        // save if newer. The loaded entity is flushed when the transaction commits.
+        poa.setLastObserved(observed);
+      }
+    }
+    if (!added.isEmpty()) {
+      repo.saveAll(added);
+    }
+  }
 }
@@ -1,14 +1,23 @@
 package org.stellar.anchor.platform.observer.stellar;
 
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 import static java.time.temporal.ChronoUnit.DAYS;
 import static java.time.temporal.ChronoUnit.MINUTES;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.PostConstruct;
@@ -19,22 +28,43 @@ import org.stellar.anchor.platform.utils.DaemonExecutors;
 import org.stellar.anchor.util.Log;
 
 public class PaymentObservingAccountsManager {
-  final Map<String, ObservingAccount> allAccounts;
+  final ObservingAccountIndex allAccounts = new ObservingAccountIndex();
+  // Rejects the accounts that are not observed before the index is locked
+  private volatile ObservingAccountFilter filter = new ObservingAccountFilter(0);
   private final PaymentObservingAccountStore store;
+  private final Path snapshotFile;
+  // The time the accounts were last loaded from the store
+  private Instant loadedAt;
 
   public PaymentObservingAccountsManager(PaymentObservingAccountStore store) {
+    this(store, null);
+  }
+
+  /**
+   * Creates the manager.
+   *
+   * @param store the store of the observing accounts.
+   * @param snapshotFile the file the accounts are saved to when they are persisted and restored
+   *     from on startup. If null, the accounts are loaded from the store.
+   */
+  public PaymentObservingAccountsManager(PaymentObservingAccountStore store, Path snapshotFile) {
     this.store = store;
-    allAccounts = new ConcurrentHashMap<>();
+    this.snapshotFile = snapshotFile;
   }
 
   @PostConstruct
   public void initialize() {
-    List<PaymentObservingAccount> accounts = store.list();
-    for (PaymentObservingAccount account : accounts) {
-      ObservingAccount oa =
-          new ObservingAccount(
-              account.getAccount(), account.getLastObserved(), AccountType.TRANSIENT);
-      upsert(oa);
+    Instant snapshotTime = restoreSnapshot();
+    // The accounts added by the other servers after the snapshot was loaded are in the store
+    loadedAt = Instant.now();
+    List<PaymentObservingAccount> accounts =
+        snapshotTime != null ? store.listObservedSince(snapshotTime) : store.list();
+    synchronized (allAccounts) {
+      for (PaymentObservingAccount account : accounts) {
+        allAccounts.put(
+            account.getAccount(), account.getLastObserved().getEpochSecond(), false, false);
+      }
+      rebuildFilter();
     }
   }
 
@@ -58,9 +88,20 @@ public class PaymentObservingAccountsManager {
     Log.debug("Evicting old accounts...");
     this.evict(getEvictMaxIdleTime());
     Log.debug("Persisting accounts...");
-    for (ObservingAccount account : this.getAccounts()) {
-      store.upsert(account.account, account.lastObserved);
+    // Only the accounts observed since they were last persisted are written
+    Map<String, Long> dirty;
+    synchronized (allAccounts) {
+      dirty = allAccounts.getDirty();
+    }
+    if (!dirty.isEmpty()) {
+      Map<String, Instant> lastObserved = new HashMap<>();
+      dirty.forEach((account, epochSecond) -> lastObserved.put(account, toInstant(epochSecond)));
+      store.upsertAll(lastObserved);
+      synchronized (allAccounts) {
+        dirty.forEach(allAccounts::markClean);
+      }
     }
+    saveSnapshot();
   }
 
   /**
@@ -82,17 +123,27 @@ public class PaymentObservingAccountsManager {
    */
   public void upsert(ObservingAccount observingAccount) {
     if (observingAccount != null) {
-      ObservingAccount existingAccount = allAccounts.get(observingAccount.account);
-      if (existingAccount == null) {
-        allAccounts.put(observingAccount.account, observingAccount);
+      boolean added;
+      synchronized (allAccounts) {
+        added =
+            allAccounts.put(
+                observingAccount.account,
+                observingAccount.lastObserved.getEpochSecond(),
+                observingAccount.type == AccountType.RESIDENTIAL,
+                true);
+        if (added) {
+          allAccounts.markClean(
+              observingAccount.account, observingAccount.lastObserved.getEpochSecond());
+          if (allAccounts.size() > filter.capacity()) {
+            rebuildFilter();
+          } else {
+            filter.add(observingAccount.account);
+          }
+        }
+      }
+      if (added) {
         // update the database
         store.upsert(observingAccount.account, observingAccount.lastObserved);
-      } else {
-        existingAccount.account = observingAccount.account;
-        existingAccount.lastObserved = observingAccount.lastObserved;
-        if (existingAccount.type == AccountType.TRANSIENT) {
-          existingAccount.type = observingAccount.type;
-        }
       }
     }
   }
@@ -103,7 +154,17 @@ public class PaymentObservingAccountsManager {
    * @return The list of observed accounts.
    */
   public List<ObservingAccount> getAccounts() {
-    return new ArrayList<>(allAccounts.values());
+    List<ObservingAccount> accounts = new ArrayList<>();
+    synchronized (allAccounts) {
+      allAccounts.forEach(
+          (account, lastObserved, residential, dirty) ->
+              accounts.add(
+                  new ObservingAccount(
+                      account,
+                      toInstant(lastObserved),
+                      residential ? AccountType.RESIDENTIAL : AccountType.TRANSIENT)));
+    }
+    return accounts;
   }
 
   /**
@@ -114,10 +175,14 @@ public class PaymentObservingAccountsManager {
    * @return true if the account is being observed. false, otherwise.
    */
   public boolean lookupAndUpdate(String account) {
-    ObservingAccount acct = allAccounts.get(account);
-    if (acct == null) return false;
-    acct.lastObserved = Instant.now();
-    return true;
+    // Almost all the payments on the network are not sent to or from an observed account
+    if (account == null || !filter.mightContain(account)) {
+      return false;
+    }
+    long now = System.currentTimeMillis() / 1000;
+    synchronized (allAccounts) {
+      return allAccounts.touch(account, now);
+    }
   }
 
   /**
@@ -126,17 +191,81 @@ public class PaymentObservingAccountsManager {
    * @param maxIdleTime evict all accounts that are older than maxAge
    */
   public void evict(Duration maxIdleTime) {
-    for (ObservingAccount acct : getAccounts()) {
-      if (acct.type == AccountType.RESIDENTIAL) continue;
+    List<String> evicted;
+    synchronized (allAccounts) {
+      evicted = allAccounts.removeIdle(Instant.now().getEpochSecond(), maxIdleTime.getSeconds());
+      if (!evicted.isEmpty()) {
+        rebuildFilter();
+      }
+    }
+    for (String account : evicted) {
+      store.delete(account);
+    }
+  }
 
-      Duration idleTime = Duration.between(Instant.now(), acct.lastObserved).abs();
-      if (idleTime.compareTo(maxIdleTime) > 0) {
-        allAccounts.remove(acct.account);
-        store.delete(acct.account);
+  /**
+   * Restores the accounts from the snapshot file.
+   *
+   * @return the time the accounts of the snapshot were loaded from the store or null if the
+   *     accounts were not restored.
+   */
+  Instant restoreSnapshot() {
+    if (snapshotFile == null || !Files.isRegularFile(snapshotFile)) {
+      return null;
+    }
+    try (DataInputStream in =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotFile)))) {
+      synchronized (allAccounts) {
+        Instant snapshotTime = toInstant(allAccounts.readSnapshot(in));
+        Log.infoF(
+            "Restored {} observing accounts loaded at {} from the snapshot",
+            allAccounts.size(),
+            snapshotTime);
+        return snapshotTime;
+      }
+    } catch (IOException | RuntimeException ex) {
+      Log.errorEx("Failed to restore the observing accounts from the snapshot", ex);
+      synchronized (allAccounts) {
+        allAccounts.clear();
       }
+      return null;
     }
   }
 
+  /**
+   * Saves the accounts to the snapshot file. The snapshot is stamped with the time the accounts were
+   * loaded from the store, because the accounts added by the other servers since then are only in
+   * the store.
+   */
+  void saveSnapshot() {
+    if (snapshotFile == null || loadedAt == null) {
+      return;
+    }
+    Path tempFile = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+    try {
+      try (DataOutputStream out =
+          new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+        synchronized (allAccounts) {
+          allAccounts.writeSnapshot(out, loadedAt.getEpochSecond());
+        }
+      }
+      Files.move(tempFile, snapshotFile, REPLACE_EXISTING, ATOMIC_MOVE);
+    } catch (IOException ex) {
+      Log.errorEx("Failed to save the observing accounts snapshot", ex);
+    }
+  }
+
+  /** Rebuilds the filter from the index. The caller must hold the lock of the index. */
+  private void rebuildFilter() {
+    ObservingAccountFilter rebuilt = new ObservingAccountFilter(allAccounts.size() * 2);
+    allAccounts.forEach((account, lastObserved, residential, dirty) -> rebuilt.add(account));
+    filter = rebuilt;
+  }
+
+  private static Instant toInstant(long epochSecond) {
+    return Instant.ofEpochSecond(epochSecond);
+  }
+
   public enum AccountType {
     TRANSIENT, // the account is transient and can be flushed out of the list.
     RESIDENTIAL // the account is residential and will stay in the list. For example, a
@@ -30,13 +30,14 @@ import org.stellar.anchor.api.exception.SepException;
 import org.stellar.anchor.api.platform.HealthCheckResult;
 import org.stellar.anchor.api.platform.HealthCheckStatus;
 import org.stellar.anchor.healthcheck.HealthCheckable;
+import org.stellar.anchor.horizon.HorizonPool;
+import org.stellar.anchor.horizon.TransactionOperationsCache;
 import org.stellar.anchor.platform.config.PaymentObserverConfig;
 import org.stellar.anchor.platform.observer.ObservedPayment;
 import org.stellar.anchor.platform.observer.PaymentListener;
 import org.stellar.anchor.platform.utils.DaemonExecutors;
 import org.stellar.anchor.util.ExponentialBackoffTimer;
 import org.stellar.anchor.util.Log;
-import org.stellar.sdk.Server;
 import org.stellar.sdk.requests.EventListener;
 import org.stellar.sdk.requests.PaymentsRequestBuilder;
 import org.stellar.sdk.requests.RequestBuilder;
@@ -53,12 +54,18 @@ public class StellarPaymentObserver implements HealthCheckable {
   /** The minimum number of results the Stellar Blockchain can return. */
   private static final int MIN_RESULTS = 1;
 
-  final Server server;
+  final HorizonPool horizonPool;
+  HorizonPool.Node streamNode;
   final PaymentObserverConfig.StellarPaymentObserverConfig config;
   final List<PaymentListener> paymentListeners;
-  final StellarPaymentStreamerCursorStore paymentStreamerCursorStore;
+  StellarPaymentStreamerCursorStore paymentStreamerCursorStore;
+  ObserverShard shard = ObserverShard.ALL;
+  // The number of shards no replica holds the lease of, set by the coordinator
+  volatile int unownedShardCount = 0;
   final Map<SSEStream<OperationResponse>, String> mapStreamToAccount = new HashMap<>();
   final PaymentObservingAccountsManager paymentObservingAccountsManager;
+  // Prefilled with the observed payments, so the platform server does not fetch them from Horizon
+  TransactionOperationsCache operationsCache;
   SSEStream<OperationResponse> stream;
 
   final ExponentialBackoffTimer publishingBackoffTimer;
@@ -80,7 +87,32 @@ public class StellarPaymentObserver implements HealthCheckable {
       List<PaymentListener> paymentListeners,
       PaymentObservingAccountsManager paymentObservingAccountsManager,
       StellarPaymentStreamerCursorStore paymentStreamerCursorStore) {
-    this.server = new Server(horizonServer);
+    this(
+        List.of(horizonServer),
+        config,
+        paymentListeners,
+        paymentObservingAccountsManager,
+        paymentStreamerCursorStore);
+  }
+
+  /**
+   * Creates the observer of the Horizon servers. The observer streams from the server with the
+   * best health and switches to the next one when the stream fails or stays silent. The stream is
+   * resumed from the stored cursor, so no payment is skipped when switching.
+   *
+   * @param horizonServers the URLs of the Horizon servers. The first one is preferred.
+   * @param config the observer configuration.
+   * @param paymentListeners the listeners of the observed payments.
+   * @param paymentObservingAccountsManager the observed accounts.
+   * @param paymentStreamerCursorStore the store of the stream cursor.
+   */
+  public StellarPaymentObserver(
+      List<String> horizonServers,
+      PaymentObserverConfig.StellarPaymentObserverConfig config,
+      List<PaymentListener> paymentListeners,
+      PaymentObservingAccountsManager paymentObservingAccountsManager,
+      StellarPaymentStreamerCursorStore paymentStreamerCursorStore) {
+    this.horizonPool = new HorizonPool(horizonServers);
     this.config = config;
     this.paymentListeners = paymentListeners;
     this.paymentObservingAccountsManager = paymentObservingAccountsManager;
@@ -102,7 +134,64 @@ public class StellarPaymentObserver implements HealthCheckable {
   public void start() {
     infoF("Starting the SSEStream");
     startStream();
+    startWatchers();
+    setStatus(RUNNING);
+  }
+
+  /**
+   * Start the observer without streaming. The observer streams once it is activated with the shard
+   * it holds the lease of.
+   */
+  public void startStandby() {
+    infoF("Starting the observer in standby");
+    setStatus(STANDBY);
+    startWatchers();
+  }
 
+  /**
+   * Starts streaming the payments of the shards. The stream resumes from the earliest cursor of the
+   * shards.
+   *
+   * @param shard the shards.
+   */
+  public synchronized void activate(ObserverShard shard) {
+    infoF("Activating the observer of shards {}", shard);
+    this.shard = shard;
+    this.paymentStreamerCursorStore =
+        paymentStreamerCursorStore.forShards(shard.getIndexes(), shard.getCount());
+    lastActivityTime = Instant.now();
+    silenceTimeoutCount = 0;
+    setStatus(RUNNING);
+    restartStream();
+  }
+
+  /** Stops streaming because the lease of a shard is lost. */
+  public synchronized void deactivate() {
+    infoF("Deactivating the observer of shards {}", shard);
+    stopStream();
+    setStatus(STANDBY);
+  }
+
+  /**
+   * Sets the number of shards no replica holds the lease of. The payments of their accounts are
+   * not handled, so the observer is reported unhealthy while it is not zero.
+   *
+   * @param unownedShardCount the number of unowned shards.
+   */
+  public void setUnownedShardCount(int unownedShardCount) {
+    this.unownedShardCount = unownedShardCount;
+  }
+
+  /**
+   * Sets the cache prefilled with the operations of the observed payments.
+   *
+   * @param operationsCache the cache of the transaction operations.
+   */
+  public void setOperationsCache(TransactionOperationsCache operationsCache) {
+    this.operationsCache = operationsCache;
+  }
+
+  void startWatchers() {
     infoF("Starting the observer silence watcher");
     silenceWatcher.scheduleAtFixedRate(
         this::checkSilence,
@@ -113,7 +202,7 @@ public class StellarPaymentObserver implements HealthCheckable {
     infoF("Starting the status watcher");
     statusWatcher.scheduleWithFixedDelay(this::checkStatus, 1, 1, TimeUnit.SECONDS);
 
-    setStatus(RUNNING);
+    horizonPool.startProbing();
   }
 
   /** Graceful shut down the observer */
@@ -126,6 +215,8 @@ public class StellarPaymentObserver implements HealthCheckable {
 
     infoF("Stopping the status watcher");
     statusWatcher.shutdown();
+
+    horizonPool.close();
     setStatus(SHUTDOWN);
   }
 
@@ -135,10 +226,14 @@ public class StellarPaymentObserver implements HealthCheckable {
 
   SSEStream<OperationResponse> startSSEStream() {
     String latestCursor = fetchStreamingCursor();
-    infoF("SSEStream cursor={}", latestCursor);
+    streamNode = horizonPool.best();
+    infoF("SSEStream cursor={} horizon={}", latestCursor, streamNode.getUrl());
+    return streamFrom(streamNode, latestCursor);
+  }
 
+  SSEStream<OperationResponse> streamFrom(HorizonPool.Node node, String latestCursor) {
     PaymentsRequestBuilder paymentsRequest =
-        server
+        node.getServer()
             .payments()
             .includeTransactions(true)
             .cursor(latestCursor)
@@ -197,6 +292,7 @@ public class StellarPaymentObserver implements HealthCheckable {
           debugF(
               "The observer had been silent for {} seconds. This is too long. Setting status to SILENCE_ERROR",
               silenceDuration.getSeconds());
+          reportStreamFailure();
           setStatus(SILENCE_ERROR);
         } else {
           debugF("The observer had been silent for {} seconds.", silenceDuration.getSeconds());
@@ -205,7 +301,11 @@ public class StellarPaymentObserver implements HealthCheckable {
     }
   }
 
-  void restartStream() {
+  synchronized void restartStream() {
+    if (status == STANDBY) {
+      // The lease of the shard was lost while restarting
+      return;
+    }
     try {
       infoF("Restarting the stream");
       stopStream();
@@ -293,6 +393,7 @@ public class StellarPaymentObserver implements HealthCheckable {
         }
         break;
       case RUNNING:
+      case STANDBY:
       case SHUTDOWN:
       default:
         // NOOP
@@ -335,7 +436,9 @@ public class StellarPaymentObserver implements HealthCheckable {
     try {
       infoF("Fetching the latest payments records. (limit={})", MIN_RESULTS);
       pageOpResponse =
-          server.payments().order(RequestBuilder.Order.DESC).limit(MIN_RESULTS).execute();
+          horizonPool.read(
+              server ->
+                  server.payments().order(RequestBuilder.Order.DESC).limit(MIN_RESULTS).execute());
     } catch (IOException e) {
       Log.errorEx("Error fetching the latest /payments result.", e);
       return null;
@@ -353,6 +456,16 @@ public class StellarPaymentObserver implements HealthCheckable {
   }
 
   void handleEvent(OperationResponse operationResponse) {
+    if (!shard.isActive()) {
+      // The lease of the shard may have been taken over. The cursor is not saved, so the owner of
+      // the shard handles the event.
+      warnF(
+          "The leases of shards {} are not held. Ignore event {}",
+          shard,
+          operationResponse.getId());
+      return;
+    }
+
     if (!operationResponse.isTransactionSuccessful()) {
       savePagingToken(operationResponse.getPagingToken());
       return;
@@ -383,14 +496,18 @@ public class StellarPaymentObserver implements HealthCheckable {
       savePagingToken(operationResponse.getPagingToken());
     } else {
       try {
-        if (paymentObservingAccountsManager.lookupAndUpdate(observedPayment.getTo())) {
+        if (shard.owns(observedPayment.getTo())
+            && paymentObservingAccountsManager.lookupAndUpdate(observedPayment.getTo())) {
+          observe(operationResponse);
           for (PaymentListener listener : paymentListeners) {
             listener.onReceived(observedPayment);
           }
         }
 
-        if (paymentObservingAccountsManager.lookupAndUpdate(observedPayment.getFrom())
+        if (shard.owns(observedPayment.getFrom())
+            && paymentObservingAccountsManager.lookupAndUpdate(observedPayment.getFrom())
             && !observedPayment.getTo().equals(observedPayment.getFrom())) {
+          observe(operationResponse);
           for (PaymentListener listener : paymentListeners) {
             listener.onSent(observedPayment);
           }
@@ -413,15 +530,29 @@ public class StellarPaymentObserver implements HealthCheckable {
     }
   }
 
+  void observe(OperationResponse operationResponse) {
+    if (operationsCache != null) {
+      operationsCache.observe(operationResponse);
+    }
+  }
+
   void handleFailure(Optional<Throwable> throwable) {
     // The SSEStreamer has internal errors. We will give up and let the container
     // manager to restart.
     errorEx("stellar payment observer stream error: ", throwable.orElse(null));
 
     // Mark the observer unhealthy
+    reportStreamFailure();
     setStatus(STREAM_ERROR);
   }
 
+  void reportStreamFailure() {
+    // The stream is restarted on the best server, which is another one if there is a healthy one.
+    if (streamNode != null) {
+      horizonPool.reportFailure(streamNode);
+    }
+  }
+
   String loadPagingToken() {
     info("Loading the last stored cursor from database...");
     String token = paymentStreamerCursorStore.load();
@@ -486,12 +617,17 @@ public class StellarPaymentObserver implements HealthCheckable {
         status = RED;
         break;
       case RUNNING:
+      case STANDBY:
       default:
-        status = GREEN;
+        // The payments of the unowned shards are not handled by any replica
+        status = unownedShardCount > 0 ? YELLOW : GREEN;
         break;
     }
     StreamHealth.StreamHealthBuilder healthBuilder = StreamHealth.builder();
     healthBuilder.account(mapStreamToAccount.get(stream));
+    if (streamNode != null) {
+      healthBuilder.horizonUrl(streamNode.getUrl());
+    }
     // populate executorService information
     if (stream != null) {
       ExecutorService executorService = getField(stream, "executorService", null);
@@ -556,6 +692,9 @@ class SPOHealthCheckResult implements HealthCheckResult {
 class StreamHealth {
   String account;
 
+  @SerializedName("horizon_url")
+  String horizonUrl;
+
   @SerializedName("thread_shutdown")
   boolean threadShutdown;
 
@@ -574,6 +713,8 @@ class StreamHealth {
 enum ObserverStatus {
   // healthy
   RUNNING,
+  // waiting for the lease of a shard
+  STANDBY,
   // errors
   DATABASE_ERROR,
   PUBLISHER_ERROR,
@@ -593,12 +734,14 @@ enum ObserverStatus {
         PUBLISHER_ERROR,
         SILENCE_ERROR,
         STREAM_ERROR,
+        STANDBY,
         NEEDS_SHUTDOWN,
         SHUTDOWN);
-    addStateTransition(DATABASE_ERROR, RUNNING, NEEDS_SHUTDOWN, SHUTDOWN);
-    addStateTransition(PUBLISHER_ERROR, RUNNING, NEEDS_SHUTDOWN, SHUTDOWN);
-    addStateTransition(SILENCE_ERROR, RUNNING, NEEDS_SHUTDOWN, SHUTDOWN);
-    addStateTransition(STREAM_ERROR, RUNNING, NEEDS_SHUTDOWN, SHUTDOWN);
+    addStateTransition(STANDBY, RUNNING, NEEDS_SHUTDOWN, SHUTDOWN);
+    addStateTransition(DATABASE_ERROR, RUNNING, STANDBY, NEEDS_SHUTDOWN, SHUTDOWN);
+    addStateTransition(PUBLISHER_ERROR, RUNNING, STANDBY, NEEDS_SHUTDOWN, SHUTDOWN);
+    addStateTransition(SILENCE_ERROR, RUNNING, STANDBY, NEEDS_SHUTDOWN, SHUTDOWN);
+    addStateTransition(STREAM_ERROR, RUNNING, STANDBY, NEEDS_SHUTDOWN, SHUTDOWN);
     addStateTransition(NEEDS_SHUTDOWN, SHUTDOWN);
     addStateTransition(SHUTDOWN, SHUTDOWN);
   }
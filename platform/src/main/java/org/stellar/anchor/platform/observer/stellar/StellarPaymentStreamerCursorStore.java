@@ -1,7 +1,21 @@
 package org.stellar.anchor.platform.observer.stellar;
 
+import java.util.Set;
+
 public interface StellarPaymentStreamerCursorStore {
   void save(String cursor);
 
   String load();
+
+  /**
+   * Gets the store of the cursors of the shards an observer holds. The store loads the earliest
+   * cursor of the shards and saves the cursor of every shard.
+   *
+   * @param shards the indexes of the shards.
+   * @param shardCount the number of shards.
+   * @return the store of the cursors of the shards.
+   */
+  default StellarPaymentStreamerCursorStore forShards(Set<Integer> shards, int shardCount) {
+    return this;
+  }
 }
@@ -83,6 +83,11 @@ public class DoStellarPaymentHandler extends RpcMethodHandler<DoStellarPaymentRe
     return DO_STELLAR_PAYMENT;
   }
 
+  @Override
+  public boolean hasExternalSideEffects() {
+    return true;
+  }
+
   @Override
   protected SepTransactionStatus getNextStatus(
       JdbcSepTransaction txn, DoStellarPaymentRequest request) {
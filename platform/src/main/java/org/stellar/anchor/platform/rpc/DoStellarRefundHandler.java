@@ -112,6 +112,11 @@ public class DoStellarRefundHandler extends RpcMethodHandler<DoStellarRefundRequ
     return DO_STELLAR_REFUND;
   }
 
+  @Override
+  public boolean hasExternalSideEffects() {
+    return true;
+  }
+
   @Override
   protected SepTransactionStatus getNextStatus(
       JdbcSepTransaction txn, DoStellarRefundRequest request)
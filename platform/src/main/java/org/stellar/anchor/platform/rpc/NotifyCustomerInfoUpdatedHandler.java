@@ -68,6 +68,11 @@ public class NotifyCustomerInfoUpdatedHandler
     return NOTIFY_CUSTOMER_INFO_UPDATED;
   }
 
+  @Override
+  public boolean hasExternalSideEffects() {
+    return true;
+  }
+
   @Override
   protected SepTransactionStatus getNextStatus(
       JdbcSepTransaction txn, NotifyCustomerInfoUpdatedRequest request) throws AnchorException {
@@ -132,6 +132,12 @@ public class NotifyOffchainFundsReceivedHandler
     return NOTIFY_OFFCHAIN_FUNDS_RECEIVED;
   }
 
+  @Override
+  public boolean hasExternalSideEffects() {
+    // The custody transaction is the only external call of the handler
+    return custodyConfig.isCustodyIntegrationEnabled();
+  }
+
   @Override
   protected SepTransactionStatus getNextStatus(
       JdbcSepTransaction txn, NotifyOffchainFundsReceivedRequest request)
@@ -121,6 +121,11 @@ public class NotifyOnchainFundsReceivedHandler
     return NOTIFY_ONCHAIN_FUNDS_RECEIVED;
   }
 
+  @Override
+  public boolean hasExternalSideEffects() {
+    return true;
+  }
+
   @Override
   protected SepTransactionStatus getNextStatus(
       JdbcSepTransaction txn, NotifyOnchainFundsReceivedRequest request)
@@ -65,6 +65,11 @@ public class NotifyOnchainFundsSentHandler extends RpcMethodHandler<NotifyOnchai
     return NOTIFY_ONCHAIN_FUNDS_SENT;
   }
 
+  @Override
+  public boolean hasExternalSideEffects() {
+    return true;
+  }
+
   @Override
   protected SepTransactionStatus getNextStatus(
       JdbcSepTransaction txn, NotifyOnchainFundsSentRequest request)
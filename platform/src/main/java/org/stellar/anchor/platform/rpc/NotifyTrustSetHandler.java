@@ -71,6 +71,11 @@ public class NotifyTrustSetHandler extends RpcMethodHandler<NotifyTrustSetReques
     return NOTIFY_TRUST_SET;
   }
 
+  @Override
+  public boolean hasExternalSideEffects() {
+    return true;
+  }
+
   @Override
   protected SepTransactionStatus getNextStatus(
       JdbcSepTransaction txn, NotifyTrustSetRequest request) {
@@ -206,6 +206,11 @@ public class RequestOnchainFundsHandler extends RpcMethodHandler<RequestOnchainF
     return REQUEST_ONCHAIN_FUNDS;
   }
 
+  @Override
+  public boolean hasExternalSideEffects() {
+    return true;
+  }
+
   @Override
   protected SepTransactionStatus getNextStatus(
       JdbcSepTransaction txn, RequestOnchainFundsRequest request) {
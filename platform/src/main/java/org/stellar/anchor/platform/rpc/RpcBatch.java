@@ -0,0 +1,230 @@
+package org.stellar.anchor.platform.rpc;
+
+import static org.stellar.anchor.util.Log.errorEx;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import lombok.SneakyThrows;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.stellar.anchor.api.event.AnchorEvent;
+import org.stellar.anchor.api.exception.AnchorException;
+import org.stellar.anchor.event.EventService.Session;
+import org.stellar.anchor.platform.data.JdbcSepTransaction;
+
+/**
+ * The state of a JSON-RPC batch that is executed in bulk. The transactions referenced by the calls
+ * are prefetched together, and the transactions updated by the calls are saved in one DB
+ * transaction once all the calls have been executed. The events of the calls are published after
+ * the DB transaction commits. A call whose transaction cannot be saved or whose event cannot be
+ * published fails on its own, without failing the other calls of the batch.
+ *
+ * <p>The RpcBatch is NOT thread-safe.
+ */
+public class RpcBatch {
+  static final String SAVE_FAILED = "Failed to save the transaction of the RPC request";
+  static final String PUBLISH_FAILED = "Failed to publish the event of the RPC request";
+
+  private final Set<String> prefetchedIds = new HashSet<>();
+  private final Map<String, JdbcSepTransaction> transactions = new HashMap<>();
+  private final Set<JdbcSepTransaction> discarded =
+      Collections.newSetFromMap(new IdentityHashMap<>());
+  private final List<Call> calls = new ArrayList<>();
+  private Call current;
+
+  /**
+   * Remembers the transactions found for the ids so that the calls of the batch do not look them up
+   * one by one.
+   *
+   * @param ids the ids that were looked up.
+   * @param found the transactions found.
+   */
+  void prefetched(Collection<String> ids, Collection<? extends JdbcSepTransaction> found) {
+    prefetchedIds.addAll(ids);
+    for (JdbcSepTransaction txn : found) {
+      transactions.put(txn.getId(), txn);
+    }
+  }
+
+  boolean isPrefetched(String transactionId) {
+    return prefetchedIds.contains(transactionId);
+  }
+
+  JdbcSepTransaction getTransaction(String transactionId) {
+    return transactions.get(transactionId);
+  }
+
+  /**
+   * Starts recording the writes of a call.
+   *
+   * @param index the index of the call in the batch.
+   */
+  public void begin(int index) {
+    current = new Call(index);
+  }
+
+  /** Keeps the writes of the current call so that they are applied on commit. */
+  public void end() {
+    if (current != null && (!current.savers.isEmpty() || !current.events.isEmpty())) {
+      calls.add(current);
+    }
+    current = null;
+  }
+
+  /**
+   * Drops the writes of the current call because the call failed. If the call failed while it was
+   * modifying a transaction, the transaction is discarded: the calls that updated it earlier in the
+   * batch fail too, and the following calls look it up again.
+   */
+  public void abort() {
+    if (current != null && current.modified != null) {
+      discarded.add(current.modified);
+      prefetchedIds.remove(current.modified.getId());
+      transactions.remove(current.modified.getId());
+    }
+    current = null;
+  }
+
+  void modify(JdbcSepTransaction txn) {
+    current.modified = txn;
+  }
+
+  void save(JdbcSepTransaction txn, Saver saver) {
+    current.transactions.add(txn);
+    current.savers.add(saver);
+  }
+
+  void publish(Session session, AnchorEvent event) {
+    current.events.put(event, session);
+  }
+
+  /**
+   * Saves the transactions of the calls in one DB transaction and then publishes the events of the
+   * calls, one batch per event session.
+   *
+   * <p>If the DB transaction fails, each transaction is saved again in its own DB transaction, so
+   * that only the calls of the transactions that cannot be saved fail. If the events of a session
+   * cannot be published as a batch, they are published one by one, so that only the calls whose
+   * events cannot be published fail. The events published before the batch failed may be
+   * published twice.
+   *
+   * @param transactionTemplate the template of the DB transaction. If null, the transactions are
+   *     saved without a surrounding DB transaction.
+   * @return the reasons of the failed calls by index. The events of the calls whose transactions
+   *     could not be saved are not published.
+   */
+  public Map<Integer, String> commit(TransactionTemplate transactionTemplate) {
+    Map<Integer, String> failed = new TreeMap<>();
+    calls.removeIf(
+        call -> {
+          if (call.transactions.stream().anyMatch(discarded::contains)) {
+            failed.put(call.index, SAVE_FAILED);
+            return true;
+          }
+          return false;
+        });
+
+    // A transaction updated by several calls is saved once
+    Set<JdbcSepTransaction> toSave = Collections.newSetFromMap(new IdentityHashMap<>());
+    List<JdbcSepTransaction> saved = new ArrayList<>();
+    List<Saver> savers = new ArrayList<>();
+    for (Call call : calls) {
+      for (int i = 0; i < call.savers.size(); i++) {
+        if (toSave.add(call.transactions.get(i))) {
+          saved.add(call.transactions.get(i));
+          savers.add(call.savers.get(i));
+        }
+      }
+    }
+    try {
+      inTransaction(transactionTemplate, savers);
+    } catch (Exception ex) {
+      errorEx("Failed to save the transactions of the RPC batch. Saving them one by one.", ex);
+      Set<JdbcSepTransaction> unsaved = Collections.newSetFromMap(new IdentityHashMap<>());
+      for (int i = 0; i < savers.size(); i++) {
+        try {
+          inTransaction(transactionTemplate, List.of(savers.get(i)));
+        } catch (Exception e) {
+          errorEx(String.format("Failed to save the transaction[%s]", saved.get(i).getId()), e);
+          unsaved.add(saved.get(i));
+        }
+      }
+      calls.removeIf(
+          call -> {
+            if (call.transactions.stream().anyMatch(unsaved::contains)) {
+              failed.put(call.index, SAVE_FAILED);
+              return true;
+            }
+            return false;
+          });
+    }
+
+    Map<Session, Map<AnchorEvent, Integer>> events = new LinkedHashMap<>();
+    for (Call call : calls) {
+      call.events.forEach(
+          (event, session) ->
+              events.computeIfAbsent(session, s -> new LinkedHashMap<>()).put(event, call.index));
+    }
+    for (Map.Entry<Session, Map<AnchorEvent, Integer>> entry : events.entrySet()) {
+      Session session = entry.getKey();
+      try {
+        session.publishAll(new ArrayList<>(entry.getValue().keySet()));
+      } catch (Exception ex) {
+        errorEx("Failed to publish the events of the RPC batch. Publishing them one by one.", ex);
+        entry
+            .getValue()
+            .forEach(
+                (event, index) -> {
+                  try {
+                    session.publish(event);
+                  } catch (Exception e) {
+                    errorEx(String.format("Failed to publish the event[%s]", event.getId()), e);
+                    failed.put(index, PUBLISH_FAILED);
+                  }
+                });
+      }
+    }
+    return failed;
+  }
+
+  private static void inTransaction(
+      TransactionTemplate transactionTemplate, Collection<Saver> savers) {
+    if (transactionTemplate != null) {
+      transactionTemplate.executeWithoutResult(status -> saveAll(savers));
+    } else {
+      saveAll(savers);
+    }
+  }
+
+  @SneakyThrows
+  private static void saveAll(Collection<Saver> savers) {
+    for (Saver saver : savers) {
+      saver.save();
+    }
+  }
+
+  @FunctionalInterface
+  interface Saver {
+    void save() throws AnchorException;
+  }
+
+  private static class Call {
+    final int index;
+    final List<JdbcSepTransaction> transactions = new ArrayList<>();
+    final List<Saver> savers = new ArrayList<>();
+    final Map<AnchorEvent, Session> events = new LinkedHashMap<>();
+    JdbcSepTransaction modified;
+
+    Call(int index) {
+      this.index = index;
+    }
+  }
+}
@@ -7,12 +7,21 @@ import static org.stellar.anchor.api.sep.SepTransactionStatus.ERROR;
 import static org.stellar.anchor.api.sep.SepTransactionStatus.EXPIRED;
 import static org.stellar.anchor.api.sep.SepTransactionStatus.REFUNDED;
 import static org.stellar.anchor.event.EventService.EventQueue.TRANSACTION;
+import static org.stellar.anchor.platform.data.TransactionIdRegistry.SEP_24;
+import static org.stellar.anchor.platform.data.TransactionIdRegistry.SEP_31;
+import static org.stellar.anchor.platform.data.TransactionIdRegistry.SEP_6;
 import static org.stellar.anchor.platform.service.AnchorMetrics.PLATFORM_RPC_TRANSACTION;
 import static org.stellar.anchor.platform.utils.PlatformTransactionHelper.toGetTransactionResponse;
 import static org.stellar.anchor.util.MetricConstants.*;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonElement;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 import org.stellar.anchor.api.event.AnchorEvent;
@@ -34,10 +43,9 @@ import org.stellar.anchor.platform.data.JdbcSep24Transaction;
 import org.stellar.anchor.platform.data.JdbcSep31Transaction;
 import org.stellar.anchor.platform.data.JdbcSep6Transaction;
 import org.stellar.anchor.platform.data.JdbcSepTransaction;
+import org.stellar.anchor.platform.data.TransactionIdRegistry;
 import org.stellar.anchor.platform.validator.RequestValidator;
-import org.stellar.anchor.sep24.Sep24Transaction;
 import org.stellar.anchor.sep24.Sep24TransactionStore;
-import org.stellar.anchor.sep31.Sep31Transaction;
 import org.stellar.anchor.sep31.Sep31TransactionStore;
 import org.stellar.anchor.sep6.Sep6TransactionStore;
 import org.stellar.anchor.util.GsonUtils;
@@ -46,6 +54,7 @@ import org.stellar.anchor.util.Log;
 public abstract class RpcMethodHandler<T extends RpcMethodParamsRequest> {
 
   private static final Gson gson = GsonUtils.getInstance();
+  private static final List<String> PROBE_ORDER = List.of(SEP_31, SEP_24, SEP_6);
 
   protected final Sep6TransactionStore txn6Store;
   protected final Sep24TransactionStore txn24Store;
@@ -55,6 +64,7 @@ public abstract class RpcMethodHandler<T extends RpcMethodParamsRequest> {
   private final MetricsService metricsService;
   private final Class<T> requestType;
   private final Session eventSession;
+  private TransactionIdRegistry transactionIds = new TransactionIdRegistry();
 
   public RpcMethodHandler(
       Sep6TransactionStore txn6Store,
@@ -76,9 +86,35 @@ public abstract class RpcMethodHandler<T extends RpcMethodParamsRequest> {
   }
 
   public GetTransactionResponse handle(Object requestParams) throws AnchorException {
-    T request = gson.fromJson(gson.toJson(requestParams), requestType);
+    return handle(requestParams, null);
+  }
+
+  /**
+   * Handles the RPC request as a call of a batch. The transaction is looked up in the transactions
+   * prefetched by the batch, and the save of the transaction and the status event are deferred to
+   * the commit of the batch.
+   *
+   * @param requestParams the params of the RPC request.
+   * @param batch the batch of the call or null if the call is handled on its own.
+   * @return the updated transaction.
+   * @throws AnchorException if the request fails.
+   */
+  public GetTransactionResponse handle(Object requestParams, RpcBatch batch)
+      throws AnchorException {
+    T request = toRequest(requestParams);
     Log.infoF("Processing RPC request {}", request);
-    JdbcSepTransaction txn = getTransaction(request.getTransactionId());
+    JdbcSepTransaction txn;
+    if (batch == null) {
+      txn = getTransaction(request.getTransactionId());
+    } else if (batch.isPrefetched(request.getTransactionId())) {
+      txn = batch.getTransaction(request.getTransactionId());
+    } else {
+      // The following calls of the batch must see the updates of this call
+      txn = getTransaction(request.getTransactionId());
+      batch.prefetched(
+          Collections.singletonList(request.getTransactionId()),
+          txn != null ? List.of(txn) : List.of());
+    }
     Log.debugF("SEP transaction before request is executed {}", txn);
 
     if (txn == null) {
@@ -108,25 +144,60 @@ public abstract class RpcMethodHandler<T extends RpcMethodParamsRequest> {
               getRpcMethod(), txn.getStatus(), kind, txn.getProtocol(), areFundsReceived(txn)));
     }
 
-    updateTransaction(txn, request);
+    updateTransaction(txn, request, batch);
 
     Log.debugF("Transaction after update is executed {}", txn);
 
     GetTransactionResponse txResponse = toGetTransactionResponse(txn, assetService);
 
-    eventSession.publish(
+    AnchorEvent event =
         AnchorEvent.builder()
             .id(UUID.randomUUID().toString())
             .sep(txn.getProtocol())
             .type(TRANSACTION_STATUS_CHANGED)
             .transaction(txResponse)
-            .build());
+            .build();
+    if (batch != null) {
+      batch.publish(eventSession, event);
+    } else {
+      eventSession.publish(event);
+    }
 
-    return toGetTransactionResponse(txn, assetService);
+    return txResponse;
+  }
+
+  /**
+   * Binds the RPC params to the request type of the handler. The params parsed by the RPC
+   * controller are a JSON tree and are bound directly, without being serialized to a string and
+   * parsed again.
+   *
+   * @param requestParams the params of the RPC request.
+   * @return the request.
+   */
+  public T toRequest(Object requestParams) {
+    if (requestType.isInstance(requestParams)) {
+      return requestType.cast(requestParams);
+    }
+    if (requestParams instanceof JsonElement) {
+      return gson.fromJson((JsonElement) requestParams, requestType);
+    }
+    return gson.fromJson(gson.toJsonTree(requestParams), requestType);
   }
 
   public abstract RpcMethod getRpcMethod();
 
+  /**
+   * Returns true if handling a request calls an external service, such as the custody server,
+   * Horizon or the anchor callbacks, or publishes events outside the batch. Such a request is not
+   * handled in bulk, because its external calls cannot be deferred to the commit of the batch or
+   * rolled back with it.
+   *
+   * @return true if the request must be handled on its own.
+   */
+  public boolean hasExternalSideEffects() {
+    return false;
+  }
+
   protected abstract SepTransactionStatus getNextStatus(JdbcSepTransaction txn, T request)
       throws AnchorException;
 
@@ -136,15 +207,67 @@ public abstract class RpcMethodHandler<T extends RpcMethodParamsRequest> {
       throws AnchorException;
 
   protected JdbcSepTransaction getTransaction(String transactionId) throws AnchorException {
-    Sep31Transaction txn31 = txn31Store.findByTransactionId(transactionId);
-    if (txn31 != null) {
-      return (JdbcSep31Transaction) txn31;
+    return transactionIds.find(transactionId, PROBE_ORDER, this::getTransaction);
+  }
+
+  private JdbcSepTransaction getTransaction(String protocol, String transactionId)
+      throws AnchorException {
+    switch (protocol) {
+      case SEP_6:
+        return (JdbcSep6Transaction) txn6Store.findByTransactionId(transactionId);
+      case SEP_24:
+        return (JdbcSep24Transaction) txn24Store.findByTransactionId(transactionId);
+      case SEP_31:
+        return (JdbcSep31Transaction) txn31Store.findByTransactionId(transactionId);
+      default:
+        return null;
     }
-    Sep24Transaction txn24 = txn24Store.findByTransactionId(transactionId);
-    if (txn24 != null) {
-      return (JdbcSep24Transaction) txn24;
+  }
+
+  /**
+   * Looks up the transactions of the calls of a batch with one query per SEP protocol and keeps
+   * them in the batch.
+   *
+   * @param batch the batch.
+   * @param transactionIds the transaction ids of the calls.
+   * @throws AnchorException if the lookup fails.
+   */
+  public void prefetch(RpcBatch batch, Collection<String> transactionIds) throws AnchorException {
+    Set<String> remaining = new HashSet<>(transactionIds);
+    List<JdbcSepTransaction> found = new ArrayList<>();
+    for (String protocol : PROBE_ORDER) {
+      if (remaining.isEmpty()) break;
+      for (Object txn : findTransactions(protocol, remaining)) {
+        JdbcSepTransaction sepTxn = (JdbcSepTransaction) txn;
+        remaining.remove(sepTxn.getId());
+        found.add(sepTxn);
+      }
+    }
+    batch.prefetched(transactionIds, found);
+  }
+
+  private List<?> findTransactions(String protocol, Collection<String> transactionIds)
+      throws AnchorException {
+    switch (protocol) {
+      case SEP_6:
+        return txn6Store.findByTransactionIds(transactionIds);
+      case SEP_24:
+        return txn24Store.findByTransactionIds(transactionIds);
+      case SEP_31:
+        return txn31Store.findByTransactionIds(transactionIds);
+      default:
+        return List.of();
     }
-    return (JdbcSep6Transaction) txn6Store.findByTransactionId(transactionId);
+  }
+
+  /**
+   * Replaces the registry of the transaction protocols so that it can be shared by all the RPC
+   * method handlers.
+   *
+   * @param transactionIds the shared registry.
+   */
+  public void setTransactionIdRegistry(TransactionIdRegistry transactionIds) {
+    this.transactionIds = transactionIds;
   }
 
   protected void validate(JdbcSepTransaction txn, T request)
@@ -162,6 +285,11 @@ public abstract class RpcMethodHandler<T extends RpcMethodParamsRequest> {
   }
 
   protected void updateTransaction(JdbcSepTransaction txn, T request) throws AnchorException {
+    updateTransaction(txn, request, null);
+  }
+
+  private void updateTransaction(JdbcSepTransaction txn, T request, RpcBatch batch)
+      throws AnchorException {
     validate(txn, request);
 
     SepTransactionStatus nextStatus = getNextStatus(txn, request);
@@ -173,6 +301,10 @@ public abstract class RpcMethodHandler<T extends RpcMethodParamsRequest> {
     boolean shouldClearMessageStatus =
         !isErrorStatus(nextStatus) && isErrorStatus(SepTransactionStatus.from(txn.getStatus()));
 
+    if (batch != null) {
+      batch.modify(txn);
+    }
+
     txn.setUserActionRequiredBy(null);
     if (request instanceof SupportsUserActionRequiredBy
         && ((SupportsUserActionRequiredBy) request).getUserActionRequiredBy() != null) {
@@ -197,7 +329,7 @@ public abstract class RpcMethodHandler<T extends RpcMethodParamsRequest> {
         } else if (shouldClearMessageStatus) {
           txn6.setMessage(null);
         }
-        txn6Store.save(txn6);
+        save(batch, txn6, () -> txn6Store.save(txn6));
         break;
       case SEP_24:
         JdbcSep24Transaction txn24 = (JdbcSep24Transaction) txn;
@@ -206,7 +338,7 @@ public abstract class RpcMethodHandler<T extends RpcMethodParamsRequest> {
         } else if (shouldClearMessageStatus) {
           txn24.setMessage(null);
         }
-        txn24Store.save(txn24);
+        save(batch, txn24, () -> txn24Store.save(txn24));
         break;
       case SEP_31:
         JdbcSep31Transaction txn31 = (JdbcSep31Transaction) txn;
@@ -215,13 +347,22 @@ public abstract class RpcMethodHandler<T extends RpcMethodParamsRequest> {
         } else if (shouldClearMessageStatus) {
           txn31.setRequiredInfoMessage(null);
         }
-        txn31Store.save(txn31);
+        save(batch, txn31, () -> txn31Store.save(txn31));
         break;
     }
 
     updateMetrics(txn);
   }
 
+  private void save(RpcBatch batch, JdbcSepTransaction txn, RpcBatch.Saver saver)
+      throws AnchorException {
+    if (batch != null) {
+      batch.save(txn, saver);
+    } else {
+      saver.save();
+    }
+  }
+
   protected boolean areFundsReceived(JdbcSepTransaction txn) {
     return txn.getTransferReceivedAt() != null;
   }
@@ -12,6 +12,7 @@ public enum AnchorMetrics {
   LOGGER("logger"),
 
   PLATFORM_RPC_TRANSACTION("platform_server.rpc_transaction"),
+  FIREBLOCKS_RECONCILIATION("custody.fireblocks.reconciliation"),
 
   // Metric Tags
   TAG_SEP31_STATUS_PENDING_STELLAR("pending_stellar"),
@@ -1,26 +1,162 @@
 package org.stellar.anchor.platform.service;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.stellar.anchor.healthcheck.HealthCheckable.DEFAULT_CHECK_INTERVAL;
+import static org.stellar.anchor.healthcheck.HealthCheckable.DEFAULT_CHECK_TIMEOUT;
 import static org.stellar.anchor.util.Log.debugF;
 import static org.stellar.anchor.util.Log.warnF;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeoutException;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import org.stellar.anchor.api.platform.HealthCheckResponse;
+import org.stellar.anchor.api.platform.HealthCheckResult;
+import org.stellar.anchor.healthcheck.FailedHealthCheckResult;
 import org.stellar.anchor.healthcheck.HealthCheckProcessor;
+import org.stellar.anchor.healthcheck.HealthCheckSnapshot;
 import org.stellar.anchor.healthcheck.HealthCheckable;
+import org.stellar.anchor.platform.utils.DaemonExecutors;
 
+/**
+ * Runs the health checks in the background, each on its own schedule, and answers the health check
+ * requests with the last results. The checks run on their own threads, so a slow check neither
+ * delays the others nor the requests.
+ */
 public class HealthCheckService {
   final HealthCheckProcessor processor;
+  final List<HealthCheckable> checkables;
+  final Map<HealthCheckable, ExecutorService> checkExecutors = new HashMap<>();
+  final Map<HealthCheckable, HealthCheckSnapshot> snapshots = new ConcurrentHashMap<>();
+  // The health endpoints are not authenticated, so the checks are only run on request if allowed
+  final boolean refreshEnabled;
+  ScheduledExecutorService scheduler;
 
   public HealthCheckService(List<HealthCheckable> checkables) {
+    this(checkables, false);
+  }
+
+  /**
+   * Creates the service of the checks.
+   *
+   * @param checkables the checks.
+   * @param refreshEnabled if true, the requests may run the checks instead of reading their last
+   *     results.
+   */
+  public HealthCheckService(List<HealthCheckable> checkables, boolean refreshEnabled) {
+    this.refreshEnabled = refreshEnabled;
     checkables.forEach(
         checkable -> debugF("{} is added to the health check list.", checkable.getName()));
     if (checkables.size() == 0) {
       warnF("No health-checkable services are found");
     }
+    this.checkables = checkables;
     processor = new HealthCheckProcessor(checkables);
+    for (HealthCheckable checkable : checkables) {
+      checkExecutors.put(checkable, DaemonExecutors.newFixedThreadPool(1));
+    }
+  }
+
+  @PostConstruct
+  public void start() {
+    scheduler = DaemonExecutors.newScheduledThreadPool(Math.max(checkables.size(), 1));
+    for (HealthCheckable checkable : checkables) {
+      long interval = orDefault(checkable.getCheckInterval(), DEFAULT_CHECK_INTERVAL).toMillis();
+      scheduler.scheduleWithFixedDelay(
+          () -> await(checkable, submit(checkable)), 0, interval, MILLISECONDS);
+    }
   }
 
+  @PreDestroy
+  public void stop() {
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+    }
+    checkExecutors.values().forEach(ExecutorService::shutdownNow);
+  }
+
+  /**
+   * Answers with the last results of the checks.
+   *
+   * @param checks the tags of the checks.
+   * @return the response.
+   */
   public HealthCheckResponse check(List<String> checks) {
-    return processor.check(checks);
+    return check(checks, false);
+  }
+
+  /**
+   * Answers with the results of the checks.
+   *
+   * @param checks the tags of the checks.
+   * @param refresh if true and the refresh is enabled, the checks are run now instead of answering
+   *     with the last results.
+   * @return the response.
+   */
+  public HealthCheckResponse check(List<String> checks, boolean refresh) {
+    HealthCheckResponse response = new HealthCheckResponse();
+    List<HealthCheckable> selected = processor.getCheckables(checks);
+    List<HealthCheckResult> results = new ArrayList<>(selected.size());
+    if (refresh && refreshEnabled) {
+      // All the checks are started before waiting so that they run in parallel
+      List<Future<HealthCheckResult>> futures = new ArrayList<>(selected.size());
+      for (HealthCheckable checkable : selected) {
+        futures.add(submit(checkable));
+      }
+      for (int i = 0; i < selected.size(); i++) {
+        results.add(await(selected.get(i), futures.get(i)));
+      }
+    } else {
+      for (HealthCheckable checkable : selected) {
+        HealthCheckSnapshot snapshot = snapshots.get(checkable);
+        // The check has not run yet
+        results.add(snapshot != null ? snapshot : await(checkable, submit(checkable)));
+      }
+    }
+    return response.complete(results);
+  }
+
+  Future<HealthCheckResult> submit(HealthCheckable checkable) {
+    return checkExecutors.get(checkable).submit(checkable::check);
+  }
+
+  HealthCheckSnapshot await(HealthCheckable checkable, Future<HealthCheckResult> future) {
+    Duration timeout = orDefault(checkable.getCheckTimeout(), DEFAULT_CHECK_TIMEOUT);
+    HealthCheckResult result;
+    try {
+      result = future.get(timeout.toMillis(), MILLISECONDS);
+    } catch (TimeoutException tex) {
+      future.cancel(true);
+      result =
+          new FailedHealthCheckResult(
+              checkable.getName(), "The check timed out after " + timeout.toMillis() + " ms");
+    } catch (ExecutionException eex) {
+      warnF("The health check of {} failed. error={}", checkable.getName(), eex.getCause());
+      result = new FailedHealthCheckResult(checkable.getName(), eex.getCause().getMessage());
+    } catch (InterruptedException iex) {
+      Thread.currentThread().interrupt();
+      result = new FailedHealthCheckResult(checkable.getName(), "The check was interrupted");
+    }
+
+    HealthCheckSnapshot snapshot = new HealthCheckSnapshot(result, Instant.now());
+    snapshots.put(checkable, snapshot);
+    return snapshot;
+  }
+
+  static Duration orDefault(Duration duration, Duration defaultDuration) {
+    if (duration == null || duration.toMillis() <= 0) {
+      return defaultDuration;
+    }
+    return duration;
   }
 }
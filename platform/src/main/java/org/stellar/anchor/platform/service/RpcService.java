@@ -6,8 +6,17 @@ import static java.util.stream.Collectors.toMap;
 import static org.stellar.anchor.util.Log.debugF;
 import static org.stellar.anchor.util.Log.errorEx;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.stellar.anchor.api.exception.AnchorException;
 import org.stellar.anchor.api.exception.BadRequestException;
 import org.stellar.anchor.api.exception.rpc.InternalErrorException;
@@ -16,8 +25,12 @@ import org.stellar.anchor.api.exception.rpc.RpcException;
 import org.stellar.anchor.api.rpc.RpcRequest;
 import org.stellar.anchor.api.rpc.RpcResponse;
 import org.stellar.anchor.api.rpc.method.RpcMethod;
+import org.stellar.anchor.api.rpc.method.RpcMethodParamsRequest;
 import org.stellar.anchor.platform.config.RpcConfig;
+import org.stellar.anchor.platform.data.TransactionIdRegistry;
+import org.stellar.anchor.platform.rpc.RpcBatch;
 import org.stellar.anchor.platform.rpc.RpcMethodHandler;
+import org.stellar.anchor.platform.utils.DaemonExecutors;
 import org.stellar.anchor.platform.utils.RpcUtil;
 import org.stellar.sdk.requests.ErrorResponse;
 
@@ -25,11 +38,43 @@ public class RpcService {
 
   private final Map<RpcMethod, RpcMethodHandler<?>> rpcMethodHandlerMap;
   private final RpcConfig rpcConfig;
+  private final TransactionTemplate transactionTemplate;
+  final ExecutorService executor;
 
   public RpcService(List<RpcMethodHandler<?>> rpcMethodHandlers, RpcConfig rpcConfig) {
+    this(rpcMethodHandlers, rpcConfig, null);
+  }
+
+  public RpcService(
+      List<RpcMethodHandler<?>> rpcMethodHandlers,
+      RpcConfig rpcConfig,
+      TransactionTemplate transactionTemplate) {
     this.rpcMethodHandlerMap =
         rpcMethodHandlers.stream().collect(toMap(RpcMethodHandler::getRpcMethod, identity()));
     this.rpcConfig = rpcConfig;
+    this.transactionTemplate = transactionTemplate;
+    this.executor =
+        rpcConfig.getConcurrency() > 1
+            ? DaemonExecutors.newFixedThreadPool(rpcConfig.getConcurrency())
+            : null;
+  }
+
+  /**
+   * Sets the registry of the transaction protocols shared by all the RPC method handlers.
+   *
+   * @param transactionIds the registry.
+   */
+  public void setTransactionIdRegistry(TransactionIdRegistry transactionIds) {
+    rpcMethodHandlerMap
+        .values()
+        .forEach(handler -> handler.setTransactionIdRegistry(transactionIds));
+  }
+
+  /** Stops the threads of the RPC executor. Called when the service is destroyed. */
+  public void shutdown() {
+    if (executor != null) {
+      executor.shutdownNow();
+    }
   }
 
   public List<RpcResponse> handle(List<RpcRequest> rpcRequests) {
@@ -37,51 +82,211 @@ public class RpcService {
       return List.of(RpcUtil.getRpcBatchLimitErrorResponse(rpcConfig.getBatchSizeLimit()));
     }
 
-    return rpcRequests.stream()
-        .map(
-            rc -> {
-              final Object rpcId = rc.getId();
-              try {
-                RpcUtil.validateRpcRequest(rc);
-                return RpcUtil.getRpcSuccessResponse(rpcId, processRpcCall(rc));
-              } catch (RpcException ex) {
-                errorEx(
-                    String.format(
-                        "An RPC error occurred while processing an RPC request with method[%s] and id[%s]",
-                        rc.getMethod(), rpcId),
-                    ex);
-                return RpcUtil.getRpcErrorResponse(rc, ex);
-              } catch (BadRequestException ex) {
-                return RpcUtil.getRpcErrorResponse(rc, ex);
-              } catch (ErrorResponse ex) {
-                var message =
-                    ex.getMessage() + " Code: " + ex.getCode() + " , body: " + ex.getBody();
-                errorEx(
-                    String.format(
-                        "Error response received from Horizon while processing an RPC request with method[%s] and id[%s] with message [%s]",
-                        rc.getMethod(), rpcId, message),
-                    ex);
-                return RpcUtil.getRpcErrorResponse(rc, new InternalErrorException(message));
-              } catch (Exception ex) {
-                errorEx(
-                    String.format(
-                        "An internal error occurred while processing an RPC request with method[%s] and id[%s]",
-                        rc.getMethod(), rpcId),
-                    ex);
-                return RpcUtil.getRpcErrorResponse(rc, new InternalErrorException(ex.getMessage()));
-              }
-            })
-        .collect(toList());
+    if (rpcConfig.isBulkExecutionEnabled() && rpcRequests.size() > 1) {
+      return handleInBulk(rpcRequests);
+    }
+
+    if (executor != null && rpcRequests.size() > 1) {
+      return handleInParallel(rpcRequests);
+    }
+
+    return rpcRequests.stream().map(this::handle).collect(toList());
   }
 
-  private Object processRpcCall(RpcRequest rpcCall) throws AnchorException {
-    debugF("Started processing of RPC request with method[{}]", rpcCall.getMethod());
+  private RpcResponse handle(RpcRequest rc) {
+    try {
+      RpcUtil.validateRpcRequest(rc);
+      return RpcUtil.getRpcSuccessResponse(rc.getId(), processRpcCall(rc));
+    } catch (Exception ex) {
+      return getRpcErrorResponse(rc, ex);
+    }
+  }
+
+  /**
+   * Handles the calls of a batch on the RPC executor. The calls on the same transaction run one
+   * after the other in the order of the batch, and the calls on different transactions run
+   * concurrently. The responses are in the order of the requests.
+   */
+  private List<RpcResponse> handleInParallel(List<RpcRequest> rpcRequests) {
+    // The calls without a transaction id do not depend on the other calls
+    Map<Object, List<Integer>> callsByTransaction = new LinkedHashMap<>();
+    for (int i = 0; i < rpcRequests.size(); i++) {
+      String txnId = RpcUtil.getTransactionId(rpcRequests.get(i).getParams());
+      callsByTransaction.computeIfAbsent(txnId != null ? txnId : i, k -> new ArrayList<>()).add(i);
+    }
+
+    RpcResponse[] responses = new RpcResponse[rpcRequests.size()];
+    List<Future<?>> futures = new ArrayList<>(callsByTransaction.size());
+    for (List<Integer> calls : callsByTransaction.values()) {
+      futures.add(
+          executor.submit(
+              () -> {
+                for (int i : calls) {
+                  responses[i] = handle(rpcRequests.get(i));
+                }
+              }));
+    }
+    for (Future<?> future : futures) {
+      try {
+        future.get();
+      } catch (ExecutionException ex) {
+        errorEx("Failed to process the RPC batch", ex.getCause());
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        futures.forEach(f -> f.cancel(true));
+        break;
+      }
+    }
+
+    for (int i = 0; i < responses.length; i++) {
+      if (responses[i] == null) {
+        responses[i] =
+            RpcUtil.getRpcErrorResponse(
+                rpcRequests.get(i),
+                new InternalErrorException("The RPC request was not processed"));
+      }
+    }
+    return Arrays.asList(responses);
+  }
+
+  /**
+   * Handles the calls of a batch together. The transactions of the calls are looked up with one
+   * query per SEP protocol, the calls are executed in order, the updated transactions are saved in
+   * one DB transaction and the events are published as one batch. A call that fails still gets its
+   * own error response.
+   *
+   * <p>A call with external side effects, such as a custody payment, is handled on its own. The
+   * calls before it are committed first, so that it sees their updates and its own update is
+   * committed right after its external calls.
+   */
+  private List<RpcResponse> handleInBulk(List<RpcRequest> rpcRequests) {
+    RpcResponse[] responses = new RpcResponse[rpcRequests.size()];
+    RpcMethodHandler<?>[] handlers = new RpcMethodHandler<?>[rpcRequests.size()];
+
+    for (int i = 0; i < rpcRequests.size(); i++) {
+      RpcRequest rc = rpcRequests.get(i);
+      try {
+        RpcUtil.validateRpcRequest(rc);
+        RpcMethodHandler<?> handler = getRpcMethodHandler(rc);
+        rc.setParams(handler.toRequest(rc.getParams()));
+        handlers[i] = handler;
+      } catch (Exception ex) {
+        responses[i] = getRpcErrorResponse(rc, ex);
+      }
+    }
+
+    List<Integer> calls = new ArrayList<>();
+    for (int i = 0; i < rpcRequests.size(); i++) {
+      if (handlers[i] == null) continue;
+      if (handlers[i].hasExternalSideEffects()) {
+        handleInBatch(rpcRequests, handlers, calls, responses);
+        calls.clear();
+        responses[i] = handle(rpcRequests.get(i));
+      } else {
+        calls.add(i);
+      }
+    }
+    handleInBatch(rpcRequests, handlers, calls, responses);
+    return Arrays.asList(responses);
+  }
+
+  private void handleInBatch(
+      List<RpcRequest> rpcRequests,
+      RpcMethodHandler<?>[] handlers,
+      List<Integer> calls,
+      RpcResponse[] responses) {
+    if (calls.isEmpty()) return;
+
+    Set<String> transactionIds = new LinkedHashSet<>();
+    for (int i : calls) {
+      String txnId = ((RpcMethodParamsRequest) rpcRequests.get(i).getParams()).getTransactionId();
+      if (txnId != null) {
+        transactionIds.add(txnId);
+      }
+    }
+
+    RpcBatch batch = new RpcBatch();
+    if (!transactionIds.isEmpty()) {
+      try {
+        // The handlers share the transaction stores, so any handler can prefetch the transactions
+        handlers[calls.get(0)].prefetch(batch, transactionIds);
+      } catch (Exception ex) {
+        // The calls look up their transactions one by one
+        errorEx("Failed to prefetch the transactions of the RPC batch", ex);
+      }
+    }
+
+    for (int i : calls) {
+      RpcRequest rc = rpcRequests.get(i);
+      batch.begin(i);
+      try {
+        debugF("Started processing of RPC request with method[{}]", rc.getMethod());
+        responses[i] =
+            RpcUtil.getRpcSuccessResponse(rc.getId(), handlers[i].handle(rc.getParams(), batch));
+        batch.end();
+      } catch (Exception ex) {
+        batch.abort();
+        responses[i] = getRpcErrorResponse(rc, ex);
+      }
+    }
+
+    batch
+        .commit(transactionTemplate)
+        .forEach(
+            (i, reason) ->
+                responses[i] =
+                    RpcUtil.getRpcErrorResponse(
+                        rpcRequests.get(i), new InternalErrorException(reason)));
+  }
+
+  private RpcResponse getRpcErrorResponse(RpcRequest rc, Exception ex) {
+    final Object rpcId = rc.getId();
+    if (ex instanceof RpcException) {
+      errorEx(
+          String.format(
+              "An RPC error occurred while processing an RPC request with method[%s] and id[%s]",
+              rc.getMethod(), rpcId),
+          ex);
+      return RpcUtil.getRpcErrorResponse(rc, (RpcException) ex);
+    } else if (ex instanceof BadRequestException) {
+      return RpcUtil.getRpcErrorResponse(rc, (BadRequestException) ex);
+    } else if (ex instanceof ErrorResponse) {
+      ErrorResponse errorResponse = (ErrorResponse) ex;
+      var message =
+          ex.getMessage()
+              + " Code: "
+              + errorResponse.getCode()
+              + " , body: "
+              + errorResponse.getBody();
+      errorEx(
+          String.format(
+              "Error response received from Horizon while processing an RPC request with method[%s] and id[%s] with message [%s]",
+              rc.getMethod(), rpcId, message),
+          ex);
+      return RpcUtil.getRpcErrorResponse(rc, new InternalErrorException(message));
+    } else {
+      errorEx(
+          String.format(
+              "An internal error occurred while processing an RPC request with method[%s] and id[%s]",
+              rc.getMethod(), rpcId),
+          ex);
+      return RpcUtil.getRpcErrorResponse(rc, new InternalErrorException(ex.getMessage()));
+    }
+  }
+
+  private RpcMethodHandler<?> getRpcMethodHandler(RpcRequest rpcCall)
+      throws MethodNotFoundException {
     RpcMethodHandler<?> rpcMethodHandler =
         rpcMethodHandlerMap.get(RpcMethod.from(rpcCall.getMethod()));
     if (rpcMethodHandler == null) {
       throw new MethodNotFoundException(
           String.format("RPC method[%s] handler is not found", rpcCall.getMethod()));
     }
-    return rpcMethodHandler.handle(rpcCall.getParams());
+    return rpcMethodHandler;
+  }
+
+  private Object processRpcCall(RpcRequest rpcCall) throws AnchorException {
+    debugF("Started processing of RPC request with method[{}]", rpcCall.getMethod());
+    return getRpcMethodHandler(rpcCall).handle(rpcCall.getParams());
   }
 }
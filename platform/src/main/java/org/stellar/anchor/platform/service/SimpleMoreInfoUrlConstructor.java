@@ -1,7 +1,10 @@
 package org.stellar.anchor.platform.service;
 
 import java.net.URI;
+import java.time.Instant;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import lombok.SneakyThrows;
 import org.apache.http.client.utils.URIBuilder;
@@ -13,10 +16,23 @@ import org.stellar.anchor.platform.config.MoreInfoUrlConfig;
 import org.stellar.anchor.platform.config.PropertyClientsConfig;
 
 public abstract class SimpleMoreInfoUrlConstructor implements MoreInfoUrlConstructor {
+  static final int MAX_CACHED_URLS = 10000;
+
   PropertyClientsConfig clientsConfig;
   final MoreInfoUrlConfig config;
   private final JwtService jwtService;
 
+  // The signed URLs of the transaction versions, so that the polls of a transaction that did not
+  // change do not sign a new token
+  private final Map<String, String> urls =
+      Collections.synchronizedMap(
+          new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+              return size() > MAX_CACHED_URLS;
+            }
+          });
+
   public SimpleMoreInfoUrlConstructor(
       PropertyClientsConfig clientsConfig, MoreInfoUrlConfig config, JwtService jwtService) {
     this.clientsConfig = clientsConfig;
@@ -26,7 +42,21 @@ public abstract class SimpleMoreInfoUrlConstructor implements MoreInfoUrlConstru
 
   public abstract String construct(SepTransaction txn, String lang);
 
-  @SneakyThrows
+  /**
+   * The URLs are signed again every half of the token lifetime, so a URL is valid for at least half
+   * of the token lifetime after its generation ended.
+   *
+   * @return the generation.
+   */
+  @Override
+  public long generation() {
+    if (config == null) {
+      return 0;
+    }
+    long period = Math.max(config.getJwtExpiration() / 2, 1);
+    return Instant.now().getEpochSecond() / period;
+  }
+
   public String construct(
       String clientDomain,
       String memo,
@@ -34,7 +64,33 @@ public abstract class SimpleMoreInfoUrlConstructor implements MoreInfoUrlConstru
       String transactionId,
       SepTransaction txn,
       String lang) {
+    // Without updated_at, the versions of the transaction cannot be told apart
+    if (txn.getUpdatedAt() == null) {
+      return sign(clientDomain, memo, sep10Account, transactionId, txn, lang);
+    }
+    String key =
+        String.join(
+            "|",
+            transactionId,
+            String.valueOf(txn.getUpdatedAt().toEpochMilli()),
+            String.valueOf(lang),
+            String.valueOf(generation()));
+    String url = urls.get(key);
+    if (url == null) {
+      url = sign(clientDomain, memo, sep10Account, transactionId, txn, lang);
+      urls.put(key, url);
+    }
+    return url;
+  }
 
+  @SneakyThrows
+  String sign(
+      String clientDomain,
+      String memo,
+      String sep10Account,
+      String transactionId,
+      SepTransaction txn,
+      String lang) {
     MoreInfoUrlJwt token = getBaseToken(clientDomain, memo, sep10Account, transactionId);
 
     // add lang to token
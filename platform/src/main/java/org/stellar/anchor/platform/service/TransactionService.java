@@ -52,6 +52,7 @@ import org.stellar.anchor.platform.data.JdbcSep24Transaction;
 import org.stellar.anchor.platform.data.JdbcSep31Transaction;
 import org.stellar.anchor.platform.data.JdbcSep6Transaction;
 import org.stellar.anchor.platform.data.JdbcSepTransaction;
+import org.stellar.anchor.platform.data.TransactionIdRegistry;
 import org.stellar.anchor.platform.utils.AssetValidationUtils;
 import org.stellar.anchor.platform.utils.PlatformTransactionHelper;
 import org.stellar.anchor.sep24.Sep24DepositInfoGenerator;
@@ -63,7 +64,6 @@ import org.stellar.anchor.sep31.Sep31TransactionStore;
 import org.stellar.anchor.sep38.Sep38Quote;
 import org.stellar.anchor.sep38.Sep38QuoteStore;
 import org.stellar.anchor.sep6.Sep6DepositInfoGenerator;
-import org.stellar.anchor.sep6.Sep6Transaction;
 import org.stellar.anchor.sep6.Sep6TransactionStore;
 import org.stellar.anchor.util.*;
 import org.stellar.anchor.util.Log;
@@ -73,11 +73,15 @@ import org.stellar.anchor.util.TransactionsParams;
 import org.stellar.sdk.Memo;
 
 public class TransactionService {
+  private static final List<String> PROBE_ORDER =
+      List.of(
+          TransactionIdRegistry.SEP_31, TransactionIdRegistry.SEP_6, TransactionIdRegistry.SEP_24);
 
   private final Sep38QuoteStore quoteStore;
   private final Sep6TransactionStore txn6Store;
   private final Sep24TransactionStore txn24Store;
   private final Sep31TransactionStore txn31Store;
+  private TransactionIdRegistry transactionIds = new TransactionIdRegistry();
 
   private final List<AssetInfo> assets;
   private final Session eventSession;
@@ -141,6 +145,16 @@ public class TransactionService {
     this.custodyConfig = custodyConfig;
   }
 
+  /**
+   * Replaces the registry of the transaction protocols so that it is shared with the transaction
+   * stores.
+   *
+   * @param transactionIds the shared registry.
+   */
+  public void setTransactionIdRegistry(TransactionIdRegistry transactionIds) {
+    this.transactionIds = transactionIds;
+  }
+
   /**
    * Fetch the transaction and convert the transaction to an object of Sep24GetTransactionResponse
    * class.
@@ -212,16 +226,20 @@ public class TransactionService {
    * @return an object of JdbcSepTransaction
    */
   JdbcSepTransaction queryTransactionById(String txnId) throws AnchorException {
-    Sep31Transaction txn31 = txn31Store.findByTransactionId(txnId);
-    if (txn31 != null) {
-      return (JdbcSep31Transaction) txn31;
-    }
-    Sep6Transaction txn6 = txn6Store.findByTransactionId(txnId);
-    if (txn6 != null) {
-      return (JdbcSep6Transaction) txn6;
-    }
+    return transactionIds.find(txnId, PROBE_ORDER, this::queryTransactionById);
+  }
 
-    return (JdbcSep24Transaction) txn24Store.findByTransactionId(txnId);
+  JdbcSepTransaction queryTransactionById(String protocol, String txnId) throws AnchorException {
+    switch (protocol) {
+      case TransactionIdRegistry.SEP_6:
+        return (JdbcSep6Transaction) txn6Store.findByTransactionId(txnId);
+      case TransactionIdRegistry.SEP_24:
+        return (JdbcSep24Transaction) txn24Store.findByTransactionId(txnId);
+      case TransactionIdRegistry.SEP_31:
+        return (JdbcSep31Transaction) txn31Store.findByTransactionId(txnId);
+      default:
+        return null;
+    }
   }
 
   /**
@@ -4,6 +4,8 @@ import static org.stellar.anchor.api.rpc.RpcErrorCode.INVALID_PARAMS;
 import static org.stellar.anchor.api.rpc.RpcErrorCode.INVALID_REQUEST;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
 import java.util.ArrayList;
 import java.util.List;
 import org.stellar.anchor.api.exception.BadRequestException;
@@ -89,10 +91,48 @@ public class RpcUtil {
     }
   }
 
-  private static String getTransactionId(Object params) {
+  /**
+   * Converts a parsed RPC call to an RPC request. The params are kept as the parsed JSON tree so
+   * that the RPC method handler can bind them directly to its request type.
+   *
+   * @param rpcCall the parsed RPC call.
+   * @return the RPC request.
+   */
+  public static RpcRequest toRpcRequest(JsonObject rpcCall) {
+    if (rpcCall == null) {
+      return RpcRequest.builder().build();
+    }
+    JsonElement params = rpcCall.get("params");
+    return RpcRequest.builder()
+        .id(gson.fromJson(rpcCall.get("id"), Object.class))
+        .jsonrpc(getString(rpcCall.get("jsonrpc")))
+        .method(getString(rpcCall.get("method")))
+        .params(params == null || params.isJsonNull() ? null : params)
+        .build();
+  }
+
+  private static String getString(JsonElement element) {
+    if (element == null || element.isJsonNull()) {
+      return null;
+    }
+    return element.isJsonPrimitive() ? element.getAsString() : element.toString();
+  }
+
+  /**
+   * Reads the transaction id from the params of an RPC request.
+   *
+   * @param params the params of the RPC request.
+   * @return the transaction id or null if the params do not have one.
+   */
+  public static String getTransactionId(Object params) {
     try {
+      if (params instanceof RpcMethodParamsRequest) {
+        return ((RpcMethodParamsRequest) params).getTransactionId();
+      }
       RpcMethodParamsRequest request =
-          gson.fromJson(gson.toJson(params), RpcMethodParamsRequest.class);
+          params instanceof JsonElement
+              ? gson.fromJson((JsonElement) params, RpcMethodParamsRequest.class)
+              : gson.fromJson(gson.toJson(params), RpcMethodParamsRequest.class);
       return request.getTransactionId();
     } catch (Exception e) {
       Log.errorEx("Failed to retrieve transaction id from request", e);
@@ -0,0 +1,64 @@
+package org.stellar.anchor.platform.utils;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A token bucket that limits the rate of calls to an external API. The bucket holds up to one
+ * second of permits. The bucket can be paused, for example when the API responds with HTTP 429, in
+ * which case no permit is handed out until the pause is over.
+ */
+public class TokenBucket {
+  private final double permitsPerNano;
+  private final double capacity;
+  private double tokens;
+  private long lastRefill;
+  private long pausedUntil;
+
+  public TokenBucket(double permitsPerSecond) {
+    if (permitsPerSecond <= 0) {
+      throw new IllegalArgumentException("permitsPerSecond must be greater than 0");
+    }
+    this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+    this.capacity = Math.max(permitsPerSecond, 1);
+    this.tokens = capacity;
+    this.lastRefill = System.nanoTime();
+    this.pausedUntil = lastRefill;
+  }
+
+  /** Blocks until a permit is available. */
+  public void acquire() throws InterruptedException {
+    while (true) {
+      long waitNanos;
+      synchronized (this) {
+        long now = System.nanoTime();
+        if (now - pausedUntil < 0) {
+          waitNanos = pausedUntil - now;
+        } else {
+          tokens = Math.min(capacity, tokens + (now - lastRefill) * permitsPerNano);
+          lastRefill = now;
+          if (tokens >= 1) {
+            tokens -= 1;
+            return;
+          }
+          waitNanos = (long) Math.ceil((1 - tokens) / permitsPerNano);
+        }
+      }
+      TimeUnit.NANOSECONDS.sleep(waitNanos);
+    }
+  }
+
+  /**
+   * Stops handing out permits for the given duration and drops the permits accumulated so far.
+   *
+   * @param duration the duration of the pause.
+   */
+  public synchronized void pause(Duration duration) {
+    long until = System.nanoTime() + duration.toNanos();
+    if (until - pausedUntil > 0) {
+      pausedUntil = until;
+    }
+    tokens = 0;
+    lastRefill = pausedUntil;
+  }
+}
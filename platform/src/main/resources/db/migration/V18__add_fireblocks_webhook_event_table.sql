@@ -0,0 +1,11 @@
+CREATE TABLE fireblocks_webhook_event (
+   id VARCHAR(255),
+   event TEXT,
+   status VARCHAR(255),
+   attempt_count integer,
+   created_at TIMESTAMP WITHOUT TIME ZONE,
+   updated_at TIMESTAMP WITHOUT TIME ZONE,
+   CONSTRAINT pk_fireblocks_webhook_event PRIMARY KEY (id)
+);
+
+CREATE INDEX fireblocks_webhook_event_status_idx ON fireblocks_webhook_event (status, created_at);
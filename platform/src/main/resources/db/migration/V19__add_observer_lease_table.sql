@@ -0,0 +1,6 @@
+CREATE TABLE observer_lease (
+   id VARCHAR(255),
+   owner VARCHAR(255),
+   expires_at TIMESTAMP WITHOUT TIME ZONE,
+   CONSTRAINT pk_observer_lease PRIMARY KEY (id)
+);
@@ -0,0 +1,17 @@
+-- The indexes of the data retention job
+CREATE INDEX sep6_transaction_status_updated_at_idx ON sep6_transaction (status, updated_at);
+CREATE INDEX sep24_transaction_status_updated_at_idx ON sep24_transaction (status, updated_at);
+CREATE INDEX sep31_transaction_status_updated_at_idx ON sep31_transaction (status, updated_at);
+CREATE INDEX custody_transaction_status_updated_at_idx ON custody_transaction (status, updated_at);
+
+CREATE INDEX sep6_transaction_quote_id_idx ON sep6_transaction (quote_id);
+CREATE INDEX sep24_transaction_quote_id_idx ON sep24_transaction (quote_id);
+CREATE INDEX sep31_transaction_quote_id_idx ON sep31_transaction (quote_id);
+CREATE INDEX exchange_quote_expires_at_idx ON exchange_quote (expires_at);
+
+-- The archive tables have the columns of the transaction tables in the same order.
+-- A column added to a transaction table must also be added to its archive table.
+CREATE TABLE sep6_transaction_archive (LIKE sep6_transaction INCLUDING ALL);
+CREATE TABLE sep24_transaction_archive (LIKE sep24_transaction INCLUDING ALL);
+CREATE TABLE sep31_transaction_archive (LIKE sep31_transaction INCLUDING ALL);
+CREATE TABLE custody_transaction_archive (LIKE custody_transaction INCLUDING ALL);
@@ -0,0 +1,9 @@
+ALTER TABLE fireblocks_webhook_event ADD fireblocks_tx_id VARCHAR(255);
+ALTER TABLE fireblocks_webhook_event ADD next_attempt_at TIMESTAMP WITHOUT TIME ZONE;
+
+-- The id is the Fireblocks transaction id followed by ':' and the transaction status
+UPDATE fireblocks_webhook_event
+SET fireblocks_tx_id = left(id, length(id) - position(':' in reverse(id))),
+    next_attempt_at = created_at;
+
+CREATE INDEX fireblocks_webhook_event_tx_id_idx ON fireblocks_webhook_event (fireblocks_tx_id, created_at);
@@ -0,0 +1,8 @@
+-- The indexes of the latest updated_at queried on the primary and the replica by the replica reads.
+-- The account indexes also serve the transaction lists of an account.
+CREATE INDEX sep6_transaction_sep10_account_updated_at_idx ON sep6_transaction (sep10_account, updated_at);
+CREATE INDEX sep24_transaction_sep10_account_updated_at_idx ON sep24_transaction (sep10account, updated_at);
+
+CREATE INDEX sep6_transaction_updated_at_idx ON sep6_transaction (updated_at);
+CREATE INDEX sep24_transaction_updated_at_idx ON sep24_transaction (updated_at);
+CREATE INDEX sep31_transaction_updated_at_idx ON sep31_transaction (updated_at);
@@ -0,0 +1,5 @@
+-- The indexes of the lookups of the archived transactions by their stellar and external ids
+CREATE INDEX sep6_transaction_archive_stellar_transaction_id_idx ON sep6_transaction_archive (stellar_transaction_id);
+CREATE INDEX sep6_transaction_archive_external_transaction_id_idx ON sep6_transaction_archive (external_transaction_id);
+CREATE INDEX sep24_transaction_archive_stellar_transaction_id_idx ON sep24_transaction_archive (stellar_transaction_id);
+CREATE INDEX sep24_transaction_archive_external_transaction_id_idx ON sep24_transaction_archive (external_transaction_id);
@@ -0,0 +1,2 @@
+-- The insert order of the webhook events orders the events of a transaction received at the same time
+ALTER TABLE fireblocks_webhook_event ADD arrival_sequence BIGSERIAL;
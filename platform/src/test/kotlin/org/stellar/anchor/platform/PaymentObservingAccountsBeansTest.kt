@@ -12,6 +12,7 @@ import org.stellar.anchor.api.exception.ServerErrorException
 import org.stellar.anchor.asset.AssetService
 import org.stellar.anchor.asset.DefaultAssetService
 import org.stellar.anchor.config.AppConfig
+import org.stellar.anchor.horizon.TransactionOperationsCache
 import org.stellar.anchor.platform.component.observer.PaymentObserverBeans
 import org.stellar.anchor.platform.config.PaymentObserverConfig
 import org.stellar.anchor.platform.config.PaymentObserverConfig.StellarPaymentObserverConfig
@@ -39,7 +40,7 @@ class PaymentObservingAccountsBeansTest {
     // assetService is null
     var ex =
       assertThrows<ServerErrorException> {
-        paymentObserverBeans.stellarPaymentObserver(null, null, null, null, null, null)
+        paymentObserverBeans.stellarPaymentObserver(null, null, null, null, null, null, null)
       }
     assertInstanceOf(ServerErrorException::class.java, ex)
     assertEquals("Asset service cannot be empty.", ex.message)
@@ -54,6 +55,7 @@ class PaymentObservingAccountsBeansTest {
         null,
         null,
         null,
+        null,
         null
       )
     }
@@ -71,6 +73,7 @@ class PaymentObservingAccountsBeansTest {
         null,
         null,
         null,
+        null,
         null
       )
     }
@@ -79,14 +82,22 @@ class PaymentObservingAccountsBeansTest {
 
     // paymentListeners is null
     ex = assertThrows {
-      paymentObserverBeans.stellarPaymentObserver(assetService, null, null, null, null, null)
+      paymentObserverBeans.stellarPaymentObserver(assetService, null, null, null, null, null, null)
     }
     assertInstanceOf(ServerErrorException::class.java, ex)
     assertEquals("The stellar payment observer service needs at least one listener.", ex.message)
 
     // paymentListeners is empty
     ex = assertThrows {
-      paymentObserverBeans.stellarPaymentObserver(assetService, listOf(), null, null, null, null)
+      paymentObserverBeans.stellarPaymentObserver(
+        assetService,
+        listOf(),
+        null,
+        null,
+        null,
+        null,
+        null
+      )
     }
     assertInstanceOf(ServerErrorException::class.java, ex)
     assertEquals("The stellar payment observer service needs at least one listener.", ex.message)
@@ -99,6 +110,7 @@ class PaymentObservingAccountsBeansTest {
         null,
         null,
         null,
+        null,
         null
       )
     }
@@ -114,6 +126,7 @@ class PaymentObservingAccountsBeansTest {
         paymentStreamerCursorStore,
         null,
         null,
+        null,
         null
       )
     }
@@ -136,6 +149,7 @@ class PaymentObservingAccountsBeansTest {
     val mockPaymentObserverConfig = mockk<PaymentObserverConfig>()
 
     every { mockAppConfig.horizonUrl } returns "https://horizon-testnet.stellar.org"
+    every { mockAppConfig.horizonFallbackUrls } returns listOf()
     every { mockPaymentObserverConfig.stellar } returns
       StellarPaymentObserverConfig(1, 5, 1, 1, 2, 1, 2)
 
@@ -146,7 +160,8 @@ class PaymentObservingAccountsBeansTest {
         paymentStreamerCursorStore,
         paymentObservingAccountsManager,
         mockAppConfig,
-        mockPaymentObserverConfig
+        mockPaymentObserverConfig,
+        TransactionOperationsCache(10)
       )
     }
   }
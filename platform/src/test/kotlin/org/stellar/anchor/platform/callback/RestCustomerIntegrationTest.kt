@@ -1,6 +1,8 @@
 package org.stellar.anchor.platform.callback
 
 import io.mockk.MockKAnnotations
+import java.io.ByteArrayInputStream
+import java.io.InputStream
 import java.util.concurrent.TimeUnit
 import kotlin.test.assertEquals
 import okhttp3.OkHttpClient
@@ -22,6 +24,7 @@ import org.stellar.anchor.api.exception.BadRequestException
 import org.stellar.anchor.api.exception.ServerErrorException
 import org.stellar.anchor.api.sep.sep12.Field
 import org.stellar.anchor.api.sep.sep12.Sep12Status
+import org.stellar.anchor.api.shared.BinaryContent
 import org.stellar.anchor.api.shared.CustomerField
 import org.stellar.anchor.api.shared.ProvidedCustomerField
 import org.stellar.anchor.auth.AuthHelper
@@ -223,6 +226,43 @@ class RestCustomerIntegrationTest {
     assertNull(request.headers["Authorization"])
     val wantEndpoint = "/customer"
     MatcherAssert.assertThat(request.path, CoreMatchers.endsWith(wantEndpoint))
+    val body = request.body.readUtf8()
+    assertTrue(body.contains("name=\"photo_id_front\"; filename=\"photoIdFront\""))
+  }
+
+  @Test
+  fun test_putCustomerStreamedBinaryFields() {
+    val photo = "value_photo_id_front".toByteArray()
+    val putCustomerRequest =
+      PutCustomerRequest.builder()
+        .id("customer-id")
+        .account(TEST_ACCOUNT)
+        .firstName("John")
+        .binaryContents(
+          mapOf(
+            "photo_id_front" to
+              object : BinaryContent {
+                override fun getSize(): Long = photo.size.toLong()
+
+                override fun getInputStream(): InputStream = ByteArrayInputStream(photo)
+              }
+          )
+        )
+        .build()
+
+    mockAnchor.enqueue(MockResponse().setResponseCode(200).setBody("""{"id": "customer-id"}"""))
+
+    val gotResponse = customerIntegration.putCustomer(putCustomerRequest)
+    assertEquals("customer-id", gotResponse.id)
+
+    val request = mockAnchor.takeRequest()
+    assertEquals("PUT", request.method)
+    assertEquals("multipart/form-data", request.headers["Content-Type"]?.split(';')?.get(0))
+    val body = request.body.readUtf8()
+    assertTrue(body.contains("name=\"photo_id_front\"; filename=\"photoIdFront\""))
+    assertTrue(body.contains("value_photo_id_front"))
+    assertTrue(body.contains("name=\"first_name\""))
+    assertFalse(body.contains("binaryContents"))
   }
 
   @Test
@@ -358,4 +358,16 @@ class RestRateIntegrationTest {
       withinRoundingError(BigDecimal(amount), BigDecimal(expected), scale.toInt()),
     )
   }
+
+  @Test
+  fun `test build rate url`() {
+    val integration =
+      RestRateIntegration("http://localhost:8081/callback", null, null, gson, assetService)
+    request.clientId = "GABCD"
+
+    assertEquals(
+      "http://localhost:8081/callback/rate?type=indicative&sell_asset=iso4217%3AUSD&sell_amount=106&buy_asset=stellar%3AUSDC%3AGABCD&client_id=GABCD",
+      integration.buildRateUrl(request).toString()
+    )
+  }
 }
@@ -49,6 +49,22 @@ class AppConfigTest {
     assertErrorCode(errors, "horizon-url-invalid")
   }
 
+  @ParameterizedTest
+  @ValueSource(ints = [0, 1, 20000])
+  fun `test valid transaction_operations_cache_size`(size: Int) {
+    config.transactionOperationsCacheSize = size
+    config.validateTransactionOperationsCacheSize(config, errors)
+    assertFalse(errors.hasErrors())
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = [-1, -20000])
+  fun `test invalid transaction_operations_cache_size`(size: Int) {
+    config.transactionOperationsCacheSize = size
+    config.validateTransactionOperationsCacheSize(config, errors)
+    assertErrorCode(errors, "transaction-operations-cache-size-invalid")
+  }
+
   @ParameterizedTest
   @NullSource
   @MethodSource("validLanguages")
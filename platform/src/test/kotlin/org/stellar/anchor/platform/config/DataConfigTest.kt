@@ -0,0 +1,60 @@
+package org.stellar.anchor.platform.config
+
+import io.mockk.every
+import io.mockk.mockk
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.springframework.validation.BindException
+import org.springframework.validation.Errors
+import org.stellar.anchor.config.SecretConfig
+
+class DataConfigTest {
+  private lateinit var config: PropertyDataConfig
+  private lateinit var errors: Errors
+
+  @BeforeEach
+  fun setUp() {
+    val secretConfig = mockk<SecretConfig>()
+    every { secretConfig.dataSourceUsername } returns "username"
+    every { secretConfig.dataSourcePassword } returns "password"
+    config = PropertyDataConfig(secretConfig)
+    config.type = "h2"
+    errors = BindException(config, "config")
+  }
+
+  @Test
+  fun `test the archive lookup is enabled by default when the archive tables exist`() {
+    assertFalse(config.isArchiveLookupEnabled)
+
+    config.type = "postgres"
+    assertFalse(config.isArchiveLookupEnabled)
+
+    config.isFlywayEnabled = true
+    assertTrue(config.isArchiveLookupEnabled)
+
+    config.archiveLookup = false
+    assertFalse(config.isArchiveLookupEnabled)
+  }
+
+  @Test
+  fun `test the archive lookup is valid with the archive tables`() {
+    config.type = "aurora"
+    config.isFlywayEnabled = true
+    config.archiveLookup = true
+
+    config.validate(config, errors)
+
+    assertFalse(errors.hasErrors())
+  }
+
+  @Test
+  fun `test the archive lookup is not supported without the archive tables`() {
+    config.archiveLookup = true
+
+    config.validate(config, errors)
+
+    assertErrorCode(errors, PropertyDataConfig.ERROR_DATA_ARCHIVE_LOOKUP_NOT_SUPPORTED)
+  }
+}
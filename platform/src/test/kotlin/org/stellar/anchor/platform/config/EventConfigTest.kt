@@ -180,6 +180,22 @@ class EventConfigTest {
             null,
           ),
         ),
+        Arguments.of(
+          1,
+          "kafka-compression-type-invalid",
+          KafkaConfig(
+            "localhost:29092",
+            "client_id",
+            1,
+            10,
+            500,
+            10,
+            KafkaConfig.SecurityProtocol.PLAINTEXT,
+            null,
+            true,
+            "brotli",
+          ),
+        ),
       )
     }
 
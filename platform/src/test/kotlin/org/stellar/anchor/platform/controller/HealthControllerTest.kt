@@ -5,13 +5,18 @@ package org.stellar.anchor.platform.controller
 import io.mockk.MockKAnnotations
 import io.mockk.every
 import io.mockk.impl.annotations.MockK
+import io.mockk.verify
+import java.time.Duration
 import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertTrue
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
 import org.springframework.http.HttpStatus
 import org.stellar.anchor.api.platform.HealthCheckResult
 import org.stellar.anchor.api.platform.HealthCheckStatus
 import org.stellar.anchor.api.platform.HealthCheckStatus.*
+import org.stellar.anchor.healthcheck.FailedHealthCheckResult
+import org.stellar.anchor.healthcheck.HealthCheckSnapshot
 import org.stellar.anchor.healthcheck.HealthCheckable
 import org.stellar.anchor.platform.controller.sep.SepHealthController
 import org.stellar.anchor.platform.observer.stellar.StellarPaymentObserver
@@ -23,6 +28,9 @@ class HealthControllerTest {
   @BeforeEach
   fun setup() {
     MockKAnnotations.init(this, relaxed = true)
+    every { stellarPaymentObserver.name } returns "stellar_payment_observer"
+    every { stellarPaymentObserver.checkInterval } returns Duration.ofSeconds(10)
+    every { stellarPaymentObserver.checkTimeout } returns Duration.ofMillis(500)
   }
 
   @Test
@@ -30,24 +38,78 @@ class HealthControllerTest {
     every { stellarPaymentObserver.tags } returns
       listOf(HealthCheckable.Tags.ALL, HealthCheckable.Tags.EVENT)
 
-    val healthCheckService = HealthCheckService(listOf(stellarPaymentObserver))
+    val healthCheckService = HealthCheckService(listOf(stellarPaymentObserver), true)
     val healthController = SepHealthController(healthCheckService)
 
     // RED should result 500
     every { stellarPaymentObserver.check() } returns PojoHealthCheckResult("observer", RED)
-    var response = healthController.health(listOf("all"))
+    var response = healthController.health(listOf("all"), true)
     assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.statusCode)
 
     // GREEN should result 200
     every { stellarPaymentObserver.check() } returns PojoHealthCheckResult("observer", GREEN)
-    response = healthController.health(listOf("all"))
+    response = healthController.health(listOf("all"), true)
     assertEquals(HttpStatus.OK, response.statusCode)
 
     // YELLOW should result 200
     every { stellarPaymentObserver.check() } returns PojoHealthCheckResult("observer", YELLOW)
-    response = healthController.health(listOf("all"))
+    response = healthController.health(listOf("all"), true)
     assertEquals(HttpStatus.OK, response.statusCode)
   }
+
+  @Test
+  fun `health controller returns the last result unless refreshed`() {
+    every { stellarPaymentObserver.tags } returns listOf(HealthCheckable.Tags.ALL)
+    every { stellarPaymentObserver.check() } returns PojoHealthCheckResult("observer", GREEN)
+
+    val healthCheckService = HealthCheckService(listOf(stellarPaymentObserver), true)
+    val healthController = SepHealthController(healthCheckService)
+    assertEquals(HttpStatus.OK, healthController.health(listOf("all"), false).statusCode)
+
+    every { stellarPaymentObserver.check() } returns PojoHealthCheckResult("observer", RED)
+    assertEquals(HttpStatus.OK, healthController.health(listOf("all"), false).statusCode)
+    assertEquals(
+      HttpStatus.INTERNAL_SERVER_ERROR,
+      healthController.health(listOf("all"), true).statusCode
+    )
+    assertEquals(
+      HttpStatus.INTERNAL_SERVER_ERROR,
+      healthController.health(listOf("all"), false).statusCode
+    )
+    verify(exactly = 2) { stellarPaymentObserver.check() }
+  }
+
+  @Test
+  fun `health controller ignores the refresh unless it is enabled`() {
+    every { stellarPaymentObserver.tags } returns listOf(HealthCheckable.Tags.ALL)
+    every { stellarPaymentObserver.check() } returns PojoHealthCheckResult("observer", GREEN)
+
+    val healthCheckService = HealthCheckService(listOf(stellarPaymentObserver))
+    val healthController = SepHealthController(healthCheckService)
+    assertEquals(HttpStatus.OK, healthController.health(listOf("all"), true).statusCode)
+
+    every { stellarPaymentObserver.check() } returns PojoHealthCheckResult("observer", RED)
+    assertEquals(HttpStatus.OK, healthController.health(listOf("all"), true).statusCode)
+    verify(exactly = 1) { stellarPaymentObserver.check() }
+  }
+
+  @Test
+  fun `health check that does not complete in time is RED`() {
+    every { stellarPaymentObserver.tags } returns listOf(HealthCheckable.Tags.ALL)
+    every { stellarPaymentObserver.check() } answers
+      {
+        Thread.sleep(5000)
+        PojoHealthCheckResult("observer", GREEN)
+      }
+
+    val healthCheckService = HealthCheckService(listOf(stellarPaymentObserver), true)
+    val response = healthCheckService.check(listOf("all"), true)
+
+    val result = response.checks["stellar_payment_observer"] as HealthCheckSnapshot
+    assertEquals(RED, result.status)
+    assertTrue(result.result is FailedHealthCheckResult)
+    healthCheckService.stop()
+  }
 }
 
 class PojoHealthCheckResult(private val name: String, private val status: HealthCheckStatus) :
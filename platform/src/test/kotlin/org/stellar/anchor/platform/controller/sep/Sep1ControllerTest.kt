@@ -0,0 +1,76 @@
+package org.stellar.anchor.platform.controller.sep
+
+import io.mockk.MockKAnnotations
+import io.mockk.every
+import io.mockk.impl.annotations.MockK
+import java.io.ByteArrayInputStream
+import java.util.zip.GZIPInputStream
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.springframework.http.HttpHeaders
+import org.springframework.http.HttpStatus
+import org.stellar.anchor.config.Sep1Config
+import org.stellar.anchor.config.Sep1Config.TomlType.STRING
+import org.stellar.anchor.sep1.Sep1Service
+
+class Sep1ControllerTest {
+  companion object {
+    private const val TOML = "VERSION = \"2.0.0\""
+  }
+
+  @MockK(relaxed = true) private lateinit var sep1Config: Sep1Config
+
+  private lateinit var sep1Controller: Sep1Controller
+
+  @BeforeEach
+  fun setUp() {
+    MockKAnnotations.init(this)
+    every { sep1Config.isEnabled } returns true
+    every { sep1Config.type } returns STRING
+    every { sep1Config.value } returns TOML
+    sep1Controller = Sep1Controller(sep1Config, Sep1Service(sep1Config))
+  }
+
+  @Test
+  fun `test identity and gzip representations have different etags`() {
+    val identity = sep1Controller.getToml(null, null)
+    assertEquals(HttpStatus.OK, identity.statusCode)
+    assertNull(identity.headers.getFirst(HttpHeaders.CONTENT_ENCODING))
+    assertEquals(HttpHeaders.ACCEPT_ENCODING, identity.headers.getFirst(HttpHeaders.VARY))
+    assertEquals(TOML, String(identity.body!!))
+
+    val gzip = sep1Controller.getToml(null, "gzip, deflate")
+    assertEquals(HttpStatus.OK, gzip.statusCode)
+    assertEquals("gzip", gzip.headers.getFirst(HttpHeaders.CONTENT_ENCODING))
+    assertEquals(HttpHeaders.ACCEPT_ENCODING, gzip.headers.getFirst(HttpHeaders.VARY))
+    assertEquals(TOML, String(GZIPInputStream(ByteArrayInputStream(gzip.body)).readAllBytes()))
+
+    assertNotNull(identity.headers.eTag)
+    assertNotNull(gzip.headers.eTag)
+    assertNotEquals(identity.headers.eTag, gzip.headers.eTag)
+  }
+
+  @Test
+  fun `test not modified only for the etag of the same encoding`() {
+    val identityEtag = sep1Controller.getToml(null, null).headers.eTag
+    val gzipEtag = sep1Controller.getToml(null, "gzip").headers.eTag
+
+    var response = sep1Controller.getToml(identityEtag, null)
+    assertEquals(HttpStatus.NOT_MODIFIED, response.statusCode)
+    assertEquals(identityEtag, response.headers.eTag)
+    assertNull(response.body)
+
+    response = sep1Controller.getToml(gzipEtag, "gzip")
+    assertEquals(HttpStatus.NOT_MODIFIED, response.statusCode)
+    assertEquals(gzipEtag, response.headers.eTag)
+
+    // The etag of the other encoding does not match
+    response = sep1Controller.getToml(identityEtag, "gzip")
+    assertEquals(HttpStatus.OK, response.statusCode)
+    assertEquals(gzipEtag, response.headers.eTag)
+    response = sep1Controller.getToml(gzipEtag, null)
+    assertEquals(HttpStatus.OK, response.statusCode)
+    assertEquals(identityEtag, response.headers.eTag)
+  }
+}
@@ -0,0 +1,155 @@
+package org.stellar.anchor.platform.controller.sep
+
+import java.time.Instant
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicReference
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+import org.stellar.anchor.api.event.AnchorEvent
+import org.stellar.anchor.api.exception.SepValidationException
+import org.stellar.anchor.api.platform.GetTransactionResponse
+import org.stellar.anchor.api.sep.sep24.Sep24GetTransactionResponse
+import org.stellar.anchor.api.sep.sep24.TransactionResponse
+import org.stellar.anchor.platform.config.PropertyEventConfig
+import org.stellar.anchor.platform.event.TransactionChangeNotifier
+
+class TransactionChangeWaiterTest {
+  private val startedAt = Instant.parse("2024-01-01T00:00:00Z")
+
+  private lateinit var notifier: TransactionChangeNotifier
+  private lateinit var waiter: TransactionChangeWaiter
+
+  @BeforeEach
+  fun setup() {
+    notifier = TransactionChangeNotifier(PropertyEventConfig())
+    waiter = TransactionChangeWaiter(notifier)
+  }
+
+  @AfterEach
+  fun tearDown() {
+    notifier.stop()
+  }
+
+  @Test
+  fun `test the result is set at once if the transaction changed`() {
+    val current = response("txn-1", startedAt.plusSeconds(10), "pending_anchor")
+    val result =
+      waiter.waitForChange(
+        current,
+        startedAt,
+        { throw IllegalStateException("not called") },
+        TransactionChangeWaiter.SEP24
+      )
+
+    assertSame(current, result.result)
+  }
+
+  @Test
+  fun `test the result is set when the transaction changes`() {
+    val current = response("txn-2", startedAt, "pending_anchor")
+    val stored = AtomicReference(current)
+    val result =
+      waiter.waitForChange(
+        current,
+        startedAt,
+        { stored.get() },
+        TransactionChangeWaiter.SEP24
+      )
+    Thread.sleep(100)
+    assertFalse(result.hasResult())
+
+    val changed = response("txn-2", startedAt.plusSeconds(1), "completed")
+    stored.set(changed)
+    notifier.published(event("txn-2"))
+
+    val deadline = System.currentTimeMillis() + 5000
+    while (!result.hasResult() && System.currentTimeMillis() < deadline) Thread.sleep(10)
+    assertSame(changed, result.result)
+  }
+
+  @Test
+  fun `test the stream looks up the transaction when it changes`() {
+    val current = response("txn-3", startedAt, "pending_anchor")
+    val lookups = AtomicInteger()
+    waiter.stream(
+      current,
+      {
+        lookups.incrementAndGet()
+        current
+      },
+      TransactionChangeWaiter.SEP24
+    )
+    awaitLookups(lookups, 1)
+
+    notifier.published(event("txn-3"))
+    awaitLookups(lookups, 2)
+
+    notifier.published(event("txn-4"))
+    Thread.sleep(100)
+    assertEquals(2, lookups.get())
+  }
+
+  @Test
+  fun `test the stream of a transaction in error is completed at once`() {
+    val lookups = AtomicInteger()
+    waiter.stream(
+      response("txn-5", startedAt, "error"),
+      {
+        lookups.incrementAndGet()
+        throw IllegalStateException("not called")
+      },
+      TransactionChangeWaiter.SEP24
+    )
+
+    notifier.published(event("txn-5"))
+    Thread.sleep(100)
+    assertEquals(0, lookups.get())
+  }
+
+  @Test
+  fun `test isUpdatedAfter`() {
+    val view = TransactionChangeWaiter.SEP24
+    assertTrue(TransactionChangeWaiter.isUpdatedAfter(response("txn", startedAt, "x"), null, view))
+    assertTrue(TransactionChangeWaiter.isUpdatedAfter(response("txn", null, "x"), startedAt, view))
+    assertFalse(
+      TransactionChangeWaiter.isUpdatedAfter(response("txn", startedAt, "x"), startedAt, view)
+    )
+    assertTrue(
+      TransactionChangeWaiter.isUpdatedAfter(
+        response("txn", startedAt.plusMillis(1), "x"),
+        startedAt,
+        view
+      )
+    )
+  }
+
+  @Test
+  fun `test parseSince`() {
+    assertEquals(startedAt, TransactionChangeWaiter.parseSince("2024-01-01T00:00:00Z"))
+    assertThrows<SepValidationException> { TransactionChangeWaiter.parseSince("yesterday") }
+  }
+
+  private fun awaitLookups(lookups: AtomicInteger, expected: Int) {
+    val deadline = System.currentTimeMillis() + 5000
+    while (lookups.get() < expected && System.currentTimeMillis() < deadline) Thread.sleep(10)
+    assertEquals(expected, lookups.get())
+  }
+
+  private fun response(id: String, updatedAt: Instant?, status: String) =
+    Sep24GetTransactionResponse.of(
+      TransactionResponse().apply {
+        this.id = id
+        this.updatedAt = updatedAt
+        this.status = status
+      }
+    )
+
+  private fun event(id: String) =
+    AnchorEvent.builder()
+      .type(AnchorEvent.Type.TRANSACTION_STATUS_CHANGED)
+      .transaction(GetTransactionResponse.builder().id(id).build())
+      .build()
+}
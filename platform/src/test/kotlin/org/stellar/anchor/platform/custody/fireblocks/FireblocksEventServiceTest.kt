@@ -33,9 +33,6 @@ import org.stellar.anchor.util.GsonUtils
 import org.stellar.anchor.util.RSAUtil
 import org.stellar.anchor.util.RSAUtil.RSA_ALGORITHM
 import org.stellar.anchor.util.RSAUtil.SHA512_WITH_RSA_ALGORITHM
-import org.stellar.sdk.Server
-import org.stellar.sdk.requests.PaymentsRequestBuilder
-import org.stellar.sdk.responses.Page
 import org.stellar.sdk.responses.operations.OperationResponse
 import org.stellar.sdk.responses.operations.PathPaymentStrictReceiveOperationResponse
 import org.stellar.sdk.responses.operations.PaymentOperationResponse
@@ -51,9 +48,6 @@ class FireblocksEventServiceTest {
   private lateinit var sep24CustodyPaymentHandler: Sep24CustodyPaymentHandler
   private lateinit var sep31CustodyPaymentHandler: Sep31CustodyPaymentHandler
   private lateinit var horizon: Horizon
-  private lateinit var server: Server
-  private lateinit var paymentsRequestBuilder: PaymentsRequestBuilder
-  private lateinit var page: Page<OperationResponse>
 
   @BeforeEach
   fun setUp() {
@@ -63,9 +57,6 @@ class FireblocksEventServiceTest {
     sep24CustodyPaymentHandler = mockk()
     sep31CustodyPaymentHandler = mockk()
     horizon = mockk()
-    server = mockk()
-    paymentsRequestBuilder = mockk()
-    page = mockk()
   }
 
   @Test
@@ -190,12 +181,7 @@ class FireblocksEventServiceTest {
 
     val paymentCapture = slot<CustodyPayment>()
 
-    every { horizon.server } returns server
-    every { server.payments() } returns paymentsRequestBuilder
-    every { paymentsRequestBuilder.includeTransactions(true) } returns paymentsRequestBuilder
-    every { paymentsRequestBuilder.forTransaction("testTxHash") } returns paymentsRequestBuilder
-    every { paymentsRequestBuilder.execute() } returns page
-    every { page.records } returns operationRecords
+    every { horizon.getStellarTxnOperations("testTxHash") } returns operationRecords
     every { custodyTransactionRepo.findByExternalTxId(any()) } returns custodyTxn
     every { sep24CustodyPaymentHandler.onSent(eq(custodyTxn), capture(paymentCapture)) } just runs
     every {
@@ -232,12 +218,7 @@ class FireblocksEventServiceTest {
 
     val paymentCapture = slot<CustodyPayment>()
 
-    every { horizon.server } returns server
-    every { server.payments() } returns paymentsRequestBuilder
-    every { paymentsRequestBuilder.includeTransactions(true) } returns paymentsRequestBuilder
-    every { paymentsRequestBuilder.forTransaction("testTxHash") } returns paymentsRequestBuilder
-    every { paymentsRequestBuilder.execute() } returns page
-    every { page.records } returns operationRecords
+    every { horizon.getStellarTxnOperations("testTxHash") } returns operationRecords
     every { custodyTransactionRepo.findByExternalTxId(any()) } returns custodyTxn
     every { sep24CustodyPaymentHandler.onSent(eq(custodyTxn), capture(paymentCapture)) } just runs
     every {
@@ -278,12 +259,7 @@ class FireblocksEventServiceTest {
 
     val paymentCapture = slot<CustodyPayment>()
 
-    every { horizon.server } returns server
-    every { server.payments() } returns paymentsRequestBuilder
-    every { paymentsRequestBuilder.includeTransactions(true) } returns paymentsRequestBuilder
-    every { paymentsRequestBuilder.forTransaction("testTxHash") } returns paymentsRequestBuilder
-    every { paymentsRequestBuilder.execute() } returns page
-    every { page.records } returns operationRecords
+    every { horizon.getStellarTxnOperations("testTxHash") } returns operationRecords
     every { custodyTransactionRepo.findByExternalTxId(any()) } returns custodyTxn
     every { sep24CustodyPaymentHandler.onSent(eq(custodyTxn), capture(paymentCapture)) } just runs
     every {
@@ -487,6 +463,38 @@ class FireblocksEventServiceTest {
     assertEquals(externalTransactionId, transactionToUpdate.captured.externalTxId)
   }
 
+  @Test
+  fun `test handleFireblocksEvent() stores the event in the inbox when the inbox is enabled`() {
+    val config =
+      getFireblocksConfig(getResourceFileAsString("custody/fireblocks/webhook/public_key.txt"))
+    val webhookInbox = mockk<FireblocksWebhookInbox>()
+    every { webhookInbox.setProcessor(any()) } just runs
+    every { webhookInbox.isEnabled } returns true
+    every { webhookInbox.append(any(), any()) } returns true
+    val eventsService =
+      FireblocksEventService(
+        custodyTransactionRepo,
+        sep6CustodyPaymentHandler,
+        sep24CustodyPaymentHandler,
+        sep31CustodyPaymentHandler,
+        horizon,
+        config,
+        webhookInbox
+      )
+
+    val eventObject: String = confirmingEventRequest.trimIndent()
+    val signature: String = generateSignature(eventObject)
+    val httpHeaders: Map<String, String> = mutableMapOf(FIREBLOCKS_SIGNATURE_HEADER to signature)
+    val details = slot<TransactionDetails>()
+
+    eventsService.handleEvent(eventObject, httpHeaders)
+
+    verify(exactly = 1) { webhookInbox.append(capture(details), eventObject) }
+    assertEquals("testEventId", details.captured.id)
+    verify { custodyTransactionRepo wasNot Called }
+    verify { horizon wasNot Called }
+  }
+
   private fun getFireblocksConfig(publicKey: String): FireblocksConfig {
     val config = FireblocksConfig(secretConfig)
     config.publicKey = publicKey
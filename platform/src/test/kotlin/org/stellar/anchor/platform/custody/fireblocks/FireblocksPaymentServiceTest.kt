@@ -14,6 +14,7 @@ import org.skyscreamer.jsonassert.JSONAssert
 import org.skyscreamer.jsonassert.JSONCompareMode
 import org.stellar.anchor.api.exception.FireblocksException
 import org.stellar.anchor.platform.config.FireblocksConfig
+import org.stellar.anchor.platform.custody.CustodyPaymentService
 import org.stellar.anchor.platform.data.JdbcCustodyTransaction
 import org.stellar.anchor.util.GsonUtils
 
@@ -200,6 +201,29 @@ class FireblocksPaymentServiceTest {
     JSONAssert.assertEquals(twoTransactionsResponse, gson.toJson(response), JSONCompareMode.STRICT)
   }
 
+  @Test
+  fun `getTransactionsByTimeRange sends each page through the guard`() {
+    fireblocksPaymentService = FireblocksPaymentService(fireblocksClient, fireblocksConfig, 2)
+    val startTime = Instant.now().minusSeconds(5)
+    val endTime = Instant.now()
+    every { fireblocksClient.get(any(), any()) } returns
+      twoTransactionsResponse andThen
+      oneTransactionResponse
+    var sent = 0
+    val guard =
+      object : CustodyPaymentService.RequestGuard {
+        override fun <R> send(request: CustodyPaymentService.Request<R>): R {
+          sent++
+          return request.send()
+        }
+      }
+
+    val response = fireblocksPaymentService.getTransactionsByTimeRange(startTime, endTime, guard)
+
+    assertEquals(2, sent)
+    assertEquals(3, response.size)
+  }
+
   @Test
   fun `getTransactionsByTimeRange select more than limit`() {
     fireblocksPaymentService = FireblocksPaymentService(fireblocksClient, fireblocksConfig, 2)
@@ -0,0 +1,175 @@
+package org.stellar.anchor.platform.custody.fireblocks
+
+import io.mockk.*
+import java.time.Instant
+import kotlin.test.assertEquals
+import kotlin.test.assertFalse
+import kotlin.test.assertTrue
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.springframework.dao.DataIntegrityViolationException
+import org.stellar.anchor.api.custody.fireblocks.TransactionDetails
+import org.stellar.anchor.api.custody.fireblocks.TransactionStatus
+import org.stellar.anchor.platform.config.FireblocksConfig
+import org.stellar.anchor.platform.data.JdbcFireblocksWebhookEvent
+import org.stellar.anchor.platform.data.JdbcFireblocksWebhookEvent.Status.*
+import org.stellar.anchor.platform.data.JdbcFireblocksWebhookEventRepo
+
+class FireblocksWebhookInboxTest {
+  private lateinit var webhookEventRepo: JdbcFireblocksWebhookEventRepo
+  private lateinit var webhookInbox: FireblocksWebhookInbox
+
+  @BeforeEach
+  fun setUp() {
+    webhookEventRepo = mockk()
+    val config = FireblocksConfig(mockk())
+    config.webhook = FireblocksConfig.Webhook(true, 2, 3, 1000, 3000, 5000, 60000)
+    webhookInbox = FireblocksWebhookInbox(webhookEventRepo, config)
+  }
+
+  @Test
+  fun `test append inserts a new event without a lookup`() {
+    val saved = slot<JdbcFireblocksWebhookEvent>()
+    every { webhookEventRepo.save(capture(saved)) } answers { firstArg() }
+    every { webhookEventRepo.hasOlderPendingEvent(any(), any(), any()) } returns false
+    webhookInbox.setProcessor {}
+
+    assertTrue(webhookInbox.append(details(), "{}"))
+    assertTrue(saved.captured.isNew)
+    assertEquals("txnId:CONFIRMING", saved.captured.id)
+    assertEquals("txnId", saved.captured.fireblocksTxId)
+    verify(exactly = 0) { webhookEventRepo.existsById(any()) }
+    verify(exactly = 0) { webhookEventRepo.findById(any()) }
+  }
+
+  @Test
+  fun `test append drops an event already in the inbox`() {
+    every { webhookEventRepo.save(any()) } throws DataIntegrityViolationException("duplicate")
+
+    assertFalse(webhookInbox.append(details(), "{}"))
+    verify(exactly = 0) { webhookEventRepo.existsById(any()) }
+  }
+
+  @Test
+  fun `test process marks the event as processed`() {
+    val processed = mutableListOf<String>()
+    webhookInbox.setProcessor { processed.add(it) }
+    val inboxEvent = pendingEvent()
+    every { webhookEventRepo.save(any()) } answers { firstArg() }
+    every { webhookEventRepo.hasOlderPendingEvent("txnId", any(), any()) } returns false
+
+    webhookInbox.process(inboxEvent)
+
+    assertEquals(listOf("{}"), processed)
+    assertEquals(PROCESSED.name, inboxEvent.status)
+  }
+
+  @Test
+  fun `test process retries with backoff and marks the event as failed after the max attempts`() {
+    webhookInbox.setProcessor { throw RuntimeException("failed") }
+    val inboxEvent = pendingEvent()
+    every { webhookEventRepo.save(any()) } answers { firstArg() }
+    every { webhookEventRepo.hasOlderPendingEvent("txnId", any(), any()) } returns false
+
+    var before = Instant.now()
+    webhookInbox.process(inboxEvent)
+    assertEquals(PENDING.name, inboxEvent.status)
+    assertEquals(1, inboxEvent.attemptCount)
+    assertTrue(!inboxEvent.nextAttemptAt.isBefore(before.plusMillis(1000)))
+
+    before = Instant.now()
+    webhookInbox.process(inboxEvent)
+    assertEquals(PENDING.name, inboxEvent.status)
+    assertEquals(2, inboxEvent.attemptCount)
+    assertTrue(!inboxEvent.nextAttemptAt.isBefore(before.plusMillis(2000)))
+
+    val lastNextAttemptAt = inboxEvent.nextAttemptAt
+    webhookInbox.process(inboxEvent)
+    assertEquals(FAILED.name, inboxEvent.status)
+    assertEquals(3, inboxEvent.attemptCount)
+    assertEquals(lastNextAttemptAt, inboxEvent.nextAttemptAt)
+    verify(exactly = 3) { webhookEventRepo.save(inboxEvent) }
+  }
+
+  @Test
+  fun `test retry delay doubles up to the max retry delay`() {
+    assertEquals(1000, webhookInbox.retryDelay(1))
+    assertEquals(2000, webhookInbox.retryDelay(2))
+    assertEquals(3000, webhookInbox.retryDelay(3))
+    assertEquals(3000, webhookInbox.retryDelay(40))
+  }
+
+  @Test
+  fun `test process skips an event until the older events of the transaction are processed`() {
+    val processed = mutableListOf<String>()
+    webhookInbox.setProcessor { processed.add(it) }
+    val inboxEvent = pendingEvent()
+    every { webhookEventRepo.hasOlderPendingEvent("txnId", any(), 2) } returns true
+
+    webhookInbox.process(inboxEvent)
+
+    assertEquals(listOf<String>(), processed)
+    assertEquals(PENDING.name, inboxEvent.status)
+    assertEquals(0, inboxEvent.attemptCount)
+    verify(exactly = 0) { webhookEventRepo.save(any()) }
+  }
+
+  @Test
+  fun `test sweep dispatches the due head events`() {
+    val processed = mutableListOf<String>()
+    webhookInbox.setProcessor { processed.add(it) }
+    every { webhookEventRepo.findDueHeadEvents(any(), any()) } returns listOf(pendingEvent())
+    every { webhookEventRepo.hasOlderPendingEvent(any(), any(), any()) } returns false
+    every { webhookEventRepo.save(any()) } answers { firstArg() }
+
+    webhookInbox.sweep()
+
+    verify(timeout = 5000) { webhookEventRepo.save(match { it.status == PROCESSED.name }) }
+    assertEquals(listOf("{}"), processed)
+  }
+
+  @Test
+  fun `test a disabled inbox starts no worker`() {
+    val config = FireblocksConfig(mockk())
+    config.webhook = FireblocksConfig.Webhook(false, 2, 3, 1000, 3000, 5000, 60000)
+    webhookInbox = FireblocksWebhookInbox(webhookEventRepo, config)
+    webhookInbox.setProcessor { throw IllegalStateException("not dispatched") }
+
+    webhookInbox.dispatch(pendingEvent())
+    webhookInbox.sweep()
+    webhookInbox.purge()
+    webhookInbox.shutdown()
+
+    verify { webhookEventRepo wasNot called }
+  }
+
+  @Test
+  fun `test purge deletes the processed events before the dedupe window in batches`() {
+    every { webhookEventRepo.deleteProcessedBefore(any(), any()) } returnsMany
+      listOf(FireblocksWebhookInbox.PURGE_BATCH_SIZE, 10)
+
+    val before = Instant.now().minusMillis(60000)
+    webhookInbox.purge()
+    val after = Instant.now().minusMillis(60000)
+
+    verify(exactly = 2) {
+      webhookEventRepo.deleteProcessedBefore(
+        match { !it.isBefore(before) && !it.isAfter(after) },
+        FireblocksWebhookInbox.PURGE_BATCH_SIZE
+      )
+    }
+  }
+
+  private fun details(): TransactionDetails =
+    TransactionDetails.builder().id("txnId").status(TransactionStatus.CONFIRMING).build()
+
+  private fun pendingEvent(): JdbcFireblocksWebhookEvent =
+    JdbcFireblocksWebhookEvent.builder()
+      .id("txnId:CONFIRMING")
+      .fireblocksTxId("txnId")
+      .event("{}")
+      .status(PENDING.name)
+      .createdAt(Instant.now())
+      .arrivalSequence(2)
+      .build()
+}
@@ -0,0 +1,245 @@
+package org.stellar.anchor.platform.data
+
+import java.time.Duration
+import java.time.Instant
+import java.util.UUID
+import javax.persistence.EntityManager
+import javax.persistence.EntityManagerFactory
+import javax.sql.DataSource
+import org.h2.jdbcx.JdbcDataSource
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+import org.springframework.context.annotation.AnnotationConfigApplicationContext
+import org.springframework.context.annotation.Bean
+import org.springframework.context.annotation.ComponentScan
+import org.springframework.context.annotation.Configuration
+import org.springframework.context.annotation.FilterType
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories
+import org.springframework.orm.jpa.JpaTransactionManager
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean
+import org.springframework.orm.jpa.SharedEntityManagerCreator
+import org.springframework.orm.jpa.persistenceunit.PersistenceUnitPostProcessor
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter
+import org.springframework.transaction.PlatformTransactionManager
+import org.springframework.transaction.annotation.EnableTransactionManagement
+import org.springframework.transaction.support.TransactionTemplate
+
+/**
+ * Runs the archiving SQL and the archive lookups of the SEP-24 store on an H2 database. The columns
+ * of the archive table are created in the reverse order of the columns of the transaction table.
+ */
+class JdbcDataRetentionTest {
+  @Configuration
+  @EnableTransactionManagement
+  @EnableJpaRepositories(
+    basePackageClasses = [JdbcSep24TransactionRepo::class],
+    includeFilters =
+      [
+        ComponentScan.Filter(
+          type = FilterType.ASSIGNABLE_TYPE,
+          classes = [JdbcSep24TransactionRepo::class]
+        )
+      ]
+  )
+  open class RetentionConfig {
+    @Bean
+    open fun dataSource(): DataSource {
+      val dataSource = JdbcDataSource()
+      dataSource.setURL("jdbc:h2:mem:retention-${UUID.randomUUID()};DB_CLOSE_DELAY=-1")
+      return dataSource
+    }
+
+    @Bean
+    open fun entityManagerFactory(dataSource: DataSource): LocalContainerEntityManagerFactoryBean {
+      val factory = LocalContainerEntityManagerFactoryBean()
+      factory.dataSource = dataSource
+      factory.jpaVendorAdapter = HibernateJpaVendorAdapter()
+      // No entity is scanned. Only the transactions of the test are mapped.
+      factory.setPackagesToScan(JdbcDataRetentionTest::class.java.packageName + ".none")
+      factory.setPersistenceUnitPostProcessors(
+        PersistenceUnitPostProcessor {
+          it.addManagedClassName(JdbcSep24Transaction::class.java.name)
+        }
+      )
+      factory.setJpaPropertyMap(
+        mapOf(
+          "hibernate.dialect" to "org.hibernate.dialect.H2Dialect",
+          "hibernate.hbm2ddl.auto" to "create"
+        )
+      )
+      return factory
+    }
+
+    @Bean
+    open fun transactionManager(entityManagerFactory: EntityManagerFactory): JpaTransactionManager =
+      JpaTransactionManager(entityManagerFactory)
+  }
+
+  companion object {
+    const val TABLE = "sep24_transaction"
+  }
+
+  private lateinit var context: AnnotationConfigApplicationContext
+  private lateinit var em: EntityManager
+  private lateinit var transactionTemplate: TransactionTemplate
+  private lateinit var repo: JdbcSep24TransactionRepo
+  private lateinit var store: JdbcSep24TransactionStore
+  private lateinit var dataRetention: JdbcDataRetention
+  private val cutoff = Instant.now().minus(Duration.ofDays(90))
+
+  @BeforeEach
+  fun setUp() {
+    context = AnnotationConfigApplicationContext(RetentionConfig::class.java)
+    em =
+      SharedEntityManagerCreator.createSharedEntityManager(
+        context.getBean(EntityManagerFactory::class.java)
+      )
+    val transactionManager = context.getBean(PlatformTransactionManager::class.java)
+    transactionTemplate = TransactionTemplate(transactionManager)
+    repo = context.getBean(JdbcSep24TransactionRepo::class.java)
+    store = JdbcSep24TransactionStore(repo)
+    store.setArchiveLookup(true)
+    dataRetention = JdbcDataRetention(em, transactionManager)
+    createArchiveTable()
+  }
+
+  @AfterEach
+  fun tearDown() {
+    context.close()
+  }
+
+  @Test
+  fun `test the finished transactions older than the cutoff are archived`() {
+    save("old-completed", "completed", cutoff.minusSeconds(60))
+    save("old-refunded", "refunded", cutoff.minusSeconds(60))
+    // The expired and error transactions can be recovered
+    save("old-expired", "expired", cutoff.minusSeconds(60))
+    save("old-error", "error", cutoff.minusSeconds(60))
+    save("old-pending", "pending_anchor", cutoff.minusSeconds(60))
+    save("new-completed", "completed", cutoff.plusSeconds(60))
+
+    assertEquals(2, dataRetention.archiveSepTransactions(TABLE, cutoff, 10))
+
+    assertEquals(
+      setOf("old-expired", "old-error", "old-pending", "new-completed"),
+      repo.findAll().map { it.transactionId }.toSet()
+    )
+    assertEquals(2, count("${TABLE}_archive"))
+    assertEquals(0, dataRetention.archiveSepTransactions(TABLE, cutoff, 10))
+  }
+
+  @Test
+  fun `test the archived columns are copied by name`() {
+    save("old-completed", "completed", cutoff.minusSeconds(60))
+
+    dataRetention.archiveSepTransactions(TABLE, cutoff, 10)
+
+    val txn = store.findByTransactionId("old-completed") as JdbcSep24Transaction
+    assertEquals("completed", txn.status)
+    assertEquals("deposit", txn.kind)
+    assertEquals("100", txn.amountIn)
+    assertEquals("stellar-old-completed", txn.stellarTransactionId)
+    assertEquals("external-old-completed", txn.externalTransactionId)
+    assertEquals(cutoff.minusSeconds(60).toEpochMilli(), txn.updatedAt.toEpochMilli())
+  }
+
+  @Test
+  fun `test the transactions are archived in batches`() {
+    for (i in 1..3) save("old-$i", "completed", cutoff.minusSeconds(60))
+
+    assertEquals(2, dataRetention.archiveSepTransactions(TABLE, cutoff, 2))
+    assertEquals(1, dataRetention.archiveSepTransactions(TABLE, cutoff, 2))
+    assertEquals(0, dataRetention.archiveSepTransactions(TABLE, cutoff, 2))
+    assertEquals(3, count("${TABLE}_archive"))
+  }
+
+  @Test
+  fun `test a transaction archived again replaces its archived row`() {
+    save("old-completed", "completed", cutoff.minusSeconds(60))
+    dataRetention.archiveSepTransactions(TABLE, cutoff, 10)
+    // The transaction is restored and finished again
+    save("old-completed", "refunded", cutoff.minusSeconds(30))
+
+    assertEquals(1, dataRetention.archiveSepTransactions(TABLE, cutoff, 10))
+
+    assertEquals(1, count("${TABLE}_archive"))
+    assertEquals("refunded", store.findByTransactionId("old-completed").status)
+  }
+
+  @Test
+  fun `test a column missing from the archive table keeps the transactions`() {
+    save("old-completed", "completed", cutoff.minusSeconds(60))
+    execute("ALTER TABLE ${TABLE}_archive DROP COLUMN amount_in")
+
+    assertThrows<Exception> { dataRetention.archiveSepTransactions(TABLE, cutoff, 10) }
+
+    assertTrue(repo.findById("old-completed").isPresent)
+    assertEquals(0, count("${TABLE}_archive"))
+  }
+
+  @Test
+  fun `test the archived transactions are found by their ids`() {
+    save("old-completed", "completed", cutoff.minusSeconds(60))
+    dataRetention.archiveSepTransactions(TABLE, cutoff, 10)
+
+    assertEquals("old-completed", store.findByTransactionId("old-completed").transactionId)
+    assertEquals(
+      "old-completed",
+      store.findByStellarTransactionId("stellar-old-completed").transactionId
+    )
+    assertEquals(
+      "old-completed",
+      store.findByExternalTransactionId("external-old-completed").transactionId
+    )
+    assertNull(store.findByStellarTransactionId("stellar-unknown"))
+
+    store.setArchiveLookup(false)
+    assertNull(store.findByTransactionId("old-completed"))
+    assertNull(store.findByStellarTransactionId("stellar-old-completed"))
+    assertNull(store.findByExternalTransactionId("external-old-completed"))
+  }
+
+  private fun save(id: String, status: String, updatedAt: Instant) {
+    val txn = JdbcSep24Transaction()
+    txn.id = id
+    txn.transactionId = id
+    txn.status = status
+    txn.kind = "deposit"
+    txn.amountIn = "100"
+    txn.stellarTransactionId = "stellar-$id"
+    txn.externalTransactionId = "external-$id"
+    txn.startedAt = updatedAt.minusSeconds(60)
+    txn.updatedAt = updatedAt
+    // The repository keeps the updated_at of the test
+    repo.save(txn)
+  }
+
+  @Suppress("UNCHECKED_CAST")
+  private fun createArchiveTable() {
+    val columns =
+      transactionTemplate.execute {
+        em
+          .createNativeQuery(
+            "SELECT column_name FROM information_schema.columns WHERE lower(table_name) = :table" +
+              " ORDER BY ordinal_position DESC"
+          )
+          .setParameter("table", TABLE)
+          .resultList as List<String>
+      }!!
+    execute(
+      "CREATE TABLE ${TABLE}_archive AS SELECT ${columns.joinToString()} FROM $TABLE WHERE 1 = 0"
+    )
+  }
+
+  private fun count(table: String): Long =
+    transactionTemplate.execute {
+      (em.createNativeQuery("SELECT count(*) FROM $table").singleResult as Number).toLong()
+    }!!
+
+  private fun execute(sql: String) {
+    transactionTemplate.execute { em.createNativeQuery(sql).executeUpdate() }
+  }
+}
@@ -0,0 +1,166 @@
+package org.stellar.anchor.platform.data
+
+import java.time.Instant
+import java.time.temporal.ChronoUnit
+import java.util.UUID
+import javax.persistence.EntityManagerFactory
+import javax.sql.DataSource
+import org.h2.jdbcx.JdbcDataSource
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.springframework.context.annotation.AnnotationConfigApplicationContext
+import org.springframework.context.annotation.Bean
+import org.springframework.context.annotation.ComponentScan
+import org.springframework.context.annotation.Configuration
+import org.springframework.context.annotation.FilterType
+import org.springframework.data.domain.PageRequest
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories
+import org.springframework.orm.jpa.JpaTransactionManager
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean
+import org.springframework.orm.jpa.persistenceunit.PersistenceUnitPostProcessor
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter
+import org.springframework.transaction.annotation.EnableTransactionManagement
+import org.stellar.anchor.platform.data.JdbcFireblocksWebhookEvent.Status.*
+
+/** Runs the queries of the Fireblocks webhook inbox on an H2 database. */
+class JdbcFireblocksWebhookEventRepoTest {
+  @Configuration
+  @EnableTransactionManagement
+  @EnableJpaRepositories(
+    basePackageClasses = [JdbcFireblocksWebhookEventRepo::class],
+    includeFilters =
+      [
+        ComponentScan.Filter(
+          type = FilterType.ASSIGNABLE_TYPE,
+          classes = [JdbcFireblocksWebhookEventRepo::class]
+        )
+      ]
+  )
+  open class InboxConfig {
+    @Bean
+    open fun dataSource(): DataSource {
+      val dataSource = JdbcDataSource()
+      // The arrival sequence is a postgres bigserial
+      dataSource.setURL(
+        "jdbc:h2:mem:inbox-${UUID.randomUUID()};MODE=PostgreSQL;DB_CLOSE_DELAY=-1"
+      )
+      return dataSource
+    }
+
+    @Bean
+    open fun entityManagerFactory(dataSource: DataSource): LocalContainerEntityManagerFactoryBean {
+      val factory = LocalContainerEntityManagerFactoryBean()
+      factory.dataSource = dataSource
+      factory.jpaVendorAdapter = HibernateJpaVendorAdapter()
+      // No entity is scanned. Only the events of the test are mapped.
+      factory.setPackagesToScan(
+        JdbcFireblocksWebhookEventRepoTest::class.java.packageName + ".none"
+      )
+      factory.setPersistenceUnitPostProcessors(
+        PersistenceUnitPostProcessor {
+          it.addManagedClassName(JdbcFireblocksWebhookEvent::class.java.name)
+        }
+      )
+      factory.setJpaPropertyMap(
+        mapOf(
+          "hibernate.dialect" to "org.hibernate.dialect.H2Dialect",
+          "hibernate.hbm2ddl.auto" to "create"
+        )
+      )
+      return factory
+    }
+
+    @Bean
+    open fun transactionManager(entityManagerFactory: EntityManagerFactory): JpaTransactionManager =
+      JpaTransactionManager(entityManagerFactory)
+  }
+
+  private lateinit var context: AnnotationConfigApplicationContext
+  private lateinit var repo: JdbcFireblocksWebhookEventRepo
+  private val now = Instant.now().truncatedTo(ChronoUnit.MILLIS)
+
+  @BeforeEach
+  fun setUp() {
+    context = AnnotationConfigApplicationContext(InboxConfig::class.java)
+    repo = context.getBean(JdbcFireblocksWebhookEventRepo::class.java)
+  }
+
+  @AfterEach
+  fun tearDown() {
+    context.close()
+  }
+
+  @Test
+  fun `test a failed event does not hold the newer events of the transaction`() {
+    save("tx:SUBMITTED", FAILED, now.minusSeconds(10))
+    val newer = save("tx:CONFIRMING", PENDING, now)
+
+    assertEquals(listOf("tx:CONFIRMING"), dueHeadEvents())
+    assertFalse(repo.hasOlderPendingEvent("tx", newer.createdAt, newer.arrivalSequence))
+  }
+
+  @Test
+  fun `test a pending event holds the newer events of the transaction`() {
+    save("tx:SUBMITTED", PENDING, now.minusSeconds(10), nextAttemptAt = now.plusSeconds(60))
+    val newer = save("tx:CONFIRMING", PENDING, now)
+    save("other:SUBMITTED", PENDING, now)
+
+    assertEquals(listOf("other:SUBMITTED"), dueHeadEvents())
+    assertTrue(repo.hasOlderPendingEvent("tx", newer.createdAt, newer.arrivalSequence))
+  }
+
+  @Test
+  fun `test the events received at the same time are ordered by arrival`() {
+    // The ids are in the reverse order of the arrival
+    val first = save("tx:SUBMITTED", PENDING, now)
+    val second = save("tx:BROADCASTING", PENDING, now)
+
+    assertTrue(first.arrivalSequence < second.arrivalSequence)
+    assertEquals(listOf("tx:SUBMITTED"), dueHeadEvents())
+    assertFalse(repo.hasOlderPendingEvent("tx", first.createdAt, first.arrivalSequence))
+    assertTrue(repo.hasOlderPendingEvent("tx", second.createdAt, second.arrivalSequence))
+  }
+
+  @Test
+  fun `test the processed events before the cutoff are deleted in batches`() {
+    for (i in 1..3) save("old-$i:COMPLETED", PROCESSED, now.minusSeconds(60))
+    save("new:COMPLETED", PROCESSED, now)
+    save("old-pending:SUBMITTED", PENDING, now.minusSeconds(60))
+    save("old-failed:SUBMITTED", FAILED, now.minusSeconds(60))
+
+    assertEquals(2, repo.deleteProcessedBefore(now.minusSeconds(30), 2))
+    assertEquals(1, repo.deleteProcessedBefore(now.minusSeconds(30), 2))
+    assertEquals(0, repo.deleteProcessedBefore(now.minusSeconds(30), 2))
+
+    assertEquals(
+      setOf("new:COMPLETED", "old-pending:SUBMITTED", "old-failed:SUBMITTED"),
+      repo.findAll().map { it.id }.toSet()
+    )
+  }
+
+  private fun save(
+    id: String,
+    status: JdbcFireblocksWebhookEvent.Status,
+    createdAt: Instant,
+    nextAttemptAt: Instant = createdAt
+  ): JdbcFireblocksWebhookEvent {
+    repo.save(
+      JdbcFireblocksWebhookEvent.builder()
+        .id(id)
+        .fireblocksTxId(id.substringBefore(":"))
+        .event("{}")
+        .status(status.name)
+        .nextAttemptAt(nextAttemptAt)
+        .createdAt(createdAt)
+        .updatedAt(createdAt)
+        .newEvent(true)
+        .build()
+    )
+    return repo.findById(id).get()
+  }
+
+  private fun dueHeadEvents(): List<String> =
+    repo.findDueHeadEvents(now.plusSeconds(1), PageRequest.of(0, 10)).map { it.id }
+}
@@ -0,0 +1,112 @@
+package org.stellar.anchor.platform.data
+
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.verify
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNull
+import org.junit.jupiter.api.Test
+
+class TransactionIdRegistryTest {
+  companion object {
+    private const val TXN_ID = "testTxnId"
+    private val PROBE_ORDER = listOf("31", "6", "24")
+  }
+
+  private val registry = TransactionIdRegistry()
+
+  @Test
+  fun `test find probes once and then queries the known protocol only`() {
+    val txn = JdbcSep24Transaction()
+    val lookup = mockk<TransactionIdRegistry.Lookup>()
+    every { lookup.find(any(), TXN_ID) } returns null
+    every { lookup.find("24", TXN_ID) } returns txn
+
+    assertEquals(txn, registry.find(TXN_ID, PROBE_ORDER, lookup))
+    verify(exactly = 1) { lookup.find("31", TXN_ID) }
+    verify(exactly = 1) { lookup.find("6", TXN_ID) }
+    verify(exactly = 1) { lookup.find("24", TXN_ID) }
+
+    assertEquals(txn, registry.find(TXN_ID, PROBE_ORDER, lookup))
+    verify(exactly = 1) { lookup.find("31", TXN_ID) }
+    verify(exactly = 1) { lookup.find("6", TXN_ID) }
+    verify(exactly = 2) { lookup.find("24", TXN_ID) }
+  }
+
+  @Test
+  fun `test find does not remember missing transactions`() {
+    val lookup = mockk<TransactionIdRegistry.Lookup>()
+    every { lookup.find(any(), TXN_ID) } returns null
+
+    assertNull(registry.find(TXN_ID, PROBE_ORDER, lookup))
+    assertNull(registry.find(TXN_ID, PROBE_ORDER, lookup))
+    verify(exactly = 2) { lookup.find("31", TXN_ID) }
+    assertNull(registry.protocols[TXN_ID])
+  }
+
+  @Test
+  fun `test find probes again when the known protocol no longer has the transaction`() {
+    val txn = JdbcSep24Transaction()
+    val lookup = mockk<TransactionIdRegistry.Lookup>()
+    every { lookup.find(any(), TXN_ID) } returns null
+    every { lookup.find("24", TXN_ID) } returns txn
+    registry.find(TXN_ID, PROBE_ORDER, lookup)
+
+    every { lookup.find("24", TXN_ID) } returns null
+    val moved: JdbcSepTransaction = JdbcSep24Transaction()
+    every { lookup.find("6", TXN_ID) } returns moved
+
+    assertEquals(moved, registry.find(TXN_ID, PROBE_ORDER, lookup))
+    assertEquals("6", registry.protocols[TXN_ID])
+  }
+
+  @Test
+  fun `test registered ids are not probed`() {
+    val txn = JdbcSep31Transaction()
+    val lookup = mockk<TransactionIdRegistry.Lookup>()
+    every { lookup.find("31", TXN_ID) } returns txn
+    registry.register(TXN_ID, TransactionIdRegistry.SEP_31)
+
+    assertEquals(txn, registry.find(TXN_ID, listOf("6", "24", "31"), lookup))
+    verify(exactly = 1) { lookup.find(any(), TXN_ID) }
+  }
+
+  @Test
+  fun `test unknown ids are resolved before probing`() {
+    val txn = JdbcSep6Transaction()
+    val resolver = mockk<TransactionIdRegistry.Resolver>()
+    every { resolver.resolve(TXN_ID) } returns "6"
+    val lookup = mockk<TransactionIdRegistry.Lookup>()
+    every { lookup.find("6", TXN_ID) } returns txn
+    val resolving = TransactionIdRegistry(resolver, false)
+
+    assertEquals(txn, resolving.find(TXN_ID, PROBE_ORDER, lookup))
+    assertEquals(txn, resolving.find(TXN_ID, PROBE_ORDER, lookup))
+    verify(exactly = 1) { resolver.resolve(TXN_ID) }
+    verify(exactly = 2) { lookup.find("6", TXN_ID) }
+    verify(exactly = 0) { lookup.find("31", TXN_ID) }
+  }
+
+  @Test
+  fun `test ids the resolver does not know are not probed without archive lookup`() {
+    val resolver = mockk<TransactionIdRegistry.Resolver>()
+    every { resolver.resolve(TXN_ID) } returns null
+    val lookup = mockk<TransactionIdRegistry.Lookup>()
+
+    assertNull(TransactionIdRegistry(resolver, false).find(TXN_ID, PROBE_ORDER, lookup))
+    verify(exactly = 0) { lookup.find(any(), TXN_ID) }
+  }
+
+  @Test
+  fun `test ids the resolver does not know are probed with archive lookup`() {
+    val txn = JdbcSep24Transaction()
+    val resolver = mockk<TransactionIdRegistry.Resolver>()
+    every { resolver.resolve(TXN_ID) } returns null
+    val lookup = mockk<TransactionIdRegistry.Lookup>()
+    every { lookup.find(any(), TXN_ID) } returns null
+    every { lookup.find("24", TXN_ID) } returns txn
+
+    assertEquals(txn, TransactionIdRegistry(resolver, true).find(TXN_ID, PROBE_ORDER, lookup))
+    verify(exactly = 3) { lookup.find(any(), TXN_ID) }
+  }
+}
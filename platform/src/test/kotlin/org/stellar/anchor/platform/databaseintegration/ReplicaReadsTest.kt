@@ -0,0 +1,268 @@
+package org.stellar.anchor.platform.databaseintegration
+
+import java.time.Duration
+import java.time.Instant
+import java.util.UUID
+import javax.persistence.EntityManagerFactory
+import javax.sql.DataSource
+import org.h2.jdbcx.JdbcDataSource
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.springframework.context.annotation.AnnotationConfigApplicationContext
+import org.springframework.context.annotation.Bean
+import org.springframework.context.annotation.ComponentScan
+import org.springframework.context.annotation.Configuration
+import org.springframework.context.annotation.FilterType
+import org.springframework.data.domain.Sort
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy
+import org.springframework.orm.jpa.JpaTransactionManager
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean
+import org.springframework.orm.jpa.persistenceunit.PersistenceUnitPostProcessor
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter
+import org.springframework.transaction.PlatformTransactionManager
+import org.springframework.transaction.annotation.EnableTransactionManagement
+import org.springframework.transaction.support.TransactionTemplate
+import org.stellar.anchor.api.platform.TransactionsOrderBy
+import org.stellar.anchor.api.sep.sep24.GetTransactionsRequest
+import org.stellar.anchor.platform.data.JdbcSep24Transaction
+import org.stellar.anchor.platform.data.JdbcSep24TransactionRepo
+import org.stellar.anchor.platform.data.JdbcSep24TransactionStore
+import org.stellar.anchor.util.TransactionsParams
+
+/**
+ * Runs the replica reads of the SEP-24 store through the entity manager and the routing data
+ * source of the platform. The primary and the replica are two H2 databases, and the rows are
+ * replicated by the test. The replicated rows are marked, so the database of a read is known.
+ */
+class ReplicaReadsTest {
+  companion object {
+    const val ACCOUNT = "GBDYDBJKQBJK4GY4V7FAONSFF2IBJSKNTBYJ65F5KCGBY2BIXPGGLJSH"
+    const val REPLICATED = "replicated"
+
+    fun h2(name: String): DataSource {
+      val dataSource = JdbcDataSource()
+      dataSource.setURL("jdbc:h2:mem:$name-${UUID.randomUUID()};DB_CLOSE_DELAY=-1")
+      return dataSource
+    }
+
+    fun entityManagerFactory(dataSource: DataSource): LocalContainerEntityManagerFactoryBean {
+      val factory = LocalContainerEntityManagerFactoryBean()
+      factory.dataSource = dataSource
+      factory.jpaVendorAdapter = HibernateJpaVendorAdapter()
+      // No entity is scanned. Only the transactions of the test are mapped.
+      factory.setPackagesToScan(ReplicaReads::class.java.packageName)
+      factory.setPersistenceUnitPostProcessors(
+        PersistenceUnitPostProcessor {
+          it.addManagedClassName(JdbcSep24Transaction::class.java.name)
+        }
+      )
+      factory.setJpaPropertyMap(
+        mapOf(
+          "hibernate.dialect" to "org.hibernate.dialect.H2Dialect",
+          "hibernate.hbm2ddl.auto" to "create"
+        )
+      )
+      return factory
+    }
+  }
+
+  @Configuration
+  @EnableTransactionManagement
+  @EnableJpaRepositories(
+    basePackageClasses = [JdbcSep24TransactionRepo::class],
+    includeFilters =
+      [
+        ComponentScan.Filter(
+          type = FilterType.ASSIGNABLE_TYPE,
+          classes = [JdbcSep24TransactionRepo::class]
+        )
+      ]
+  )
+  open class ReplicaConfig {
+    val primary = h2("primary")
+    val replica = h2("replica")
+
+    @Bean
+    open fun dataSource(): DataSource =
+      LazyConnectionDataSourceProxy(ReplicaRoutingDataSource(primary, replica))
+
+    @Bean
+    open fun entityManagerFactory(dataSource: DataSource): LocalContainerEntityManagerFactoryBean =
+      entityManagerFactory(dataSource)
+
+    @Bean
+    open fun transactionManager(entityManagerFactory: EntityManagerFactory): JpaTransactionManager =
+      JpaTransactionManager(entityManagerFactory)
+
+    @Bean
+    open fun replicaReads(
+      transactionManager: PlatformTransactionManager,
+      entityManagerFactory: EntityManagerFactory
+    ): ReplicaReads = ReplicaReads(transactionManager, entityManagerFactory, Duration.ofSeconds(5))
+  }
+
+  private lateinit var context: AnnotationConfigApplicationContext
+  private lateinit var repo: JdbcSep24TransactionRepo
+  private lateinit var store: JdbcSep24TransactionStore
+  private lateinit var replicaFactory: LocalContainerEntityManagerFactoryBean
+
+  @BeforeEach
+  fun setUp() {
+    context = AnnotationConfigApplicationContext(ReplicaConfig::class.java)
+    repo = context.getBean(JdbcSep24TransactionRepo::class.java)
+    store = JdbcSep24TransactionStore(repo)
+    store.setReplicaReads(context.getBean(ReplicaReads::class.java))
+    // Creates the schema of the replica
+    replicaFactory = entityManagerFactory(context.getBean(ReplicaConfig::class.java).replica)
+    replicaFactory.afterPropertiesSet()
+  }
+
+  @AfterEach
+  fun tearDown() {
+    replicaFactory.destroy()
+    context.close()
+  }
+
+  @Test
+  fun `test the list of an account is read from the replica that has its latest update`() {
+    save("txn-1")
+    replicate()
+
+    val txns = store.findTransactions(ACCOUNT, null, request())
+
+    assertEquals(listOf("txn-1"), txns.map { it.transactionId })
+    assertEquals(REPLICATED, txns[0].message)
+  }
+
+  @Test
+  fun `test the list of an account is read from the primary until the replica has it`() {
+    save("txn-1")
+    replicate()
+    // Saved by any instance
+    save("txn-2")
+
+    var txns = store.findTransactions(ACCOUNT, null, request())
+
+    assertEquals(setOf("txn-1", "txn-2"), txns.map { it.transactionId }.toSet())
+    assertTrue(txns.none { it.message == REPLICATED })
+
+    replicate()
+    txns = store.findTransactions(ACCOUNT, null, request())
+
+    assertEquals(2, txns.size)
+    assertTrue(txns.all { it.message == REPLICATED })
+  }
+
+  @Test
+  fun `test a write after a replica read goes to the primary`() {
+    val txn = save("txn-1")
+    replicate()
+    assertEquals(REPLICATED, store.findTransactions(ACCOUNT, null, request())[0].message)
+
+    txn.status = "completed"
+    store.save(txn)
+
+    assertEquals("completed", repo.findById("txn-1").get().status)
+    assertEquals("pending_anchor", replicaRow("txn-1").status)
+  }
+
+  @Test
+  fun `test the reads inside a database transaction use the primary`() {
+    save("txn-1")
+    replicate()
+    val transactionTemplate =
+      TransactionTemplate(context.getBean(PlatformTransactionManager::class.java))
+
+    val txns = transactionTemplate.execute { store.findTransactions(ACCOUNT, null, request()) }!!
+
+    assertNull(txns[0].message)
+  }
+
+  @Test
+  fun `test the other reads of the store use the primary`() {
+    save("txn-1")
+    replicate()
+
+    // The repository reads in read-only transactions that are not replica reads
+    assertNull(store.findByTransactionId("txn-1").message)
+    assertNull(repo.findById("txn-1").get().message)
+  }
+
+  @Test
+  fun `test the list of all the transactions tolerates the max lag`() {
+    save("txn-1")
+    replicate()
+    save("txn-2")
+    val params =
+      TransactionsParams(TransactionsOrderBy.CREATED_AT, Sort.Direction.ASC, null, 0, 10)
+
+    // The replica lags by less than the max lag
+    var txns = store.findTransactions(params)
+    assertEquals(listOf("txn-1"), txns.map { it.transactionId })
+    assertEquals(REPLICATED, txns[0].message)
+
+    // The replica lags by more than the max lag
+    inReplica { it.find(JdbcSep24Transaction::class.java, "txn-1").updatedAt = Instant.EPOCH }
+    txns = store.findTransactions(params)
+    assertEquals(listOf("txn-1", "txn-2"), txns.map { it.transactionId })
+    assertNull(txns[0].message)
+  }
+
+  @Test
+  fun `test the replica has the update if it has the latest update`() {
+    val now = Instant.now()
+    assertTrue(ReplicaReads.isReplicated(null, null, Duration.ZERO))
+    assertTrue(ReplicaReads.isReplicated(now, now, Duration.ZERO))
+    assertFalse(ReplicaReads.isReplicated(now, null, Duration.ZERO))
+    assertFalse(ReplicaReads.isReplicated(now, now.minusMillis(1), Duration.ZERO))
+    assertTrue(ReplicaReads.isReplicated(now, now.minusSeconds(1), Duration.ofSeconds(5)))
+  }
+
+  private fun save(id: String): JdbcSep24Transaction {
+    val txn = JdbcSep24Transaction()
+    txn.transactionId = id
+    txn.status = "pending_anchor"
+    txn.kind = "deposit"
+    txn.sep10Account = ACCOUNT
+    txn.requestAssetCode = "USDC"
+    txn.startedAt = Instant.now().minusSeconds(60)
+    return store.save(txn) as JdbcSep24Transaction
+  }
+
+  private fun request(): GetTransactionsRequest =
+    GetTransactionsRequest.of("USDC", null, null, null, null, null)
+
+  /** Copies the rows of the primary to the replica and marks them. */
+  private fun replicate() {
+    val rows = repo.findAll().toList()
+    inReplica { em ->
+      for (row in rows) {
+        row.message = REPLICATED
+        em.merge(row)
+      }
+    }
+  }
+
+  private fun replicaRow(id: String): JdbcSep24Transaction {
+    val em = replicaFactory.`object`!!.createEntityManager()
+    try {
+      return em.find(JdbcSep24Transaction::class.java, id)
+    } finally {
+      em.close()
+    }
+  }
+
+  private fun inReplica(block: (javax.persistence.EntityManager) -> Unit) {
+    val em = replicaFactory.`object`!!.createEntityManager()
+    try {
+      em.transaction.begin()
+      block(em)
+      em.transaction.commit()
+    } finally {
+      em.close()
+    }
+  }
+}
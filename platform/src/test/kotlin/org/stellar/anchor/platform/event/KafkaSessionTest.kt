@@ -0,0 +1,99 @@
+package org.stellar.anchor.platform.event
+
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.spyk
+import io.mockk.verify
+import java.util.Properties
+import org.apache.kafka.clients.consumer.Consumer
+import org.apache.kafka.clients.consumer.ConsumerRecords
+import org.apache.kafka.clients.producer.ProducerConfig.*
+import org.apache.kafka.common.PartitionInfo
+import org.apache.kafka.common.TopicPartition
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+import org.stellar.anchor.api.event.AnchorEvent
+import org.stellar.anchor.api.exception.ServerErrorException
+import org.stellar.anchor.api.platform.GetQuoteResponse
+import org.stellar.anchor.api.platform.GetTransactionResponse
+import org.stellar.anchor.api.sep.sep12.Sep12GetCustomerResponse
+import org.stellar.anchor.event.EventService.EventQueue.TRANSACTION
+import org.stellar.anchor.platform.config.KafkaConfig
+import org.stellar.anchor.platform.config.KafkaConfig.SecurityProtocol.PLAINTEXT
+
+class KafkaSessionTest {
+  @Test
+  fun `test the events are keyed by transaction, customer or quote`() {
+    val txn = GetTransactionResponse.builder().id("txn-id").build()
+    val customer = Sep12GetCustomerResponse.builder().id("customer-id").build()
+    val quote = GetQuoteResponse.builder().id("quote-id").build()
+
+    assertEquals(
+      "txn-id",
+      KafkaSession.partitionKey(AnchorEvent.builder().transaction(txn).quote(quote).build())
+    )
+    assertEquals(
+      "customer-id",
+      KafkaSession.partitionKey(AnchorEvent.builder().customer(customer).build())
+    )
+    assertEquals("quote-id", KafkaSession.partitionKey(AnchorEvent.builder().quote(quote).build()))
+    assertNull(KafkaSession.partitionKey(AnchorEvent.builder().id("event-id").build()))
+  }
+
+  @Test
+  fun `test the delivery configuration`() {
+    val config = KafkaConfig("localhost:29092", null, 1, 10, 500, 10, PLAINTEXT, null)
+    var props = Properties()
+    KafkaSession.configureDelivery(props, config)
+    assertEquals(true, props[ENABLE_IDEMPOTENCE_CONFIG])
+    assertEquals("all", props[ACKS_CONFIG])
+    assertNull(props[COMPRESSION_TYPE_CONFIG])
+
+    config.isEnableIdempotence = false
+    config.compressionType = "zstd"
+    props = Properties()
+    KafkaSession.configureDelivery(props, config)
+    assertEquals(false, props[ENABLE_IDEMPOTENCE_CONFIG])
+    assertNull(props[ACKS_CONFIG])
+    assertEquals("zstd", props[COMPRESSION_TYPE_CONFIG])
+  }
+
+  @Test
+  fun `test the session reading from latest is assigned all the partitions at their end`() {
+    val consumer = mockk<Consumer<String, String>>(relaxed = true)
+    every { consumer.partitionsFor("TRANSACTION") } returns
+      listOf(
+        PartitionInfo("TRANSACTION", 0, null, null, null),
+        PartitionInfo("TRANSACTION", 1, null, null, null)
+      )
+    every { consumer.poll(any<java.time.Duration>()) } returns ConsumerRecords.empty()
+    val session = spyk(KafkaSession(kafkaConfig(), "test", TRANSACTION, true))
+    every { session.createConsumer() } returns consumer
+
+    val readResponse = session.read()
+    session.read()
+    session.ack(readResponse)
+
+    val partitions = listOf(TopicPartition("TRANSACTION", 0), TopicPartition("TRANSACTION", 1))
+    verify(exactly = 1) { consumer.assign(partitions) }
+    verify(exactly = 1) { consumer.seekToEnd(partitions) }
+    verify(exactly = 0) { consumer.subscribe(any<Collection<String>>()) }
+    verify(exactly = 0) { consumer.commitSync() }
+  }
+
+  @Test
+  fun `test the session reading from latest fails without partitions`() {
+    val consumer = mockk<Consumer<String, String>>(relaxed = true)
+    every { consumer.partitionsFor("TRANSACTION") } returns listOf()
+    val session = spyk(KafkaSession(kafkaConfig(), "test", TRANSACTION, true))
+    every { session.createConsumer() } returns consumer
+
+    assertThrows<ServerErrorException> { session.read() }
+
+    verify(exactly = 1) { consumer.close() }
+    assertNull(session.consumer)
+  }
+
+  private fun kafkaConfig() = KafkaConfig("localhost:29092", null, 1, 10, 500, 10, PLAINTEXT, null)
+}
@@ -0,0 +1,107 @@
+package org.stellar.anchor.platform.event
+
+import io.mockk.*
+import java.util.concurrent.atomic.AtomicInteger
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.stellar.anchor.api.event.AnchorEvent
+import org.stellar.anchor.api.platform.GetQuoteResponse
+import org.stellar.anchor.api.platform.GetTransactionResponse
+import org.stellar.anchor.config.event.QueueConfig.QueueType.KAFKA
+import org.stellar.anchor.event.EventService
+import org.stellar.anchor.platform.config.KafkaConfig
+import org.stellar.anchor.platform.config.PropertyEventConfig
+import org.stellar.anchor.platform.config.PropertyQueueConfig
+
+class TransactionChangeNotifierTest {
+  private lateinit var eventConfig: PropertyEventConfig
+  private lateinit var notifier: TransactionChangeNotifier
+
+  @BeforeEach
+  fun setup() {
+    eventConfig = PropertyEventConfig()
+    notifier = TransactionChangeNotifier(eventConfig)
+  }
+
+  @AfterEach
+  fun tearDown() {
+    notifier.stop()
+    unmockkAll()
+  }
+
+  @Test
+  fun `test the listeners of the transaction are notified`() {
+    val calls = AtomicInteger()
+    val listener = Runnable { calls.incrementAndGet() }
+    val failing = Runnable { throw IllegalStateException("failed") }
+    notifier.subscribe("txn-1", failing)
+    notifier.subscribe("txn-1", listener)
+    // The listener is called once when it is added
+    awaitCalls(calls, 1)
+
+    notifier.published(transactionEvent("txn-1"))
+    notifier.published(transactionEvent("txn-2"))
+    notifier.published(
+      AnchorEvent.builder().quote(GetQuoteResponse.builder().id("txn-1").build()).build()
+    )
+    awaitCalls(calls, 2)
+
+    notifier.unsubscribe("txn-1", listener)
+    notifier.unsubscribe("txn-1", failing)
+    assertEquals(0, notifier.listenerCount("txn-1"))
+    notifier.published(transactionEvent("txn-1"))
+    Thread.sleep(100)
+    assertEquals(2, calls.get())
+  }
+
+  @Test
+  fun `test the listeners of all the transactions are notified when polled`() {
+    val calls = AtomicInteger()
+    notifier.subscribe("txn-1") { calls.incrementAndGet() }
+    notifier.subscribe("txn-2") { calls.incrementAndGet() }
+    awaitCalls(calls, 2)
+
+    notifier.notifyAllTransactions()
+
+    awaitCalls(calls, 4)
+  }
+
+  @Test
+  fun `test the events read from Kafka notify the listeners`() {
+    eventConfig.isEnabled = true
+    eventConfig.queue = PropertyQueueConfig()
+    eventConfig.queue.type = KAFKA
+    eventConfig.queue.kafka = KafkaConfig()
+    val readResponse = mockk<EventService.ReadResponse>()
+    every { readResponse.events } returns listOf(transactionEvent("txn-1"))
+    mockkConstructor(KafkaSession::class)
+    every { anyConstructed<KafkaSession>().read() } returns
+      readResponse andThenThrows
+      RuntimeException("Kafka is down")
+    every { anyConstructed<KafkaSession>().close() } just runs
+    val calls = AtomicInteger()
+    notifier.subscribe("txn-1") { calls.incrementAndGet() }
+    awaitCalls(calls, 1)
+
+    notifier.readEvents()
+
+    awaitCalls(calls, 2)
+    // The session has no consumer group, so nothing is acknowledged
+    verify(exactly = 0) { anyConstructed<KafkaSession>().ack(any()) }
+    verify(exactly = 1) { anyConstructed<KafkaSession>().close() }
+  }
+
+  private fun awaitCalls(calls: AtomicInteger, expected: Int) {
+    val deadline = System.currentTimeMillis() + 5000
+    while (calls.get() < expected && System.currentTimeMillis() < deadline) Thread.sleep(10)
+    assertEquals(expected, calls.get())
+  }
+
+  private fun transactionEvent(id: String) =
+    AnchorEvent.builder()
+      .type(AnchorEvent.Type.TRANSACTION_STATUS_CHANGED)
+      .transaction(GetTransactionResponse.builder().id(id).build())
+      .build()
+}
@@ -0,0 +1,65 @@
+package org.stellar.anchor.platform.job
+
+import io.mockk.*
+import io.mockk.impl.annotations.MockK
+import java.time.Duration
+import java.time.Instant
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.stellar.anchor.platform.config.PropertyDataConfig.RetentionConfig
+import org.stellar.anchor.platform.data.JdbcDataRetention
+
+class DataRetentionJobTest {
+  @MockK(relaxed = true) private lateinit var dataRetention: JdbcDataRetention
+
+  private lateinit var retentionConfig: RetentionConfig
+  private lateinit var dataRetentionJob: DataRetentionJob
+
+  @BeforeEach
+  fun setup() {
+    MockKAnnotations.init(this, relaxUnitFun = true)
+    retentionConfig = RetentionConfig()
+    retentionConfig.batchSize = 10
+    retentionConfig.maxBatches = 3
+    dataRetentionJob = DataRetentionJob(dataRetention, retentionConfig)
+  }
+
+  @Test
+  fun `test batches stop when a batch is not full`() {
+    every { dataRetention.archiveSepTransactions("sep24_transaction", any(), 10) } returnsMany
+      listOf(10, 4)
+
+    dataRetentionJob.run()
+
+    verify(exactly = 2) { dataRetention.archiveSepTransactions("sep24_transaction", any(), 10) }
+    verify(exactly = 1) { dataRetention.archiveSepTransactions("sep6_transaction", any(), 10) }
+    verify(exactly = 1) { dataRetention.archiveCustodyTransactions(any(), 10) }
+    verify(exactly = 1) { dataRetention.purgeQuotes(any(), 10) }
+  }
+
+  @Test
+  fun `test batches stop at the maximum number of batches`() {
+    every { dataRetention.purgeQuotes(any(), 10) } returns 10
+
+    dataRetentionJob.run()
+
+    verify(exactly = 3) { dataRetention.purgeQuotes(any(), 10) }
+  }
+
+  @Test
+  fun `test cutoffs are the configured ages`() {
+    val archiveCutoff = slot<Instant>()
+    val purgeCutoff = slot<Instant>()
+    every { dataRetention.archiveCustodyTransactions(capture(archiveCutoff), any()) } returns 0
+    every { dataRetention.purgeQuotes(capture(purgeCutoff), any()) } returns 0
+
+    dataRetentionJob.run()
+
+    val now = Instant.now()
+    val archiveAge = Duration.between(archiveCutoff.captured, now)
+    val purgeAge = Duration.between(purgeCutoff.captured, now)
+    assertTrue(archiveAge >= Duration.ofDays(90) && archiveAge < Duration.ofDays(90).plusMinutes(1))
+    assertTrue(purgeAge >= Duration.ofDays(7) && purgeAge < Duration.ofDays(7).plusMinutes(1))
+  }
+}
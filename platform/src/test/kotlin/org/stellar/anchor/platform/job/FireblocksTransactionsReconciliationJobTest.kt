@@ -1,11 +1,8 @@
 package org.stellar.anchor.platform.job
 
 import io.mockk.MockKAnnotations
-import io.mockk.Runs
 import io.mockk.every
 import io.mockk.impl.annotations.MockK
-import io.mockk.just
-import io.mockk.slot
 import io.mockk.verify
 import java.time.Instant
 import java.util.*
@@ -20,6 +17,7 @@ import org.stellar.anchor.api.custody.fireblocks.TransactionStatus
 import org.stellar.anchor.api.exception.FireblocksException
 import org.stellar.anchor.api.platform.PlatformTransactionData
 import org.stellar.anchor.platform.config.FireblocksConfig
+import org.stellar.anchor.platform.config.FireblocksConfig.Reconciliation
 import org.stellar.anchor.platform.custody.CustodyPayment
 import org.stellar.anchor.platform.custody.CustodyPaymentService
 import org.stellar.anchor.platform.custody.CustodyTransactionService
@@ -132,8 +130,6 @@ class FireblocksTransactionsReconciliationJobTest {
         .build()
     val fireblocksTxn = TransactionDetails.builder().status(status).build()
 
-    val requestCapture = slot<JdbcCustodyTransaction>()
-    every { custodyTransactionService.updateCustodyTransaction(capture(requestCapture)) } just Runs
     every { custodyTransactionService.outboundTransactionsEligibleForReconciliation } returns
       listOf(custodyTxn)
     every { custodyPaymentService.getTransactionById(EXTERNAL_TXN_ID) } returns fireblocksTxn
@@ -143,7 +139,7 @@ class FireblocksTransactionsReconciliationJobTest {
     reconciliationJob.reconcileTransactions()
 
     verify(exactly = 1) { custodyPaymentService.getTransactionById(EXTERNAL_TXN_ID) }
-    verify(exactly = 1) { custodyTransactionService.updateCustodyTransaction(any()) }
+    verify(exactly = 1) { custodyTransactionRepo.saveAll(listOf(custodyTxn)) }
 
     assertEquals(CustodyTransactionStatus.SUBMITTED.toString(), custodyTxn.status)
     assertEquals(1, custodyTxn.reconciliationAttemptCount)
@@ -160,8 +156,6 @@ class FireblocksTransactionsReconciliationJobTest {
         .build()
     val fireblocksTxn = TransactionDetails.builder().status(TransactionStatus.BROADCASTING).build()
 
-    val requestCapture = slot<JdbcCustodyTransaction>()
-    every { custodyTransactionService.updateCustodyTransaction(capture(requestCapture)) } just Runs
     every { custodyTransactionService.outboundTransactionsEligibleForReconciliation } returns
       listOf(custodyTxn)
     every { custodyPaymentService.getTransactionById(EXTERNAL_TXN_ID) } returns fireblocksTxn
@@ -171,7 +165,7 @@ class FireblocksTransactionsReconciliationJobTest {
     reconciliationJob.reconcileTransactions()
 
     verify(exactly = 1) { custodyPaymentService.getTransactionById(EXTERNAL_TXN_ID) }
-    verify(exactly = 1) { custodyTransactionService.updateCustodyTransaction(any()) }
+    verify(exactly = 1) { custodyTransactionRepo.saveAll(listOf(custodyTxn)) }
 
     assertEquals(CustodyTransactionStatus.FAILED.toString(), custodyTxn.status)
     assertEquals(10, custodyTxn.reconciliationAttemptCount)
@@ -234,13 +228,13 @@ class FireblocksTransactionsReconciliationJobTest {
         )
       )
     } returns listOf(custodyTxn)
-    every { custodyPaymentService.getTransactionsByTimeRange(START_TIME, any()) } returns
+    every { custodyPaymentService.getTransactionsByTimeRange(START_TIME, any(), any()) } returns
       listOf(fireblocksTxn1, fireblocksTxn2)
     every { fireblocksEventService.convert(fireblocksTxn1) } returns Optional.of(custodyPayment)
 
     reconciliationJob.reconcileTransactions()
 
-    verify(exactly = 1) { custodyPaymentService.getTransactionsByTimeRange(any(), any()) }
+    verify(exactly = 1) { custodyPaymentService.getTransactionsByTimeRange(any(), any(), any()) }
     verify(exactly = 1) { fireblocksEventService.handlePayment(custodyPayment) }
   }
 
@@ -258,7 +252,7 @@ class FireblocksTransactionsReconciliationJobTest {
 
     reconciliationJob.reconcileTransactions()
 
-    verify(exactly = 0) { custodyPaymentService.getTransactionsByTimeRange(any(), any()) }
+    verify(exactly = 0) { custodyPaymentService.getTransactionsByTimeRange(any(), any(), any()) }
   }
 
   @Test
@@ -281,7 +275,7 @@ class FireblocksTransactionsReconciliationJobTest {
       )
     } returns listOf(custodyTxn)
 
-    every { custodyPaymentService.getTransactionsByTimeRange(any(), any()) } returns listOf()
+    every { custodyPaymentService.getTransactionsByTimeRange(any(), any(), any()) } returns listOf()
 
     reconciliationJob.reconcileTransactions()
 
@@ -332,7 +326,7 @@ class FireblocksTransactionsReconciliationJobTest {
         )
       )
     } returns listOf(custodyTxn)
-    every { custodyPaymentService.getTransactionsByTimeRange(START_TIME, any()) } returns
+    every { custodyPaymentService.getTransactionsByTimeRange(START_TIME, any(), any()) } returns
       listOf(fireblocksTxn)
     every { fireblocksEventService.convert(fireblocksTxn) } returns Optional.of(custodyPayment)
     every { custodyTransactionRepo.save(any()) } returns null
@@ -340,8 +334,10 @@ class FireblocksTransactionsReconciliationJobTest {
 
     reconciliationJob.reconcileTransactions()
 
-    verify(exactly = 1) { custodyPaymentService.getTransactionsByTimeRange(START_TIME, any()) }
-    verify(exactly = 1) { custodyTransactionService.updateCustodyTransaction(any()) }
+    verify(exactly = 1) {
+      custodyPaymentService.getTransactionsByTimeRange(START_TIME, any(), any())
+    }
+    verify(exactly = 1) { custodyTransactionRepo.saveAll(listOf(custodyTxn)) }
 
     assertEquals(CustodyTransactionStatus.CREATED.toString(), custodyTxn.status)
     assertEquals(1, custodyTxn.reconciliationAttemptCount)
@@ -375,7 +371,7 @@ class FireblocksTransactionsReconciliationJobTest {
         )
       )
     } returns listOf(custodyTxn)
-    every { custodyPaymentService.getTransactionsByTimeRange(START_TIME, any()) } returns
+    every { custodyPaymentService.getTransactionsByTimeRange(START_TIME, any(), any()) } returns
       listOf(fireblocksTxn)
     every { fireblocksEventService.convert(fireblocksTxn) } returns Optional.of(custodyPayment)
     every { fireblocksConfig.reconciliation.maxAttempts } returns 10
@@ -383,8 +379,10 @@ class FireblocksTransactionsReconciliationJobTest {
 
     reconciliationJob.reconcileTransactions()
 
-    verify(exactly = 1) { custodyPaymentService.getTransactionsByTimeRange(START_TIME, any()) }
-    verify(exactly = 1) { custodyTransactionService.updateCustodyTransaction(any()) }
+    verify(exactly = 1) {
+      custodyPaymentService.getTransactionsByTimeRange(START_TIME, any(), any())
+    }
+    verify(exactly = 1) { custodyTransactionRepo.saveAll(listOf(custodyTxn)) }
 
     assertEquals(CustodyTransactionStatus.FAILED.toString(), custodyTxn.status)
     assertEquals(10, custodyTxn.reconciliationAttemptCount)
@@ -401,9 +399,152 @@ class FireblocksTransactionsReconciliationJobTest {
 
     every { custodyTransactionService.inboundTransactionsEligibleForReconciliation } returns
       listOf(custodyTxn)
-    every { custodyPaymentService.getTransactionsByTimeRange(START_TIME, any()) } throws
+    every { custodyPaymentService.getTransactionsByTimeRange(START_TIME, any(), any()) } throws
       FireblocksException("Too many requests", 429)
 
     assertDoesNotThrow { reconciliationJob.reconcileTransactions() }
   }
+
+  @Test
+  fun `reconcile outbound transactions - use the scanned Fireblocks transaction`() {
+    val custodyTxn =
+      JdbcCustodyTransaction.builder()
+        .externalTxId(EXTERNAL_TXN_ID)
+        .status(CustodyTransactionStatus.SUBMITTED.toString())
+        .createdAt(START_TIME)
+        .build()
+    val fireblocksTxn =
+      TransactionDetails.builder().id(EXTERNAL_TXN_ID).status(TransactionStatus.COMPLETED).build()
+    val custodyPayment = CustodyPayment.builder().build()
+
+    every { custodyTransactionService.outboundTransactionsEligibleForReconciliation } returns
+      listOf(custodyTxn)
+    every { custodyPaymentService.getTransactionsByTimeRange(START_TIME, any(), any()) } returns
+      listOf(fireblocksTxn)
+    every { fireblocksEventService.convert(fireblocksTxn) } returns Optional.of(custodyPayment)
+
+    reconciliationJob.reconcileTransactions()
+
+    verify(exactly = 1) {
+      custodyPaymentService.getTransactionsByTimeRange(START_TIME, any(), any())
+    }
+    verify(exactly = 0) { custodyPaymentService.getTransactionById(any()) }
+    verify(exactly = 1) { fireblocksEventService.handlePayment(custodyPayment) }
+  }
+
+  @Test
+  fun `reconcile outbound transactions - concurrently with a retry on rate limit`() {
+    every { fireblocksConfig.reconciliation } returns Reconciliation(10, "* * * * * *", 4, 100)
+    reconciliationJob =
+      FireblocksTransactionsReconciliationJob(
+        fireblocksConfig,
+        custodyPaymentService,
+        fireblocksEventService,
+        custodyTransactionService
+      )
+    val custodyTxns =
+      (1..8).map {
+        JdbcCustodyTransaction.builder()
+          .externalTxId("$EXTERNAL_TXN_ID$it")
+          .status(CustodyTransactionStatus.SUBMITTED.toString())
+          .reconciliationAttemptCount(0)
+          .build()
+      }
+    val fireblocksTxn = TransactionDetails.builder().status(TransactionStatus.BROADCASTING).build()
+
+    every { custodyTransactionService.outboundTransactionsEligibleForReconciliation } returns
+      custodyTxns
+    every { custodyPaymentService.getTransactionById(any()) } returns fireblocksTxn
+    every { custodyPaymentService.getTransactionById("${EXTERNAL_TXN_ID}1") } throws
+      FireblocksException("Too many requests", 429) andThen
+      fireblocksTxn
+
+    reconciliationJob.reconcileTransactions()
+
+    verify(exactly = 2) { custodyPaymentService.getTransactionById("${EXTERNAL_TXN_ID}1") }
+    verify(exactly = 9) { custodyPaymentService.getTransactionById(any()) }
+    verify(exactly = 1) {
+      custodyTransactionRepo.saveAll(match<List<JdbcCustodyTransaction>> { it.size == 8 })
+    }
+    custodyTxns.forEach { assertEquals(1, it.reconciliationAttemptCount) }
+  }
+
+  @Test
+  fun `reconcile outbound transactions - retry on rate limit without a rate limit`() {
+    every { fireblocksConfig.reconciliation } returns Reconciliation(10, "* * * * * *", 1, 0)
+    reconciliationJob =
+      FireblocksTransactionsReconciliationJob(
+        fireblocksConfig,
+        custodyPaymentService,
+        fireblocksEventService,
+        custodyTransactionService
+      )
+    val custodyTxn =
+      JdbcCustodyTransaction.builder()
+        .externalTxId(EXTERNAL_TXN_ID)
+        .status(CustodyTransactionStatus.SUBMITTED.toString())
+        .reconciliationAttemptCount(0)
+        .build()
+    val fireblocksTxn = TransactionDetails.builder().status(TransactionStatus.BROADCASTING).build()
+
+    every { custodyTransactionService.outboundTransactionsEligibleForReconciliation } returns
+      listOf(custodyTxn)
+    every { custodyPaymentService.getTransactionById(EXTERNAL_TXN_ID) } throws
+      FireblocksException("Too many requests", 429) andThen
+      fireblocksTxn
+
+    reconciliationJob.reconcileTransactions()
+
+    verify(exactly = 2) { custodyPaymentService.getTransactionById(EXTERNAL_TXN_ID) }
+    assertEquals(1, custodyTxn.reconciliationAttemptCount)
+  }
+
+  @Test
+  fun `reconcile inbound transactions - each page is sent under the rate limit`() {
+    every { fireblocksConfig.reconciliation } returns Reconciliation(10, "* * * * * *", 1, 100)
+    reconciliationJob =
+      FireblocksTransactionsReconciliationJob(
+        fireblocksConfig,
+        custodyPaymentService,
+        fireblocksEventService,
+        custodyTransactionService
+      )
+    val custodyTxn =
+      JdbcCustodyTransaction.builder()
+        .status(CustodyTransactionStatus.CREATED.toString())
+        .memo(MEMO)
+        .toAccount(DESTINATION_ADDRESS)
+        .createdAt(START_TIME)
+        .reconciliationAttemptCount(0)
+        .build()
+    val fireblocksTxn =
+      TransactionDetails.builder()
+        .status(TransactionStatus.BROADCASTING)
+        .destinationAddress(DESTINATION_ADDRESS)
+        .destinationTag(MEMO)
+        .build()
+    val pageRequests = mutableListOf<Int>()
+
+    every { custodyTransactionService.inboundTransactionsEligibleForReconciliation } returns
+      listOf(custodyTxn)
+    every { custodyPaymentService.getTransactionsByTimeRange(START_TIME, any(), any()) } answers
+      {
+        val guard = thirdArg<CustodyPaymentService.RequestGuard>()
+        (1..2).map { page ->
+          guard.send(
+            CustodyPaymentService.Request {
+              pageRequests.add(page)
+              if (pageRequests.size == 2) throw FireblocksException("Too many requests", 429)
+              fireblocksTxn
+            }
+          )
+        }
+      }
+
+    reconciliationJob.reconcileTransactions()
+
+    // The second page is retried after the rate limit response
+    assertEquals(listOf(1, 2, 2), pageRequests)
+    assertEquals(1, custodyTxn.reconciliationAttemptCount)
+  }
 }
@@ -0,0 +1,82 @@
+package org.stellar.anchor.platform.observer.stellar
+
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.slot
+import java.util.Optional
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNull
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.stellar.anchor.platform.data.PaymentStreamerCursor
+import org.stellar.anchor.platform.data.PaymentStreamerCursorRepo
+
+class JdbcStellarPaymentStreamerCursorStoreTest {
+  private val cursors = mutableMapOf<String, String>()
+  private lateinit var store: JdbcStellarPaymentStreamerCursorStore
+
+  @BeforeEach
+  fun setUp() {
+    cursors.clear()
+    val repo = mockk<PaymentStreamerCursorRepo>()
+    every { repo.findAll() } answers { cursors.map { cursor(it.key, it.value) } }
+    every { repo.findById(any()) } answers
+      {
+        Optional.ofNullable(cursors[firstArg<String>()]).map { cursor(firstArg(), it) }
+      }
+    val saved = slot<PaymentStreamerCursor>()
+    every { repo.save(capture(saved)) } answers
+      {
+        cursors[saved.captured.id] = saved.captured.cursor
+        saved.captured
+      }
+    store = JdbcStellarPaymentStreamerCursorStore(repo)
+  }
+
+  @Test
+  fun `test the cursor is saved for every shard and the earliest one is loaded`() {
+    val shards = store.forShards(setOf(0, 2), 4)
+    assertNull(shards.load())
+
+    shards.save("100")
+    assertEquals(mapOf("SHARD_0_OF_4" to "100", "SHARD_2_OF_4" to "100"), cursors)
+
+    cursors["SHARD_2_OF_4"] = "90"
+    assertEquals("90", shards.load())
+    assertEquals("100", store.forShards(setOf(0), 4).load())
+  }
+
+  @Test
+  fun `test a new shard resumes from the furthest cursor of a previous shard count`() {
+    // The single observer stopped long before the two shards
+    cursors[PaymentStreamerCursor.SINGLETON_ID] = "100"
+    cursors["SHARD_0_OF_2"] = "900"
+    cursors["SHARD_1_OF_2"] = "800"
+    // The three shards did not all save a cursor, so they do not agree on one
+    cursors["SHARD_0_OF_3"] = "2000"
+
+    assertEquals("800", store.forShards(setOf(0, 1), 4).load())
+  }
+
+  @Test
+  fun `test a shard count used again does not resume from its stale cursor`() {
+    cursors[PaymentStreamerCursor.SINGLETON_ID] = "100"
+    cursors["SHARD_0_OF_2"] = "900"
+    cursors["SHARD_1_OF_2"] = "800"
+
+    assertEquals("800", store.load())
+
+    // The cursor of the shard count in use is kept when it is further
+    cursors[PaymentStreamerCursor.SINGLETON_ID] = "1000"
+    assertEquals("1000", store.load())
+    // The single observer ran after the two shards
+    assertEquals("1000", store.forShards(setOf(0), 2).load())
+  }
+
+  private fun cursor(id: String, value: String): PaymentStreamerCursor {
+    val cursor = PaymentStreamerCursor()
+    cursor.id = id
+    cursor.cursor = value
+    return cursor
+  }
+}
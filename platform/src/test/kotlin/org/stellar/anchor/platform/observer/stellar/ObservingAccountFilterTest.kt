@@ -0,0 +1,31 @@
+package org.stellar.anchor.platform.observer.stellar
+
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.Test
+import org.stellar.sdk.KeyPair
+
+class ObservingAccountFilterTest {
+  @Test
+  fun `test the added accounts are found`() {
+    val filter = ObservingAccountFilter(10000)
+    val accounts = (1..10000).map { KeyPair.random().accountId }
+    accounts.forEach { filter.add(it) }
+
+    accounts.forEach { assertTrue(filter.mightContain(it)) }
+  }
+
+  @Test
+  fun `test few other accounts pass the filter`() {
+    val filter = ObservingAccountFilter(10000)
+    (1..10000).forEach { _ -> filter.add(KeyPair.random().accountId) }
+
+    val passed = (1..10000).count { filter.mightContain(KeyPair.random().accountId) }
+    assertTrue(passed < 300, "$passed accounts passed the filter")
+  }
+
+  @Test
+  fun `test the capacity`() {
+    assertEquals(ObservingAccountFilter.MIN_CAPACITY, ObservingAccountFilter(0).capacity())
+    assertEquals(5000, ObservingAccountFilter(5000).capacity())
+  }
+}
@@ -0,0 +1,113 @@
+package org.stellar.anchor.platform.observer.stellar
+
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+import java.io.DataInputStream
+import java.io.DataOutputStream
+import java.io.IOException
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+import org.stellar.sdk.KeyPair
+
+class ObservingAccountIndexTest {
+  companion object {
+    private const val MUXED_ACCOUNT =
+      "MA7QYNF7SOWQ3GLR2BGMZEHXAVIRZA4KVWLTJJFC7MGXUA74P7UJUAAAAAAAAAAAACJUQ"
+  }
+
+  @Test
+  fun `test put, touch and remove many accounts`() {
+    val index = ObservingAccountIndex()
+    val accounts = (1..5000).map { KeyPair.random().accountId }
+    accounts.forEachIndexed { i, account ->
+      assertTrue(index.put(account, i.toLong(), false, false))
+    }
+    assertFalse(index.put(accounts[0], 0, false, false))
+    assertEquals(5000, index.size())
+
+    accounts.forEach { assertTrue(index.touch(it, 10000)) }
+    assertFalse(index.touch(KeyPair.random().accountId, 10000))
+
+    // Remove every other account so that the remaining entries are shifted back
+    accounts.forEachIndexed { i, account -> if (i % 2 == 0) index.put(account, 0, false, false) }
+    val removed = index.removeIdle(10000, 100)
+    assertEquals(accounts.filterIndexed { i, _ -> i % 2 == 0 }.toSet(), removed.toSet())
+    assertEquals(2500, index.size())
+    accounts.forEachIndexed { i, account -> assertEquals(i % 2 == 1, index.touch(account, 10001)) }
+  }
+
+  @Test
+  fun `test residential accounts are not removed`() {
+    val index = ObservingAccountIndex()
+    val residential = KeyPair.random().accountId
+    val transient = KeyPair.random().accountId
+    index.put(residential, 0, true, false)
+    index.put(transient, 0, false, false)
+    index.put(MUXED_ACCOUNT, 0, false, false)
+
+    assertEquals(setOf(transient, MUXED_ACCOUNT), index.removeIdle(100, 0).toSet())
+    assertEquals(1, index.size())
+    assertTrue(index.touch(residential, 100))
+  }
+
+  @Test
+  fun `test dirty accounts`() {
+    val index = ObservingAccountIndex()
+    val account1 = KeyPair.random().accountId
+    val account2 = KeyPair.random().accountId
+    index.put(account1, 1, false, false)
+    index.put(account2, 1, false, false)
+    index.put(MUXED_ACCOUNT, 1, false, false)
+    assertTrue(index.dirty.isEmpty())
+
+    // The timestamp did not change
+    index.touch(account1, 1)
+    assertTrue(index.dirty.isEmpty())
+
+    index.touch(account1, 2)
+    index.touch(MUXED_ACCOUNT, 3)
+    assertEquals(mapOf(account1 to 2L, MUXED_ACCOUNT to 3L), index.dirty)
+
+    index.markClean(account1, 2)
+    // The account was observed again after it was read
+    index.touch(MUXED_ACCOUNT, 4)
+    index.markClean(MUXED_ACCOUNT, 3)
+    assertEquals(mapOf(MUXED_ACCOUNT to 4L), index.dirty)
+  }
+
+  @Test
+  fun `test snapshot round trip`() {
+    val index = ObservingAccountIndex()
+    val accounts = (1..100).map { KeyPair.random().accountId }
+    accounts.forEachIndexed { i, account -> index.put(account, i.toLong(), i == 0, true) }
+    index.put(MUXED_ACCOUNT, 7, false, true)
+
+    val bytes = ByteArrayOutputStream()
+    DataOutputStream(bytes).use { index.writeSnapshot(it, 1000) }
+
+    val restored = ObservingAccountIndex()
+    val takenAt =
+      DataInputStream(ByteArrayInputStream(bytes.toByteArray())).use { restored.readSnapshot(it) }
+    assertEquals(1000, takenAt)
+    assertEquals(101, restored.size())
+    assertTrue(restored.dirty.isEmpty())
+
+    val visited = mutableMapOf<String, Long>()
+    restored.forEach { account, lastObserved, residential, _ ->
+      visited[account] = lastObserved
+      assertEquals(account == accounts[0], residential)
+    }
+    assertEquals(
+      accounts.mapIndexed { i, account -> account to i.toLong() }.toMap() + (MUXED_ACCOUNT to 7L),
+      visited
+    )
+  }
+
+  @Test
+  fun `test unsupported snapshot`() {
+    assertThrows<IOException> {
+      ObservingAccountIndex().readSnapshot(DataInputStream(ByteArrayInputStream(ByteArray(16))))
+    }
+  }
+}
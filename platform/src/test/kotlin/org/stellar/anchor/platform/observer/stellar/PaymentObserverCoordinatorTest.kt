@@ -0,0 +1,271 @@
+package org.stellar.anchor.platform.observer.stellar
+
+import io.mockk.*
+import io.mockk.impl.annotations.MockK
+import java.time.Instant
+import org.junit.jupiter.api.Assertions.*
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.stellar.anchor.platform.config.PaymentObserverConfig.CoordinationConfig
+import org.stellar.anchor.platform.data.ObserverLease
+import org.stellar.anchor.platform.data.ObserverLeaseRepo
+import org.stellar.anchor.platform.observer.stellar.PaymentObserverCoordinator.LEASE_ID_PREFIX
+
+class PaymentObserverCoordinatorTest {
+  @MockK(relaxed = true) lateinit var observer: StellarPaymentObserver
+  @MockK(relaxed = true) lateinit var observerLeaseRepo: ObserverLeaseRepo
+
+  @BeforeEach
+  fun setUp() {
+    MockKAnnotations.init(this, relaxUnitFun = true)
+    every { observerLeaseRepo.findAll() } returns listOf()
+  }
+
+  @Test
+  fun `test the observer starts without leases when the coordination is disabled`() {
+    val coordinator =
+      PaymentObserverCoordinator(observer, observerLeaseRepo, CoordinationConfig(false, 1, 15))
+
+    coordinator.start()
+
+    verify(exactly = 1) { observer.start() }
+    verify { observerLeaseRepo wasNot Called }
+  }
+
+  @Test
+  fun `test the first free shard is taken`() {
+    val coordinator =
+      PaymentObserverCoordinator(observer, observerLeaseRepo, CoordinationConfig(true, 3, 15))
+    every { observerLeaseRepo.acquire(coordinator.leaseId(0), any(), any(), any()) } returns 0
+    every { observerLeaseRepo.acquire(coordinator.leaseId(1), any(), any(), any()) } returns 1
+    val shard = slot<ObserverShard>()
+
+    coordinator.coordinate()
+
+    assertEquals(setOf(1), coordinator.activeUntil.keys)
+    assertTrue(coordinator.isActive())
+    verify(exactly = 1) { observer.activate(capture(shard)) }
+    assertEquals(setOf(1), shard.captured.indexes)
+    assertEquals(3, shard.captured.count)
+    assertTrue(shard.captured.isActive)
+    verify(exactly = 0) {
+      observerLeaseRepo.acquire(coordinator.leaseId(2), any(), any(), any())
+    }
+  }
+
+  @Test
+  fun `test the replica stands by when all the shards are taken`() {
+    val coordinator =
+      PaymentObserverCoordinator(observer, observerLeaseRepo, CoordinationConfig(true, 1, 15))
+    every { observerLeaseRepo.acquire(any(), any(), any(), any()) } returns 0
+
+    coordinator.coordinate()
+
+    assertTrue(coordinator.activeUntil.isEmpty())
+    assertFalse(coordinator.isActive())
+    verify(exactly = 0) { observer.activate(any()) }
+  }
+
+  @Test
+  fun `test the lease is renewed`() {
+    val coordinator =
+      PaymentObserverCoordinator(observer, observerLeaseRepo, CoordinationConfig(true, 1, 15))
+    every { observerLeaseRepo.acquire(any(), any(), any(), any()) } returns 1
+
+    coordinator.coordinate()
+    coordinator.coordinate()
+
+    assertEquals(setOf(0), coordinator.activeUntil.keys)
+    verify(exactly = 2) {
+      observerLeaseRepo.acquire(coordinator.leaseId(0), coordinator.instanceId, any(), any())
+    }
+    verify(exactly = 1) { observer.activate(any()) }
+    verify(exactly = 0) { observer.deactivate() }
+  }
+
+  @Test
+  fun `test the observer is deactivated when the lease is taken over`() {
+    val coordinator =
+      PaymentObserverCoordinator(observer, observerLeaseRepo, CoordinationConfig(true, 1, 15))
+    every { observerLeaseRepo.acquire(any(), any(), any(), any()) } returnsMany listOf(1, 0, 0)
+
+    coordinator.coordinate()
+    coordinator.coordinate()
+
+    assertTrue(coordinator.activeUntil.isEmpty())
+    assertFalse(coordinator.isActive())
+    verify(exactly = 1) { observer.deactivate() }
+  }
+
+  @Test
+  fun `test the observer is deactivated when the lease expires`() {
+    val coordinator =
+      PaymentObserverCoordinator(observer, observerLeaseRepo, CoordinationConfig(true, 1, 15))
+    every { observerLeaseRepo.acquire(any(), any(), any(), any()) } returns 1
+    coordinator.coordinate()
+    // The renewals failed until the lease expired
+    coordinator.activeUntil[0] = Instant.now().minusSeconds(1)
+
+    coordinator.coordinate()
+
+    // The lease is taken again, and the stream is restarted from the stored cursor
+    verify(exactly = 1) { observer.deactivate() }
+    verify(exactly = 2) { observer.activate(any()) }
+    assertTrue(coordinator.isActive())
+  }
+
+  @Test
+  fun `test a replica with a shard only takes the shards orphaned for a lease duration`() {
+    val coordinator =
+      PaymentObserverCoordinator(observer, observerLeaseRepo, CoordinationConfig(true, 3, 15))
+    coordinator.startedAt = Instant.now().minusSeconds(60)
+    val expiredBefore = mutableListOf<Instant>()
+    every {
+      observerLeaseRepo.acquire(coordinator.leaseId(0), any(), capture(expiredBefore), any())
+    } returns 1
+    every {
+      observerLeaseRepo.acquire(coordinator.leaseId(1), any(), capture(expiredBefore), any())
+    } returns 0
+    every {
+      observerLeaseRepo.acquire(coordinator.leaseId(2), any(), capture(expiredBefore), any())
+    } returns 1
+    val shard = slot<ObserverShard>()
+
+    val before = Instant.now()
+    coordinator.coordinate()
+
+    assertEquals(setOf(0, 2), coordinator.activeUntil.keys)
+    verify(exactly = 1) { observer.activate(capture(shard)) }
+    assertEquals(setOf(0, 2), shard.captured.indexes)
+    assertTrue(shard.captured.owns(accountOfShard(2, 3)))
+    assertFalse(shard.captured.owns(accountOfShard(1, 3)))
+    // The first shard is taken when expired, the others when expired for a lease duration
+    assertFalse(expiredBefore[0].isBefore(before))
+    assertTrue(expiredBefore[1].isBefore(before.minusSeconds(14)))
+    assertTrue(expiredBefore[2].isBefore(before.minusSeconds(14)))
+  }
+
+  @Test
+  fun `test the replicas started together do not take the orphaned shards`() {
+    val coordinator =
+      PaymentObserverCoordinator(observer, observerLeaseRepo, CoordinationConfig(true, 3, 15))
+    every { observerLeaseRepo.acquire(any(), any(), any(), any()) } returns 1
+
+    coordinator.coordinate()
+
+    assertEquals(setOf(0), coordinator.activeUntil.keys)
+  }
+
+  @Test
+  fun `test a lost shard is dropped and the other shards are observed again`() {
+    val coordinator =
+      PaymentObserverCoordinator(observer, observerLeaseRepo, CoordinationConfig(true, 2, 15))
+    coordinator.startedAt = Instant.now().minusSeconds(60)
+    every { observerLeaseRepo.acquire(any(), any(), any(), any()) } returns 1
+    coordinator.coordinate()
+    val first = slot<ObserverShard>()
+    verify(exactly = 1) { observer.activate(capture(first)) }
+    every { observerLeaseRepo.acquire(coordinator.leaseId(1), any(), any(), any()) } returns 0
+    val shards = mutableListOf<ObserverShard>()
+
+    coordinator.coordinate()
+
+    assertEquals(setOf(0), coordinator.activeUntil.keys)
+    // The events of the lost shard are ignored until the observer is activated again
+    assertFalse(first.captured.isActive)
+    verify(exactly = 1) { observer.deactivate() }
+    verify(exactly = 2) { observer.activate(capture(shards)) }
+    assertEquals(setOf(0), shards.last().indexes)
+    assertTrue(shards.last().isActive)
+  }
+
+  @Test
+  fun `test the replica stands by while the leases of the previous shard count are active`() {
+    val coordinator =
+      PaymentObserverCoordinator(observer, observerLeaseRepo, CoordinationConfig(true, 4, 15))
+    every { observerLeaseRepo.findAll() } returns
+      listOf(
+        ObserverLease(LEASE_ID_PREFIX + "0_of_2", "other", Instant.now().plusSeconds(10)),
+        ObserverLease(LEASE_ID_PREFIX + "1_of_2", "other", Instant.EPOCH),
+        ObserverLease(coordinator.leaseId(0), null, Instant.EPOCH)
+      )
+
+    coordinator.coordinate()
+
+    verify(exactly = 0) { observerLeaseRepo.acquire(any(), any(), any(), any()) }
+    verify(exactly = 0) { observer.activate(any()) }
+    verify(exactly = 1) { observer.setUnownedShardCount(4) }
+
+    // The previous leases expired
+    every { observerLeaseRepo.findAll() } returns
+      listOf(ObserverLease(LEASE_ID_PREFIX + "0_of_2", "other", Instant.EPOCH))
+    every { observerLeaseRepo.acquire(any(), any(), any(), any()) } returns 1
+
+    coordinator.coordinate()
+
+    assertEquals(setOf(0), coordinator.activeUntil.keys)
+  }
+
+  @Test
+  fun `test the shards without an owner for a lease duration are reported`() {
+    val coordinator =
+      PaymentObserverCoordinator(observer, observerLeaseRepo, CoordinationConfig(true, 3, 15))
+    every { observerLeaseRepo.findAll() } returns
+      listOf(
+        ObserverLease(coordinator.leaseId(0), "other", Instant.now().plusSeconds(10)),
+        // Expired, but not yet for a lease duration
+        ObserverLease(coordinator.leaseId(1), "other", Instant.now().minusSeconds(5)),
+        ObserverLease(coordinator.leaseId(2), "other", Instant.now().minusSeconds(60))
+      )
+    every { observerLeaseRepo.acquire(any(), any(), any(), any()) } returns 0
+
+    coordinator.coordinate()
+
+    verify(exactly = 1) { observer.setUnownedShardCount(1) }
+  }
+
+  @Test
+  fun `test the lease is released on shutdown`() {
+    val coordinator =
+      PaymentObserverCoordinator(observer, observerLeaseRepo, CoordinationConfig(true, 1, 15))
+    every { observerLeaseRepo.existsById(any()) } returns true
+    every { observerLeaseRepo.acquire(any(), any(), any(), any()) } returns 1
+    coordinator.start()
+    coordinator.coordinate()
+
+    coordinator.shutdown()
+
+    verify(exactly = 1) { observer.startStandby() }
+    verify(exactly = 0) { observerLeaseRepo.insert(any(), any()) }
+    verify(exactly = 1) {
+      observerLeaseRepo.release(coordinator.leaseId(0), coordinator.instanceId, any())
+    }
+    assertFalse(coordinator.isActive())
+  }
+
+  @Test
+  fun `test each account belongs to one shard`() {
+    val shards = (0 until 4).map { ObserverShard(setOf(it), 4) { true } }
+    val accounts =
+      listOf(
+        "GBDYDBJKQBJK4GY4V7FAONSFF2IBJSKNTBYJ65F5KCGBY2BIXPGGLJSH",
+        "GDJLBYYKMCXNVVNABOE66NYXQGIA5AC5D223Z2KF6ZEYK4UBCA7FKLTG",
+        "GAC2OWWDD75GCP4II35UCLYA7JB6LDDZUBZQLYANAVIHIRJAAQBSCL2S",
+        "GBN4NNCDGJO4XW4KQU3CBIESUJWFVBUZPOKUZHT7W7WRB7CWOA7BXVQF"
+      )
+
+    for (account in accounts) {
+      assertEquals(1, shards.count { it.owns(account) })
+    }
+    assertTrue(ObserverShard.ALL.owns(accounts[0]))
+    assertEquals(
+      accounts.count { shards[0].owns(it) || shards[1].owns(it) },
+      accounts.count { ObserverShard(setOf(0, 1), 4) { true }.owns(it) }
+    )
+  }
+
+  private fun accountOfShard(shard: Int, count: Int): String =
+    generateSequence(0) { it + 1 }
+      .map { "G$it" }
+      .first { Math.floorMod(it.hashCode(), count) == shard }
+}
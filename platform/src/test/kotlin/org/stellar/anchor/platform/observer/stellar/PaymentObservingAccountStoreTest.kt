@@ -0,0 +1,68 @@
+package org.stellar.anchor.platform.observer.stellar
+
+import io.mockk.*
+import io.mockk.impl.annotations.MockK
+import java.time.Instant
+import kotlin.test.assertEquals
+import kotlin.test.assertTrue
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.springframework.transaction.PlatformTransactionManager
+import org.stellar.anchor.platform.data.PaymentObservingAccount
+import org.stellar.anchor.platform.data.PaymentObservingAccountRepo
+
+class PaymentObservingAccountStoreTest {
+  @MockK(relaxed = true) private lateinit var repo: PaymentObservingAccountRepo
+  @MockK(relaxed = true) private lateinit var transactionManager: PlatformTransactionManager
+
+  private lateinit var store: PaymentObservingAccountStore
+
+  @BeforeEach
+  fun setup() {
+    MockKAnnotations.init(this, relaxUnitFun = true)
+    store = PaymentObservingAccountStore(repo, transactionManager)
+  }
+
+  @Test
+  fun `test upsertAll inserts the new accounts and updates the loaded ones in place`() {
+    val now = Instant.now()
+    val older = PaymentObservingAccount("older", now.minusSeconds(60))
+    val newer = PaymentObservingAccount("newer", now.plusSeconds(60))
+    every { repo.findAllById(any()) } returns listOf(older, newer)
+    val saved = slot<List<PaymentObservingAccount>>()
+    every { repo.saveAll(capture(saved)) } answers { saved.captured }
+
+    store.upsertAll(mapOf("older" to now, "newer" to now, "new" to now))
+
+    assertEquals(now, older.lastObserved)
+    assertEquals(now.plusSeconds(60), newer.lastObserved)
+    assertEquals(listOf("new"), saved.captured.map { it.account })
+    assertTrue(saved.captured[0].isNew)
+    verify(exactly = 1) { transactionManager.getTransaction(any()) }
+    verify(exactly = 1) { transactionManager.commit(any()) }
+  }
+
+  @Test
+  fun `test upsertAll runs each chunk in its own transaction`() {
+    val now = Instant.now()
+    val accounts =
+      (0 until PaymentObservingAccountStore.UPSERT_CHUNK_SIZE * 2 + 1).associate { "G$it" to now }
+    every { repo.findAllById(any()) } returns listOf()
+
+    store.upsertAll(accounts)
+
+    verify(exactly = 3) { repo.findAllById(any()) }
+    verify(exactly = 3) { repo.saveAll(any<List<PaymentObservingAccount>>()) }
+    verify(exactly = 3) { transactionManager.commit(any()) }
+  }
+
+  @Test
+  fun `test upsertAll does not save when nothing changed`() {
+    val now = Instant.now()
+    every { repo.findAllById(any()) } returns listOf(PaymentObservingAccount("account", now))
+
+    store.upsertAll(mapOf("account" to now))
+
+    verify(exactly = 0) { repo.saveAll(any<List<PaymentObservingAccount>>()) }
+  }
+}
@@ -4,6 +4,8 @@ package org.stellar.anchor.platform.observer.stellar
 
 import io.mockk.*
 import io.mockk.impl.annotations.MockK
+import java.nio.file.Files
+import java.nio.file.Path
 import java.time.Duration
 import java.time.Instant
 import java.time.temporal.ChronoUnit.DAYS
@@ -11,7 +13,9 @@ import java.time.temporal.ChronoUnit.HOURS
 import org.junit.jupiter.api.Assertions.*
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
 import org.stellar.anchor.platform.data.PaymentObservingAccount
+import org.stellar.sdk.KeyPair
 import org.stellar.anchor.platform.observer.stellar.PaymentObservingAccountsManager.AccountType.RESIDENTIAL
 import org.stellar.anchor.platform.observer.stellar.PaymentObservingAccountsManager.AccountType.TRANSIENT
 
@@ -170,4 +174,53 @@ class PaymentObservingAccountsManagerTest {
     }
     verify(exactly = 4) { paymentObservingAccountStore.delete(any()) }
   }
+
+  @Test
+  fun `test only the accounts observed since the snapshot are loaded`(@TempDir dir: Path) {
+    val snapshotFile = dir.resolve("accounts.snapshot")
+    val obs = PaymentObservingAccountsManager(paymentObservingAccountStore, snapshotFile)
+    obs.initialize()
+    verify(exactly = 1) { paymentObservingAccountStore.list() }
+    assertFalse(Files.exists(snapshotFile))
+
+    assertTrue(obs.lookupAndUpdate("GAPBFA5ZYG5VVKN7WPMH6K5CBXGU2AM5ED7S54VX27J7S222NKMTWKR6"))
+    obs.evictAndPersist()
+    assertTrue(Files.exists(snapshotFile))
+    verify(exactly = 1) {
+      paymentObservingAccountStore.upsertAll(
+        match { it.keys == setOf("GAPBFA5ZYG5VVKN7WPMH6K5CBXGU2AM5ED7S54VX27J7S222NKMTWKR6") }
+      )
+    }
+
+    // Nothing changed since the accounts were persisted
+    obs.evictAndPersist()
+    verify(exactly = 1) { paymentObservingAccountStore.upsertAll(any()) }
+
+    every { paymentObservingAccountStore.listObservedSince(any()) } returns
+      listOf(
+        PaymentObservingAccount(
+          "GB4DZFFUWC64MZ3BQ433ME7QBODCSFZRBOLWEWEMJIVHABTWGT3W2Q22",
+          Instant.now()
+        )
+      )
+    val restored = PaymentObservingAccountsManager(paymentObservingAccountStore, snapshotFile)
+    restored.initialize()
+    verify(exactly = 1) { paymentObservingAccountStore.list() }
+    verify(exactly = 1) { paymentObservingAccountStore.listObservedSince(any()) }
+    assertEquals(4, restored.accounts.size)
+    assertTrue(restored.lookupAndUpdate("GCK5ECMM67ZN7RWGUSDKQAW6CAF6Q5WYK2VQJ276SJMINU6WVCIQW6BL"))
+    assertTrue(restored.lookupAndUpdate("GB4DZFFUWC64MZ3BQ433ME7QBODCSFZRBOLWEWEMJIVHABTWGT3W2Q22"))
+  }
+
+  @Test
+  fun `test the accounts added beyond the filter capacity are found`() {
+    val obs = PaymentObservingAccountsManager(paymentObservingAccountStore)
+    obs.initialize()
+
+    val accounts = (1..ObservingAccountFilter.MIN_CAPACITY * 2).map { KeyPair.random().accountId }
+    accounts.forEach { obs.upsert(it, TRANSIENT) }
+
+    accounts.forEach { assertTrue(obs.lookupAndUpdate(it)) }
+    assertFalse(obs.lookupAndUpdate(null))
+  }
 }
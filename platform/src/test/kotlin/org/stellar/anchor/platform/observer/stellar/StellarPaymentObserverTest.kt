@@ -6,24 +6,34 @@ import com.google.gson.reflect.TypeToken
 import io.mockk.*
 import io.mockk.impl.annotations.MockK
 import java.io.IOException
+import java.time.Instant
 import java.util.*
 import javax.net.ssl.SSLProtocolException
 import org.junit.jupiter.api.Assertions.assertEquals
 import org.junit.jupiter.api.Assertions.assertNull
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
+import org.stellar.anchor.horizon.TransactionOperationsCache
+import org.stellar.anchor.api.platform.HealthCheckStatus.GREEN
 import org.stellar.anchor.api.platform.HealthCheckStatus.RED
+import org.stellar.anchor.api.platform.HealthCheckStatus.YELLOW
 import org.stellar.anchor.platform.config.PaymentObserverConfig.StellarPaymentObserverConfig
+import org.stellar.anchor.platform.observer.PaymentListener
+import org.stellar.sdk.AssetTypeNative
+import org.stellar.sdk.Memo
 import org.stellar.sdk.Server
 import org.stellar.sdk.requests.RequestBuilder
 import org.stellar.sdk.requests.SSEStream
 import org.stellar.sdk.responses.GsonSingleton
 import org.stellar.sdk.responses.Page
+import org.stellar.sdk.responses.TransactionResponse
 import org.stellar.sdk.responses.operations.OperationResponse
+import org.stellar.sdk.responses.operations.PaymentOperationResponse
 
 class StellarPaymentObserverTest {
   companion object {
     const val TEST_HORIZON_URI = "https://horizon-testnet.stellar.org/"
+    const val TEST_FALLBACK_HORIZON_URI = "https://horizon-testnet-2.stellar.org/"
   }
 
   @MockK lateinit var paymentStreamerCursorStore: StellarPaymentStreamerCursorStore
@@ -166,4 +176,97 @@ class StellarPaymentObserverTest {
     val checkResult = observer.check()
     assertEquals(RED, checkResult.status)
   }
+
+  @Test
+  fun `test the observer is not healthy while a shard has no owner`() {
+    val observer =
+      StellarPaymentObserver(
+        TEST_HORIZON_URI,
+        stellarPaymentObserverConfig,
+        null,
+        paymentObservingAccountsManager,
+        paymentStreamerCursorStore
+      )
+    observer.status = ObserverStatus.STANDBY
+    assertEquals(GREEN, observer.check().status)
+
+    observer.setUnownedShardCount(1)
+
+    assertEquals(YELLOW, observer.check().status)
+    observer.horizonPool.close()
+  }
+
+  @Test
+  fun `test the stream fails over to the next Horizon server`() {
+    val observer =
+      spyk(
+        StellarPaymentObserver(
+          listOf(TEST_HORIZON_URI, TEST_FALLBACK_HORIZON_URI),
+          stellarPaymentObserverConfig,
+          null,
+          paymentObservingAccountsManager,
+          paymentStreamerCursorStore
+        )
+      )
+    val streamedFrom = mutableListOf<String>()
+    every { observer.fetchStreamingCursor() } returns "100"
+    every { observer.streamFrom(any(), "100") } answers
+      {
+        streamedFrom.add(firstArg<HorizonPool.Node>().url)
+        mockk(relaxed = true)
+      }
+
+    observer.startStream()
+    observer.handleFailure(Optional.of(SSLProtocolException("")))
+    assertEquals(ObserverStatus.STREAM_ERROR, observer.status)
+    observer.restartStream()
+
+    assertEquals(listOf(TEST_HORIZON_URI, TEST_FALLBACK_HORIZON_URI), streamedFrom)
+    assertEquals(ObserverStatus.RUNNING, observer.status)
+
+    // The silent stream also fails over. Both servers failed recently, so the first one is used.
+    observer.lastActivityTime = Instant.now().minusSeconds(60)
+    observer.checkSilence()
+    assertEquals(ObserverStatus.SILENCE_ERROR, observer.status)
+    observer.restartStream()
+
+    assertEquals(
+      listOf(TEST_HORIZON_URI, TEST_FALLBACK_HORIZON_URI, TEST_HORIZON_URI),
+      streamedFrom
+    )
+    observer.shutdown()
+  }
+
+  @Test
+  fun `test the observed payments prefill the operations cache`() {
+    val listener = mockk<PaymentListener>(relaxed = true)
+    val observer =
+      StellarPaymentObserver(
+        TEST_HORIZON_URI,
+        stellarPaymentObserverConfig,
+        listOf(listener),
+        paymentObservingAccountsManager,
+        paymentStreamerCursorStore
+      )
+    val operationsCache = TransactionOperationsCache(10)
+    observer.setOperationsCache(operationsCache)
+    every { paymentObservingAccountsManager.lookupAndUpdate("GTO") } returns true
+    val txn = mockk<TransactionResponse>(relaxed = true)
+    every { txn.hash } returns "txn1"
+    every { txn.operationCount } returns 1
+    every { txn.memo } returns Memo.none()
+    val payment = mockk<PaymentOperationResponse>(relaxed = true)
+    every { payment.isTransactionSuccessful() } returns true
+    every { payment.id } returns 1L
+    every { payment.from } returns "GFROM"
+    every { payment.to } returns "GTO"
+    every { payment.asset } returns AssetTypeNative()
+    every { payment.transaction } returns Optional.of(txn)
+
+    observer.handleEvent(payment)
+
+    verify(exactly = 1) { listener.onReceived(any()) }
+    assertEquals(listOf<OperationResponse>(payment), operationsCache.getIfPresent("txn1"))
+    observer.horizonPool.close()
+  }
 }
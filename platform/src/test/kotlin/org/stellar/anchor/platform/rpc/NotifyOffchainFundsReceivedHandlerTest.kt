@@ -5,6 +5,7 @@ import io.mockk.*
 import io.mockk.impl.annotations.MockK
 import java.time.Instant
 import kotlin.test.assertEquals
+import kotlin.test.assertFalse
 import kotlin.test.assertTrue
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
@@ -1029,4 +1030,13 @@ class NotifyOffchainFundsReceivedHandlerTest {
     assertTrue(sep6TxnCapture.captured.transferReceivedAt >= startDate)
     assertTrue(sep6TxnCapture.captured.transferReceivedAt <= endDate)
   }
+
+  @Test
+  fun test_hasExternalSideEffects_onlyWithCustodyIntegration() {
+    every { custodyConfig.isCustodyIntegrationEnabled } returns false
+    assertFalse(handler.hasExternalSideEffects())
+
+    every { custodyConfig.isCustodyIntegrationEnabled } returns true
+    assertTrue(handler.hasExternalSideEffects())
+  }
 }
@@ -0,0 +1,130 @@
+package org.stellar.anchor.platform.rpc
+
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.verify
+import kotlin.test.assertEquals
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.springframework.dao.DataIntegrityViolationException
+import org.springframework.transaction.PlatformTransactionManager
+import org.springframework.transaction.TransactionDefinition
+import org.springframework.transaction.TransactionStatus
+import org.springframework.transaction.support.SimpleTransactionStatus
+import org.springframework.transaction.support.TransactionTemplate
+import org.stellar.anchor.api.event.AnchorEvent
+import org.stellar.anchor.api.exception.EventPublishException
+import org.stellar.anchor.event.EventService
+import org.stellar.anchor.platform.data.JdbcSep24Transaction
+import org.stellar.anchor.platform.data.JdbcSepTransaction
+
+class RpcBatchTest {
+  /** The statuses of the transactions, which are only visible once the DB transaction commits. */
+  private class InMemoryTransactionManager : PlatformTransactionManager {
+    val committed = mutableMapOf<String, String>()
+    val failing = mutableSetOf<String>()
+    private val pending = mutableMapOf<String, String>()
+
+    fun save(txn: JdbcSepTransaction) {
+      if (txn.id in failing) throw DataIntegrityViolationException("constraint violation")
+      pending[txn.id] = txn.status
+    }
+
+    override fun getTransaction(definition: TransactionDefinition?): TransactionStatus {
+      pending.clear()
+      return SimpleTransactionStatus()
+    }
+
+    override fun commit(status: TransactionStatus) {
+      committed.putAll(pending)
+      pending.clear()
+    }
+
+    override fun rollback(status: TransactionStatus) {
+      pending.clear()
+    }
+  }
+
+  private lateinit var db: InMemoryTransactionManager
+  private lateinit var session: EventService.Session
+  private lateinit var batch: RpcBatch
+
+  @BeforeEach
+  fun setup() {
+    db = InMemoryTransactionManager()
+    session = mockk(relaxed = true)
+    batch = RpcBatch()
+  }
+
+  @Test
+  fun `test a failed save only fails the calls of the transaction that cannot be saved`() {
+    val events = listOf("a", "b", "c").mapIndexed { i, id -> call(i, txn(id)) }
+    db.failing.add("b")
+
+    val failed = batch.commit(TransactionTemplate(db))
+
+    assertEquals(mapOf(1 to RpcBatch.SAVE_FAILED), failed)
+    assertEquals(mapOf("a" to "completed", "c" to "completed"), db.committed)
+    verify(exactly = 1) { session.publishAll(listOf(events[0], events[2])) }
+  }
+
+  @Test
+  fun `test a failed save fails all the calls of the transaction`() {
+    val txn = txn("a")
+    call(0, txn)
+    call(1, txn("b"))
+    call(2, txn)
+    db.failing.add("a")
+
+    val failed = batch.commit(TransactionTemplate(db))
+
+    assertEquals(mapOf(0 to RpcBatch.SAVE_FAILED, 2 to RpcBatch.SAVE_FAILED), failed)
+    assertEquals(mapOf("b" to "completed"), db.committed)
+  }
+
+  @Test
+  fun `test the transactions of a failed call are not saved`() {
+    val txn = txn("a")
+    call(0, txn)
+    call(1, txn("b"))
+    batch.begin(2)
+    batch.modify(txn)
+    batch.abort()
+
+    val failed = batch.commit(TransactionTemplate(db))
+
+    assertEquals(mapOf(0 to RpcBatch.SAVE_FAILED), failed)
+    assertEquals(mapOf("b" to "completed"), db.committed)
+  }
+
+  @Test
+  fun `test a failed publish only fails the calls whose events cannot be published`() {
+    val events = listOf("a", "b", "c").mapIndexed { i, id -> call(i, txn(id)) }
+    every { session.publishAll(any()) } throws EventPublishException("failed")
+    every { session.publish(events[1]) } throws EventPublishException("failed")
+
+    val failed = batch.commit(TransactionTemplate(db))
+
+    assertEquals(mapOf(1 to RpcBatch.PUBLISH_FAILED), failed)
+    assertEquals(mapOf("a" to "completed", "b" to "completed", "c" to "completed"), db.committed)
+    events.forEach { verify(exactly = 1) { session.publish(it) } }
+  }
+
+  private fun txn(id: String): JdbcSep24Transaction {
+    val txn = JdbcSep24Transaction()
+    txn.id = id
+    txn.status = "pending_anchor"
+    return txn
+  }
+
+  private fun call(index: Int, txn: JdbcSepTransaction): AnchorEvent {
+    val event = AnchorEvent.builder().id("event-${txn.id}-$index").build()
+    batch.begin(index)
+    batch.modify(txn)
+    txn.status = "completed"
+    batch.save(txn) { db.save(txn) }
+    batch.publish(session, event)
+    batch.end()
+    return event
+  }
+}
@@ -3,9 +3,16 @@ package org.stellar.anchor.platform.service
 import io.mockk.MockKAnnotations
 import io.mockk.every
 import io.mockk.impl.annotations.MockK
+import io.mockk.just
+import io.mockk.mockk
+import io.mockk.runs
+import io.mockk.spyk
 import io.mockk.verify
+import io.mockk.verifyOrder
+import java.util.Collections
 import kotlin.test.assertEquals
 import org.junit.jupiter.api.Assertions.assertNull
+import org.junit.jupiter.api.Assertions.assertTrue
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.extension.ExtendWith
@@ -17,8 +24,14 @@ import org.stellar.anchor.api.exception.BadRequestException
 import org.stellar.anchor.api.platform.GetTransactionResponse
 import org.stellar.anchor.api.rpc.RpcRequest
 import org.stellar.anchor.api.rpc.method.NotifyInteractiveFlowCompletedRequest
+import org.stellar.anchor.api.rpc.method.NotifyOffchainFundsReceivedRequest
+import org.stellar.anchor.api.rpc.method.RequestOffchainFundsRequest
 import org.stellar.anchor.api.rpc.method.RpcMethod.NOTIFY_INTERACTIVE_FLOW_COMPLETED
+import org.stellar.anchor.api.rpc.method.RpcMethod.NOTIFY_OFFCHAIN_FUNDS_RECEIVED
+import org.stellar.anchor.api.rpc.method.RpcMethod.REQUEST_OFFCHAIN_FUNDS
+import org.stellar.anchor.config.CustodyConfig
 import org.stellar.anchor.platform.config.RpcConfig
+import org.stellar.anchor.platform.rpc.NotifyOffchainFundsReceivedHandler
 import org.stellar.anchor.platform.rpc.RpcMethodHandler
 import org.stellar.anchor.platform.utils.RpcUtil
 import org.stellar.anchor.platform.utils.RpcUtil.JSON_RPC_VERSION
@@ -35,6 +48,7 @@ class RpcServiceTest {
     private const val INVALID_RPC_METHOD = "invalid_rpc_method"
     private const val INVALID_RPC_PROTOCOL = "invalid_rpc_protocol"
     private const val BATCH_SIZE_LIMIT = 2
+    private const val TXN_ID = "testTxnId"
   }
 
   @MockK(relaxed = true)
@@ -102,6 +116,185 @@ class RpcServiceTest {
     verify(exactly = 2) { rpcMethodHandler.handle(RPC_PARAMS) }
   }
 
+  @Test
+  fun `test handle list of valid rpc calls in bulk`() {
+    val rpcRequest = {
+      RpcRequest.builder()
+        .method(VALID_RPC_METHOD_1)
+        .jsonrpc(JSON_RPC_VERSION)
+        .id(RPC_ID)
+        .params(RPC_PARAMS)
+        .build()
+    }
+    val invalidRpcRequest =
+      RpcRequest.builder()
+        .method(VALID_RPC_METHOD_1)
+        .jsonrpc(INVALID_RPC_PROTOCOL)
+        .id(RPC_ID)
+        .build()
+    val request = NotifyInteractiveFlowCompletedRequest.builder().transactionId(TXN_ID).build()
+
+    every { rpcConfig.batchSizeLimit } returns 3
+    every { rpcConfig.isBulkExecutionEnabled } returns true
+    every { rpcMethodHandler.toRequest(RPC_PARAMS) } returns request
+    every { rpcMethodHandler.handle(request, any()) } returns rpcResponse
+
+    val response =
+      rpcService.handle(listOf(rpcRequest(), invalidRpcRequest, rpcRequest()))
+
+    assertEquals(3, response.size)
+    assertNull(response[0].error)
+    assertEquals(-32600, response[1].error.code)
+    assertNull(response[2].error)
+
+    verify(exactly = 1) { rpcMethodHandler.prefetch(any(), setOf(TXN_ID)) }
+    verify(exactly = 2) { rpcMethodHandler.handle(request, any()) }
+    verify(exactly = 0) { rpcMethodHandler.handle(any()) }
+  }
+
+  @Test
+  fun `test handle calls with external side effects on their own in bulk`() {
+    val sideEffectHandler = mockk<RpcMethodHandler<RequestOffchainFundsRequest>>(relaxed = true)
+    every { sideEffectHandler.rpcMethod } returns REQUEST_OFFCHAIN_FUNDS
+    every { sideEffectHandler.hasExternalSideEffects() } returns true
+    rpcService = RpcService(listOf(rpcMethodHandler, sideEffectHandler), rpcConfig)
+    val rpcRequest = { method: String ->
+      RpcRequest.builder()
+        .method(method)
+        .jsonrpc(JSON_RPC_VERSION)
+        .id(RPC_ID)
+        .params(RPC_PARAMS)
+        .build()
+    }
+    val request = NotifyInteractiveFlowCompletedRequest.builder().transactionId(TXN_ID).build()
+    val sideEffectRequest = RequestOffchainFundsRequest.builder().transactionId(TXN_ID).build()
+
+    every { rpcConfig.batchSizeLimit } returns 3
+    every { rpcConfig.isBulkExecutionEnabled } returns true
+    every { rpcMethodHandler.toRequest(RPC_PARAMS) } returns request
+    every { rpcMethodHandler.handle(request, any()) } returns rpcResponse
+    every { sideEffectHandler.toRequest(RPC_PARAMS) } returns sideEffectRequest
+    every { sideEffectHandler.handle(sideEffectRequest) } returns rpcResponse
+
+    val response =
+      rpcService.handle(
+        listOf(
+          rpcRequest(VALID_RPC_METHOD_1),
+          rpcRequest(VALID_RPC_METHOD_2),
+          rpcRequest(VALID_RPC_METHOD_1)
+        )
+      )
+
+    assertEquals(3, response.size)
+    response.forEach { assertNull(it.error) }
+    // The call with side effects is handled on its own between the batches of the other calls
+    verifyOrder {
+      rpcMethodHandler.prefetch(any(), setOf(TXN_ID))
+      rpcMethodHandler.handle(request, any())
+      sideEffectHandler.handle(sideEffectRequest)
+      rpcMethodHandler.prefetch(any(), setOf(TXN_ID))
+      rpcMethodHandler.handle(request, any())
+    }
+    verify(exactly = 0) { sideEffectHandler.handle(any(), any()) }
+  }
+
+  @Test
+  fun `test handle offchain funds received calls in bulk when custody is disabled`() {
+    val custodyConfig = mockk<CustodyConfig>()
+    every { custodyConfig.isCustodyIntegrationEnabled } returns false
+    val offchainFundsHandler =
+      spyk(
+        NotifyOffchainFundsReceivedHandler(
+          mockk(relaxed = true),
+          mockk(relaxed = true),
+          mockk(relaxed = true),
+          mockk(relaxed = true),
+          mockk(relaxed = true),
+          mockk(relaxed = true),
+          custodyConfig,
+          mockk(relaxed = true),
+          mockk(relaxed = true)
+        )
+      )
+    rpcService = RpcService(listOf(offchainFundsHandler), rpcConfig)
+    val rpcRequest =
+      RpcRequest.builder()
+        .method(NOTIFY_OFFCHAIN_FUNDS_RECEIVED.toString())
+        .jsonrpc(JSON_RPC_VERSION)
+        .id(RPC_ID)
+        .params(RPC_PARAMS)
+        .build()
+    val request = NotifyOffchainFundsReceivedRequest.builder().transactionId(TXN_ID).build()
+
+    every { rpcConfig.batchSizeLimit } returns 2
+    every { rpcConfig.isBulkExecutionEnabled } returns true
+    every { offchainFundsHandler.toRequest(RPC_PARAMS) } returns request
+    every { offchainFundsHandler.prefetch(any(), any()) } just runs
+    every { offchainFundsHandler.handle(request, any()) } returns rpcResponse
+
+    val response = rpcService.handle(listOf(rpcRequest, rpcRequest))
+
+    response.forEach { assertNull(it.error) }
+    verify(exactly = 1) { offchainFundsHandler.prefetch(any(), setOf(TXN_ID)) }
+    verify(exactly = 2) { offchainFundsHandler.handle(request, any()) }
+    verify(exactly = 0) { offchainFundsHandler.handle(any()) }
+  }
+
+  @Test
+  fun `test handle list of valid rpc calls in parallel`() {
+    val rpcRequest = { txnId: String, message: String ->
+      RpcRequest.builder()
+        .method(VALID_RPC_METHOD_1)
+        .jsonrpc(JSON_RPC_VERSION)
+        .id(message)
+        .params(
+          NotifyInteractiveFlowCompletedRequest.builder()
+            .transactionId(txnId)
+            .message(message)
+            .build()
+        )
+        .build()
+    }
+    val handled = Collections.synchronizedList(mutableListOf<String>())
+
+    every { rpcConfig.batchSizeLimit } returns 4
+    every { rpcConfig.concurrency } returns 4
+    every { rpcMethodHandler.handle(any()) } answers
+      {
+        val request = firstArg<NotifyInteractiveFlowCompletedRequest>()
+        // The second call on the transaction would overtake the first one if they were not ordered
+        if (request.message == "1") Thread.sleep(100)
+        handled.add(request.message)
+        GetTransactionResponse.builder().id(request.transactionId).message(request.message).build()
+      }
+    rpcService = RpcService(listOf(rpcMethodHandler), rpcConfig)
+
+    val response =
+      rpcService.handle(
+        listOf(
+          rpcRequest(TXN_ID, "1"),
+          rpcRequest("otherTxnId", "2"),
+          rpcRequest(TXN_ID, "3"),
+          rpcRequest("anotherTxnId", "4")
+        )
+      )
+
+    assertEquals(listOf("1", "2", "3", "4"), response.map { it.id })
+    response.forEach { assertNull(it.error) }
+    assertTrue(handled.indexOf("1") < handled.indexOf("3"))
+    verify(exactly = 4) { rpcMethodHandler.handle(any()) }
+  }
+
+  @Test
+  fun `test shutdown stops the rpc executor`() {
+    every { rpcConfig.concurrency } returns 4
+    rpcService = RpcService(listOf(rpcMethodHandler), rpcConfig)
+
+    rpcService.shutdown()
+
+    assertTrue(rpcService.executor.isShutdown)
+  }
+
   @Test
   fun `test handle invalid rpc protocol`() {
     val invalidRpcRequest =
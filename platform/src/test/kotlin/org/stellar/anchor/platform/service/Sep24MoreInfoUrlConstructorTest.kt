@@ -3,10 +3,13 @@ package org.stellar.anchor.platform.service
 import io.mockk.MockKAnnotations
 import io.mockk.every
 import io.mockk.impl.annotations.MockK
+import io.mockk.spyk
+import io.mockk.verify
 import java.time.Instant
 import java.util.*
 import org.junit.jupiter.api.Assertions
 import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertTrue
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.assertThrows
@@ -16,6 +19,7 @@ import org.springframework.web.util.UriComponentsBuilder
 import org.stellar.anchor.LockStatic
 import org.stellar.anchor.api.exception.SepValidationException
 import org.stellar.anchor.auth.JwtService
+import org.stellar.anchor.auth.MoreInfoUrlJwt
 import org.stellar.anchor.auth.MoreInfoUrlJwt.Sep24MoreInfoUrlJwt
 import org.stellar.anchor.config.ClientsConfig.ClientConfig
 import org.stellar.anchor.config.ClientsConfig.ClientType.CUSTODIAL
@@ -145,6 +149,34 @@ class Sep24MoreInfoUrlConstructorTest {
     assertThrows<SepValidationException> { constructor.construct(txn, LANG) }
   }
 
+  @Test
+  fun `test the url of a transaction version is reused`() {
+    val config = gson.fromJson(SIMPLE_CONFIG_JSON, MoreInfoUrlConfig::class.java)
+    val signer = spyk(jwtService)
+    val constructor = Sep24MoreInfoUrlConstructor(clientsConfig, config, signer)
+    val txn = gson.fromJson(TXN_JSON, JdbcSep24Transaction::class.java)
+    txn.updatedAt = Instant.now()
+
+    val url = constructor.construct(txn, LANG)
+    assertEquals(url, constructor.construct(txn, LANG))
+    verify(exactly = 1) { signer.encode(any<MoreInfoUrlJwt>()) }
+
+    constructor.construct(txn, "es")
+    txn.updatedAt = txn.updatedAt.plusSeconds(1)
+    constructor.construct(txn, LANG)
+    verify(exactly = 3) { signer.encode(any<MoreInfoUrlJwt>()) }
+  }
+
+  @Test
+  fun `test the generation changes every half of the token lifetime`() {
+    val config = gson.fromJson(SIMPLE_CONFIG_JSON, MoreInfoUrlConfig::class.java)
+    val constructor = Sep24MoreInfoUrlConstructor(clientsConfig, config, jwtService)
+
+    val before = Instant.now().epochSecond / 300
+    val generation = constructor.generation()
+    assertTrue(generation in before..Instant.now().epochSecond / 300)
+  }
+
   private fun testJwt(jwt: Sep24MoreInfoUrlJwt) {
     assertEquals("txn_123", jwt.jti as String)
     Assertions.assertTrue(Instant.ofEpochSecond(jwt.exp).isAfter(Instant.now()))
@@ -1,5 +1,6 @@
 package org.stellar.anchor.platform.util
 
+import com.google.gson.JsonParser
 import kotlin.test.assertEquals
 import kotlin.test.assertNull
 import org.apache.commons.lang3.StringUtils
@@ -131,6 +132,26 @@ class RpcUtilTest {
     assertEquals("An identifier MUST contain a String or a Number", exception.message)
   }
 
+  @Test
+  fun `test to rpc request keeps the params as parsed`() {
+    val rpcCall =
+      JsonParser.parseString(
+          """{"jsonrpc":"2.0","method":"$RPC_METHOD","id":1,"params":{"transaction_id":"$TXN_ID"}}"""
+        )
+        .asJsonObject
+
+    val rpcRequest = RpcUtil.toRpcRequest(rpcCall)
+
+    assertEquals(JSON_RPC_VERSION, rpcRequest.jsonrpc)
+    assertEquals(RPC_METHOD, rpcRequest.method)
+    assertEquals(1L, rpcRequest.id)
+    assertEquals(rpcCall.get("params"), rpcRequest.params)
+    RpcUtil.validateRpcRequest(rpcRequest)
+
+    val response = RpcUtil.getRpcErrorResponse(rpcRequest, BadRequestException(ERROR_MSG))
+    assertEquals(TXN_ID, response.error.id)
+  }
+
   private fun verifyErrorResponse(response: RpcResponse) {
     assertNotNull(response)
     assertNull(response.result)